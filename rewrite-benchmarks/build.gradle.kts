@@ -11,6 +11,11 @@ dependencies {
     jmh(project(":rewrite-core"))
     jmh(project(":rewrite-java-21"))
     jmh(project(":rewrite-maven"))
+    jmh(project(":rewrite-json"))
+    jmh(project(":rewrite-properties"))
+    jmh(project(":rewrite-xml"))
+    jmh(project(":rewrite-yaml"))
+    jmh("io.moderne:jsonrpc:latest.integration")
     jmh("org.rocksdb:rocksdbjni:latest.release")
     jmh("org.openjdk.jmh:jmh-core:latest.release")
     jmh("org.openjdk.jol:jol-core:latest.release")
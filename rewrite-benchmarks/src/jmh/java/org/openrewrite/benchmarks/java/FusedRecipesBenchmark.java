@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.config.CompositeRecipe;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.scheduling.RecipeFusionExecutionContextView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A large composite recipe of local recipes, as is typical of a framework migration,
+ * run with and without fusing the recipes' visitors into a single traversal.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class FusedRecipesBenchmark {
+
+    @Param({"false", "true"})
+    boolean fuse;
+
+    @Param({"300"})
+    int recipes;
+
+    Recipe recipe;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(FusedRecipesBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Recipe> recipeList = new ArrayList<>(recipes);
+        recipeList.add(new RenameIdentifier("ctx", "executionContext"));
+        for (int i = 1; i < recipes; i++) {
+            recipeList.add(new RenameIdentifier("absent" + i, "renamed" + i));
+        }
+        recipe = new CompositeRecipe(recipeList);
+    }
+
+    @Benchmark
+    public void run(JavaCompilationUnitState state) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        RecipeFusionExecutionContextView.view(ctx).setFuseLocalRecipes(fuse);
+        recipe.run(state.getSourceSet(), ctx, 1);
+    }
+
+    static class RenameIdentifier extends Recipe {
+        private final String from;
+        private final String to;
+
+        RenameIdentifier(String from, String to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Rename identifier";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Rename identifiers with a given simple name.";
+        }
+
+        @Override
+        public boolean isLocal() {
+            return true;
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return new JavaIsoVisitor<ExecutionContext>() {
+                @Override
+                public J.Identifier visitIdentifier(J.Identifier identifier, ExecutionContext ctx) {
+                    J.Identifier i = super.visitIdentifier(identifier, ctx);
+                    return from.equals(i.getSimpleName()) ? i.withSimpleName(to) : i;
+                }
+            };
+        }
+    }
+}
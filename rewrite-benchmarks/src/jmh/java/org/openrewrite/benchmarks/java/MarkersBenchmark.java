@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.marker.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+import static org.openrewrite.Tree.randomId;
+
+/**
+ * Type lookups against {@link Markers} on every node of a set of Java compilation units,
+ * the way the scheduler, search recipes, and printers look for markers.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+public class MarkersBenchmark {
+
+    @Param({"0", "3", "12"})
+    int markersPerNode;
+
+    List<SourceFile> marked;
+
+    @Setup(Level.Trial)
+    public void setup(JavaCompilationUnitState cus) {
+        marked = new ArrayList<>();
+        for (SourceFile cu : cus.getSourceFiles()) {
+            marked.add((SourceFile) new TreeVisitor<Tree, Integer>() {
+                @Override
+                public Markers visitMarkers(@Nullable Markers markers, Integer p) {
+                    Markers m = markers == null ? Markers.EMPTY : markers;
+                    for (int i = 0; i < markersPerNode; i++) {
+                        m = m.add(i % 2 == 0 ?
+                                new SearchResult(randomId(), "match " + i) :
+                                new RecipesThatMadeChanges(randomId(), emptyList()));
+                    }
+                    return m;
+                }
+            }.visitNonNull(cu, 0));
+        }
+    }
+
+    @Benchmark
+    public void findFirst(Blackhole blackhole) {
+        for (SourceFile cu : marked) {
+            new TreeVisitor<Tree, Integer>() {
+                @Override
+                public Markers visitMarkers(@Nullable Markers markers, Integer p) {
+                    if (markers != null) {
+                        blackhole.consume(markers.findFirst(Generated.class));
+                        blackhole.consume(markers.findFirst(RecipesThatMadeChanges.class));
+                        blackhole.consume(markers.findFirst(SearchResult.class));
+                    }
+                    return super.visitMarkers(markers, p);
+                }
+            }.visit(cu, 0);
+        }
+    }
+
+    @Benchmark
+    public void findAll(Blackhole blackhole) {
+        for (SourceFile cu : marked) {
+            new TreeVisitor<Tree, Integer>() {
+                @Override
+                public Markers visitMarkers(@Nullable Markers markers, Integer p) {
+                    if (markers != null) {
+                        blackhole.consume(markers.findAll(SearchResult.class));
+                    }
+                    return super.visitMarkers(markers, p);
+                }
+            }.visit(cu, 0);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MarkersBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
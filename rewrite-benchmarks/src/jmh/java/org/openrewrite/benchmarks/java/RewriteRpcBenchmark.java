@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import io.moderne.jsonrpc.JsonRpc;
+import io.moderne.jsonrpc.handler.HeaderDelimitedMessageHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.rpc.RewriteRpc;
+import org.openrewrite.rpc.RpcObjectDataFormat;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfers a set of Java compilation units to an in-process peer, comparing
+ * the JSON and binary encodings of <code>GetObject</code> batches.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class RewriteRpcBenchmark {
+
+    @Param({"JSON", "SMILE"})
+    RpcObjectDataFormat format;
+
+    RewriteRpc client;
+    RewriteRpc server;
+
+    /**
+     * Fresh peers for every invocation, so that neither the remote object cache
+     * nor the ref cache turns the transfer into an incremental diff.
+     */
+    @Setup(Level.Invocation)
+    public void setup() throws IOException {
+        PipedOutputStream serverOut = new PipedOutputStream();
+        PipedOutputStream clientOut = new PipedOutputStream();
+        PipedInputStream serverIn = new PipedInputStream(clientOut, 1 << 16);
+        PipedInputStream clientIn = new PipedInputStream(serverOut, 1 << 16);
+
+        Environment env = Environment.builder().build();
+        client = RewriteRpc.from(new JsonRpc(new HeaderDelimitedMessageHandler(clientIn, clientOut)), env)
+                .timeout(Duration.ofMinutes(1))
+                .build()
+                .objectDataFormat(format);
+        server = RewriteRpc.from(new JsonRpc(new HeaderDelimitedMessageHandler(serverIn, serverOut)), env)
+                .timeout(Duration.ofMinutes(1))
+                .build()
+                .objectDataFormat(format);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public void transferCompilationUnits(JavaCompilationUnitState cus, Blackhole blackhole) {
+        for (SourceFile cu : cus.getSourceFiles()) {
+            // printing on the remote requires it to first fetch the whole tree
+            blackhole.consume(client.print(cu));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RewriteRpcBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -16,6 +16,7 @@
 package org.openrewrite.benchmarks.java;
 
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -56,9 +57,19 @@ public void noAdaptation(JavaCompilationUnitState cus) {
         }
     }
 
+    @Benchmark
+    public void noAdaptationWithCursorStack(JavaCompilationUnitState cus) {
+        for (SourceFile cu : cus.getSourceFiles()) {
+            JavaVisitor<Integer> visitor = new JavaVisitor<>();
+            visitor.useCursorStack(true);
+            visitor.visitNonNull(cu, 0);
+        }
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(TreeVisitorAdapterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
                 .build();
         new Runner(opt).run();
     }
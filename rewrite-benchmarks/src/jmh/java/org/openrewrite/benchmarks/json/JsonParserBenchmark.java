@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.json;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.json.JsonParser;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a synthetic <code>package-lock.json</code> with the hand-written and the ANTLR JSON parsers.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JsonParserBenchmark {
+
+    @Param({"1000", "100000"})
+    int packages;
+
+    String packageLock;
+
+    @Setup
+    public void setup() {
+        StringBuilder json = new StringBuilder("{\n" +
+                                               "  \"name\": \"benchmark\",\n" +
+                                               "  \"lockfileVersion\": 3,\n" +
+                                               "  \"requires\": true,\n" +
+                                               "  \"packages\": {\n");
+        for (int i = 0; i < packages; i++) {
+            json.append("    \"node_modules/package-").append(i).append("\": {\n")
+                    .append("      \"version\": \"1.").append(i % 100).append('.').append(i % 7).append("\",\n")
+                    .append("      \"resolved\": \"https://registry.npmjs.org/package-").append(i)
+                    .append("/-/package-").append(i).append("-1.0.0.tgz\",\n")
+                    .append("      \"integrity\": \"sha512-").append(Integer.toHexString(i * 31 + 17)).append("==\",\n")
+                    .append("      \"dev\": ").append(i % 3 == 0).append(",\n")
+                    .append("      \"dependencies\": {\n")
+                    .append("        \"package-").append((i + 1) % packages).append("\": \"^1.0.0\"\n")
+                    .append("      },\n")
+                    .append("      \"engines\": [\"node >= 14\", 14.17, null]\n")
+                    .append("    }").append(i < packages - 1 ? ",\n" : "\n");
+        }
+        packageLock = json.append("  }\n}\n").toString();
+    }
+
+    @Benchmark
+    public void handWritten(Blackhole blackhole) {
+        parse(JsonParser.builder().build(), blackhole);
+    }
+
+    @Benchmark
+    public void antlr(Blackhole blackhole) {
+        parse(JsonParser.builder().antlr(true).build(), blackhole);
+    }
+
+    private void parse(JsonParser parser, Blackhole blackhole) {
+        parser.parseInputs(Collections.singletonList(Parser.Input.fromString(Paths.get("package-lock.json"), packageLock)),
+                        null, new InMemoryExecutionContext())
+                .forEach(blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(JsonParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -29,6 +29,7 @@
 import org.openrewrite.maven.cache.CompositeMavenPomCache;
 import org.openrewrite.maven.cache.InMemoryMavenPomCache;
 import org.openrewrite.maven.cache.RocksdbMavenPomCache;
+import org.openrewrite.xml.XmlParser;
 
 import java.nio.file.Paths;
 import java.util.Optional;
@@ -46,6 +47,35 @@ public class MavenParserBenchmark {
             new RocksdbMavenPomCache(Paths.get(System.getProperty("user.home")))
     );
 
+    String largePom;
+
+    @Setup
+    public void setup() {
+        StringBuilder pom = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                              "<!-- A generated POM with many dependencies -->\n" +
+                                              "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"\n" +
+                                              "    xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n" +
+                                              "  <modelVersion>4.0.0</modelVersion>\n" +
+                                              "  <groupId>com.mycompany.app</groupId>\n" +
+                                              "  <artifactId>my-app</artifactId>\n" +
+                                              "  <version>1</version>\n" +
+                                              "  <properties>\n");
+        for (int i = 0; i < 500; i++) {
+            pom.append("    <lib").append(i).append(".version>1.").append(i).append(".0</lib").append(i).append(".version>\n");
+        }
+        pom.append("  </properties>\n  <dependencies>\n");
+        for (int i = 0; i < 2000; i++) {
+            pom.append("    <dependency>\n")
+                    .append("      <!-- dependency ").append(i).append(" -->\n")
+                    .append("      <groupId>org.example</groupId>\n")
+                    .append("      <artifactId>lib").append(i).append("</artifactId>\n")
+                    .append("      <version>${lib").append(i % 500).append(".version}</version>\n")
+                    .append("      <scope>").append(i % 2 == 0 ? "compile" : "test").append("</scope>\n")
+                    .append("    </dependency>\n");
+        }
+        largePom = pom.append("  </dependencies>\n</project>\n").toString();
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(MavenParserBenchmark.class.getSimpleName())
@@ -86,4 +116,14 @@ public void parse(Blackhole blackhole) {
 
         blackhole.consume(maven);
     }
+
+    @Benchmark
+    public void parseLargePomXml(Blackhole blackhole) {
+        blackhole.consume(XmlParser.builder().build().parse(largePom).findFirst());
+    }
+
+    @Benchmark
+    public void parseLargePomXmlWithAntlr(Blackhole blackhole) {
+        blackhole.consume(XmlParser.builder().antlr(true).build().parse(largePom).findFirst());
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.parse;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.json.JsonParser;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.yaml.YamlParser;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a synthetic repository of XML, YAML, JSON, properties and plain text files
+ * sequentially, one parser at a time, and with {@link Parser#parseInputsInParallel}.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MixedRepositoryParseBenchmark {
+
+    @Param({"5000"})
+    int filesPerLanguage;
+
+    List<Parser> parsers;
+    List<Parser.Input> inputs;
+    ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        // plain text accepts everything, so it has to come last
+        parsers = Arrays.asList(new XmlParser(), YamlParser.builder().build(), new JsonParser(),
+                new PropertiesParser(), PlainTextParser.builder().build());
+        inputs = new ArrayList<>(filesPerLanguage * 5);
+        for (int i = 0; i < filesPerLanguage; i++) {
+            inputs.add(Parser.Input.fromString(Paths.get("module" + i + "/pom.xml"),
+                    "<project>\n" +
+                    "  <groupId>org.example</groupId>\n" +
+                    "  <artifactId>module" + i + "</artifactId>\n" +
+                    "  <dependencies>\n" +
+                    "    <dependency><groupId>org.example</groupId><artifactId>lib</artifactId></dependency>\n" +
+                    "  </dependencies>\n" +
+                    "</project>\n"));
+            inputs.add(Parser.Input.fromString(Paths.get("module" + i + "/application.yml"),
+                    "spring:\n" +
+                    "  application:\n" +
+                    "    name: module" + i + "\n" +
+                    "  datasource:\n" +
+                    "    url: jdbc:h2:mem:db" + i + "\n" +
+                    "    pool: [1, 2, 3]\n"));
+            inputs.add(Parser.Input.fromString(Paths.get("module" + i + "/package.json"),
+                    "{\n" +
+                    "  \"name\": \"module" + i + "\",\n" +
+                    "  \"version\": \"1.0." + i + "\",\n" +
+                    "  \"dependencies\": { \"left-pad\": \"^1.3.0\" },\n" +
+                    "  \"files\": [\"a\", \"b\", \"c\"]\n" +
+                    "}\n"));
+            inputs.add(Parser.Input.fromString(Paths.get("module" + i + "/gradle.properties"),
+                    "group=org.example\n" +
+                    "version=1.0." + i + "\n" +
+                    "# a comment\n" +
+                    "org.gradle.jvmargs=-Xmx2g\n"));
+            inputs.add(Parser.Input.fromString(Paths.get("module" + i + "/README.md"),
+                    "# Module " + i + "\n\nSome documentation for module " + i + ".\n"));
+        }
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext();
+        List<Parser.Input> remaining = inputs;
+        for (Parser parser : parsers) {
+            List<Parser.Input> rejected = new ArrayList<>();
+            List<Parser.Input> accepted = new ArrayList<>();
+            for (Parser.Input input : remaining) {
+                (parser.accept(input) ? accepted : rejected).add(input);
+            }
+            parser.parseInputs(accepted, null, ctx).forEach(blackhole::consume);
+            remaining = rejected;
+        }
+    }
+
+    @Benchmark
+    public void parallel(Blackhole blackhole) {
+        Parser.parseInputsInParallel(parsers, inputs, null, new InMemoryExecutionContext(), executor,
+                        Runtime.getRuntime().availableProcessors() * 4)
+                .forEach(blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MixedRepositoryParseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.xml;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.xml.XPathMatcher;
+import org.openrewrite.xml.XPathMatcherSet;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.xml.XmlVisitor;
+import org.openrewrite.xml.tree.Xml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches every tag of a large POM against the kind of XPath expressions that Maven recipes use, one
+ * {@link XPathMatcher} at a time and all at once with an {@link XPathMatcherSet}.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class XPathMatcherBenchmark {
+
+    @Param({"1", "50"})
+    int expressions;
+
+    Xml.Document pom;
+    List<XPathMatcher> matchers;
+    XPathMatcherSet matcherSet;
+
+    @Setup
+    public void setup() {
+        StringBuilder xml = new StringBuilder("<project>\n  <dependencyManagement>\n    <dependencies>\n");
+        for (int i = 0; i < 2_000; i++) {
+            xml.append("      <dependency>\n")
+                    .append("        <groupId>org.example").append(i % 50).append("</groupId>\n")
+                    .append("        <artifactId>artifact-").append(i).append("</artifactId>\n")
+                    .append("        <version>1.").append(i % 10).append("</version>\n")
+                    .append("        <exclusions><exclusion><groupId>org.excluded</groupId></exclusion></exclusions>\n")
+                    .append("      </dependency>\n");
+        }
+        pom = (Xml.Document) new XmlParser().parse(xml.append("    </dependencies>\n  </dependencyManagement>\n</project>\n").toString())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Could not parse POM"));
+
+        String[] templates = {
+                "/project/dependencyManagement/dependencies/dependency/%s",
+                "/project/dependencies/dependency/%s",
+                "//dependency/%s",
+                "/project/build/plugins/plugin/%s",
+                "/project/profiles/profile/dependencies/dependency/%s"
+        };
+        matchers = new ArrayList<>(expressions);
+        for (int i = 0; i < expressions; i++) {
+            matchers.add(new XPathMatcher(String.format(templates[i % templates.length], "tag" + (i / templates.length))));
+        }
+        matchers.set(0, new XPathMatcher("/project/dependencyManagement/dependencies/dependency/version"));
+        matcherSet = new XPathMatcherSet(matchers);
+    }
+
+    @Benchmark
+    public void eachMatcher(Blackhole blackhole) {
+        new XmlVisitor<Blackhole>() {
+            @Override
+            public Xml visitTag(Xml.Tag tag, Blackhole bh) {
+                for (XPathMatcher matcher : matchers) {
+                    bh.consume(matcher.matches(getCursor()));
+                }
+                return super.visitTag(tag, bh);
+            }
+        }.visit(pom, blackhole);
+    }
+
+    @Benchmark
+    public void matcherSet(Blackhole blackhole) {
+        new XmlVisitor<Blackhole>() {
+            @Override
+            public Xml visitTag(Xml.Tag tag, Blackhole bh) {
+                bh.consume(matcherSet.allMatches(getCursor()));
+                return super.visitTag(tag, bh);
+            }
+        }.visit(pom, blackhole);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(XPathMatcherBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2020 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.scheduling.WatchableExecutionContext;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Runs the visitors of a series of {@link Recipe#isLocal() local} recipes over a source file in a single
+ * traversal, rather than one traversal per recipe.
+ * <p>
+ * Each element is visited once. After its children have been visited, the element is dispatched in recipe
+ * order to every visitor that overrides a visit method for that kind of element. The visitor only handles
+ * that one element, since its children have already been dispatched to every visitor.
+ * <p>
+ * Preconditions are evaluated against the source file before the traversal. When a visitor changes the
+ * source file and a later visitor has a precondition, that precondition was evaluated against a stale source
+ * file. In that case only the edits up to and including the changing visitor are kept, and the remaining
+ * visitors are fused again against the result, so that the outcome is the same as running them one by one.
+ * The same is done when more than one visitor changes the source file, so that the source file each of them
+ * found and left behind is known, as it would be if they had run one by one.
+ */
+@Incubating(since = "8.57.0")
+public class FusedVisitor extends TreeVisitor<Tree, ExecutionContext> {
+    private static final Class<?> NOOP = TreeVisitor.noop().getClass();
+
+    private static final ClassValue<Interest> INTERESTS = new ClassValue<Interest>() {
+        @Override
+        protected Interest computeValue(Class<?> type) {
+            return Interest.of(type);
+        }
+    };
+
+    private final List<TreeVisitor<?, ExecutionContext>> visitors;
+
+    /**
+     * The position of each visitor in the list of visitors passed to {@link #fuse(List, SourceFile, ExecutionContext, Cursor)}.
+     */
+    private final List<Integer> positions;
+
+    private final Fusion fusion;
+    private final boolean[] changed;
+    private final Map<Class<?>, int[]> dispatch = new IdentityHashMap<>();
+
+    private int firstChanged = -1;
+
+    private FusedVisitor(List<TreeVisitor<?, ExecutionContext>> visitors, List<Integer> positions, Fusion fusion) {
+        this.visitors = visitors;
+        this.positions = positions;
+        this.fusion = fusion;
+        this.changed = new boolean[fusion.changed.length];
+    }
+
+    /**
+     * @param visitor A visitor returned by {@link Recipe#getVisitor()}.
+     * @return Whether the visitor, once unwrapped from any {@link Preconditions.Check}, can take part in a fused
+     * traversal. Visitors that override {@link TreeVisitor#visit(Tree, Object)} control their own traversal and cannot.
+     */
+    public static boolean isFusible(TreeVisitor<?, ExecutionContext> visitor) {
+        TreeVisitor<?, ExecutionContext> v = visitor;
+        while (v instanceof Preconditions.Check) {
+            v = ((Preconditions.Check) v).v;
+        }
+        return !isNoop(v) && INTERESTS.get(v.getClass()).fusible;
+    }
+
+    /**
+     * @param visitor A visitor returned by {@link Recipe#getVisitor()}.
+     * @return Whether the visitor is {@link TreeVisitor#noop()}, in which case it can be run in any position
+     * relative to fused visitors.
+     */
+    public static boolean isNoop(TreeVisitor<?, ExecutionContext> visitor) {
+        return visitor.getClass() == NOOP;
+    }
+
+    /**
+     * Apply each of the visitors to a source file as if they had been applied one after the other.
+     *
+     * @param visitors   Visitors for which {@link #isFusible(TreeVisitor)} is true, in recipe order.
+     * @param sourceFile The source file to edit.
+     * @param ctx        The execution context.
+     * @param rootCursor The root cursor shared by recipes in the run.
+     * @return The edited source file along with which of the visitors made changes.
+     */
+    public static Fusion fuse(List<? extends TreeVisitor<?, ExecutionContext>> visitors, SourceFile sourceFile,
+                              ExecutionContext ctx, Cursor rootCursor) {
+        Fusion fusion = new Fusion(visitors.size(), sourceFile);
+        int from = 0;
+        while (from < visitors.size() && fusion.after != null) {
+            SourceFile before = fusion.after;
+            List<TreeVisitor<?, ExecutionContext>> active = new ArrayList<>(visitors.size() - from);
+            List<Integer> positions = new ArrayList<>(visitors.size() - from);
+            int lastConditional = -1;
+            for (int i = from; i < visitors.size(); i++) {
+                TreeVisitor<?, ExecutionContext> visitor = visitors.get(i);
+                if (visitor instanceof Preconditions.Check) {
+                    lastConditional = i;
+                }
+                TreeVisitor<?, ExecutionContext> v = activate(visitor, before, ctx, rootCursor);
+                if (v != null) {
+                    active.add(v);
+                    positions.add(i);
+                }
+            }
+            if (active.isEmpty()) {
+                break;
+            }
+
+            FusedVisitor pass = new FusedVisitor(active, positions, fusion);
+            SourceFile after = pass.run(before, ctx, rootCursor);
+            if (pass.firstChanged < 0 || (pass.firstChanged >= lastConditional && pass.countChanged() == 1)) {
+                pass.commit(before, after);
+                break;
+            }
+
+            int upTo = positions.indexOf(pass.firstChanged) + 1;
+            FusedVisitor redo = new FusedVisitor(active.subList(0, upTo), positions.subList(0, upTo), fusion);
+            redo.commit(before, redo.run(before, ctx, rootCursor));
+            from = pass.firstChanged + 1;
+        }
+        return fusion;
+    }
+
+    private static @Nullable TreeVisitor<?, ExecutionContext> activate(TreeVisitor<?, ExecutionContext> visitor,
+                                                                      SourceFile sourceFile, ExecutionContext ctx,
+                                                                      Cursor rootCursor) {
+        TreeVisitor<?, ExecutionContext> v = visitor;
+        if (!v.isAcceptable(sourceFile, ctx)) {
+            return null;
+        }
+        while (v instanceof Preconditions.Check) {
+            Preconditions.Check check = (Preconditions.Check) v;
+            if (check.getCheck().visit(sourceFile, ctx, rootCursor) == sourceFile) {
+                return null;
+            }
+            v = check.v;
+        }
+        return sourceFile.isAcceptable(v, ctx) && v.isAcceptable(sourceFile, ctx) ? v : null;
+    }
+
+    private @Nullable SourceFile run(SourceFile sourceFile, ExecutionContext ctx, Cursor rootCursor) {
+        for (TreeVisitor<?, ExecutionContext> v : visitors) {
+            v.shallow = true;
+        }
+        try {
+            return (SourceFile) visit(sourceFile, ctx, rootCursor);
+        } finally {
+            for (TreeVisitor<?, ExecutionContext> v : visitors) {
+                v.shallow = false;
+            }
+        }
+    }
+
+    private int countChanged() {
+        int count = 0;
+        for (boolean c : changed) {
+            if (c) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void commit(SourceFile before, @Nullable SourceFile after) {
+        for (int i = 0; i < changed.length; i++) {
+            if (changed[i]) {
+                fusion.changed[i] = true;
+                fusion.befores[i] = before;
+                fusion.afters[i] = after;
+            }
+        }
+        fusion.after = after;
+    }
+
+    @Override
+    public @Nullable Tree postVisit(Tree tree, ExecutionContext ctx) {
+        int[] interested = dispatch.get(tree.getClass());
+        if (interested == null) {
+            interested = interestedIn(tree.getClass());
+            dispatch.put(tree.getClass(), interested);
+        }
+        if (interested.length == 0) {
+            return tree;
+        }
+
+        Cursor parent = getCursor().getParentOrThrow();
+        Tree t = tree;
+        for (int m : interested) {
+            int position = positions.get(m);
+            long start = System.nanoTime();
+            Tree t2 = visitors.get(m).visit(t, ctx, parent);
+            fusion.nanos[position] += System.nanoTime() - start;
+            if (ctx instanceof WatchableExecutionContext && ((WatchableExecutionContext) ctx).hasNewMessages()) {
+                fusion.messaged[position] = true;
+                ((WatchableExecutionContext) ctx).resetHasNewMessages();
+            }
+            if (t2 != t) {
+                changed[position] = true;
+                if (firstChanged < 0 || position < firstChanged) {
+                    firstChanged = position;
+                }
+                if (t2 == null) {
+                    return null;
+                }
+                t = t2;
+            }
+        }
+        return t;
+    }
+
+    private int[] interestedIn(Class<?> treeType) {
+        int[] interested = new int[visitors.size()];
+        int n = 0;
+        for (int m = 0; m < visitors.size(); m++) {
+            if (INTERESTS.get(visitors.get(m).getClass()).isInterestedIn(treeType)) {
+                interested[n++] = m;
+            }
+        }
+        int[] trimmed = new int[n];
+        System.arraycopy(interested, 0, trimmed, 0, n);
+        return trimmed;
+    }
+
+    /**
+     * The outcome of fusing a series of visitors.
+     */
+    public static class Fusion {
+        private final boolean[] changed;
+        private final boolean[] messaged;
+        private final long[] nanos;
+        private final @Nullable SourceFile[] befores;
+        private final @Nullable SourceFile[] afters;
+
+        private @Nullable SourceFile after;
+
+        private Fusion(int size, SourceFile before) {
+            this.changed = new boolean[size];
+            this.messaged = new boolean[size];
+            this.nanos = new long[size];
+            this.befores = new SourceFile[size];
+            this.afters = new SourceFile[size];
+            this.after = before;
+        }
+
+        public @Nullable SourceFile getAfter() {
+            return after;
+        }
+
+        /**
+         * @param i The position of a visitor in the list that was fused.
+         * @return The source file as the visitor found it, if it {@link #isChanged(int) changed} it.
+         */
+        public @Nullable SourceFile getBefore(int i) {
+            return befores[i];
+        }
+
+        /**
+         * @param i The position of a visitor in the list that was fused.
+         * @return The source file as the visitor left it, if it {@link #isChanged(int) changed} it, which
+         * is {@code null} if it deleted it.
+         */
+        public @Nullable SourceFile getAfter(int i) {
+            return afters[i];
+        }
+
+        /**
+         * @param i The position of a visitor in the list that was fused.
+         * @return Whether the visitor changed any element of the source file.
+         */
+        public boolean isChanged(int i) {
+            return changed[i];
+        }
+
+        /**
+         * @param i The position of a visitor in the list that was fused.
+         * @return Whether the visitor put new messages on the execution context.
+         */
+        public boolean isMessaged(int i) {
+            return messaged[i];
+        }
+
+        /**
+         * @param i The position of a visitor in the list that was fused.
+         * @return The time spent in the visitor, including any traversal that had to be redone.
+         */
+        public Duration getDuration(int i) {
+            return Duration.ofNanos(nanos[i]);
+        }
+    }
+
+    /**
+     * The kinds of elements that a visitor implementation overrides visit methods for. A method whose first
+     * parameter is a concrete LST element type only needs elements of that type to be dispatched to it. Any
+     * other visit method (e.g. for an interface like {@code Statement}, for whitespace or for markers) may be
+     * called for any element.
+     */
+    private static class Interest {
+        private static final Interest NOT_FUSIBLE = new Interest(false, false, emptyList());
+
+        private final boolean fusible;
+        private final boolean all;
+        private final List<Class<?>> types;
+
+        private Interest(boolean fusible, boolean all, List<Class<?>> types) {
+            this.fusible = fusible;
+            this.all = all;
+            this.types = types;
+        }
+
+        boolean isInterestedIn(Class<?> treeType) {
+            if (all) {
+                return true;
+            }
+            for (Class<?> type : types) {
+                if (type.isAssignableFrom(treeType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        static Interest of(Class<?> visitorType) {
+            boolean all = false;
+            List<Class<?>> types = new ArrayList<>();
+            for (Class<?> c = visitorType; c != null && !isLanguageVisitor(c); c = c.getSuperclass()) {
+                for (Method method : c.getDeclaredMethods()) {
+                    if (method.isSynthetic()) {
+                        continue;
+                    }
+                    String name = method.getName();
+                    if ("visit".equals(name)) {
+                        return NOT_FUSIBLE;
+                    } else if (name.startsWith("visit") || "preVisit".equals(name) || "postVisit".equals(name)) {
+                        Class<?>[] params = method.getParameterTypes();
+                        if (params.length > 0 && Tree.class.isAssignableFrom(params[0]) &&
+                            !params[0].isInterface() && !Modifier.isAbstract(params[0].getModifiers())) {
+                            types.add(params[0]);
+                        } else {
+                            all = true;
+                        }
+                    }
+                }
+            }
+            return new Interest(true, all, types);
+        }
+
+        /**
+         * Language visitors like {@code JavaVisitor} and {@code JavaIsoVisitor} override every visit method
+         * to traverse (or cast), so their methods say nothing about what a recipe's visitor is interested in.
+         */
+        private static boolean isLanguageVisitor(Class<?> c) {
+            if (c == TreeVisitor.class) {
+                return true;
+            }
+            Class<?> superclass = c.getSuperclass();
+            return superclass != null &&
+                   Modifier.isPublic(c.getModifiers()) &&
+                   c.getEnclosingClass() == null &&
+                   c.getName().startsWith("org.openrewrite.") &&
+                   (c.getSimpleName().endsWith("IsoVisitor") || declaresGetLanguage(c)) &&
+                   isLanguageVisitor(superclass);
+        }
+
+        private static boolean declaresGetLanguage(Class<?> c) {
+            try {
+                c.getDeclaredMethod("getLanguage");
+                return true;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    }
+}
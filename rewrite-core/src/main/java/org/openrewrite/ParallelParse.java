@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.tree.ParseError;
+import org.openrewrite.tree.ParsingEventListener;
+import org.openrewrite.tree.ParsingExecutionContextView;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Parses inputs one per task with a bounded window of tasks ahead of the consumer.
+ * Each task records the listener and error callbacks its parser makes, which are
+ * replayed against the caller's context when the consumer reaches that input.
+ */
+final class ParallelParse {
+    private final List<? extends Parser> parsers;
+
+    @Nullable
+    private final Path relativeTo;
+
+    private final ExecutionContext ctx;
+    private final ParsingEventListener listener;
+    private final Executor executor;
+    private final int maxInFlight;
+
+    ParallelParse(List<? extends Parser> parsers, @Nullable Path relativeTo, ExecutionContext ctx,
+                  Executor executor, int maxInFlight) {
+        for (Parser parser : parsers) {
+            if (!parser.isInputIndependent()) {
+                throw new IllegalArgumentException(parser.getClass().getName() + " does not parse inputs independently " +
+                                                   "of one another and cannot parse them in parallel");
+            }
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1, but was " + maxInFlight);
+        }
+        this.parsers = parsers;
+        this.relativeTo = relativeTo;
+        this.ctx = ctx;
+        this.listener = ParsingExecutionContextView.view(ctx).getParsingListener();
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    Stream<SourceFile> parse(Iterable<Parser.Input> sources) {
+        Iterator<Parser.Input> inputs = sources.iterator();
+        Deque<ParseTask> window = new ArrayDeque<>(maxInFlight);
+        Iterator<List<SourceFile>> parsed = new Iterator<List<SourceFile>>() {
+            @Override
+            public boolean hasNext() {
+                fill();
+                return !window.isEmpty();
+            }
+
+            @Override
+            public List<SourceFile> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                // top the window back up before blocking, so workers stay busy while we wait
+                ParseTask task = window.poll();
+                fill();
+                return task.join();
+            }
+
+            private void fill() {
+                while (window.size() < maxInFlight && inputs.hasNext()) {
+                    Parser.Input input = inputs.next();
+                    Parser parser = parserFor(input);
+                    if (parser != null) {
+                        window.add(new ParseTask(parser, input));
+                    }
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(parsed,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(List::stream);
+    }
+
+    private @Nullable Parser parserFor(Parser.Input input) {
+        for (Parser parser : parsers) {
+            if (parser.accept(input)) {
+                return parser;
+            }
+        }
+        return null;
+    }
+
+    private class ParseTask {
+        private final Parser parser;
+        private final Parser.Input input;
+        private final List<Consumer<ParsingEventListener>> events = new ArrayList<>();
+        private final List<Throwable> errors = new ArrayList<>();
+        private final CompletableFuture<List<SourceFile>> result;
+
+        ParseTask(Parser parser, Parser.Input input) {
+            this.parser = parser;
+            this.input = input;
+            this.result = CompletableFuture.supplyAsync(this::run, executor);
+        }
+
+        private List<SourceFile> run() {
+            ExecutionContext taskCtx = new RecordingExecutionContext(this);
+            try {
+                return parser.parseInputs(singletonList(input), relativeTo, taskCtx).collect(toList());
+            } catch (Throwable t) {
+                errors.add(t);
+                return singletonList(ParseError.build(parser, input, relativeTo, taskCtx, t));
+            }
+        }
+
+        List<SourceFile> join() {
+            List<SourceFile> sourceFiles;
+            try {
+                sourceFiles = result.join();
+            } catch (CompletionException e) {
+                // only reachable if the executor itself failed the task
+                Throwable t = e.getCause() == null ? e : e.getCause();
+                ctx.getOnError().accept(t);
+                return singletonList(ParseError.build(parser, input, relativeTo, ctx, t));
+            }
+            // the join() above happens-after everything the task recorded
+            for (Consumer<ParsingEventListener> event : events) {
+                event.accept(listener);
+            }
+            for (Throwable error : errors) {
+                ctx.getOnError().accept(error);
+            }
+            return sourceFiles;
+        }
+    }
+
+    /**
+     * Shares messages with the caller's context, but routes the parsing listener and
+     * error callback of one task into that task's recording.
+     */
+    private class RecordingExecutionContext extends DelegatingExecutionContext {
+        private final ParsingEventListener recorder;
+        private final Consumer<Throwable> onError;
+
+        RecordingExecutionContext(ParseTask task) {
+            super(ctx);
+            this.recorder = new ParsingEventListener() {
+                @Override
+                public void intermediateMessage(String stateMessage) {
+                    task.events.add(l -> l.intermediateMessage(stateMessage));
+                }
+
+                @Override
+                public void startedParsing(Parser.Input input) {
+                    task.events.add(l -> l.startedParsing(input));
+                }
+
+                @Override
+                public void parsed(Parser.Input input, SourceFile sourceFile) {
+                    task.events.add(l -> l.parsed(input, sourceFile));
+                }
+            };
+            this.onError = task.errors::add;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> @Nullable T getMessage(String key) {
+            T value = super.getMessage(key);
+            return value == listener ? (T) recorder : value;
+        }
+
+        @Override
+        public Consumer<Throwable> getOnError() {
+            return onError;
+        }
+    }
+}
@@ -21,6 +21,7 @@
 import org.openrewrite.internal.EncodingDetectingInputStream;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.tree.ParseError;
+import org.openrewrite.tree.ParsingEventListener;
 import org.openrewrite.tree.ParsingExecutionContextView;
 
 import java.io.*;
@@ -32,10 +33,12 @@
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
 public interface Parser {
@@ -112,6 +115,51 @@ default Parser reset() {
         return this;
     }
 
+    /**
+     * @return Whether each input is parsed without regard to any other input of the same
+     * {@link #parseInputs(Iterable, Path, ExecutionContext)} call, so that splitting a batch of
+     * inputs into single-input calls yields the same source files. Parsers that resolve types
+     * or models across inputs (e.g. Java, Maven) must not claim this.
+     */
+    @Incubating(since = "8.57.0")
+    default boolean isInputIndependent() {
+        return false;
+    }
+
+    /**
+     * Parse inputs on the given executor, at most {@code maxInFlight} of them at a time.
+     *
+     * @see #parseInputsInParallel(List, Iterable, Path, ExecutionContext, Executor, int)
+     */
+    @Incubating(since = "8.57.0")
+    default Stream<SourceFile> parseInputsInParallel(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx,
+                                                     Executor executor, int maxInFlight) {
+        if (!isInputIndependent()) {
+            return parseInputs(sources, relativeTo, ctx);
+        }
+        return parseInputsInParallel(singletonList(this), sources, relativeTo, ctx, executor, maxInFlight);
+    }
+
+    /**
+     * Parse a mixed set of inputs, each with the first of {@code parsers} that accepts it, on the
+     * given executor. Inputs that no parser accepts are skipped.
+     * <p>
+     * The returned stream is lazy and ordered: source files appear in the order of their inputs,
+     * and no more than {@code maxInFlight} inputs are being parsed or waiting to be consumed at any
+     * time, so a slow consumer holds back parsing rather than accumulating parsed trees in memory.
+     * {@link ParsingEventListener} callbacks and {@link ExecutionContext#getOnError()} are invoked on
+     * the consuming thread, in input order, as each input's source files are consumed.
+     *
+     * @param parsers     Parsers that are all {@link #isInputIndependent() input independent}.
+     * @param maxInFlight The maximum number of inputs parsed ahead of the consumer.
+     */
+    @Incubating(since = "8.57.0")
+    static Stream<SourceFile> parseInputsInParallel(List<? extends Parser> parsers, Iterable<Input> sources,
+                                                    @Nullable Path relativeTo, ExecutionContext ctx,
+                                                    Executor executor, int maxInFlight) {
+        return new ParallelParse(parsers, relativeTo, ctx, executor, maxInFlight).parse(sources);
+    }
+
     /**
      * Returns the ExecutionContext charset if its defined
      * otherwise returns {@link java.nio.charset.StandardCharsets#UTF_8}
@@ -146,7 +146,7 @@ public static class Check extends TreeVisitor<Tree, ExecutionContext> {
         @Getter
         private final TreeVisitor<?, ExecutionContext> check;
 
-        private final TreeVisitor<?, ExecutionContext> v;
+        final TreeVisitor<?, ExecutionContext> v;
 
         public Check(TreeVisitor<?, ExecutionContext> check, TreeVisitor<?, ExecutionContext> v) {
             this.check = check;
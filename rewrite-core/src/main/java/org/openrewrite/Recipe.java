@@ -356,6 +356,20 @@ public boolean causesAnotherCycle() {
         return false;
     }
 
+    /**
+     * @return Declares that this recipe's visitor only edits individual LST elements based on the element itself,
+     * so that it can be fused with the visitors of other local recipes into a single traversal of each source file
+     * (see {@link org.openrewrite.scheduling.RecipeFusionExecutionContextView}). A local visitor does not pass cursor
+     * messages between elements, does not use {@link TreeVisitor#doAfterVisit(TreeVisitor)} or
+     * {@link TreeVisitor#stopAfterPreVisit()}, does not look at ancestors or descendants that other recipes may change,
+     * and does not introduce elements that would themselves need to be edited by a local recipe. Because a fused
+     * traversal may be repeated sequentially, its visitor should also not have side effects like inserting data table rows.
+     */
+    @Incubating(since = "8.57.0")
+    public boolean isLocal() {
+        return false;
+    }
+
     /**
      * At the end of a recipe run, a {@link RecipeScheduler} will call this method to allow the
      * recipe to perform any cleanup or finalization tasks. This method is guaranteed to be called
@@ -27,6 +27,7 @@
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.BiFunction;
@@ -72,6 +73,31 @@ public static <T extends Tree, P> TreeVisitor<T, P> noop() {
 
     private int visitCount;
 
+    /**
+     * The tree that the current top-level call to {@link #visit(Tree, Object)} was made with.
+     */
+    private @Nullable Tree visitRoot;
+
+    /**
+     * When set by {@link FusedVisitor}, a call to {@link #visit(Tree, Object)} only dispatches
+     * the element it is called with. Nested calls return their argument unchanged, since the
+     * fused traversal has already visited those elements.
+     */
+    boolean shallow;
+
+    /**
+     * When {@link #useCursorStack(boolean) enabled}, the values of the elements being visited that
+     * have not yet been materialized as {@link Cursor} instances on top of {@link #cursor}.
+     */
+    private Object @Nullable [] cursorStack;
+
+    /**
+     * Which elements on the {@link #cursorStack} {@link #stopAfterPreVisit() stop after pre-visit}.
+     */
+    private boolean @Nullable [] cursorStackStopped;
+
+    private int cursorStackDepth;
+
     public boolean isAcceptable(SourceFile sourceFile, P p) {
         return true;
     }
@@ -79,6 +105,92 @@ public boolean isAcceptable(SourceFile sourceFile, P p) {
     public void setCursor(@Nullable Cursor cursor) {
         assert cursor != null;
         this.cursor = cursor;
+        discardCursorStack();
+    }
+
+    /**
+     * Keep the path of the elements being visited on an array-backed stack that is reused across
+     * visits, instead of allocating a {@link Cursor} for every element. Cursors are only created when
+     * they escape, i.e. when {@link #getCursor()} is called, at which point the whole path is
+     * materialized and subsequently behaves as it always has, messages included.
+     * <p>
+     * This is most effective for visitors that only call {@link #getCursor()} on the few elements
+     * they are interested in. A visitor overriding {@link #setCursor(Cursor)} to observe every
+     * change of position should not enable this, since elements pushed on the stack don't go
+     * through {@link #setCursor(Cursor)}.
+     *
+     * @param useCursorStack Whether to use the cursor stack.
+     */
+    @Incubating(since = "8.57.0")
+    public void useCursorStack(boolean useCursorStack) {
+        if (useCursorStack) {
+            if (cursorStack == null) {
+                cursorStack = new Object[32];
+                cursorStackStopped = new boolean[32];
+            }
+        } else if (cursorStack != null) {
+            materializeCursorStack();
+            cursorStack = null;
+            cursorStackStopped = null;
+        }
+    }
+
+    /**
+     * Position the cursor at a value beneath the current one that isn't itself visited as a {@link Tree},
+     * like padding or a container. Every call must be balanced by a call to {@link #popCursor()}.
+     *
+     * @param value The value of the new cursor position.
+     */
+    @Incubating(since = "8.57.0")
+    protected final void pushCursor(Object value) {
+        Object[] stack = cursorStack;
+        if (stack == null) {
+            setCursor(new Cursor(cursor, value));
+            return;
+        }
+        if (cursorStackDepth == stack.length) {
+            cursorStack = stack = Arrays.copyOf(stack, stack.length * 2);
+            cursorStackStopped = Arrays.copyOf(requireNonNull(cursorStackStopped), stack.length);
+        }
+        stack[cursorStackDepth++] = value;
+    }
+
+    /**
+     * Return the cursor to the parent of its current position.
+     */
+    @Incubating(since = "8.57.0")
+    protected final void popCursor() {
+        if (cursorStackDepth > 0) {
+            int top = --cursorStackDepth;
+            requireNonNull(cursorStack)[top] = null;
+            requireNonNull(cursorStackStopped)[top] = false;
+        } else {
+            setCursor(cursor.getParent());
+        }
+    }
+
+    private void materializeCursorStack() {
+        Object[] stack = requireNonNull(cursorStack);
+        boolean[] stopped = requireNonNull(cursorStackStopped);
+        Cursor c = cursor;
+        for (int i = 0; i < cursorStackDepth; i++) {
+            c = new Cursor(c, stack[i]);
+            if (stopped[i]) {
+                c.putMessage(STOP_AFTER_PRE_VISIT, true);
+                stopped[i] = false;
+            }
+            stack[i] = null;
+        }
+        cursorStackDepth = 0;
+        cursor = c;
+    }
+
+    private void discardCursorStack() {
+        if (cursorStackDepth > 0) {
+            Arrays.fill(requireNonNull(cursorStack), 0, cursorStackDepth, null);
+            Arrays.fill(requireNonNull(cursorStackStopped), 0, cursorStackDepth, false);
+            cursorStackDepth = 0;
+        }
     }
 
     /**
@@ -110,6 +222,9 @@ protected List<TreeVisitor<?, P>> getAfterVisit() {
     }
 
     public final Cursor getCursor() {
+        if (cursorStackDepth > 0) {
+            materializeCursorStack();
+        }
         return cursor;
     }
 
@@ -121,7 +236,7 @@ public final Cursor getCursor() {
      * @return The updated cursor.
      */
     public final Cursor updateCursor(T currentValue) {
-        Object old = cursor.getValue();
+        Object old = getCursor().getValue();
         if (!(old instanceof Tree)) {
             throw new IllegalArgumentException("To update the cursor, it must currently be positioned at a Tree instance");
         }
@@ -151,6 +266,7 @@ public final Cursor updateCursor(T currentValue) {
                 "This usually indicates that you have used getCursor() where getCursor().getParent() is appropriate. " +
                 "This is a test-only validation which can be opted out of by configuring your test's type validation options with `cursorAcyclic(false)`.";
         this.cursor = parent;
+        discardCursorStack();
         return visit(tree, p);
     }
 
@@ -224,13 +340,22 @@ public P reduce(Tree tree, P p, Cursor parent) {
             return defaultValue(null, p);
         }
 
+        if (shallow && visitCount > 0) {
+            //noinspection unchecked
+            return (T) tree;
+        }
+
         boolean topLevel = false;
         if (visitCount == 0) {
             topLevel = true;
+            visitRoot = tree;
+        } else if (canSkip(requireNonNull(visitRoot), tree)) {
+            //noinspection unchecked
+            return (T) tree;
         }
 
         visitCount++;
-        setCursor(new Cursor(cursor, tree));
+        pushCursor(tree);
 
         T t = null;
         // Do you visitor take tree and do you tree take visitor?
@@ -240,7 +365,7 @@ public P reduce(Tree tree, P p, Cursor parent) {
             if (isAcceptable) {
                 //noinspection unchecked
                 t = preVisit((T) tree, p);
-                if (!cursor.getMessage(STOP_AFTER_PRE_VISIT, false)) {
+                if (!isStoppedAfterPreVisit()) {
                     if (t != null) {
                         t = t.accept(this, p);
                     }
@@ -258,10 +383,14 @@ public P reduce(Tree tree, P p, Cursor parent) {
                 }
             }
 
-            setCursor(cursor.getParent());
+            popCursor();
 
             if (topLevel) {
                 if (t != null && afterVisit != null) {
+                    if (shallow) {
+                        throw new IllegalStateException("doAfterVisit() is not supported by a local recipe's visitor, " +
+                                                        "since it would only run against a single element of the source file.");
+                    }
                     for (TreeVisitor<?, P> v : afterVisit) {
                          v.setCursor(getCursor());
                         //noinspection unchecked
@@ -271,6 +400,7 @@ public P reduce(Tree tree, P p, Cursor parent) {
 
                 afterVisit = null;
                 visitCount = 0;
+                visitRoot = null;
             }
         } catch (Throwable e) {
             if (e instanceof RecipeRunException) {
@@ -285,6 +415,21 @@ public P reduce(Tree tree, P p, Cursor parent) {
         return isAcceptable ? t : (T) tree;
     }
 
+    /**
+     * Whether a tree beneath the one this visitor was called with can be skipped entirely, because
+     * it can't contain anything that this visitor would act on. A skipped tree is returned as is,
+     * without calling any of the visit methods (including {@link #preVisit(Tree, Object)} and
+     * {@link #postVisit(Tree, Object)}) on it or anything it contains.
+     *
+     * @param root The tree that the top-level call to {@link #visit(Tree, Object)} was made with.
+     * @param tree A tree somewhere beneath the root that is about to be visited.
+     * @return <code>true</code> to skip visiting the tree.
+     */
+    @Incubating(since = "8.57.0")
+    protected boolean canSkip(Tree root, Tree tree) {
+        return false;
+    }
+
     public void visit(@Nullable List<? extends T> nodes, P p) {
         if (nodes != null) {
             for (T node : nodes) {
@@ -371,7 +516,15 @@ public <R extends Tree, V extends TreeVisitor<R, P>> V adapt(Class<? extends V>
         } else if (!isAdaptableTo(adaptTo)) {
             throw new IllegalArgumentException(getClass().getSimpleName() + " must be adaptable to " + adaptTo.getName() + ".");
         }
-        return TreeVisitorAdapter.adapt(this, adaptTo);
+        V adapted = TreeVisitorAdapter.adapt(this, adaptTo);
+        if (shallow) {
+            // the adapted visitor dispatches the element to this one, but must not descend any further either
+            TreeVisitor<?, ?> a = adapted;
+            a.shallow = true;
+            a.visitCount = visitCount;
+            a.visitRoot = visitRoot;
+        }
+        return adapted;
     }
 
     /**
@@ -381,6 +534,17 @@ public <R extends Tree, V extends TreeVisitor<R, P>> V adapt(Class<? extends V>
      */
     @Incubating(since = "8.0.0")
     public void stopAfterPreVisit() {
-        getCursor().putMessage(STOP_AFTER_PRE_VISIT, true);
+        if (cursorStackDepth > 0) {
+            requireNonNull(cursorStackStopped)[cursorStackDepth - 1] = true;
+        } else {
+            cursor.putMessage(STOP_AFTER_PRE_VISIT, true);
+        }
+    }
+
+    private boolean isStoppedAfterPreVisit() {
+        if (cursorStackDepth > 0) {
+            return requireNonNull(cursorStackStopped)[cursorStackDepth - 1];
+        }
+        return cursor.getMessage(STOP_AFTER_PRE_VISIT, false);
     }
 }
@@ -248,6 +248,11 @@ public List<Recipe> getRecipeList() {
         public boolean causesAnotherCycle() {
             return delegate.causesAnotherCycle();
         }
+
+        @Override
+        public boolean isLocal() {
+            return delegate.isLocal();
+        }
     }
 
     @Value
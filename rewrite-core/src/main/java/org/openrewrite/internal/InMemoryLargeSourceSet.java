@@ -15,7 +15,6 @@
  */
 package org.openrewrite.internal;
 
-import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.marker.DeserializationError;
@@ -24,6 +23,7 @@
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import static java.util.Collections.emptyList;
@@ -46,6 +46,27 @@ public class InMemoryLargeSourceSet implements LargeSourceSet {
     @Nullable
     private ClassLoader recipeClassLoader;
 
+    /**
+     * The source files that differ from the initial state, maintained by {@link #edit(UnaryOperator)}
+     * and {@link #generate(Collection)} so that {@link #getChangeset()} is proportional to the number of
+     * changes rather than the size of the source set. Null when this source set was constructed directly
+     * from an initial state, in which case it is derived on demand.
+     */
+    @Nullable
+    private Changes changes;
+
+    /**
+     * Only populated on the initial state. The position of each initial source file by its ID.
+     */
+    @Nullable
+    private Map<UUID, Integer> initialIndexById;
+
+    /**
+     * Only used on the initial state. The next ordinal to assign to a generated source file,
+     * which keeps generated files after all initial files in the changeset.
+     */
+    private int nextGeneratedOrdinal = -1;
+
     public InMemoryLargeSourceSet(List<SourceFile> ls) {
         this(null, null, ls, null);
     }
@@ -82,6 +103,8 @@ public LargeSourceSet edit(UnaryOperator<SourceFile> map) {
                 originalTCCL = Thread.currentThread().getContextClassLoader();
                 Thread.currentThread().setContextClassLoader(recipeClassLoader);
             }
+            Changes current = changes();
+            Changes[] next = new Changes[1];
             List<SourceFile> mapped = ListUtils.map(ls, before -> {
                 SourceFile after = map.apply(before);
                 if (after == null) {
@@ -90,9 +113,18 @@ public LargeSourceSet edit(UnaryOperator<SourceFile> map) {
                     }
                     deletions.put(before, currentRecipeStack);
                 }
+                if (after != before) {
+                    if (next[0] == null) {
+                        next[0] = current.copy();
+                    }
+                    Integer ordinal = next[0].remove(before);
+                    if (after != null && getOriginal(after) != after) {
+                        next[0].put(ordinal == null ? ordinalOfInitial(before) : ordinal, after);
+                    }
+                }
                 return after;
             });
-            return mapped != ls ? withChanges(deletions, mapped) : this;
+            return mapped != ls ? withTrackedChanges(withChanges(deletions, mapped), next[0]) : this;
         } finally {
             if (originalTCCL != null) {
                 // reset TCCL value to the original one to no infer with other tooling
@@ -107,52 +139,121 @@ public LargeSourceSet generate(@Nullable Collection<? extends SourceFile> t) {
         if (t == null || t.isEmpty()) {
             //noinspection ConstantConditions
             return this;
-        } else if (ls.isEmpty()) {
+        }
+
+        Changes next = changes().copy();
+        for (SourceFile generated : t) {
+            next.put(nextGeneratedOrdinal(), generated);
+        }
+
+        if (ls.isEmpty()) {
             //noinspection unchecked
-            return withChanges(deletions, (List<SourceFile>) t);
+            return withTrackedChanges(withChanges(deletions, (List<SourceFile>) t), next);
         }
 
         List<SourceFile> newLs = new ArrayList<>(ls);
         newLs.addAll(t);
-        return withChanges(deletions, newLs);
+        return withTrackedChanges(withChanges(deletions, newLs), next);
     }
 
     protected InMemoryLargeSourceSet getInitialState() {
         return initialState == null ? this : initialState;
     }
 
-    @Override
-    public Changeset getChangeset() {
-        Map<UUID, SourceFile> sourceFileIdentities = new HashMap<>();
-        for (SourceFile sourceFile : getInitialState().ls) {
-            sourceFileIdentities.put(sourceFile.getId(), sourceFile);
+    private static InMemoryLargeSourceSet withTrackedChanges(InMemoryLargeSourceSet sourceSet, Changes changes) {
+        sourceSet.changes = changes;
+        return sourceSet;
+    }
+
+    private Changes changes() {
+        if (changes == null) {
+            Changes c = new Changes();
+            if (initialState != null) {
+                for (SourceFile s : ls) {
+                    SourceFile original = getOriginal(s);
+                    if (original != s) {
+                        Integer index = original == null ? null : getInitialIndexById().get(s.getId());
+                        c.put(index == null || c.contains(index) ? nextGeneratedOrdinal() : index, s);
+                    }
+                }
+            }
+            changes = c;
+        }
+        return changes;
+    }
+
+    private Map<UUID, Integer> getInitialIndexById() {
+        InMemoryLargeSourceSet initial = getInitialState();
+        if (initial.initialIndexById == null) {
+            Map<UUID, Integer> index = new HashMap<>(initial.ls.size());
+            for (int i = 0; i < initial.ls.size(); i++) {
+                index.putIfAbsent(initial.ls.get(i).getId(), i);
+            }
+            initial.initialIndexById = index;
+        }
+        return initial.initialIndexById;
+    }
+
+    /**
+     * @param s A source file in this source set.
+     * @return The source file in the initial state with the same ID, if any.
+     */
+    private @Nullable SourceFile getOriginal(SourceFile s) {
+        Integer index = getInitialIndexById().get(s.getId());
+        return index == null ? null : getInitialState().ls.get(index);
+    }
+
+    /**
+     * @param s A source file that has not yet been changed from the initial state.
+     * @return An ordinal that sorts this source file in the same relative position as it has in the source set.
+     */
+    private int ordinalOfInitial(SourceFile s) {
+        InMemoryLargeSourceSet initial = getInitialState();
+        Integer index = getInitialIndexById().get(s.getId());
+        if (index != null && initial.ls.get(index) == s) {
+            return index;
         }
+        // not an initial file (or one sharing its ID with another), sorted after the initial files
+        return nextGeneratedOrdinal();
+    }
 
-        List<Result> changes = new ArrayList<>();
+    private int nextGeneratedOrdinal() {
+        InMemoryLargeSourceSet initial = getInitialState();
+        if (initial.nextGeneratedOrdinal < 0) {
+            initial.nextGeneratedOrdinal = initial.ls.size();
+        }
+        return initial.nextGeneratedOrdinal++;
+    }
+
+    @Override
+    public Changeset getChangeset() {
+        List<Supplier<Result>> results = new ArrayList<>();
 
         // added or changed files
-        for (SourceFile s : ls) {
-            SourceFile original = sourceFileIdentities.get(s.getId());
-            if (original != s) {
-                if (original != null) {
-                    if (original.getMarkers().findFirst(Generated.class).isPresent() || s.getMarkers().findFirst(DeserializationError.class).isPresent()) {
-                        continue;
-                    }
-                    changes.add(new Result(original, s));
-                } else {
-                    Collection<List<Recipe>> recipes = s.getMarkers().findFirst(RecipesThatMadeChanges.class).map(RecipesThatMadeChanges::getRecipes).orElse(emptyList());
-                    changes.add(new Result(null, s, recipes));
+        for (SourceFile s : changes().bySourceSetOrder()) {
+            SourceFile original = getOriginal(s);
+            if (original == s) {
+                continue;
+            } else if (original != null) {
+                if (original.getMarkers().findFirst(Generated.class).isPresent() || s.getMarkers().findFirst(DeserializationError.class).isPresent()) {
+                    continue;
                 }
+                results.add(() -> new Result(original, s));
+            } else {
+                results.add(() -> {
+                    Collection<List<Recipe>> recipes = s.getMarkers().findFirst(RecipesThatMadeChanges.class).map(RecipesThatMadeChanges::getRecipes).orElse(emptyList());
+                    return new Result(null, s, recipes);
+                });
             }
         }
 
         if (deletions != null) {
             for (Map.Entry<SourceFile, List<Recipe>> entry : deletions.entrySet()) {
-                changes.add(new Result(entry.getKey(), null, singleton(entry.getValue())));
+                results.add(() -> new Result(entry.getKey(), null, singleton(entry.getValue())));
             }
         }
 
-        return new InMemoryChangeset(changes);
+        return new InMemoryChangeset(results);
     }
 
     @Override
@@ -166,23 +267,89 @@ public Changeset getChangeset() {
         return null;
     }
 
-    @RequiredArgsConstructor
+    /**
+     * Source files that differ from the initial state, ordered by an ordinal that preserves their
+     * relative position in the source set. Copied on write, as each edit produces a new source set.
+     */
+    private static class Changes {
+        private final TreeMap<Integer, SourceFile> byOrdinal;
+        private final IdentityHashMap<SourceFile, Integer> ordinals;
+
+        Changes() {
+            this(new TreeMap<>(), new IdentityHashMap<>());
+        }
+
+        private Changes(TreeMap<Integer, SourceFile> byOrdinal, IdentityHashMap<SourceFile, Integer> ordinals) {
+            this.byOrdinal = byOrdinal;
+            this.ordinals = ordinals;
+        }
+
+        Changes copy() {
+            return new Changes(new TreeMap<>(byOrdinal), new IdentityHashMap<>(ordinals));
+        }
+
+        void put(int ordinal, SourceFile changed) {
+            byOrdinal.put(ordinal, changed);
+            ordinals.put(changed, ordinal);
+        }
+
+        /**
+         * @return The ordinal of the source file if it was previously changed, otherwise null.
+         */
+        @Nullable
+        Integer remove(SourceFile sourceFile) {
+            Integer ordinal = ordinals.remove(sourceFile);
+            if (ordinal != null) {
+                byOrdinal.remove(ordinal);
+            }
+            return ordinal;
+        }
+
+        boolean contains(int ordinal) {
+            return byOrdinal.containsKey(ordinal);
+        }
+
+        Collection<SourceFile> bySourceSetOrder() {
+            return byOrdinal.values();
+        }
+    }
+
+    /**
+     * Builds each {@link Result} only when it is first requested, so that paging through a
+     * large changeset doesn't pay for the results that are never looked at.
+     */
     private static class InMemoryChangeset implements Changeset {
-        final List<Result> change;
+        private final List<Supplier<Result>> changes;
+        private final @Nullable Result[] results;
+
+        InMemoryChangeset(List<Supplier<Result>> changes) {
+            this.changes = changes;
+            this.results = new Result[changes.size()];
+        }
 
         @Override
         public int size() {
-            return change.size();
+            return changes.size();
         }
 
         @Override
         public List<Result> getPage(int start, int count) {
-            return change.subList(start, Math.min(change.size(), start + count));
+            int end = Math.min(changes.size(), start + count);
+            List<Result> page = new ArrayList<>(Math.max(0, end - start));
+            for (int i = start; i < end; i++) {
+                Result result = results[i];
+                if (result == null) {
+                    result = changes.get(i).get();
+                    results[i] = result;
+                }
+                page.add(result);
+            }
+            return page;
         }
 
         @Override
         public List<Result> getAllResults() {
-            return change;
+            return getPage(0, size());
         }
     }
 }
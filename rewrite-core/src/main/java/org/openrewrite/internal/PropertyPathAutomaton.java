@@ -0,0 +1,246 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.Incubating;
+import org.openrewrite.Tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The compiled form of a JsonPath expression that selects a property by its keys from the root of a document, like
+ * {@code $.spec.template.metadata.labels} or {@code $['metadata']['name']}. It is shared by the JsonPath matchers of
+ * the YAML, JSON and HCL modules, which describe their trees to it with a {@link Structure}.
+ * <p>
+ * The state of a member is the number of steps of the path that it and its enclosing members match. It is computed
+ * from the state of the closest enclosing tree and memoized as a message on the member's cursor, so that as a visitor
+ * descends a document the path advances one tree at a time, and each node is checked in constant time.
+ */
+@Incubating(since = "8.57.0")
+public final class PropertyPathAutomaton {
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private static final int NO_MATCH = -1;
+    private static final int UNSUPPORTED = -2;
+
+    private final String stateKey = PropertyPathAutomaton.class.getName() + ".state." + IDS.incrementAndGet();
+
+    private final String[] steps;
+    private final Structure structure;
+
+    /**
+     * By number of matched steps, whether every remaining step is the same as the last matched step.
+     */
+    private final boolean[] remainingStepsRepeatLast;
+
+    private PropertyPathAutomaton(String[] steps, Structure structure) {
+        this.steps = steps;
+        this.structure = structure;
+        this.remainingStepsRepeatLast = new boolean[steps.length + 1];
+        for (int matched = 1; matched <= steps.length; matched++) {
+            boolean repeat = true;
+            for (int i = matched; i < steps.length && repeat; i++) {
+                repeat = steps[i].equals(steps[matched - 1]);
+            }
+            remainingStepsRepeatLast[matched] = repeat;
+        }
+    }
+
+    /**
+     * @param jsonPath  A JsonPath expression.
+     * @param structure The shape of the trees that the expression is matched against.
+     * @return The compiled expression, or {@code null} when the expression is anything other than a chain of
+     * {@code .name}, {@code ['name']} or {@code ["name"]} steps following {@code $}.
+     */
+    public static @Nullable PropertyPathAutomaton compile(String jsonPath, Structure structure) {
+        if (!jsonPath.startsWith("$")) {
+            return null;
+        }
+        List<String> steps = new ArrayList<>();
+        int i = 1;
+        while (i < jsonPath.length()) {
+            char c = jsonPath.charAt(i);
+            if (c == '.') {
+                int start = ++i;
+                if (i >= jsonPath.length() || !isIdentifierStart(jsonPath.charAt(i))) {
+                    return null;
+                }
+                while (i < jsonPath.length() && isIdentifierPart(jsonPath.charAt(i))) {
+                    i++;
+                }
+                String name = jsonPath.substring(start, i);
+                if (isKeyword(name)) {
+                    return null;
+                }
+                steps.add(name);
+            } else if (c == '[' && i + 1 < jsonPath.length() &&
+                       (jsonPath.charAt(i + 1) == '\'' || jsonPath.charAt(i + 1) == '"')) {
+                char quote = jsonPath.charAt(i + 1);
+                int start = i + 2;
+                int end = jsonPath.indexOf(quote, start);
+                if (end < 0 || end + 1 >= jsonPath.length() || jsonPath.charAt(end + 1) != ']' ||
+                    jsonPath.lastIndexOf('\\', end) >= start) {
+                    return null;
+                }
+                steps.add(jsonPath.substring(start, end));
+                i = end + 2;
+            } else {
+                return null;
+            }
+        }
+        return steps.isEmpty() ? null : new PropertyPathAutomaton(steps.toArray(new String[0]), structure);
+    }
+
+    /**
+     * @param cursor The cursor to test.
+     * @return Whether the path selects the cursor's value, or {@code null} when the cursor is not inside a root that
+     * the {@link Structure} supports, in which case the caller has to evaluate the expression some other way.
+     */
+    public @Nullable Boolean matches(Cursor cursor) {
+        int state = state(cursor);
+        if (state == UNSUPPORTED) {
+            return null;
+        }
+        if (state <= 0 || !(cursor.getValue() instanceof Tree) || structure.kind(cursor) != Kind.MEMBER) {
+            return false;
+        }
+        return state == steps.length ||
+               remainingStepsRepeatLast[state] && structure.hasNoNestedMembers(cursor);
+    }
+
+    private int state(Cursor cursor) {
+        Deque<Cursor> pending = new ArrayDeque<>();
+        int state = UNSUPPORTED;
+        for (Cursor c = cursor; c != null; c = c.getParent()) {
+            if (!(c.getValue() instanceof Tree)) {
+                continue;
+            }
+            Integer known = c.getMessage(stateKey);
+            if (known != null) {
+                state = known;
+                break;
+            }
+            Kind kind = structure.kind(c);
+            if (kind == Kind.ROOT || kind == Kind.UNSUPPORTED_ROOT) {
+                state = kind == Kind.ROOT ? 0 : UNSUPPORTED;
+                c.putMessage(stateKey, state);
+                break;
+            }
+            pending.push(c);
+        }
+        if (state == UNSUPPORTED) {
+            // not memoized on the pending cursors when no root was found at all, which is rare enough
+            return UNSUPPORTED;
+        }
+
+        while (!pending.isEmpty()) {
+            Cursor c = pending.pop();
+            state = advance(state, c);
+            c.putMessage(stateKey, state);
+        }
+        return state;
+    }
+
+    private int advance(int parentState, Cursor cursor) {
+        switch (structure.kind(cursor)) {
+            case CONTAINER:
+                return parentState;
+            case MEMBER:
+                if (parentState < 0 || parentState >= steps.length ||
+                    !steps[parentState].equals(structure.key(cursor)) ||
+                    !structure.isFirstWithKey(cursor)) {
+                    return NO_MATCH;
+                }
+                return parentState + 1;
+            default:
+                return NO_MATCH;
+        }
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return c == '_' || c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || c == '-' || c >= '0' && c <= '9';
+    }
+
+    private static boolean isKeyword(String name) {
+        return "true".equals(name) || "false".equals(name) || "null".equals(name) || "contains".equals(name);
+    }
+
+    public enum Kind {
+        /**
+         * The tree that {@code $} refers to.
+         */
+        ROOT,
+
+        /**
+         * A root that the automaton can't evaluate paths from.
+         */
+        UNSUPPORTED_ROOT,
+
+        /**
+         * A keyed property, like a YAML mapping entry, a JSON member or an HCL block or attribute.
+         */
+        MEMBER,
+
+        /**
+         * A tree that members are looked up through without consuming a step, like a mapping or a sequence.
+         */
+        CONTAINER,
+
+        /**
+         * Any other tree, under which no member can be selected.
+         */
+        OTHER
+    }
+
+    /**
+     * Describes the trees of a language to the automaton.
+     */
+    public interface Structure {
+        /**
+         * @param cursor A cursor whose value is a {@link Tree}.
+         */
+        Kind kind(Cursor cursor);
+
+        /**
+         * @param member A cursor whose value is a {@link Kind#MEMBER}.
+         */
+        String key(Cursor member);
+
+        /**
+         * @param member A cursor whose value is a {@link Kind#MEMBER}.
+         * @return Whether a step with the member's key selects this member, when the member's parent has several
+         * members with the same key.
+         */
+        boolean isFirstWithKey(Cursor member);
+
+        /**
+         * @param member A cursor whose value is a {@link Kind#MEMBER}.
+         * @return Whether the member's value can't contain members, in which case the steps following it in a path
+         * that are the same as its key select the member itself again.
+         */
+        boolean hasNoNestedMembers(Cursor member);
+    }
+}
@@ -17,8 +17,12 @@
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
-import lombok.With;
+import lombok.experimental.NonFinal;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
@@ -27,24 +31,59 @@
 import org.openrewrite.rpc.RpcSendQueue;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BinaryOperator;
 
 import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.toList;
+import static java.util.Collections.unmodifiableList;
 import static org.openrewrite.Tree.randomId;
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.IntSequenceGenerator.class, property = "@ref")
 @Value
-@With
 public class Markers implements RpcCodec<Markers> {
     public static final Markers EMPTY = new Markers(randomId(), emptyList());
 
+    /**
+     * Marker lists at or below this size are searched linearly, which is cheaper than
+     * maintaining an index for them.
+     */
+    private static final int INDEX_THRESHOLD = 8;
+
     UUID id;
 
-    @With
     List<Marker> markers;
 
+    /**
+     * The markers of each type that has been looked up on this instance, in insertion order.
+     * Since {@link Markers} is immutable, this is built lazily per type and never invalidated. Instances
+     * derived by adding, removing or computing markers start with the entries of this index that are
+     * unaffected by the change.
+     */
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    transient volatile @Nullable Map<Class<?>, List<? extends Marker>> byType;
+
+    public Markers(UUID id, List<Marker> markers) {
+        this.id = id;
+        this.markers = markers;
+    }
+
+    private Markers(UUID id, List<Marker> markers, @Nullable Map<Class<?>, List<? extends Marker>> byType) {
+        this.id = id;
+        this.markers = markers;
+        this.byType = byType;
+    }
+
+    public Markers withId(UUID id) {
+        return this.id == id ? this : new Markers(id, markers);
+    }
+
+    public Markers withMarkers(List<Marker> markers) {
+        return this.markers == markers ? this : new Markers(id, markers);
+    }
+
     public static Markers build(Collection<? extends Marker> markers) {
         if (markers.isEmpty()) {
             return EMPTY;
@@ -84,7 +123,7 @@ public Markers add(Marker marker) {
         }
         List<Marker> updatedmarker = new ArrayList<>(markers);
         updatedmarker.add(marker);
-        return new Markers(id, updatedmarker);
+        return derive(updatedmarker, Collections.singletonList(marker));
     }
 
     /**
@@ -97,20 +136,32 @@ public Markers add(Marker marker) {
      */
     public <M extends Marker> Markers computeByType(M identity, BinaryOperator<M> remappingFunction) {
         AtomicBoolean updated = new AtomicBoolean(false);
+        List<Marker> changed = new ArrayList<>(2);
         List<Marker> markers = ListUtils.map(this.markers, m -> {
             if (m.getClass().equals(identity.getClass())) {
                 updated.set(true);
 
                 //noinspection unchecked
-                return remappingFunction.apply((M) m, identity);
+                M remapped = remappingFunction.apply((M) m, identity);
+                changed.add(m);
+                changed.add(remapped);
+                return remapped;
             }
             return m;
         });
-        return withMarkers(!updated.get() ? ListUtils.concat(markers, identity) : markers);
+        changed.add(identity);
+        return derive(!updated.get() ? ListUtils.concat(markers, identity) : markers, changed);
     }
 
     public Markers removeByType(Class<? extends Marker> type) {
-        return withMarkers(ListUtils.map(this.markers, m -> type.equals(m.getClass()) ? null : m));
+        List<Marker> removed = new ArrayList<>(1);
+        return derive(ListUtils.map(this.markers, m -> {
+            if (type.equals(m.getClass())) {
+                removed.add(m);
+                return null;
+            }
+            return m;
+        }), removed);
     }
 
     public <M extends Marker> Markers setByType(M m) {
@@ -127,11 +178,15 @@ public <M extends Marker> Markers setByType(M m) {
      */
     public <M extends Marker> Markers compute(M identity, BinaryOperator<M> remappingFunction) {
         AtomicBoolean foundEqualMarker = new AtomicBoolean(false);
+        List<Marker> changed = new ArrayList<>(2);
         List<Marker> updatedMarkers = ListUtils.map(markers, m -> {
             if (m.equals(identity)) {
                 foundEqualMarker.set(true);
                 //noinspection unchecked
-                return remappingFunction.apply((M) m, identity);
+                M remapped = remappingFunction.apply((M) m, identity);
+                changed.add(m);
+                changed.add(remapped);
+                return remapped;
             }
             return m;
         });
@@ -139,8 +194,9 @@ public <M extends Marker> Markers compute(M identity, BinaryOperator<M> remappin
         if (!foundEqualMarker.get()) {
             updatedMarkers = ListUtils.concat(updatedMarkers, identity);
         }
+        changed.add(identity);
 
-        return withMarkers(updatedMarkers);
+        return derive(updatedMarkers, changed);
     }
 
     /**
@@ -156,17 +212,78 @@ public <M extends Marker> Markers addIfAbsent(M m) {
     }
 
     public <M extends Marker> List<M> findAll(Class<M> markerType) {
-        return markers.stream()
-                .filter(markerType::isInstance)
-                .map(markerType::cast)
-                .collect(toList());
+        if (markers.isEmpty()) {
+            return new ArrayList<>(0);
+        } else if (markers.size() <= INDEX_THRESHOLD) {
+            List<M> found = new ArrayList<>(markers.size());
+            for (Marker marker : markers) {
+                if (markerType.isInstance(marker)) {
+                    found.add(markerType.cast(marker));
+                }
+            }
+            return found;
+        }
+        return new ArrayList<>(indexed(markerType));
     }
 
     public <M extends Marker> Optional<M> findFirst(Class<M> markerType) {
-        return markers.stream()
-                .filter(markerType::isInstance)
-                .map(markerType::cast)
-                .findFirst();
+        if (markers.isEmpty()) {
+            return Optional.empty();
+        } else if (markers.size() <= INDEX_THRESHOLD) {
+            for (Marker marker : markers) {
+                if (markerType.isInstance(marker)) {
+                    return Optional.of(markerType.cast(marker));
+                }
+            }
+            return Optional.empty();
+        }
+        List<M> found = indexed(markerType);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    /**
+     * @param markers The markers of the derived instance.
+     * @param changed The markers that were added, removed or replaced to arrive at them.
+     * @return A {@link Markers} with these markers, whose index keeps the entries of this
+     * instance's index for types that none of the changed markers are instances of.
+     */
+    private Markers derive(List<Marker> markers, List<Marker> changed) {
+        if (markers == this.markers) {
+            return this;
+        }
+        Map<Class<?>, List<? extends Marker>> index = byType;
+        if (index == null || markers.size() <= INDEX_THRESHOLD) {
+            return new Markers(id, markers);
+        }
+        Map<Class<?>, List<? extends Marker>> derived = new ConcurrentHashMap<>();
+        nextType:
+        for (Map.Entry<Class<?>, List<? extends Marker>> entry : index.entrySet()) {
+            for (Marker marker : changed) {
+                if (entry.getKey().isInstance(marker)) {
+                    continue nextType;
+                }
+            }
+            derived.put(entry.getKey(), entry.getValue());
+        }
+        return new Markers(id, markers, derived.isEmpty() ? null : derived);
+    }
+
+    private <M extends Marker> List<M> indexed(Class<M> markerType) {
+        Map<Class<?>, List<? extends Marker>> index = byType;
+        if (index == null) {
+            index = new ConcurrentHashMap<>();
+            byType = index;
+        }
+        //noinspection unchecked
+        return (List<M>) index.computeIfAbsent(markerType, type -> {
+            List<M> found = new ArrayList<>();
+            for (Marker marker : markers) {
+                if (markerType.isInstance(marker)) {
+                    found.add(markerType.cast(marker));
+                }
+            }
+            return found.isEmpty() ? emptyList() : unmodifiableList(found);
+        });
     }
 
     @Override
@@ -15,16 +15,20 @@
  */
 package org.openrewrite.rpc;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.moderne.jsonrpc.JsonRpc;
 import io.moderne.jsonrpc.JsonRpcMethod;
 import io.moderne.jsonrpc.JsonRpcRequest;
 import io.moderne.jsonrpc.internal.SnowflakeId;
+import lombok.Value;
 import org.jetbrains.annotations.VisibleForTesting;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.config.Environment;
 import org.openrewrite.config.OptionDescriptor;
 import org.openrewrite.config.RecipeDescriptor;
+import org.openrewrite.internal.ObjectMappers;
 import org.openrewrite.rpc.request.*;
 import org.openrewrite.tree.ParseError;
 import org.openrewrite.tree.ParsingEventListener;
@@ -35,32 +39,35 @@
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static org.openrewrite.rpc.RpcObjectData.State.END_OF_OBJECT;
+import static org.openrewrite.rpc.RpcObjectData.State.MISSING;
 
 /**
  * Base class for RPC clients with thread-local context support.
  */
 @SuppressWarnings("UnusedReturnValue")
 public class RewriteRpc implements AutoCloseable {
+    private static final ObjectMapper mapper = ObjectMappers.propertyBasedMapper(null);
 
     public static Builder<?> from(JsonRpc jsonRpc, Environment marketplace) {
         //noinspection rawtypes
         return new Builder(marketplace) {
             @Override
             public RewriteRpc build() {
-                return new RewriteRpc(jsonRpc, marketplace, timeout);
+                return new RewriteRpc(jsonRpc, marketplace, timeout, maximumObjects, weakObjects);
             }
         };
     }
@@ -69,6 +76,8 @@ public RewriteRpc build() {
     public abstract static class Builder<T extends Builder<T>> {
         protected final Environment marketplace;
         protected Duration timeout = Duration.ofMinutes(1);
+        protected int maximumObjects = -1;
+        protected boolean weakObjects;
 
         protected Builder(Environment marketplace) {
             this.marketplace = marketplace;
@@ -79,14 +88,42 @@ public T timeout(Duration timeout) {
             return (T) this;
         }
 
+        /**
+         * Bound the number of objects retained in each of the local and remote object tables.
+         * When an object is evicted, the next transfer of it is a full transfer instead of a diff.
+         * The bound should comfortably exceed the number of objects in use by any one request
+         * (the tree being visited, its cursor, and the execution context). Objects that are being
+         * transferred or visited are pinned, and aren't evicted until they are no longer in use.
+         *
+         * @param maximumObjects The maximum number of objects per table, or -1 for no bound.
+         * @return This builder.
+         */
+        public T maximumObjects(int maximumObjects) {
+            this.maximumObjects = maximumObjects;
+            return (T) this;
+        }
+
+        /**
+         * Hold objects in the local and remote object tables weakly, so that trees which are
+         * no longer referenced elsewhere in the process can be garbage collected.
+         *
+         * @return This builder.
+         */
+        public T weakObjects() {
+            this.weakObjects = true;
+            return (T) this;
+        }
+
         public abstract RewriteRpc build();
     }
 
     private final JsonRpc jsonRpc;
 
     private final AtomicInteger batchSize = new AtomicInteger(200);
+    private final AtomicInteger maxInFlightVisits = new AtomicInteger(16);
     private final Duration timeout;
     private final AtomicBoolean traceSendPackets = new AtomicBoolean(false);
+    private volatile RpcObjectDataFormat objectDataFormat = RpcObjectDataFormat.JSON;
     private @Nullable PrintStream traceFile;
 
     /**
@@ -95,19 +132,39 @@ public T timeout(Duration timeout) {
      * between two processes.
      */
     @VisibleForTesting
-    final Map<String, Object> remoteObjects = new HashMap<>();
+    final Map<String, Object> remoteObjects;
 
     @VisibleForTesting
-    final Map<String, Object> localObjects = new HashMap<>();
+    final Map<String, Object> localObjects;
+
+    /**
+     * IDs of objects that were deleted rather than evicted or collected, which are the only
+     * ones that the remote is told to delete when it asks for them.
+     */
+    final Set<String> deletedObjects = ConcurrentHashMap.newKeySet();
 
     /* A reverse map of the objects back to their IDs */
-    final Map<Object, String> localObjectIds = new IdentityHashMap<>();
+    final Map<Object, String> localObjectIds;
 
+    /*
+     * The ref tables are synchronized because a release can reset them while a
+     * GetObject is being answered on another thread.
+     */
     @VisibleForTesting
-    final Map<Integer, Object> remoteRefs = new HashMap<>();
+    final Map<Integer, Object> remoteRefs = Collections.synchronizedMap(new HashMap<>());
 
     @VisibleForTesting
-    final IdentityHashMap<Object, Integer> localRefs = new IdentityHashMap<>();
+    final Map<Object, Integer> localRefs = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * The IDs of objects that are being transferred or visited, each with the number of
+     * transfers and visits using it. The bounded object tables weigh a pinned object as
+     * zero, so that it isn't evicted while it is in use. A transfer also locks its pin,
+     * so that transfers of the same object, each a diff against the last, are serialized.
+     */
+    private final Map<String, Pin> pins = new ConcurrentHashMap<>();
+
+    private final Release.Handler release;
 
     /**
      * Creates a new RPC interface that can be used to communicate with a remote.
@@ -118,24 +175,51 @@ public T timeout(Duration timeout) {
      *                    the host process has available for its use in composite recipes.
      */
     protected RewriteRpc(JsonRpc jsonRpc, Environment marketplace, Duration timeout) {
+        this(jsonRpc, marketplace, timeout, -1, false);
+    }
+
+    /**
+     * Creates a new RPC interface that can be used to communicate with a remote.
+     *
+     * @param marketplace    The marketplace of recipes that this peer makes available.
+     * @param maximumObjects The maximum number of objects retained per object table, or -1 for no bound.
+     * @param weakObjects    Whether objects in the object tables are only weakly reachable.
+     */
+    protected RewriteRpc(JsonRpc jsonRpc, Environment marketplace, Duration timeout,
+                         int maximumObjects, boolean weakObjects) {
         this.timeout = timeout;
 
+        this.remoteObjects = objectTable(maximumObjects, weakObjects, pins);
+        this.localObjects = objectTable(maximumObjects, weakObjects, pins);
+        this.localObjectIds = maximumObjects < 0 && !weakObjects ?
+                new IdentityHashMap<>() :
+                // weak keys are compared by identity, which is what this reverse map needs
+                Caffeine.newBuilder()
+                        .executor(Runnable::run)
+                        .weakKeys()
+                        .maximumSize(maximumObjects < 0 ? Long.MAX_VALUE : maximumObjects)
+                        .<Object, String>build()
+                        .asMap();
+
         this.jsonRpc = jsonRpc;
 
-        Map<String, Recipe> preparedRecipes = new HashMap<>();
-        Map<Recipe, Cursor> recipeCursors = new IdentityHashMap<>();
+        // Visit and Generate requests are handled concurrently, and recipes are keyed by identity
+        Map<String, Recipe> preparedRecipes = new ConcurrentHashMap<>();
+        Map<Recipe, Cursor> recipeCursors = Collections.synchronizedMap(new IdentityHashMap<>());
 
-        jsonRpc.rpc("Visit", new Visit.Handler(localObjects, preparedRecipes, recipeCursors,
+        jsonRpc.rpc("Visit", new Visit.Handler(localObjects, deletedObjects, preparedRecipes, recipeCursors,
                 this::getObject, this::getCursor));
         jsonRpc.rpc("Generate", new Generate.Handler(localObjects, preparedRecipes, recipeCursors,
                 this::getObject));
-        jsonRpc.rpc("GetObject", new GetObject.Handler(batchSize, remoteObjects, localObjects, localRefs, traceSendPackets));
+        jsonRpc.rpc("GetObject", new GetObject.Handler(batchSize, remoteObjects, localObjects, deletedObjects, localRefs, traceSendPackets));
         jsonRpc.rpc("GetRecipes", new JsonRpcMethod<Void>() {
             @Override
             protected Object handle(Void noParams) {
                 return marketplace.listRecipeDescriptors();
             }
         });
+        release = new Release.Handler(remoteObjects, localObjects, deletedObjects, localObjectIds, remoteRefs, localRefs);
+        jsonRpc.rpc("Release", release);
         jsonRpc.rpc("PrepareRecipe", new PrepareRecipe.Handler(preparedRecipes));
         jsonRpc.rpc("Print", new JsonRpcMethod<Print>() {
             @Override
@@ -149,11 +233,54 @@ protected Object handle(Print request) {
         jsonRpc.bind();
     }
 
+    private static Map<String, Object> objectTable(int maximumObjects, boolean weakObjects, Map<String, Pin> pins) {
+        if (maximumObjects < 0 && !weakObjects) {
+            // concurrent, because pipelined visits fetch results while the remote
+            // is still asking this peer for the objects of other in-flight visits
+            return new ConcurrentHashMap<>();
+        }
+        Caffeine<Object, Object> table = Caffeine.newBuilder().executor(Runnable::run);
+        if (maximumObjects >= 0) {
+            table = table.maximumWeight(maximumObjects);
+        }
+        if (weakObjects) {
+            table = table.weakValues();
+        }
+        if (maximumObjects >= 0) {
+            return table.<String, Object>weigher((id, o) -> pins.containsKey(id) ? 0 : 1).build().asMap();
+        }
+        return table.<String, Object>build().asMap();
+    }
+
     public RewriteRpc batchSize(int batchSize) {
         this.batchSize.set(batchSize);
         return this;
     }
 
+    /**
+     * Request that <code>GetObject</code> batches be sent in a binary encoding. The remote
+     * decides whether to honor it, and peers that don't support the encoding continue to
+     * respond in JSON, so this is safe to enable against any peer.
+     *
+     * @param objectDataFormat The preferred encoding of {@link RpcObjectData} batches.
+     * @return This RPC instance.
+     */
+    public RewriteRpc objectDataFormat(RpcObjectDataFormat objectDataFormat) {
+        this.objectDataFormat = objectDataFormat;
+        return this;
+    }
+
+    /**
+     * @param maxInFlightVisits The maximum number of <code>Visit</code> requests that
+     *                          {@link #visit(Iterable, Object, BiConsumer)} keeps outstanding
+     *                          with the remote at any one time.
+     * @return This RPC instance.
+     */
+    public RewriteRpc maxInFlightVisits(int maxInFlightVisits) {
+        this.maxInFlightVisits.set(maxInFlightVisits);
+        return this;
+    }
+
     public RewriteRpc traceGetObjectOutput() {
         this.traceSendPackets.set(true);
         return this;
@@ -165,6 +292,43 @@ public RewriteRpc traceGetObjectInput(PrintStream log) {
     }
 
 
+    /**
+     * Forget this tree on both this peer and the remote. Subsequent transfers of a tree
+     * with the same ID will be full transfers.
+     *
+     * @param tree The tree to release.
+     */
+    public void release(Tree tree) {
+        release(singletonList(tree.getId().toString()));
+    }
+
+    /**
+     * Forget the objects with these IDs on both this peer and the remote.
+     *
+     * @param ids The IDs of the objects to release.
+     */
+    public void release(Collection<String> ids) {
+        Release request = new Release(new ArrayList<>(ids), false);
+        release.release(request);
+        send("Release", request, Boolean.class);
+    }
+
+    /**
+     * Reset the reference-deduplication tables on both this peer and the remote, which
+     * otherwise grow with every distinct referentially deduplicated object (e.g. types)
+     * ever transferred. Must not be called while a transfer is in progress.
+     */
+    public void releaseRefs() {
+        Release request = new Release(emptyList(), true);
+        release.release(request);
+        send("Release", request, Boolean.class);
+    }
+
+    public ObjectTableSizes getObjectTableSizes() {
+        return new ObjectTableSizes(localObjects.size(), remoteObjects.size(),
+                localObjectIds.size(), localRefs.size(), remoteRefs.size());
+    }
+
     @Override
     public void close() {
         jsonRpc.shutdown();
@@ -177,10 +341,124 @@ public void close() {
     public <P> @Nullable Tree visit(Tree tree, String visitorName, P p, @Nullable Cursor cursor) {
         VisitResponse response = scan(tree, visitorName, p, cursor);
         return response.isModified() ?
-                getObject(tree.getId().toString()) :
+                getVisited(tree, visitorName, p, cursor) :
                 tree;
     }
 
+    /**
+     * Get the result of a visit that modified the tree. If the remote no longer holds the
+     * result, because it was evicted or collected before it was asked for, visit again.
+     */
+    private <P> @Nullable Tree getVisited(Tree tree, String visitorName, P p, @Nullable Cursor cursor) {
+        try {
+            return getObject(tree.getId().toString());
+        } catch (RpcObjectMissingException e) {
+            return scan(tree, visitorName, p, cursor).isModified() ?
+                    getObject(tree.getId().toString()) :
+                    tree;
+        }
+    }
+
+    /**
+     * Visit many trees on the remote without waiting for each visit to complete before
+     * requesting the next one. Up to {@link #maxInFlightVisits(int)} visits are outstanding
+     * at a time, and the result of each is fetched from the remote as soon as it completes.
+     *
+     * @param targets   The trees to visit and the visitor to visit each with.
+     * @param p         The visitor parameter, shared by all visits.
+     * @param onVisited Called on the calling thread, in completion order, with each target and
+     *                  the tree that resulted from visiting it (or null if it was deleted).
+     * @param <P>       The type of the visitor parameter.
+     */
+    public <P> void visit(Iterable<VisitTarget> targets, P p, BiConsumer<VisitTarget, @Nullable Tree> onVisited) {
+        String pId = maybeUnwrapExecutionContext(p);
+        BlockingQueue<CompletedVisit> completed = new LinkedBlockingQueue<>();
+
+        Iterator<VisitTarget> pending = targets.iterator();
+        Set<VisitTarget> inFlight = Collections.newSetFromMap(new IdentityHashMap<>());
+        boolean succeeded = false;
+        try {
+            while (pending.hasNext() || !inFlight.isEmpty()) {
+                while (inFlight.size() < maxInFlightVisits.get() && pending.hasNext()) {
+                    VisitTarget target = pending.next();
+                    String treeId = target.getTree().getId().toString();
+                    pin(treeId);
+                    localObjects.put(treeId, target.getTree());
+                    deletedObjects.remove(treeId);
+                    inFlight.add(target);
+                    jsonRpc.send(JsonRpcRequest.newRequest("Visit", new Visit(target.getVisitor(), null, treeId, pId, null)))
+                            .thenApply(r -> r.getResult(VisitResponse.class))
+                            .whenComplete((response, error) -> completed.add(new CompletedVisit(target, response, error)));
+                }
+
+                CompletedVisit visit = pollCompleted(completed, timeout.toMillis());
+                if (visit == null) {
+                    throw new RuntimeException(new TimeoutException("Timed out waiting for " + inFlight.size() + " in-flight visits"));
+                }
+                inFlight.remove(visit.getTarget());
+
+                Tree tree = visit.getTarget().getTree();
+                Tree visited;
+                try {
+                    if (visit.getError() != null) {
+                        localObjects.remove(tree.getId().toString());
+                        throw new RuntimeException(visit.getError());
+                    }
+                    visited = requireNonNull(visit.getResponse()).isModified() ?
+                            getVisited(tree, visit.getTarget().getVisitor(), p, null) :
+                            tree;
+                } finally {
+                    unpin(tree.getId().toString());
+                }
+                onVisited.accept(visit.getTarget(), visited);
+            }
+            succeeded = true;
+        } finally {
+            if (!succeeded) {
+                abandon(completed, inFlight);
+            }
+        }
+    }
+
+    /**
+     * Wait for the visits that are still in flight after a failure, for at most the timeout, so that
+     * their responses don't arrive after the failure has been reported, and forget the trees they
+     * were visiting, whose remote state is now unknown.
+     */
+    private void abandon(BlockingQueue<CompletedVisit> completed, Set<VisitTarget> inFlight) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            while (!inFlight.isEmpty()) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                CompletedVisit visit = remaining > 0 ? pollCompleted(completed, remaining) : null;
+                if (visit == null) {
+                    break;
+                }
+                inFlight.remove(visit.getTarget());
+                forget(visit.getTarget().getTree().getId().toString());
+            }
+        } catch (RuntimeException ignored) {
+            // interrupted while draining, which has already been recorded on the thread
+        }
+        for (VisitTarget target : inFlight) {
+            forget(target.getTree().getId().toString());
+        }
+    }
+
+    private void forget(String treeId) {
+        localObjects.remove(treeId);
+        unpin(treeId);
+    }
+
+    private static @Nullable CompletedVisit pollCompleted(BlockingQueue<CompletedVisit> completed, long timeoutMillis) {
+        try {
+            return completed.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
     public <P> VisitResponse scan(SourceFile sourceFile, String visitorName, P p) {
         return scan(sourceFile, visitorName, p, null);
     }
@@ -189,14 +467,21 @@ public <P> VisitResponse scan(Tree sourceFile, String visitorName, P p,
                                   @Nullable Cursor cursor) {
         // Set the local state of this tree, so that when the remote
         // asks for it, we know what to send.
-        localObjects.put(sourceFile.getId().toString(), sourceFile);
+        String treeId = sourceFile.getId().toString();
+        pin(treeId);
+        try {
+            localObjects.put(treeId, sourceFile);
+            deletedObjects.remove(treeId);
 
-        String pId = maybeUnwrapExecutionContext(p);
+            String pId = maybeUnwrapExecutionContext(p);
 
-        List<String> cursorIds = getCursorIds(cursor);
+            List<String> cursorIds = getCursorIds(cursor);
 
-        return send("Visit", new Visit(visitorName, null, sourceFile.getId().toString(), pId, cursorIds),
-                VisitResponse.class);
+            return send("Visit", new Visit(visitorName, null, treeId, pId, cursorIds),
+                    VisitResponse.class);
+        } finally {
+            unpin(treeId);
+        }
     }
 
     public Collection<? extends SourceFile> generate(String remoteRecipeId, ExecutionContext ctx) {
@@ -352,24 +637,92 @@ List<String> getCursorIds(@Nullable Cursor cursor) {
         return cursorIds;
     }
 
+    /**
+     * Transfers of different objects proceed concurrently, while transfers of the same object
+     * are serialized, since each is a diff against the state that the last one left behind.
+     * Ref IDs are assigned by the sender in the order that objects are first sent, so one
+     * transfer may receive a ref before another has received the object it refers to, which
+     * the receive queue waits for.
+     */
     @VisibleForTesting
     public <T> T getObject(String id) {
-        // Check if we have a cached version of this object
-        Object localObject = localObjects.get(id);
-        String lastKnownId = localObject != null ? id : null;
-
-        RpcReceiveQueue q = new RpcReceiveQueue(remoteRefs, traceFile, () -> send("GetObject",
-                new GetObject(id, lastKnownId), GetObjectResponse.class));
-        Object remoteObject = q.receive(localObject, null);
-        if (q.take().getState() != END_OF_OBJECT) {
-            throw new IllegalStateException("Expected END_OF_OBJECT");
+        Pin pin = pin(id);
+        try {
+            synchronized (pin) {
+                // Check if we have a cached version of this object
+                Object localObject = localObjects.get(id);
+                String lastKnownId = localObject != null ? id : null;
+
+                RpcReceiveQueue q = new RpcReceiveQueue(remoteRefs, traceFile,
+                        () -> getObjectBatch(id, lastKnownId), timeout);
+                Object remoteObject = q.receive(localObject, null);
+                if (q.take().getState() != END_OF_OBJECT) {
+                    throw new IllegalStateException("Expected END_OF_OBJECT");
+                }
+                // We are now in sync with the remote state of the object.
+                if (remoteObject == null) {
+                    remoteObjects.remove(id);
+                    localObjects.remove(id);
+                    deletedObjects.add(id);
+                } else {
+                    remoteObjects.put(id, remoteObject);
+                    localObjects.put(id, remoteObject);
+                    deletedObjects.remove(id);
+                }
+
+                //noinspection unchecked
+                return (T) remoteObject;
+            }
+        } finally {
+            unpin(id);
         }
-        // We are now in sync with the remote state of the object.
-        remoteObjects.put(id, remoteObject);
-        localObjects.put(id, remoteObject);
+    }
 
-        //noinspection unchecked
-        return (T) remoteObject;
+    private Pin pin(String id) {
+        Pin pin = pins.compute(id, (k, p) -> {
+            Pin pinned = p == null ? new Pin() : p;
+            pinned.uses++;
+            return pinned;
+        });
+        reweigh(id);
+        return pin;
+    }
+
+    private void unpin(String id) {
+        pins.computeIfPresent(id, (k, p) -> --p.uses == 0 ? null : p);
+        reweigh(id);
+    }
+
+    /**
+     * Bounded object tables only weigh an object when it is put, so put it
+     * again once it is pinned or unpinned.
+     */
+    private void reweigh(String id) {
+        remoteObjects.computeIfPresent(id, (k, o) -> o);
+        localObjects.computeIfPresent(id, (k, o) -> o);
+    }
+
+    private List<RpcObjectData> getObjectBatch(String id, @Nullable String lastKnownId) {
+        List<RpcObjectData> batch = requestObjectBatch(id, lastKnownId);
+        if (!batch.isEmpty() && batch.get(0).getState() == MISSING) {
+            throw new RpcObjectMissingException(id);
+        }
+        return batch;
+    }
+
+    private List<RpcObjectData> requestObjectBatch(String id, @Nullable String lastKnownId) {
+        RpcObjectDataFormat format = objectDataFormat;
+        if (format == RpcObjectDataFormat.JSON) {
+            return send("GetObject", new GetObject(id, lastKnownId, null), GetObjectResponse.class);
+        }
+
+        // The remote either honors the requested encoding or, if it doesn't
+        // know about it, responds with the plain JSON array of object data.
+        Object response = send("GetObject", new GetObject(id, lastKnownId, format.name()), Object.class);
+        if (response instanceof List) {
+            return mapper.convertValue(response, GetObjectResponse.class);
+        }
+        return mapper.convertValue(response, EncodedGetObjectResponse.class).decode();
     }
 
     protected <P> P send(String method, @Nullable RpcRequest body, Class<P> responseType) {
@@ -377,7 +730,7 @@ protected <P> P send(String method, @Nullable RpcRequest body, Class<P> response
             // TODO handle error
             return jsonRpc
                     .send(JsonRpcRequest.newRequest(method, body))
-                    .get(timeout.getSeconds(), TimeUnit.SECONDS)
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS)
                     .getResult(responseType);
         } catch (ExecutionException | TimeoutException | InterruptedException e) {
             throw new RuntimeException(e);
@@ -397,4 +750,42 @@ Cursor getCursor(@Nullable List<String> cursorIds) {
         }
         return cursor;
     }
+
+    /**
+     * A point-in-time view of how many entries are held in each of the tables
+     * that track state shared with the remote.
+     */
+    @Value
+    public static class ObjectTableSizes {
+        int localObjects;
+        int remoteObjects;
+        int localObjectIds;
+        int localRefs;
+        int remoteRefs;
+    }
+
+    @Value
+    public static class VisitTarget {
+        Tree tree;
+
+        /**
+         * The name of the visitor on the remote, as would be passed to {@link #visit(Tree, String, Object, Cursor)}.
+         */
+        String visitor;
+    }
+
+    private static class Pin {
+        int uses;
+    }
+
+    @Value
+    private static class CompletedVisit {
+        VisitTarget target;
+
+        @Nullable
+        VisitResponse response;
+
+        @Nullable
+        Throwable error;
+    }
 }
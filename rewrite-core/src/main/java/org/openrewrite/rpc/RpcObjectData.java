@@ -114,6 +114,12 @@ public enum State {
         ADD,
         DELETE,
         CHANGE,
-        END_OF_OBJECT
+        END_OF_OBJECT,
+
+        /**
+         * The only message in a response to a request for an object that the peer no
+         * longer holds, because it was evicted or collected rather than deleted.
+         */
+        MISSING
     }
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc;
+
+/**
+ * A peer was asked for an object that it no longer holds, because it was evicted
+ * from a bounded object table or garbage collected from a weak one. The peer answers
+ * with {@link RpcObjectData.State#MISSING} rather than an error, so this is thrown on
+ * the requesting side. Unlike an object that was deleted, the requester can recover
+ * by re-sending the request that produced the object.
+ */
+public class RpcObjectMissingException extends RuntimeException {
+    public RpcObjectMissingException(String id) {
+        super("Object is no longer held by the remote peer: " + id);
+    }
+}
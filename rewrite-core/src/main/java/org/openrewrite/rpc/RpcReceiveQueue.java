@@ -22,7 +22,9 @@
 import org.openrewrite.marker.Markers;
 
 import java.io.PrintStream;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -46,13 +48,25 @@ public class RpcReceiveQueue {
     private final Map<Integer, Object> refs;
     private final @Nullable PrintStream logFile;
     private final Supplier<List<RpcObjectData>> pull;
+    private final long refTimeoutNanos;
 
     public RpcReceiveQueue(Map<Integer, Object> refs, @Nullable PrintStream logFile,
                            Supplier<List<RpcObjectData>> pull) {
+        this(refs, logFile, pull, Duration.ZERO);
+    }
+
+    /**
+     * @param refTimeout How long to wait for a ref that hasn't been received yet, when
+     *                   other queues share the same refs and may be receiving the object
+     *                   it refers to concurrently.
+     */
+    public RpcReceiveQueue(Map<Integer, Object> refs, @Nullable PrintStream logFile,
+                           Supplier<List<RpcObjectData>> pull, Duration refTimeout) {
         this.refs = refs;
         this.batch = new ArrayDeque<>();
         this.logFile = logFile;
         this.pull = pull;
+        this.refTimeoutNanos = refTimeout.toNanos();
     }
 
     public RpcObjectData take() {
@@ -129,12 +143,8 @@ public <T> T receive(@Nullable T before) {
                 ref = message.getRef();
                 if (ref != null && message.getValueType() == null && message.getValue() == null) {
                     // This is a pure reference to an existing object
-                    if (refs.containsKey(ref)) {
-                        //noinspection unchecked
-                        return (T) refs.get(ref);
-                    } else {
-                        throw new IllegalStateException("Received a reference to an object that was not previously sent: " + ref);
-                    }
+                    //noinspection unchecked
+                    return (T) awaitRef(ref);
                 } else {
                     // This is either a new object or a forward declaration with ref
                     before = message.getValueType() == null ?
@@ -158,7 +168,10 @@ public <T> T receive(@Nullable T before) {
                     after = before;
                 }
                 if (ref != null) {
-                    refs.put(ref, after);
+                    synchronized (refs) {
+                        refs.put(ref, after);
+                        refs.notifyAll();
+                    }
                 }
                 return after;
             default:
@@ -166,6 +179,25 @@ public <T> T receive(@Nullable T before) {
         }
     }
 
+    private @Nullable Object awaitRef(Integer ref) {
+        synchronized (refs) {
+            long deadline = System.nanoTime() + refTimeoutNanos;
+            while (!refs.containsKey(ref)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Received a reference to an object that was not previously sent: " + ref);
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(refs, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            }
+            return refs.get(ref);
+        }
+    }
+
     public <T> @Nullable List<T> receiveList(@Nullable List<T> before, @Nullable UnaryOperator<T> onChange) {
         RpcObjectData msg = take();
         switch (msg.getState()) {
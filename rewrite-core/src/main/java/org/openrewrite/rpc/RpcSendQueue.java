@@ -33,12 +33,15 @@ public class RpcSendQueue {
     private final int batchSize;
     private final List<RpcObjectData> batch;
     private final Consumer<List<RpcObjectData>> drain;
-    private final IdentityHashMap<Object, Integer> refs;
+    /**
+     * Ref IDs keyed by object identity.
+     */
+    private final Map<Object, Integer> refs;
     private final boolean trace;
 
     private @Nullable Object before;
 
-    public RpcSendQueue(int batchSize, ThrowingConsumer<List<RpcObjectData>> drain, IdentityHashMap<Object, Integer> refs,
+    public RpcSendQueue(int batchSize, ThrowingConsumer<List<RpcObjectData>> drain, Map<Object, Integer> refs,
                         boolean trace) {
         this.batchSize = batchSize;
         this.batch = new ArrayList<>(batchSize);
@@ -160,13 +163,20 @@ private void add(@Nullable Object after, @Nullable Runnable onChange) {
         Object afterVal = Reference.getValue(after);
         Integer ref = null;
         if (after instanceof Reference) {
-            if (refs.containsKey(afterVal)) {
-                put(new RpcObjectData(ADD, null, null, refs.get(afterVal), trace ? Trace.traceSender() : null));
+            Integer existing;
+            // the refs may be shared with other transfers and reset by a release
+            synchronized (refs) {
+                existing = refs.get(afterVal);
+                if (existing == null) {
+                    ref = refs.size() + 1;
+                    refs.put(afterVal, ref);
+                }
+            }
+            if (existing != null) {
+                put(new RpcObjectData(ADD, null, null, existing, trace ? Trace.traceSender() : null));
                 // No onChange call because the remote will be using an instance from its ref cache
                 return;
             }
-            ref = refs.size() + 1;
-            refs.put(afterVal, ref);
         }
         //noinspection unchecked
         RpcCodec<Object> afterCodec = afterVal instanceof RpcCodec ? (RpcCodec<Object>) afterVal : null;
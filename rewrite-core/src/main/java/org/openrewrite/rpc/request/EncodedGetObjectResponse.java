@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc.request;
+
+import lombok.Value;
+import org.openrewrite.rpc.RpcObjectData;
+import org.openrewrite.rpc.RpcObjectDataFormat;
+
+import java.util.List;
+
+/**
+ * A batch of {@link RpcObjectData} in a binary {@link RpcObjectDataFormat}, returned
+ * in place of a {@link GetObjectResponse} when the requester asked for that encoding.
+ */
+@Value
+public class EncodedGetObjectResponse {
+    RpcObjectDataFormat format;
+    byte[] data;
+
+    public List<RpcObjectData> decode() {
+        return format.decode(data);
+    }
+}
@@ -20,18 +20,21 @@
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.rpc.RpcObjectData;
+import org.openrewrite.rpc.RpcObjectDataFormat;
 import org.openrewrite.rpc.RpcSendQueue;
 
 import java.util.ArrayList;
-import java.util.IdentityHashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.openrewrite.rpc.RpcObjectData.State.DELETE;
 import static org.openrewrite.rpc.RpcObjectData.State.END_OF_OBJECT;
+import static org.openrewrite.rpc.RpcObjectData.State.MISSING;
 
 @Value
 public class GetObject implements RpcRequest {
@@ -39,6 +42,13 @@ public class GetObject implements RpcRequest {
     @Nullable
     String lastKnownId;
 
+    /**
+     * The {@link RpcObjectDataFormat} that the requester would prefer batches in. Peers
+     * that don't recognize the encoding respond with a plain JSON {@link GetObjectResponse}.
+     */
+    @Nullable
+    String encoding;
+
     @RequiredArgsConstructor
     public static class Handler extends JsonRpcMethod<GetObject> {
         private static final ExecutorService forkJoin = ForkJoinPool.commonPool();
@@ -46,20 +56,39 @@ public static class Handler extends JsonRpcMethod<GetObject> {
         private final AtomicInteger batchSize;
         private final Map<String, Object> remoteObjects;
         private final Map<String, Object> localObjects;
+        /**
+         * IDs of objects that were explicitly removed from {@link #localObjects}, which are
+         * the only ones the remote is told to delete.
+         */
+        private final Set<String> deletedObjects;
         /**
          * Keeps track of objects that need to be referentially deduplicated, and
          * the ref IDs to look them up by on the remote.
          */
-        private final IdentityHashMap<Object, Integer> localRefs;
+        private final Map<Object, Integer> localRefs;
         private final AtomicBoolean trace;
 
         private final Map<String, BlockingQueue<List<RpcObjectData>>> inProgressGetRpcObjects = new ConcurrentHashMap<>();
 
         @Override
-        protected List<RpcObjectData> handle(GetObject request) throws Exception {
+        protected Object handle(GetObject request) throws Exception {
+            List<RpcObjectData> batch = nextBatch(request);
+            RpcObjectDataFormat format = RpcObjectDataFormat.fromEncoding(request.getEncoding());
+            return format == RpcObjectDataFormat.JSON ?
+                    batch :
+                    new EncodedGetObjectResponse(format, format.encode(batch));
+        }
+
+        private List<RpcObjectData> nextBatch(GetObject request) throws InterruptedException {
             Object after = localObjects.get(request.getId());
 
             if (after == null) {
+                if (!deletedObjects.remove(request.getId())) {
+                    // Evicted or collected rather than deleted, so the remote must not
+                    // delete its copy. It can recover by re-sending the request that
+                    // produced this object.
+                    return Collections.singletonList(new RpcObjectData(MISSING, null, null, null, null));
+                }
                 List<RpcObjectData> deleted = new ArrayList<>(2);
                 deleted.add(new RpcObjectData(DELETE, null, null, null, null));
                 deleted.add(new RpcObjectData(END_OF_OBJECT, null, null, null, null));
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.rpc.request;
+
+import io.moderne.jsonrpc.JsonRpcMethod;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tells the remote that the caller has forgotten everything it knew about a set of
+ * objects, so the remote can forget them as well. A subsequent <code>GetObject</code>
+ * for one of these IDs transfers the object in full rather than as a diff.
+ */
+@Value
+public class Release implements RpcRequest {
+    List<String> ids;
+
+    /**
+     * Whether both peers should also reset their reference-deduplication tables.
+     * Ref IDs are assigned positionally by the sender, so these tables can only
+     * be reset on both sides at once and while no transfer is in progress.
+     */
+    boolean refs;
+
+    @RequiredArgsConstructor
+    public static class Handler extends JsonRpcMethod<Release> {
+        private final Map<String, Object> remoteObjects;
+        private final Map<String, Object> localObjects;
+        private final Set<String> deletedObjects;
+        private final Map<Object, String> localObjectIds;
+        private final Map<Integer, Object> remoteRefs;
+        private final Map<Object, Integer> localRefs;
+
+        @Override
+        protected Object handle(Release request) {
+            release(request);
+            return true;
+        }
+
+        /**
+         * Apply a release to this peer's own tables.
+         *
+         * @param request The objects (and optionally refs) to forget.
+         */
+        public void release(Release request) {
+            for (String id : request.getIds()) {
+                remoteObjects.remove(id);
+                deletedObjects.remove(id);
+                Object local = localObjects.remove(id);
+                if (local != null) {
+                    localObjectIds.remove(local);
+                }
+            }
+            if (request.isRefs()) {
+                remoteRefs.clear();
+                localRefs.clear();
+            }
+        }
+    }
+}
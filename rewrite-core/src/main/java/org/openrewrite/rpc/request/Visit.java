@@ -32,6 +32,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 @Value
@@ -60,6 +61,7 @@ public static class Handler extends JsonRpcMethod<Visit> {
         private static final ObjectMapper mapper = ObjectMappers.propertyBasedMapper(null);
 
         private final Map<String, Object> localObjects;
+        private final Set<String> deletedObjects;
 
         private final Map<String, Recipe> preparedRecipes;
         private final Map<Recipe, Cursor> recipeCursors;
@@ -79,8 +81,10 @@ protected Object handle(Visit request) throws Exception {
                     request.getCursor()));
             if (after == null) {
                 localObjects.remove(before.getId().toString());
+                deletedObjects.add(before.getId().toString());
             } else {
                 localObjects.put(after.getId().toString(), after);
+                deletedObjects.remove(after.getId().toString());
             }
 
             return new VisitResponse(before != after);
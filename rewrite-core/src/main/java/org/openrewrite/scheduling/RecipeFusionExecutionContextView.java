@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.openrewrite.DelegatingExecutionContext;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
+
+/**
+ * Tools that run large recipe lists can use this view to have the visitors of consecutive
+ * {@link org.openrewrite.Recipe#isLocal() local} recipes fused into a single traversal of
+ * each source file by {@link org.openrewrite.FusedVisitor}.
+ */
+@Incubating(since = "8.57.0")
+public class RecipeFusionExecutionContextView extends DelegatingExecutionContext {
+    private static final String FUSE_LOCAL_RECIPES = "org.openrewrite.scheduling.fuseLocalRecipes";
+
+    private RecipeFusionExecutionContextView(ExecutionContext delegate) {
+        super(delegate);
+    }
+
+    public static RecipeFusionExecutionContextView view(ExecutionContext ctx) {
+        if (ctx instanceof RecipeFusionExecutionContextView) {
+            return (RecipeFusionExecutionContextView) ctx;
+        }
+        return new RecipeFusionExecutionContextView(ctx);
+    }
+
+    public boolean getFuseLocalRecipes() {
+        return getMessage(FUSE_LOCAL_RECIPES, false);
+    }
+
+    public RecipeFusionExecutionContextView setFuseLocalRecipes(boolean fuseLocalRecipes) {
+        putMessage(FUSE_LOCAL_RECIPES, fuseLocalRecipes);
+        return this;
+    }
+}
@@ -174,70 +174,176 @@ public LSS editSources(LSS sourceSet) {
         // skip edits made to generated source files so that they don't show up in a diff
         // that later fails to apply on a freshly cloned repository
         // consider any recipes adding new messages as a changing recipe (which can request another cycle)
+        boolean fuseLocalRecipes = RecipeFusionExecutionContextView.view(ctx).getFuseLocalRecipes();
         return sourceSetEditor.apply(sourceSet, sourceFile -> {
                     recipeRunStats.recordSourceVisited(sourceFile);
-                    return allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) -> {
+                    List<Stack<Recipe>> fusedRecipeStacks = new ArrayList<>();
+                    List<TreeVisitor<?, ExecutionContext>> fusedVisitors = new ArrayList<>();
+                    SourceFile edited = allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) -> {
                         Recipe recipe = recipeStack.peek();
                         if (source == null) {
                             return null;
                         }
 
-                        SourceFile after = source;
-
-                        try {
-                            Duration duration = Duration.ofNanos(System.nanoTime() - cycleStartTime);
-                            if (duration.compareTo(ctx.getMessage(ExecutionContext.RUN_TIMEOUT, Duration.ofMinutes(4))) > 0) {
-                                if (thrownErrorOnTimeout.compareAndSet(false, true)) {
-                                    RecipeTimeoutException t = new RecipeTimeoutException(recipe);
-                                    ctx.getOnError().accept(t);
-                                    ctx.getOnTimeout().accept(t, ctx);
-                                }
-                                return source;
-                            }
-
-                            if (ctx.getMessage(PANIC) != null) {
+                        TreeVisitor<?, ExecutionContext> visitor = null;
+                        if (fuseLocalRecipes) {
+                            visitor = getVisitorOrNull(recipe);
+                            if (visitor != null && recipe.isLocal() && FusedVisitor.isFusible(visitor)) {
+                                // defer until the next recipe that can't be fused, so the whole run of them is applied in one traversal
+                                fusedRecipeStacks.add(recipeStack);
+                                fusedVisitors.add(visitor);
                                 return source;
-                            }
-
-                            TreeVisitor<?, ExecutionContext> visitor = recipe.getVisitor();
-                            // set root cursor as it is required by the `ScanningRecipe#isAcceptable()`
-                            visitor.setCursor(rootCursor);
-
-                            after = recipeRunStats.recordEdit(recipe, () -> {
-                                if (visitor.isAcceptable(source, ctx)) {
-                                    // propagate shared root cursor
-                                    //noinspection DataFlowIssue
-                                    return (SourceFile) visitor.visit(source, ctx, rootCursor);
-                                }
-                                return source;
-                            });
-
-                            if (after != source) {
-                                madeChangesInThisCycle.add(recipe);
-                                recordSourceFileResult(source, after, recipeStack, ctx);
-                                if (source.getMarkers().findFirst(Generated.class).isPresent()) {
-                                    // skip edits made to generated source files so that they don't show up in a diff
-                                    // that later fails to apply on a freshly cloned repository
-                                    return source;
+                            } else if (visitor == null || !FusedVisitor.isNoop(visitor)) {
+                                source = editSourceFused(sourceSet, source, fusedRecipeStacks, fusedVisitors);
+                                if (source == null) {
+                                    return null;
                                 }
-                                recipeRunStats.recordSourceFileChanged(source, after);
-                            } else if (ctx.hasNewMessages()) {
-                                // consider any recipes adding new messages as a changing recipe (which can request another cycle)
-                                madeChangesInThisCycle.add(recipe);
-                                ctx.resetHasNewMessages();
                             }
-                        } catch (Throwable t) {
-                            after = handleError(recipe, source, after, t);
                         }
-                        if (after != null && after != source) {
-                            after = addRecipesThatMadeChanges(recipeStack, after);
-                        }
-                        return after;
+                        return editSource(source, recipeStack, visitor);
                     }, sourceFile);
-        }
+                    return editSourceFused(sourceSet, edited, fusedRecipeStacks, fusedVisitors);
+                }
         );
     }
 
+    private @Nullable SourceFile editSource(SourceFile source, Stack<Recipe> recipeStack,
+                                            @Nullable TreeVisitor<?, ExecutionContext> recipeVisitor) {
+        Recipe recipe = recipeStack.peek();
+        SourceFile after = source;
+
+        try {
+            if (isTimedOut(recipe) || ctx.getMessage(PANIC) != null) {
+                return source;
+            }
+
+            TreeVisitor<?, ExecutionContext> visitor = recipeVisitor == null ? recipe.getVisitor() : recipeVisitor;
+            // set root cursor as it is required by the `ScanningRecipe#isAcceptable()`
+            visitor.setCursor(rootCursor);
+
+            after = recipeRunStats.recordEdit(recipe, () -> {
+                if (visitor.isAcceptable(source, ctx)) {
+                    // propagate shared root cursor
+                    //noinspection DataFlowIssue
+                    return (SourceFile) visitor.visit(source, ctx, rootCursor);
+                }
+                return source;
+            });
+
+            if (after != source) {
+                madeChangesInThisCycle.add(recipe);
+                recordSourceFileResult(source, after, recipeStack, ctx);
+                if (source.getMarkers().findFirst(Generated.class).isPresent()) {
+                    // skip edits made to generated source files so that they don't show up in a diff
+                    // that later fails to apply on a freshly cloned repository
+                    return source;
+                }
+                recipeRunStats.recordSourceFileChanged(source, after);
+            } else if (ctx.hasNewMessages()) {
+                // consider any recipes adding new messages as a changing recipe (which can request another cycle)
+                madeChangesInThisCycle.add(recipe);
+                ctx.resetHasNewMessages();
+            }
+        } catch (Throwable t) {
+            after = handleError(recipe, source, after, t);
+        }
+        if (after != null && after != source) {
+            after = addRecipesThatMadeChanges(recipeStack, after);
+        }
+        return after;
+    }
+
+    /**
+     * Apply the deferred visitors of a run of consecutive local recipes in a single traversal,
+     * with the same bookkeeping as {@link #editSource(SourceFile, Stack, TreeVisitor)} does for each
+     * recipe that made a change. Falls back to running the recipes one by one when they can't
+     * be fused for this source file, or when the fused traversal fails, so that the error is
+     * attributed to the recipe that caused it.
+     */
+    private @Nullable SourceFile editSourceFused(LSS sourceSet, @Nullable SourceFile source, List<Stack<Recipe>> recipeStacks,
+                                                 List<TreeVisitor<?, ExecutionContext>> visitors) {
+        if (source == null || recipeStacks.isEmpty()) {
+            recipeStacks.clear();
+            visitors.clear();
+            return source;
+        }
+
+        try {
+            FusedVisitor.Fusion fusion = null;
+            boolean failed = false;
+            if (recipeStacks.size() > 1 && !isTimedOut(recipeStacks.get(0).peek()) && ctx.getMessage(PANIC) == null &&
+                !source.getMarkers().findFirst(Generated.class).isPresent()) {
+                try {
+                    for (TreeVisitor<?, ExecutionContext> visitor : visitors) {
+                        // set root cursor as it is required by the `ScanningRecipe#isAcceptable()`
+                        visitor.setCursor(rootCursor);
+                    }
+                    fusion = FusedVisitor.fuse(visitors, source, ctx, rootCursor);
+                } catch (Throwable t) {
+                    failed = true;
+                }
+            }
+
+            if (fusion == null) {
+                SourceFile after = source;
+                for (int i = 0; i < recipeStacks.size() && after != null; i++) {
+                    sourceSet.setRecipe(recipeStacks.get(i));
+                    // visitors may hold state from a failed fused traversal, so start over with new ones
+                    after = editSource(after, recipeStacks.get(i), failed ? null : visitors.get(i));
+                }
+                return after;
+            }
+
+            SourceFile after = fusion.getAfter();
+            for (int i = 0; i < recipeStacks.size(); i++) {
+                Stack<Recipe> recipeStack = recipeStacks.get(i);
+                Recipe recipe = recipeStack.peek();
+                recipeRunStats.recordEdit(recipe, fusion.getDuration(i));
+                if (fusion.isChanged(i)) {
+                    madeChangesInThisCycle.add(recipe);
+                    recordSourceFileResult(fusion.getBefore(i), fusion.getAfter(i), recipeStack, ctx);
+                } else if (fusion.isMessaged(i)) {
+                    // consider any recipes adding new messages as a changing recipe (which can request another cycle)
+                    madeChangesInThisCycle.add(recipe);
+                }
+            }
+            if (after != source) {
+                recipeRunStats.recordSourceFileChanged(source, after);
+                for (int i = 0; i < recipeStacks.size() && after != null; i++) {
+                    if (fusion.isChanged(i)) {
+                        after = addRecipesThatMadeChanges(recipeStacks.get(i), after);
+                    }
+                }
+            }
+            return after;
+        } finally {
+            recipeStacks.clear();
+            visitors.clear();
+        }
+    }
+
+    private static @Nullable TreeVisitor<?, ExecutionContext> getVisitorOrNull(Recipe recipe) {
+        try {
+            return recipe.getVisitor();
+        } catch (Throwable t) {
+            // reported when the recipe is run on its own
+            return null;
+        }
+    }
+
+    private boolean isTimedOut(Recipe recipe) {
+        Duration duration = Duration.ofNanos(System.nanoTime() - cycleStartTime);
+        if (duration.compareTo(ctx.getMessage(ExecutionContext.RUN_TIMEOUT, Duration.ofMinutes(4))) > 0) {
+            if (thrownErrorOnTimeout.compareAndSet(false, true)) {
+                RecipeTimeoutException t = new RecipeTimeoutException(recipe);
+                ctx.getOnError().accept(t);
+                ctx.getOnTimeout().accept(t, ctx);
+            }
+            return true;
+        }
+        return false;
+    }
+
     private void recordSourceFileResult(@Nullable SourceFile before, @Nullable SourceFile after, Stack<Recipe> recipeStack, ExecutionContext ctx) {
         String beforePath = (before == null) ? "" : before.getSourcePath().toString();
         String afterPath = (after == null) ? "" : after.getSourcePath().toString();
@@ -23,6 +23,7 @@
 import org.openrewrite.*;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -74,6 +75,14 @@ public void recordScan(Recipe recipe, Callable<SourceFile> scan) throws Exceptio
                 .recordCallable(edit);
     }
 
+    public void recordEdit(Recipe recipe, Duration duration) {
+        Timer.builder("rewrite.recipe.edit")
+                .tag("name", recipe.getName())
+                .publishPercentiles(0.99)
+                .register(registry)
+                .record(duration);
+    }
+
     public void flush(ExecutionContext ctx) {
         for (Timer editor : registry.find("rewrite.recipe.edit").timers()) {
             String recipeName = requireNonNull(editor.getId().getTag("name"));
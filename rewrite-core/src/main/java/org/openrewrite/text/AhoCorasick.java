@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.text;
+
+import java.util.*;
+
+/**
+ * An Aho-Corasick automaton that finds every occurrence of a set of keys in a single pass over a text.
+ * <p>
+ * When folding case, keys and text are compared ignoring the case of US-ASCII letters only, which is how
+ * {@link java.util.regex.Pattern#CASE_INSENSITIVE} compares literal text.
+ */
+final class AhoCorasick {
+    private static final int[] NONE = new int[0];
+    private static final int ROOT = 0;
+
+    private final boolean foldCase;
+    private final int[] keyLengths;
+
+    /**
+     * Transitions of the root on US-ASCII characters, which is the hottest path when the text mostly doesn't match.
+     */
+    private final int[] rootAscii = new int[128];
+
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+
+    /**
+     * The keys that end at each state, including those that end at the states of its failure chain.
+     */
+    private final int[][] outputs;
+
+    AhoCorasick(List<String> keys, boolean foldCase) {
+        this.foldCase = foldCase;
+        this.keyLengths = new int[keys.size()];
+
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+        for (int k = 0; k < keys.size(); k++) {
+            String key = keys.get(k);
+            keyLengths[k] = key.length();
+            int state = ROOT;
+            for (int i = 0; i < key.length(); i++) {
+                char c = fold(key.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            ends.get(state).add(k);
+        }
+
+        int states = trie.size();
+        edgeChars = new char[states][];
+        edgeTargets = new int[states][];
+        for (int s = 0; s < states; s++) {
+            TreeMap<Character, Integer> edges = trie.get(s);
+            edgeChars[s] = new char[edges.size()];
+            edgeTargets[s] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[s][i] = edge.getKey();
+                edgeTargets[s][i++] = edge.getValue();
+            }
+        }
+        Arrays.fill(rootAscii, ROOT);
+        for (int i = 0; i < edgeChars[ROOT].length && edgeChars[ROOT][i] < 128; i++) {
+            rootAscii[edgeChars[ROOT][i]] = edgeTargets[ROOT][i];
+        }
+
+        // breadth-first, so that the failure state of every state is complete before it is used
+        fail = new int[states];
+        outputs = new int[states][];
+        outputs[ROOT] = toArray(ends.get(ROOT));
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[ROOT]) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            int[] inherited = outputs[fail[s]];
+            List<Integer> own = ends.get(s);
+            if (own.isEmpty()) {
+                outputs[s] = inherited;
+            } else {
+                int[] out = Arrays.copyOf(toArray(own), own.size() + inherited.length);
+                System.arraycopy(inherited, 0, out, own.size(), inherited.length);
+                outputs[s] = out;
+            }
+            for (int i = 0; i < edgeChars[s].length; i++) {
+                int child = edgeTargets[s][i];
+                fail[child] = next(fail[s], edgeChars[s][i]);
+                queue.add(child);
+            }
+        }
+    }
+
+    int start() {
+        return ROOT;
+    }
+
+    /**
+     * @return The state after reading {@code c} in {@code state}.
+     */
+    int next(int state, char c) {
+        char folded = fold(c);
+        int s = state;
+        while (true) {
+            int target = transition(s, folded);
+            if (target >= 0) {
+                return target;
+            } else if (s == ROOT) {
+                return ROOT;
+            }
+            s = fail[s];
+        }
+    }
+
+    /**
+     * @return The keys that end at the last character read to reach {@code state}.
+     */
+    int[] outputs(int state) {
+        return outputs[state];
+    }
+
+    int keyLength(int key) {
+        return keyLengths[key];
+    }
+
+    private int transition(int state, char c) {
+        if (state == ROOT && c < 128) {
+            int target = rootAscii[c];
+            return target == ROOT ? -1 : target;
+        }
+        int i = Arrays.binarySearch(edgeChars[state], c);
+        return i < 0 ? -1 : edgeTargets[state][i];
+    }
+
+    private char fold(char c) {
+        return foldCase && c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        if (list.isEmpty()) {
+            return NONE;
+        }
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+}
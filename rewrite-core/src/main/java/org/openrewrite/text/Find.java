@@ -121,6 +121,10 @@ public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
                 if (sourceFile instanceof Quark || sourceFile instanceof Remote || sourceFile instanceof Binary) {
                     return sourceFile;
                 }
+                TrigramIndex index = TrigramIndex.from(ctx);
+                if (index != null && !index.mayMatch(sourceFile, find, Boolean.TRUE.equals(regex))) {
+                    return sourceFile;
+                }
                 PlainText plainText = PlainTextParser.convert(sourceFile);
                 String searchStr = find;
                 if (!Boolean.TRUE.equals(regex)) {
@@ -147,10 +151,7 @@ public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
 
                 List<PlainText.Snippet> snippets = new ArrayList<>();
                 int previousEnd = 0;
-
-                int lastNewLineIndex = -1;
-                int nextNewLineIndex = -1;
-                boolean isFirstMatch = true;
+                TextMatchContext context = new TextMatchContext(rawText, contextSize);
 
                 do {
                     int matchStart = matcher.start();
@@ -159,55 +160,11 @@ public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
                     snippets.add(SearchResult.found(snippet(text), BooleanUtils.isTrue(description) ? text : null));
                     previousEnd = matcher.end();
 
-                    // For the first match, search backwards
-                    if (isFirstMatch) {
-                        lastNewLineIndex = rawText.lastIndexOf('\n', matchStart);
-                        nextNewLineIndex = rawText.indexOf('\n', lastNewLineIndex + 1);
-                        isFirstMatch = false;
-                    } else if (nextNewLineIndex != -1 && nextNewLineIndex < matchStart) {
-                        // Advance lastNewLineIndex while before match start
-                        while (nextNewLineIndex != -1 && nextNewLineIndex < matchStart) {
-                            lastNewLineIndex = nextNewLineIndex;
-                            nextNewLineIndex = rawText.indexOf('\n', lastNewLineIndex + 1);
-                        }
-                    }
-
-                    int startLine = lastNewLineIndex + 1;
-                    int endLine = nextNewLineIndex > matcher.end() ? nextNewLineIndex : rawText.indexOf('\n', matcher.end());
-                    if (endLine == -1) {
-                        endLine = rawText.length();
-                    }
-
-                    String context = truncateContext(endLine, startLine, matcher, matchStart, rawText);
-
-                    textMatches.insertRow(ctx, new TextMatches.Row(sourceFilePath, context));
+                    textMatches.insertRow(ctx, new TextMatches.Row(sourceFilePath, context.context(matchStart, matcher.end())));
                 } while (matcher.find());
                 snippets.add(snippet(rawText.substring(previousEnd)));
                 return plainText.withText("").withSnippets(snippets);
             }
-
-            private String truncateContext(int endLine, int startLine, Matcher matcher, int matchStart, String rawText) {
-                String matchText = matcher.group();
-                int contextLength = contextSize == null ? 0 : contextSize;
-                int contextStart = contextLength == -1 ? startLine : matchStart - contextLength;
-                int contextEnd = contextLength == -1 ? endLine : matchStart + matchText.length() + contextLength;
-
-                StringBuilder sb = new StringBuilder();
-
-                if (contextStart > startLine) {
-                    sb.append("...");
-                }
-
-                sb.append(rawText, Math.max(contextStart, startLine), matchStart)
-                        .append("~~>")
-                        .append(rawText, matchStart, Math.min(contextEnd, endLine));
-
-                if (contextEnd < endLine) {
-                    sb.append("...");
-                }
-
-                return sb.toString();
-            }
         };
         if (filePattern != null) {
             visitor = Preconditions.check(new FindSourceFiles(filePattern), visitor);
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.text;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.apache.commons.lang3.BooleanUtils;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.binary.Binary;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.quark.Quark;
+import org.openrewrite.remote.Remote;
+import org.openrewrite.table.TextMatches;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+@Incubating(since = "8.57.0")
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class FindAll extends Recipe {
+    transient TextMatches textMatches = new TextMatches(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Find any of several texts";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Textual search for many texts or Regular Expressions (regex) at once, evaluating all of them in a single pass over each source file. " +
+               "Equivalent to running `Find` once for each of them.";
+    }
+
+    @Option(displayName = "Find",
+            description = "The texts to find. Each snippet can be multiline.",
+            example = "blacklist")
+    List<String> find;
+
+    @Option(displayName = "Regex",
+            description = "If true, each of `find` will be interpreted as a [Regular Expression](https://en.wikipedia.org/wiki/Regular_expression). Default `false`.",
+            required = false)
+    @Nullable
+    Boolean regex;
+
+    @Option(displayName = "Case sensitive",
+            description = "If `true` the search will be sensitive to case. Default `false`.",
+            required = false)
+    @Nullable
+    Boolean caseSensitive;
+
+    @Option(displayName = "Regex multiline mode",
+            description = "When performing a regex search setting this to `true` allows \"^\" and \"$\" to match the beginning and end of lines, respectively. " +
+                          "When performing a regex search when this is `false` \"^\" and \"$\" will match only the beginning and ending of the entire source file, respectively." +
+                          "Has no effect when not performing a regex search. Default `false`.",
+            required = false)
+    @Nullable
+    Boolean multiline;
+
+    @Option(displayName = "Regex dot all",
+            description = "When performing a regex search setting this to `true` allows \".\" to match line terminators." +
+                          "Has no effect when not performing a regex search. Default `false`.",
+            required = false)
+    @Nullable
+    Boolean dotAll;
+
+    @Option(displayName = "File pattern",
+            description = "A glob expression that can be used to constrain which directories or source files should be searched. " +
+                          "Multiple patterns may be specified, separated by a semicolon `;`. " +
+                          "If multiple patterns are supplied any of the patterns matching will be interpreted as a match. " +
+                          "When not set, all source files are searched.",
+            required = false,
+            example = "**/*.java")
+    @Nullable
+    String filePattern;
+
+    @Option(displayName = "Description",
+            description = "Add the matched value(s) as description on the search result marker.  Default `false`.",
+            required = false)
+    @Nullable
+    Boolean description;
+
+    @Option(displayName = "Context size for Datatable",
+            description = "The number of characters to include in the datatable before and after the match. Default `0`, " +
+                    "`-1` indicates that the whole text should be used.",
+            required = false,
+            example = "50")
+    @Nullable
+    Integer contextSize;
+
+    @Override
+    public String getInstanceName() {
+        return String.format("Find any of %d texts", find.size());
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        List<MultiPatternSearch.Query> queries = new ArrayList<>(find.size());
+        for (String f : find) {
+            queries.add(new MultiPatternSearch.Query(f, Boolean.TRUE.equals(regex), Boolean.TRUE.equals(caseSensitive),
+                    Boolean.TRUE.equals(multiline), Boolean.TRUE.equals(dotAll)));
+        }
+        MultiPatternSearch search = new MultiPatternSearch(queries);
+
+        TreeVisitor<?, ExecutionContext> visitor = new TreeVisitor<Tree, ExecutionContext>() {
+
+            @Override
+            public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                SourceFile sourceFile = (SourceFile) requireNonNull(tree);
+                if (sourceFile instanceof Quark || sourceFile instanceof Remote || sourceFile instanceof Binary) {
+                    return sourceFile;
+                }
+                TrigramIndex index = TrigramIndex.from(ctx);
+                if (index != null && !mayMatchAny(index, sourceFile)) {
+                    return sourceFile;
+                }
+                PlainText plainText = PlainTextParser.convert(sourceFile);
+                String rawText = plainText.getText();
+                List<MultiPatternSearch.Match> matches = search.search(rawText);
+                if (matches.isEmpty()) {
+                    return sourceFile;
+                }
+
+                String sourceFilePath = sourceFile.getSourcePath().toString();
+                TextMatchContext context = new TextMatchContext(rawText, contextSize);
+
+                List<PlainText.Snippet> snippets = new ArrayList<>();
+                int previousEnd = 0;
+                int foundStart = -1;
+                int foundEnd = -1;
+                for (MultiPatternSearch.Match match : matches) {
+                    if (match.getStart() >= foundEnd) {
+                        // matches of different texts may overlap, in which case they are marked as a single snippet
+                        if (foundStart != -1) {
+                            previousEnd = found(snippets, rawText, previousEnd, foundStart, foundEnd);
+                        }
+                        foundStart = match.getStart();
+                        foundEnd = match.getEnd();
+                    } else {
+                        foundEnd = Math.max(foundEnd, match.getEnd());
+                    }
+
+                    textMatches.insertRow(ctx, new TextMatches.Row(sourceFilePath, context.context(match.getStart(), match.getEnd())));
+                }
+                previousEnd = found(snippets, rawText, previousEnd, foundStart, foundEnd);
+                snippets.add(snippet(rawText.substring(previousEnd)));
+                return plainText.withText("").withSnippets(snippets);
+            }
+
+            private boolean mayMatchAny(TrigramIndex index, SourceFile sourceFile) {
+                for (String f : find) {
+                    if (index.mayMatch(sourceFile, f, Boolean.TRUE.equals(regex))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            private int found(List<PlainText.Snippet> snippets, String rawText, int previousEnd, int start, int end) {
+                snippets.add(snippet(rawText.substring(previousEnd, start)));
+                String text = rawText.substring(start, end);
+                snippets.add(SearchResult.found(snippet(text), BooleanUtils.isTrue(description) ? text : null));
+                return end;
+            }
+        };
+        if (filePattern != null) {
+            visitor = Preconditions.check(new FindSourceFiles(filePattern), visitor);
+        }
+        return visitor;
+    }
+
+    private static PlainText.Snippet snippet(String text) {
+        return new PlainText.Snippet(Tree.randomId(), Markers.EMPTY, text);
+    }
+}
@@ -121,6 +121,11 @@ public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
                     }
                 }
 
+                TrigramIndex index = TrigramIndex.from(ctx);
+                if (index != null && !index.mayMatch(sourceFile, find, Boolean.TRUE.equals(regex))) {
+                    return sourceFile;
+                }
+
                 PlainText plainText = PlainTextParser.convert(sourceFile);
                 String replacement = replace == null ? "" : replace;
                 if (!Boolean.TRUE.equals(regex)) {
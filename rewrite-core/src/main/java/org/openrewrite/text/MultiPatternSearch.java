@@ -0,0 +1,420 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.text;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Incubating;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the matches of many queries in a text in one pass, reporting for each query the same matches as
+ * repeatedly calling {@link Matcher#find()} with that query's pattern would.
+ * <p>
+ * Literal queries are all found by a single Aho-Corasick automaton. Each regular expression query that requires
+ * some literal text to match, like {@code AKIA[0-9A-Z]{16}} requires {@code AKIA}, contributes that literal to
+ * the same automaton, and the regular expression is only evaluated on texts where the literal occurs. Regular
+ * expressions without such a literal are evaluated on every text.
+ */
+@Incubating(since = "8.57.0")
+public class MultiPatternSearch {
+    private final List<Query> queries;
+
+    /**
+     * For queries that are evaluated with a regular expression, the compiled pattern.
+     */
+    private final @Nullable Pattern[] patterns;
+
+    /**
+     * Whether a query's regular expression only needs to be evaluated when its required literal occurs.
+     */
+    private final boolean[] prefiltered;
+
+    private final @Nullable Keys caseSensitive;
+    private final @Nullable Keys caseInsensitive;
+
+    public MultiPatternSearch(List<Query> queries) {
+        this.queries = new ArrayList<>(queries);
+        this.patterns = new Pattern[this.queries.size()];
+        this.prefiltered = new boolean[this.queries.size()];
+
+        KeysBuilder caseSensitiveBuilder = new KeysBuilder();
+        KeysBuilder caseInsensitiveBuilder = new KeysBuilder();
+        for (int q = 0; q < this.queries.size(); q++) {
+            Query query = this.queries.get(q);
+            KeysBuilder keys = query.isCaseSensitive() ? caseSensitiveBuilder : caseInsensitiveBuilder;
+            if (!query.isRegex() && isAutomatonLiteral(query.getFind())) {
+                keys.literal(query.getFind(), q);
+                continue;
+            }
+
+            patterns[q] = query.compile();
+            if (query.isRegex()) {
+                String required = requiredLiteral(query.getFind());
+                if (required != null && isAutomatonLiteral(required)) {
+                    keys.requiredBy(required, q);
+                    prefiltered[q] = true;
+                }
+            }
+        }
+        this.caseSensitive = caseSensitiveBuilder.build(false);
+        this.caseInsensitive = caseInsensitiveBuilder.build(true);
+    }
+
+    public List<Query> getQueries() {
+        return Collections.unmodifiableList(queries);
+    }
+
+    /**
+     * @param text The text to search.
+     * @return The matches of every query, ordered by their start and then by the order of the queries.
+     */
+    public List<Match> search(String text) {
+        int[][] literalStarts = new int[queries.size()][];
+        int[] literalCounts = new int[queries.size()];
+        BitSet requiredFound = new BitSet(queries.size());
+
+        if (caseSensitive != null || caseInsensitive != null) {
+            int sensitiveState = caseSensitive == null ? 0 : caseSensitive.automaton.start();
+            int insensitiveState = caseInsensitive == null ? 0 : caseInsensitive.automaton.start();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (caseSensitive != null) {
+                    sensitiveState = caseSensitive.automaton.next(sensitiveState, c);
+                    caseSensitive.found(sensitiveState, i + 1, literalStarts, literalCounts, requiredFound);
+                }
+                if (caseInsensitive != null) {
+                    insensitiveState = caseInsensitive.automaton.next(insensitiveState, c);
+                    caseInsensitive.found(insensitiveState, i + 1, literalStarts, literalCounts, requiredFound);
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int q = 0; q < queries.size(); q++) {
+            Pattern pattern = patterns[q];
+            if (pattern == null) {
+                // like Matcher#find(), each search for a literal resumes after the end of the previous match
+                int length = queries.get(q).getFind().length();
+                int from = 0;
+                for (int i = 0; i < literalCounts[q]; i++) {
+                    int start = literalStarts[q][i];
+                    if (start >= from) {
+                        matches.add(new Match(q, start, start + length));
+                        from = start + length;
+                    }
+                }
+            } else if (!prefiltered[q] || requiredFound.get(q)) {
+                Matcher matcher = pattern.matcher(text);
+                while (matcher.find()) {
+                    matches.add(new Match(q, matcher.start(), matcher.end()));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::getStart).thenComparingInt(Match::getQuery));
+        return matches;
+    }
+
+    /**
+     * Keys containing surrogates are left to the regular expression engine, which matches whole code points.
+     */
+    private static boolean isAutomatonLiteral(String literal) {
+        if (literal.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (Character.isSurrogate(literal.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param regex A regular expression.
+     * @return The longest run of literal characters that every match of the regular expression contains, or
+     * {@code null} when none could be determined. This errs on the side of returning {@code null} for any
+     * construct it doesn't fully understand.
+     */
+    static @Nullable String requiredLiteral(String regex) {
+        if (regex.contains("(?") || regex.contains("\\Q")) {
+            // inline flags, lookarounds and quoting
+            return null;
+        }
+        String longest = "";
+        StringBuilder run = new StringBuilder();
+        int depth = 0;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= regex.length()) {
+                    return null;
+                }
+                char escaped = regex.charAt(i + 1);
+                i += 2;
+                if (Character.isLetterOrDigit(escaped)) {
+                    if ("xucpPkN0".indexOf(escaped) >= 0) {
+                        return null;
+                    }
+                    // a character class like \d or a boundary like \b
+                    longest = longer(longest, run);
+                    i = skipQuantifier(regex, i, run);
+                    run.setLength(0);
+                } else if (depth == 0) {
+                    if (isQuantifier(regex, i)) {
+                        longest = longer(longest, run);
+                        i = skipQuantifier(regex, i, run);
+                        run.setLength(0);
+                    } else {
+                        run.append(escaped);
+                    }
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '|':
+                    if (depth == 0) {
+                        return null;
+                    }
+                    i++;
+                    break;
+                case '(':
+                    depth++;
+                    longest = longer(longest, run);
+                    run.setLength(0);
+                    i++;
+                    break;
+                case ')':
+                    depth--;
+                    i = skipQuantifier(regex, i + 1, run);
+                    break;
+                case '[':
+                    longest = longer(longest, run);
+                    run.setLength(0);
+                    i = skipCharacterClass(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    i = skipQuantifier(regex, i, run);
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                case ']':
+                case '}':
+                    longest = longer(longest, run);
+                    run.setLength(0);
+                    i = skipQuantifier(regex, i + 1, run);
+                    break;
+                default:
+                    i++;
+                    if (depth > 0) {
+                        break;
+                    }
+                    if (c == '?' || c == '*' || c == '+' || c == '{') {
+                        return null;
+                    } else if (isQuantifier(regex, i)) {
+                        // the quantified character is optional or repeated, so it ends the run without being part of it
+                        longest = longer(longest, run);
+                        i = skipQuantifier(regex, i, run);
+                        run.setLength(0);
+                    } else {
+                        run.append(c);
+                    }
+            }
+        }
+        longest = longer(longest, run);
+        return depth != 0 || longest.isEmpty() ? null : longest;
+    }
+
+    private static String longer(String longest, CharSequence run) {
+        return run.length() > longest.length() ? run.toString() : longest;
+    }
+
+    private static boolean isQuantifier(String regex, int i) {
+        if (i >= regex.length()) {
+            return false;
+        }
+        char c = regex.charAt(i);
+        return c == '?' || c == '*' || c == '+' || c == '{';
+    }
+
+    /**
+     * @return The index following the quantifier that starts at {@code i}, if any, including its lazy or possessive
+     * suffix. A quantifier ends the current run.
+     */
+    private static int skipQuantifier(String regex, int i, StringBuilder run) {
+        if (!isQuantifier(regex, i)) {
+            return i;
+        }
+        run.setLength(0);
+        int j = i;
+        if (regex.charAt(j) == '{') {
+            int close = regex.indexOf('}', j);
+            j = close < 0 ? regex.length() : close + 1;
+        } else {
+            j++;
+        }
+        if (j < regex.length() && (regex.charAt(j) == '?' || regex.charAt(j) == '+')) {
+            j++;
+        }
+        return j;
+    }
+
+    /**
+     * @return The index following the character class that starts at {@code i}, or {@code -1} if it isn't closed.
+     */
+    private static int skipCharacterClass(String regex, int i) {
+        int depth = 0;
+        int j = i;
+        while (j < regex.length()) {
+            char c = regex.charAt(j);
+            if (c == '\\') {
+                j += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                // a ']' right after the opening bracket (or its negation) is a literal
+                if (j + 1 < regex.length() && regex.charAt(j + 1) == '^') {
+                    j++;
+                }
+                if (j + 1 < regex.length() && regex.charAt(j + 1) == ']') {
+                    j++;
+                }
+            } else if (c == ']' && --depth == 0) {
+                return j + 1;
+            }
+            j++;
+        }
+        return -1;
+    }
+
+    @Value
+    public static class Query {
+        String find;
+        boolean regex;
+        boolean caseSensitive;
+        boolean multiline;
+        boolean dotAll;
+
+        Pattern compile() {
+            int patternOptions = 0;
+            if (!caseSensitive) {
+                patternOptions |= Pattern.CASE_INSENSITIVE;
+            }
+            if (multiline) {
+                patternOptions |= Pattern.MULTILINE;
+            }
+            if (dotAll) {
+                patternOptions |= Pattern.DOTALL;
+            }
+            return Pattern.compile(regex ? find : Pattern.quote(find), patternOptions);
+        }
+    }
+
+    @Value
+    public static class Match {
+        /**
+         * The index of the query in {@link #getQueries()}.
+         */
+        int query;
+
+        int start;
+        int end;
+    }
+
+    /**
+     * The keys of one automaton and the queries that use each of them.
+     */
+    private static class Keys {
+        final AhoCorasick automaton;
+        final int[][] literalOf;
+        final int[][] requiredBy;
+
+        Keys(AhoCorasick automaton, int[][] literalOf, int[][] requiredBy) {
+            this.automaton = automaton;
+            this.literalOf = literalOf;
+            this.requiredBy = requiredBy;
+        }
+
+        void found(int state, int end, int[][] literalStarts, int[] literalCounts, BitSet requiredFound) {
+            for (int key : automaton.outputs(state)) {
+                int start = end - automaton.keyLength(key);
+                for (int q : literalOf[key]) {
+                    int[] starts = literalStarts[q];
+                    if (starts == null) {
+                        starts = literalStarts[q] = new int[8];
+                    } else if (literalCounts[q] == starts.length) {
+                        starts = literalStarts[q] = Arrays.copyOf(starts, starts.length * 2);
+                    }
+                    starts[literalCounts[q]++] = start;
+                }
+                for (int q : requiredBy[key]) {
+                    requiredFound.set(q);
+                }
+            }
+        }
+    }
+
+    private static class KeysBuilder {
+        final Map<String, Integer> keyIndices = new LinkedHashMap<>();
+        final List<List<Integer>> literalOf = new ArrayList<>();
+        final List<List<Integer>> requiredBy = new ArrayList<>();
+
+        void literal(String key, int query) {
+            literalOf.get(index(key)).add(query);
+        }
+
+        void requiredBy(String key, int query) {
+            requiredBy.get(index(key)).add(query);
+        }
+
+        private int index(String key) {
+            return keyIndices.computeIfAbsent(key, k -> {
+                literalOf.add(new ArrayList<>());
+                requiredBy.add(new ArrayList<>());
+                return keyIndices.size();
+            });
+        }
+
+        @Nullable
+        Keys build(boolean foldCase) {
+            if (keyIndices.isEmpty()) {
+                return null;
+            }
+            return new Keys(new AhoCorasick(new ArrayList<>(keyIndices.keySet()), foldCase),
+                    toArrays(literalOf), toArrays(requiredBy));
+        }
+
+        private static int[][] toArrays(List<List<Integer>> lists) {
+            int[][] arrays = new int[lists.size()][];
+            for (int i = 0; i < arrays.length; i++) {
+                List<Integer> list = lists.get(i);
+                arrays[i] = new int[list.size()];
+                for (int j = 0; j < list.size(); j++) {
+                    arrays[i][j] = list.get(j);
+                }
+            }
+            return arrays;
+        }
+    }
+}
@@ -87,6 +87,11 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
         });
     }
 
+    @Override
+    public boolean isInputIndependent() {
+        return true;
+    }
+
     @Override
     public boolean accept(Path path) {
         return true;
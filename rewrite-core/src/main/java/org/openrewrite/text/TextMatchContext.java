@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.text;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Renders the {@link org.openrewrite.table.TextMatches} context of successive matches in a text, tracking the
+ * line each match is on incrementally. Matches must be supplied in the order of their start.
+ */
+class TextMatchContext {
+    private final String rawText;
+    private final int contextSize;
+
+    private int lastNewLineIndex = -1;
+    private int nextNewLineIndex = -1;
+    private boolean isFirstMatch = true;
+
+    /**
+     * @param rawText     The text being searched.
+     * @param contextSize The number of characters to include before and after the match, or {@code -1} for the
+     *                    whole line.
+     */
+    TextMatchContext(String rawText, @Nullable Integer contextSize) {
+        this.rawText = rawText;
+        this.contextSize = contextSize == null ? 0 : contextSize;
+    }
+
+    String context(int matchStart, int matchEnd) {
+        // For the first match, search backwards
+        if (isFirstMatch) {
+            lastNewLineIndex = rawText.lastIndexOf('\n', matchStart);
+            nextNewLineIndex = rawText.indexOf('\n', lastNewLineIndex + 1);
+            isFirstMatch = false;
+        } else if (nextNewLineIndex != -1 && nextNewLineIndex < matchStart) {
+            // Advance lastNewLineIndex while before match start
+            while (nextNewLineIndex != -1 && nextNewLineIndex < matchStart) {
+                lastNewLineIndex = nextNewLineIndex;
+                nextNewLineIndex = rawText.indexOf('\n', lastNewLineIndex + 1);
+            }
+        }
+
+        int startLine = lastNewLineIndex + 1;
+        int endLine = nextNewLineIndex > matchEnd ? nextNewLineIndex : rawText.indexOf('\n', matchEnd);
+        if (endLine == -1) {
+            endLine = rawText.length();
+        }
+
+        return truncateContext(endLine, startLine, matchStart, matchEnd);
+    }
+
+    private String truncateContext(int endLine, int startLine, int matchStart, int matchEnd) {
+        int contextStart = contextSize == -1 ? startLine : matchStart - contextSize;
+        int contextEnd = contextSize == -1 ? endLine : matchEnd + contextSize;
+
+        StringBuilder sb = new StringBuilder();
+
+        if (contextStart > startLine) {
+            sb.append("...");
+        }
+
+        sb.append(rawText, Math.max(contextStart, startLine), matchStart)
+                .append("~~>")
+                .append(rawText, matchStart, Math.min(contextEnd, endLine));
+
+        if (contextEnd < endLine) {
+            sb.append("...");
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.text;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.binary.Binary;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.quark.Quark;
+import org.openrewrite.remote.Remote;
+import org.openrewrite.tree.ParsingEventListener;
+import org.openrewrite.tree.ParsingExecutionContextView;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the trigrams (runs of three characters) in the printed text of every source file as it is parsed,
+ * which text searches consult to rule out source files that can't contain a match without printing or scanning
+ * them.
+ * <p>
+ * Trigrams are indexed with ASCII letters folded to lower case, so the same index serves case-sensitive and
+ * case-insensitive searches, and are hashed to 32 bits. Both may cause a source file to not be ruled out when it
+ * could have been, but never the reverse. The posting list of each trigram is the delta and variable-length encoded
+ * list of the source files that contain it, stored in segments of direct (off-heap) memory.
+ * <p>
+ * Only the exact source files that were parsed are ever ruled out. When a recipe changes a source file, or it is
+ * otherwise replaced by a different instance, it is searched like any other.
+ */
+@Incubating(since = "8.57.0")
+public class TrigramIndex implements ParsingEventListener {
+    private static final String TRIGRAM_INDEX = "org.openrewrite.text.trigramIndex";
+
+    /**
+     * The number of source files whose postings are kept on-heap before being compacted to a segment.
+     */
+    private static final int SEGMENT_SIZE = 1024;
+
+    private final ParsingEventListener delegate;
+
+    private final Map<Path, Document> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Postings of the source files that are not yet part of a segment, by trigram.
+     */
+    private Map<Integer, Postings> pending = new HashMap<>();
+
+    private final List<Document> pendingDocuments = new ArrayList<>();
+    private int nextDocument;
+
+    public TrigramIndex(ParsingEventListener delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Index the source files parsed with this execution context, and make the index available to the
+     * recipes run with it.
+     *
+     * @param ctx The execution context that will be used to parse source files and run recipes.
+     * @return The attached index.
+     */
+    public static TrigramIndex attach(ExecutionContext ctx) {
+        ParsingExecutionContextView view = ParsingExecutionContextView.view(ctx);
+        TrigramIndex index = new TrigramIndex(view.getParsingListener());
+        view.setParsingListener(index);
+        ctx.putMessage(TRIGRAM_INDEX, index);
+        return index;
+    }
+
+    public static @Nullable TrigramIndex from(ExecutionContext ctx) {
+        return ctx.getMessage(TRIGRAM_INDEX);
+    }
+
+    /**
+     * A precondition that passes every source file that may contain a match of the regular expression according to
+     * the index attached to the execution context, or every source file when none is attached.
+     *
+     * @param regex   A regular expression, matched case-sensitively or not.
+     * @param escaped Whether the regular expression is matched against text that may have been unescaped from the
+     *                source, like the value of a string literal. Source files that contain Unicode or octal escape
+     *                sequences or escaped line terminators are then never ruled out.
+     * @return A precondition to use with {@link Preconditions#check(TreeVisitor, TreeVisitor)}.
+     */
+    public static TreeVisitor<?, ExecutionContext> precondition(String regex, boolean escaped) {
+        String literal = MultiPatternSearch.requiredLiteral(regex);
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                SourceFile sourceFile = (SourceFile) Objects.requireNonNull(tree);
+                TrigramIndex index = from(ctx);
+                if (literal == null || index == null || index.mayContain(sourceFile, literal, escaped)) {
+                    return SearchResult.found(sourceFile);
+                }
+                return sourceFile;
+            }
+        };
+    }
+
+    /**
+     * @param sourceFile A source file.
+     * @param literal    Text to search for, case-sensitively or not.
+     * @return {@code false} only if the source file is the one that was parsed and its printed text doesn't
+     * contain the literal.
+     */
+    public boolean mayContain(SourceFile sourceFile, String literal) {
+        return mayContain(sourceFile, literal, false);
+    }
+
+    /**
+     * @param sourceFile A source file.
+     * @param regex      A regular expression, matched case-sensitively or not.
+     * @param isRegex    Whether {@code regex} is a regular expression or a literal.
+     * @return {@code false} only if the source file is the one that was parsed and its printed text can't contain
+     * a match.
+     */
+    public boolean mayMatch(SourceFile sourceFile, String regex, boolean isRegex) {
+        if (!isRegex) {
+            return mayContain(sourceFile, regex);
+        }
+        String literal = MultiPatternSearch.requiredLiteral(regex);
+        return literal == null || mayContain(sourceFile, literal);
+    }
+
+    private boolean mayContain(SourceFile sourceFile, String literal, boolean escaped) {
+        if (literal.length() < 3) {
+            return true;
+        }
+        Document document = documents.get(sourceFile.getSourcePath());
+        if (document == null || document.sourceFile.get() != sourceFile || (escaped && document.escapes)) {
+            return true;
+        }
+        Segment segment = document.segment;
+        if (segment == null) {
+            synchronized (this) {
+                flush();
+            }
+            segment = Objects.requireNonNull(document.segment);
+        }
+        int[] trigrams = trigrams(literal);
+        for (int trigram : trigrams) {
+            if (!segment.contains(trigram, document.id - segment.firstDocument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void intermediateMessage(String stateMessage) {
+        delegate.intermediateMessage(stateMessage);
+    }
+
+    @Override
+    public void startedParsing(Parser.Input input) {
+        delegate.startedParsing(input);
+    }
+
+    @Override
+    public void parsed(Parser.Input input, SourceFile sourceFile) {
+        if (!(sourceFile instanceof Quark || sourceFile instanceof Remote || sourceFile instanceof Binary)) {
+            index(sourceFile);
+        }
+        delegate.parsed(input, sourceFile);
+    }
+
+    private void index(SourceFile sourceFile) {
+        String text = sourceFile instanceof PlainText ? ((PlainText) sourceFile).getText() : sourceFile.printAll();
+        int[] trigrams = trigrams(text);
+        synchronized (this) {
+            Document document = new Document(nextDocument++, new WeakReference<>(sourceFile), hasEscapes(text));
+            pendingDocuments.add(document);
+            int firstDocument = pendingDocuments.get(0).id;
+            for (int trigram : trigrams) {
+                pending.computeIfAbsent(trigram, t -> new Postings()).add(document.id - firstDocument);
+            }
+            documents.put(sourceFile.getSourcePath(), document);
+            if (pendingDocuments.size() >= SEGMENT_SIZE) {
+                flush();
+            }
+        }
+    }
+
+    private void flush() {
+        if (pendingDocuments.isEmpty()) {
+            return;
+        }
+        Segment segment = new Segment(pendingDocuments.get(0).id, pending);
+        for (Document document : pendingDocuments) {
+            document.segment = segment;
+        }
+        pendingDocuments.clear();
+        pending = new HashMap<>();
+    }
+
+    /**
+     * @return The distinct hashes of the trigrams of the text, sorted.
+     */
+    static int[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new int[0];
+        }
+        int[] trigrams = new int[text.length() - 2];
+        char c1 = fold(text.charAt(0));
+        char c2 = fold(text.charAt(1));
+        for (int i = 2; i < text.length(); i++) {
+            char c3 = fold(text.charAt(i));
+            trigrams[i - 2] = hash(c1, c2, c3);
+            c1 = c2;
+            c2 = c3;
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static int hash(char c1, char c2, char c3) {
+        int h = c1;
+        h = h * 0x9E3779B1 + c2;
+        return h * 0x9E3779B1 + c3;
+    }
+
+    private static boolean hasEscapes(String text) {
+        for (int i = text.indexOf('\\'); i != -1 && i + 1 < text.length(); i = text.indexOf('\\', i + 2)) {
+            char c = text.charAt(i + 1);
+            // Unicode and octal escapes, and line continuations in text blocks
+            if (c == 'u' || (c >= '0' && c <= '7') || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Document {
+        final int id;
+        final WeakReference<SourceFile> sourceFile;
+        final boolean escapes;
+        volatile @Nullable Segment segment;
+
+        Document(int id, WeakReference<SourceFile> sourceFile, boolean escapes) {
+            this.id = id;
+            this.sourceFile = sourceFile;
+            this.escapes = escapes;
+        }
+    }
+
+    /**
+     * A posting list under construction, the gaps between successive document ids (relative to the first document
+     * of the segment, and starting from -1) encoded as variable-length integers.
+     */
+    private static class Postings {
+        byte[] bytes = new byte[4];
+        int size;
+        int lastDocument = -1;
+
+        void add(int document) {
+            if (size + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            int gap = document - lastDocument;
+            lastDocument = document;
+            while ((gap & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            bytes[size++] = (byte) gap;
+        }
+    }
+
+    /**
+     * The postings of consecutive documents, stored off-heap as the number of trigrams, their sorted hashes, the
+     * offsets of their posting lists, and the posting lists themselves. Document ids are relative to the segment's
+     * first document.
+     */
+    private static class Segment {
+        final int firstDocument;
+        final ByteBuffer buffer;
+        final int trigramCount;
+        final int postingsStart;
+
+        Segment(int firstDocument, Map<Integer, Postings> postings) {
+            this.firstDocument = firstDocument;
+            int[] trigrams = new int[postings.size()];
+            int i = 0;
+            int size = 0;
+            for (Map.Entry<Integer, Postings> entry : postings.entrySet()) {
+                trigrams[i++] = entry.getKey();
+                size += entry.getValue().size;
+            }
+            Arrays.sort(trigrams);
+
+            this.trigramCount = trigrams.length;
+            this.postingsStart = 4 * (2 * trigramCount + 1);
+            this.buffer = ByteBuffer.allocateDirect(postingsStart + size);
+            int offset = postingsStart;
+            for (int t = 0; t < trigramCount; t++) {
+                Postings list = postings.get(trigrams[t]);
+                buffer.putInt(4 * t, trigrams[t]);
+                buffer.putInt(4 * (trigramCount + t), offset);
+                for (int b = 0; b < list.size; b++) {
+                    buffer.put(offset + b, list.bytes[b]);
+                }
+                offset += list.size;
+            }
+            buffer.putInt(4 * 2 * trigramCount, offset);
+        }
+
+        boolean contains(int trigram, int document) {
+            int low = 0;
+            int high = trigramCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int t = buffer.getInt(4 * mid);
+                if (t < trigram) {
+                    low = mid + 1;
+                } else if (t > trigram) {
+                    high = mid - 1;
+                } else {
+                    return containsDocument(buffer.getInt(4 * (trigramCount + mid)),
+                            buffer.getInt(4 * (trigramCount + mid + 1)), document);
+                }
+            }
+            return false;
+        }
+
+        private boolean containsDocument(int start, int end, int document) {
+            int current = -1;
+            int i = start;
+            while (i < end) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = buffer.get(i++);
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                current += gap;
+                if (current >= document) {
+                    return current == document;
+                }
+            }
+            return false;
+        }
+    }
+}
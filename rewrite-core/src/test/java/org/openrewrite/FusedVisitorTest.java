@@ -0,0 +1,302 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.config.CompositeRecipe;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.marker.RecipesThatMadeChanges;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.scheduling.RecipeFusionExecutionContextView;
+import org.openrewrite.table.SourcesFileResults;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextVisitor;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.openrewrite.Tree.randomId;
+
+class FusedVisitorTest {
+
+    @Test
+    void fusedRunMatchesSequentialRun() {
+        Recipe recipe = new CompositeRecipe(List.of(
+          new ReplaceSnippet("a", "b", true),
+          new ReplaceSnippet("b", "c", true),
+          // only applicable once the previous recipes have made their change
+          new ReplaceSnippetIfPresent("c", "x", "y"),
+          new ReplaceSnippet("y", "z", false),
+          new ReplaceSnippet("z", "w", true)
+        ));
+
+        List<Result> sequential = run(recipe, false);
+        List<Result> fused = run(recipe, true);
+
+        assertThat(snippets(fused)).containsExactly("c", "w", "q");
+        assertThat(snippets(fused)).isEqualTo(snippets(sequential));
+        assertThat(recipesThatMadeChanges(fused)).isEqualTo(recipesThatMadeChanges(sequential));
+    }
+
+    @Test
+    void eachChangingRecipeRecordsItsOwnResult() {
+        Recipe recipe = new CompositeRecipe(List.of(
+          new ReplaceSnippet("a", "b", true),
+          new Move("moved.txt"),
+          new ReplaceSnippet("x", "y", true)
+        ));
+
+        List<SourcesFileResults.Row> sequential = sourcesFileResults(recipe, false);
+        List<SourcesFileResults.Row> fused = sourcesFileResults(recipe, true);
+
+        assertThat(fused)
+          .extracting(SourcesFileResults.Row::getSourcePath, SourcesFileResults.Row::getAfterSourcePath)
+          .containsExactly(
+            tuple("test.txt", "test.txt"),
+            tuple("test.txt", "moved.txt"),
+            tuple("moved.txt", "moved.txt")
+          );
+        // including the estimated effort, which is only saved by recipes that change what is printed
+        assertThat(fused).isEqualTo(sequential);
+    }
+
+    @Test
+    void doAfterVisitFallsBackToSequentialRun() {
+        Recipe recipe = new CompositeRecipe(List.of(
+          new ReplaceSnippet("a", "b", true),
+          new MarkAfterVisit(),
+          new ReplaceSnippet("x", "y", true)
+        ));
+
+        List<String> errors = new ArrayList<>();
+        List<Result> fused = run(recipe, true, errors);
+
+        assertThat(errors).isEmpty();
+        assertThat(snippets(fused)).isEqualTo(snippets(run(recipe, false)));
+        assertThat(fused.getFirst().getAfter().getMarkers().findFirst(SearchResult.class)).isPresent();
+    }
+
+    @Test
+    void reportsWhichVisitorsMadeChanges() {
+        PlainText text = text("a", "x", "q");
+        List<TreeVisitor<?, ExecutionContext>> visitors = List.of(
+          new ReplaceSnippet("a", "b", true).getVisitor(),
+          new ReplaceSnippet("nothing", "matches", true).getVisitor(),
+          new ReplaceSnippet("x", "y", true).getVisitor()
+        );
+
+        FusedVisitor.Fusion fusion = FusedVisitor.fuse(visitors, text, new InMemoryExecutionContext(),
+          new Cursor(null, Cursor.ROOT_VALUE));
+
+        assertThat(((PlainText) fusion.getAfter()).getSnippets()).extracting(PlainText.Snippet::getText)
+          .containsExactly("b", "y", "q");
+        assertThat(fusion.isChanged(0)).isTrue();
+        assertThat(fusion.isChanged(1)).isFalse();
+        assertThat(fusion.isChanged(2)).isTrue();
+    }
+
+    @Test
+    void visitorsThatControlTheirOwnTraversalAreNotFusible() {
+        assertThat(FusedVisitor.isFusible(new ReplaceSnippet("a", "b", true).getVisitor())).isTrue();
+        assertThat(FusedVisitor.isFusible(new ReplaceSnippetIfPresent("c", "x", "y").getVisitor())).isTrue();
+        assertThat(FusedVisitor.isFusible(new TreeVisitor<>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                return tree;
+            }
+        })).isFalse();
+        assertThat(FusedVisitor.isFusible(TreeVisitor.noop())).isFalse();
+    }
+
+    private static List<Result> run(Recipe recipe, boolean fuse) {
+        return run(recipe, fuse, new ArrayList<>());
+    }
+
+    private static List<Result> run(Recipe recipe, boolean fuse, List<String> errors) {
+        return recipeRun(recipe, fuse, errors).getChangeset().getAllResults();
+    }
+
+    private static List<SourcesFileResults.Row> sourcesFileResults(Recipe recipe, boolean fuse) {
+        return recipeRun(recipe, fuse, new ArrayList<>()).getDataTableRows(SourcesFileResults.class.getName());
+    }
+
+    private static RecipeRun recipeRun(Recipe recipe, boolean fuse, List<String> errors) {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> errors.add(t.getMessage()));
+        RecipeFusionExecutionContextView.view(ctx).setFuseLocalRecipes(fuse);
+        return recipe.run(new InMemoryLargeSourceSet(List.of(text("a", "x", "q"))), ctx, 1);
+    }
+
+    private static PlainText text(String... snippets) {
+        List<PlainText.Snippet> s = new ArrayList<>();
+        for (String snippet : snippets) {
+            s.add(new PlainText.Snippet(randomId(), Markers.EMPTY, snippet));
+        }
+        return new PlainText(randomId(), Paths.get("test.txt"), Markers.EMPTY, null, false,
+          null, null, "", s);
+    }
+
+    private static List<String> snippets(List<Result> results) {
+        assertThat(results).hasSize(1);
+        return ((PlainText) results.getFirst().getAfter()).getSnippets().stream()
+          .map(PlainText.Snippet::getText)
+          .collect(Collectors.toList());
+    }
+
+    private static List<List<String>> recipesThatMadeChanges(List<Result> results) {
+        return results.getFirst().getAfter().getMarkers().findFirst(RecipesThatMadeChanges.class)
+          .map(r -> r.getRecipes().stream()
+            .map(stack -> stack.stream().map(Recipe::getName).collect(Collectors.toList()))
+            .collect(Collectors.toList()))
+          .orElseThrow();
+    }
+
+    static class ReplaceSnippet extends Recipe {
+        private final String find;
+        private final String replace;
+        private final boolean local;
+
+        ReplaceSnippet(String find, String replace, boolean local) {
+            this.find = find;
+            this.replace = replace;
+            this.local = local;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Replace snippet";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Replace snippets with matching text.";
+        }
+
+        @Override
+        public String getInstanceNameSuffix() {
+            return find + " to " + replace;
+        }
+
+        @Override
+        public boolean isLocal() {
+            return local;
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return new PlainTextVisitor<>() {
+                @Override
+                public PlainText.Snippet visitSnippet(PlainText.Snippet snippet, ExecutionContext ctx) {
+                    PlainText.Snippet s = super.visitSnippet(snippet, ctx);
+                    return find.equals(s.getText()) ? s.withText(replace) : s;
+                }
+            };
+        }
+    }
+
+    static class ReplaceSnippetIfPresent extends ReplaceSnippet {
+        private final String ifPresent;
+
+        ReplaceSnippetIfPresent(String ifPresent, String find, String replace) {
+            super(find, replace, true);
+            this.ifPresent = ifPresent;
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return Preconditions.check(new PlainTextVisitor<>() {
+                @Override
+                public PlainText.Snippet visitSnippet(PlainText.Snippet snippet, ExecutionContext ctx) {
+                    return ifPresent.equals(snippet.getText()) ? SearchResult.found(snippet) : snippet;
+                }
+            }, super.getVisitor());
+        }
+    }
+
+    static class Move extends Recipe {
+        private final String to;
+
+        Move(String to) {
+            this.to = to;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Move";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Moves the source file.";
+        }
+
+        @Override
+        public boolean isLocal() {
+            return true;
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return new PlainTextVisitor<>() {
+                @Override
+                public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                    return text.getSourcePath().equals(Paths.get(to)) ? text : text.withSourcePath(Paths.get(to));
+                }
+            };
+        }
+    }
+
+    static class MarkAfterVisit extends Recipe {
+        @Override
+        public String getDisplayName() {
+            return "Mark after visit";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Marks the source file from a visitor scheduled with `doAfterVisit()`.";
+        }
+
+        @Override
+        public boolean isLocal() {
+            return true;
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return new PlainTextVisitor<>() {
+                @Override
+                public PlainText.Snippet visitSnippet(PlainText.Snippet snippet, ExecutionContext ctx) {
+                    if ("b".equals(snippet.getText())) {
+                        doAfterVisit(new PlainTextVisitor<>() {
+                            @Override
+                            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                                return text.getMarkers().findFirst(SearchResult.class).isPresent() ?
+                                  text : SearchResult.found(text);
+                            }
+                        });
+                    }
+                    return snippet;
+                }
+            };
+        }
+    }
+}
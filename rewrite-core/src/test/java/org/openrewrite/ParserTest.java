@@ -19,13 +19,21 @@
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.text.PlainTextParser;
 import org.openrewrite.tree.ParseError;
+import org.openrewrite.tree.ParsingEventListener;
 import org.openrewrite.tree.ParsingExecutionContextView;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.openrewrite.test.SourceSpecs.text;
 
 class ParserTest implements RewriteTest {
@@ -89,4 +97,56 @@ void printIdempotentDiffPrint() {
         int endIndex = startIndex + expectedDiff.length();
         assertThat(parseExceptionResult.getMessage().substring(startIndex, endIndex)).isEqualTo(expectedDiff);
     }
+
+    @Test
+    void parseInputsInParallelPreservesOrderAndListenerEvents() {
+        List<Parser.Input> inputs = IntStream.range(0, 200)
+          .mapToObj(i -> Parser.Input.fromString(Paths.get(i + ".txt"), "text " + i))
+          .toList();
+
+        Thread consumer = Thread.currentThread();
+        List<String> events = new ArrayList<>();
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        ParsingExecutionContextView.view(ctx).setParsingListener(new ParsingEventListener() {
+            @Override
+            public void startedParsing(Parser.Input input) {
+                assertThat(Thread.currentThread()).isSameAs(consumer);
+                events.add("started " + input.getPath());
+            }
+
+            @Override
+            public void parsed(Parser.Input input, SourceFile sourceFile) {
+                assertThat(Thread.currentThread()).isSameAs(consumer);
+                events.add("parsed " + sourceFile.getSourcePath());
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<SourceFile> parsed = new PlainTextParser()
+              .parseInputsInParallel(inputs, null, ctx, executor, 8)
+              .toList();
+            assertThat(parsed).extracting(SourceFile::printAll)
+              .containsExactlyElementsOf(IntStream.range(0, 200).mapToObj(i -> "text " + i).toList());
+            assertThat(events).containsExactlyElementsOf(IntStream.range(0, 200)
+              .boxed()
+              .flatMap(i -> List.of("started " + i + ".txt", "parsed " + i + ".txt").stream())
+              .toList());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void parseInputsInParallelRequiresInputIndependentParsers() {
+        Parser dependent = new PlainTextParser() {
+            @Override
+            public boolean isInputIndependent() {
+                return false;
+            }
+        };
+        assertThatThrownBy(() -> Parser.parseInputsInParallel(singletonList(dependent),
+          List.of(Parser.Input.fromString("text")), null, new InMemoryExecutionContext(), Runnable::run, 1))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.LargeSourceSet;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.marker.RecipesThatMadeChanges;
+import org.openrewrite.text.PlainText;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryLargeSourceSetTest {
+    List<Recipe> recipeStack = singletonList(Recipe.noop());
+
+    @Test
+    void changesetInSourceSetOrder() {
+        List<SourceFile> initial = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            initial.add(text("file" + i + ".txt", "" + i));
+        }
+        LargeSourceSet lss = new InMemoryLargeSourceSet(initial);
+        lss.setRecipe(recipeStack);
+
+        // change the last file first, and then the first one
+        lss = lss.edit(s -> s == initial.get(4) ? changed(s) : s);
+        lss.setRecipe(recipeStack);
+        lss = lss.generate(singletonList(text("generated.txt", "generated")));
+        lss.setRecipe(recipeStack);
+        lss = lss.edit(s -> s == initial.get(0) ? changed(s) : s);
+        lss.setRecipe(recipeStack);
+        lss = lss.edit(s -> s == initial.get(2) ? null : s);
+
+        List<Result> results = lss.getChangeset().getAllResults();
+        assertThat(results).extracting(r -> r.getBefore() == null ? null : r.getBefore().getSourcePath().toString())
+          .containsExactly("file0.txt", "file4.txt", null, "file2.txt");
+        assertThat(results).extracting(r -> r.getAfter() == null ? null : r.getAfter().getSourcePath().toString())
+          .containsExactly("file0.txt", "file4.txt", "generated.txt", null);
+    }
+
+    @Test
+    void editRevertedToInitialStateIsNotAChange() {
+        SourceFile original = text("file.txt", "original");
+        LargeSourceSet lss = new InMemoryLargeSourceSet(singletonList(original));
+        lss.setRecipe(recipeStack);
+
+        lss = lss.edit(this::changed);
+        assertThat(lss.getChangeset().size()).isEqualTo(1);
+
+        lss.setRecipe(recipeStack);
+        lss = lss.edit(s -> original);
+        assertThat(lss.getChangeset().size()).isEqualTo(0);
+    }
+
+    @Test
+    void pagesAreBuiltOnDemand() {
+        List<SourceFile> initial = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            initial.add(text("file" + i + ".txt", "" + i));
+        }
+        LargeSourceSet lss = new InMemoryLargeSourceSet(initial);
+        lss.setRecipe(recipeStack);
+        lss = lss.edit(this::changed);
+
+        assertThat(lss.getChangeset().size()).isEqualTo(10);
+        assertThat(lss.getChangeset().getPage(8, 5))
+          .extracting(r -> r.getAfter().getSourcePath().toString())
+          .containsExactly("file8.txt", "file9.txt");
+    }
+
+    private SourceFile changed(SourceFile s) {
+        PlainText text = (PlainText) s;
+        return text.withText(text.getText() + "!")
+          .withMarkers(text.getMarkers().add(RecipesThatMadeChanges.create(recipeStack)));
+    }
+
+    private static SourceFile text(String path, String text) {
+        return PlainText.builder()
+          .sourcePath(Paths.get(path))
+          .text(text)
+          .build();
+    }
+}
@@ -56,6 +56,68 @@ void addAcceptsNonDuplicates() {
         assertThat(markers.findAll(TextMarker.class)).hasSize(2);
     }
 
+    @Test
+    void findByTypeInInsertionOrderOnLargeMarkers() {
+        Markers markers = Markers.EMPTY;
+        for (int i = 0; i < 20; i++) {
+            markers = markers.add(i % 2 == 0 ?
+              new TextMarker(randomId(), "text" + i) :
+              new SearchResult(randomId(), "search" + i));
+        }
+
+        assertThat(markers.findFirst(SearchResult.class)).hasValueSatisfying(m ->
+          assertThat(m.getDescription()).isEqualTo("search1"));
+        assertThat(markers.findAll(TextMarker.class))
+          .extracting(m -> m.text)
+          .startsWith("text0", "text2", "text4")
+          .hasSize(10);
+        assertThat(markers.findAll(Marker.class)).hasSize(20);
+        assertThat(markers.findFirst(Generated.class)).isEmpty();
+
+        // repeated lookups are answered from the index, and don't share a mutable list
+        markers.findAll(TextMarker.class).clear();
+        assertThat(markers.findAll(TextMarker.class)).hasSize(10);
+    }
+
+    @Test
+    void derivedMarkersKeepOnlyUnaffectedIndexEntries() {
+        Markers markers = Markers.EMPTY;
+        for (int i = 0; i < 20; i++) {
+            markers = markers.add(i % 2 == 0 ?
+              new TextMarker(randomId(), "text" + i) :
+              new SearchResult(randomId(), "search" + i));
+        }
+        markers.findAll(TextMarker.class);
+        markers.findAll(SearchResult.class);
+        markers.findAll(Marker.class);
+
+        Markers added = markers.add(new TextMarker(randomId(), "added"));
+        assertThat(added.findAll(TextMarker.class)).hasSize(11);
+        assertThat(added.findAll(SearchResult.class)).hasSize(10);
+        assertThat(added.findAll(Marker.class)).hasSize(21);
+
+        Markers removed = added.removeByType(SearchResult.class);
+        assertThat(removed.findFirst(SearchResult.class)).isEmpty();
+        assertThat(removed.findAll(TextMarker.class)).hasSize(11);
+        assertThat(removed.findAll(Marker.class)).hasSize(11);
+
+        Markers set = removed.setByType(new SearchResult(randomId(), "set"));
+        assertThat(set.findAll(SearchResult.class)).extracting(SearchResult::getDescription).containsExactly("set");
+        assertThat(set.findAll(TextMarker.class)).hasSize(11);
+        assertThat(set.findAll(Marker.class)).hasSize(12);
+    }
+
+    @Test
+    void indexDoesNotAffectEquality() {
+        Markers markers = Markers.EMPTY;
+        for (int i = 0; i < 20; i++) {
+            markers = markers.add(new TextMarker(randomId(), "text" + i));
+        }
+        Markers copy = new Markers(markers.getId(), markers.getMarkers());
+        markers.findFirst(TextMarker.class);
+        assertThat(markers).isEqualTo(copy).hasSameHashCodeAs(copy);
+    }
+
     private static class TextMarker implements Marker {
         private final UUID id;
         private final String text;
@@ -32,12 +32,17 @@
 import java.io.IOException;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
 import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.openrewrite.test.RewriteTest.toRecipe;
 import static org.openrewrite.test.SourceSpecs.text;
 
@@ -93,6 +98,61 @@ public Tree preVisit(Tree tree, ExecutionContext ctx) {
         );
     }
 
+    @Test
+    void sendReceiveIdempotenceWithBinaryFormat() {
+        client.objectDataFormat(RpcObjectDataFormat.SMILE);
+        server.objectDataFormat(RpcObjectDataFormat.SMILE);
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new TreeVisitor<>() {
+              @Override
+              public Tree preVisit(Tree tree, ExecutionContext ctx) {
+                  Tree t = client.visit((SourceFile) tree, ChangeText.class.getName(), 0);
+                  stopAfterPreVisit();
+                  return requireNonNull(t);
+              }
+          })),
+          text(
+            "Hello Jon!",
+            "Hello World!"
+          )
+        );
+    }
+
+    @Test
+    void formatRoundTrip() {
+        List<RpcObjectData> batch = List.of(
+          new RpcObjectData(RpcObjectData.State.ADD, PlainText.class.getName(), null, null, null),
+          new RpcObjectData(RpcObjectData.State.CHANGE, null, List.of(0, -1, 2), null, null),
+          new RpcObjectData(RpcObjectData.State.ADD, null, "Hello Jon!", 1, null),
+          new RpcObjectData(RpcObjectData.State.END_OF_OBJECT, null, null, null, null)
+        );
+        for (RpcObjectDataFormat format : RpcObjectDataFormat.values()) {
+            assertThat(format.decode(format.encode(batch)))
+              .containsExactlyElementsOf(batch);
+        }
+    }
+
+    @Test
+    void pipelinedVisits() {
+        List<RewriteRpc.VisitTarget> targets = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            targets.add(new RewriteRpc.VisitTarget(PlainText.builder()
+              .sourcePath(Paths.get("hello" + i + ".txt"))
+              .text("Hello " + i)
+              .build(), ChangeText.class.getName()));
+        }
+
+        Map<Tree, Tree> results = new IdentityHashMap<>();
+        client.maxInFlightVisits(3)
+          .visit(targets, 0, (target, after) -> results.put(target.getTree(), after));
+
+        assertThat(results).hasSize(10);
+        for (RewriteRpc.VisitTarget target : targets) {
+            assertThat(((PlainText) requireNonNull(results.get(target.getTree()))).getText())
+              .isEqualTo("Hello World!");
+        }
+    }
+
     @Test
     void print() {
         rewriteRun(
@@ -104,6 +164,125 @@ void print() {
         );
     }
 
+    @Test
+    void release() {
+        rewriteRun(
+          text(
+            "Hello Jon!",
+            spec -> spec.beforeRecipe(text -> {
+                String id = text.getId().toString();
+                assertThat(client.print(text)).isEqualTo("Hello Jon!");
+                assertThat(server.localObjects).containsKey(id);
+
+                client.release(text);
+                assertThat(client.localObjects).doesNotContainKey(id);
+                assertThat(client.remoteObjects).doesNotContainKey(id);
+                assertThat(server.localObjects).doesNotContainKey(id);
+                assertThat(server.remoteObjects).doesNotContainKey(id);
+
+                // a released tree is transferred in full the next time it is needed
+                assertThat(client.print(text)).isEqualTo("Hello Jon!");
+            })
+          )
+        );
+    }
+
+    @Test
+    void releaseRefs() {
+        rewriteRun(
+          text(
+            "Hello Jon!",
+            spec -> spec.beforeRecipe(text -> {
+                assertThat(client.print(text)).isEqualTo("Hello Jon!");
+                assertThat(client.getObjectTableSizes().getLocalRefs()).isPositive();
+
+                client.releaseRefs();
+                assertThat(client.getObjectTableSizes().getLocalRefs()).isZero();
+                assertThat(server.getObjectTableSizes().getRemoteRefs()).isZero();
+
+                client.release(text);
+                assertThat(client.print(text)).isEqualTo("Hello Jon!");
+            })
+          )
+        );
+    }
+
+    @Test
+    void missingObjectIsNotDeleted() {
+        rewriteRun(
+          text(
+            "Hello Jon!",
+            spec -> spec.beforeRecipe(text -> {
+                String id = text.getId().toString();
+                assertThat(client.print(text)).isEqualTo("Hello Jon!");
+
+                // as if the server had evicted the tree from a bounded object table
+                server.localObjects.remove(id);
+                assertThatThrownBy(() -> client.getObject(id))
+                  .isInstanceOf(RpcObjectMissingException.class);
+                assertThat(client.localObjects).containsKey(id);
+                assertThat(client.print(text)).isEqualTo("Hello Jon!");
+            })
+          )
+        );
+    }
+
+    @Test
+    void boundedObjectTables() throws IOException {
+        PipedOutputStream serverOut = new PipedOutputStream();
+        PipedOutputStream clientOut = new PipedOutputStream();
+        PipedInputStream serverIn = new PipedInputStream(clientOut);
+        PipedInputStream clientIn = new PipedInputStream(serverOut);
+
+        try (RewriteRpc boundedClient = RewriteRpc.from(new JsonRpc(new HeaderDelimitedMessageHandler(clientIn, clientOut)), env)
+          .maximumObjects(4)
+          .build();
+             RewriteRpc boundedServer = RewriteRpc.from(new JsonRpc(new HeaderDelimitedMessageHandler(serverIn, serverOut)), env)
+               .maximumObjects(4)
+               .weakObjects()
+               .build()) {
+            for (int i = 0; i < 20; i++) {
+                PlainText text = PlainText.builder()
+                  .sourcePath(Paths.get("hello" + i + ".txt"))
+                  .text("Hello " + i)
+                  .build();
+                assertThat(boundedClient.print(text)).isEqualTo("Hello " + i);
+            }
+            assertThat(boundedClient.getObjectTableSizes().getLocalObjects()).isLessThanOrEqualTo(4);
+            assertThat(boundedServer.getObjectTableSizes().getRemoteObjects()).isLessThanOrEqualTo(4);
+        }
+    }
+
+    @Test
+    void pipelinedVisitsPinTheirTreesInBoundedObjectTables() throws IOException {
+        PipedOutputStream serverOut = new PipedOutputStream();
+        PipedOutputStream clientOut = new PipedOutputStream();
+        PipedInputStream serverIn = new PipedInputStream(clientOut);
+        PipedInputStream clientIn = new PipedInputStream(serverOut);
+
+        try (RewriteRpc boundedClient = RewriteRpc.from(new JsonRpc(new HeaderDelimitedMessageHandler(clientIn, clientOut)), env)
+          .maximumObjects(2)
+          .build()
+          .maxInFlightVisits(8);
+             RewriteRpc ignored = RewriteRpc.from(new JsonRpc(new HeaderDelimitedMessageHandler(serverIn, serverOut)), env)
+               .maximumObjects(2)
+               .build()) {
+            List<RewriteRpc.VisitTarget> targets = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                targets.add(new RewriteRpc.VisitTarget(PlainText.builder()
+                  .sourcePath(Paths.get("hello" + i + ".txt"))
+                  .text("Hello " + i)
+                  .build(), ChangeText.class.getName()));
+            }
+
+            // more visits are in flight than the tables hold, so the trees
+            // the remote has yet to ask for must not be evicted
+            List<String> results = new ArrayList<>();
+            boundedClient.visit(targets, 0, (target, after) -> results.add(((PlainText) requireNonNull(after)).getText()));
+            assertThat(results).hasSize(10).containsOnly("Hello World!");
+        }
+    }
+
     @Test
     void getRecipes() {
         assertThat(client.getRecipes()).isNotEmpty();
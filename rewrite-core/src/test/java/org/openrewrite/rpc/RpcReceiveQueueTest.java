@@ -22,9 +22,12 @@
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.rpc.RpcObjectData.State.ADD;
 
 public class RpcReceiveQueueTest {
 
@@ -89,6 +92,26 @@ void changeId() {
         assertThat(after.getId()).isEqualTo(newId.getId());
     }
 
+    @Test
+    void refIsAwaitedWhileAnotherQueueReceivesItsObject() throws InterruptedException {
+        Map<Integer, Object> refs = Collections.synchronizedMap(new HashMap<>());
+        RpcReceiveQueue referencing = new RpcReceiveQueue(refs, null,
+          () -> List.of(new RpcObjectData(ADD, null, null, 1, null)), Duration.ofMinutes(1));
+        RpcReceiveQueue defining = new RpcReceiveQueue(refs, null,
+          () -> List.of(new RpcObjectData(ADD, null, "hello", 1, null)));
+
+        AtomicReference<Object> referenced = new AtomicReference<>();
+        Thread thread = new Thread(() -> referenced.set(referencing.receive(null)));
+        thread.start();
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+
+        assertThat(defining.<String>receive(null)).isEqualTo("hello");
+        thread.join();
+        assertThat(referenced.get()).isEqualTo("hello");
+    }
+
     private List<RpcObjectData> encode(List<RpcObjectData> batch) {
         List<RpcObjectData> encoded = new ArrayList<>();
         for (RpcObjectData data : batch) {
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.text;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.table.TextMatches;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.test.SourceSpecs.dir;
+import static org.openrewrite.test.SourceSpecs.text;
+
+class FindAllTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void findsEveryText() {
+        rewriteRun(
+          spec -> spec.recipe(new FindAll(List.of("password", "secret"), null, null, null, null, null, null, null))
+            .dataTable(TextMatches.Row.class, rows -> assertThat(rows)
+              .extracting(TextMatches.Row::getMatch)
+              .containsExactly("~~>Secret...", "...~~>password...", "...~~>secret...")),
+          text(
+            """
+              Secret: the password is secret.
+              """,
+            """
+              ~~>Secret: the ~~>password is ~~>secret.
+              """
+          )
+        );
+    }
+
+    @Test
+    void regexes() {
+        rewriteRun(
+          spec -> spec.recipe(new FindAll(List.of("AKIA[0-9A-Z]{4}", "[0-9]+ms"), true, true, null, null, null, null, null)),
+          text(
+            """
+              key AKIA12AB took 30ms, akia12ab didn't
+              """,
+            """
+              key ~~>AKIA12AB took ~~>30ms, akia12ab didn't
+              """
+          )
+        );
+    }
+
+    @Test
+    void overlappingMatchesAreOneSnippet() {
+        rewriteRun(
+          spec -> spec.recipe(new FindAll(List.of("foo", "oob", "bar"), null, null, null, null, null, null, 1))
+            .dataTable(TextMatches.Row.class, rows -> assertThat(rows)
+              .extracting(TextMatches.Row::getMatch)
+              .containsExactly("~~>foob...", "f~~>ooba...", "...o~~>bar")),
+          text(
+            """
+              foobar
+              """,
+            """
+              ~~>foobar
+              """
+          )
+        );
+    }
+
+    @Test
+    void filePattern() {
+        rewriteRun(
+          spec -> spec.recipe(new FindAll(List.of("text", "more"), null, null, null, null, "**/foo/**", null, null)),
+          dir("foo",
+            text(
+              """
+                TEXT and more
+                """,
+              """
+                ~~>TEXT and ~~>more
+                """
+            )
+          ),
+          dir("bar",
+            text(
+              """
+                TEXT and more
+                """
+            )
+          )
+        );
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiPatternSearchTest {
+
+    @Test
+    void sameMatchesAsEachPattern() {
+        List<MultiPatternSearch.Query> queries = List.of(
+          new MultiPatternSearch.Query("aa", false, true, false, false),
+          new MultiPatternSearch.Query("AB", false, false, false, false),
+          new MultiPatternSearch.Query("b", false, true, false, false),
+          new MultiPatternSearch.Query("a+b", true, true, false, false),
+          new MultiPatternSearch.Query("AKIA[0-9A-Z]{4}", true, true, false, false),
+          new MultiPatternSearch.Query("^x.y$", true, false, true, false),
+          new MultiPatternSearch.Query("", false, true, false, false)
+        );
+        MultiPatternSearch search = new MultiPatternSearch(queries);
+        for (String text : List.of("", "aaab", "aaaaAbab", "AKIA12AB\nX-Y\nxay", "no match here")) {
+            List<MultiPatternSearch.Match> expected = new ArrayList<>();
+            for (int q = 0; q < queries.size(); q++) {
+                Matcher matcher = queries.get(q).compile().matcher(text);
+                while (matcher.find()) {
+                    expected.add(new MultiPatternSearch.Match(q, matcher.start(), matcher.end()));
+                }
+            }
+            assertThat(search.search(text))
+              .containsExactlyInAnyOrderElementsOf(expected)
+              .isSortedAccordingTo((m1, m2) -> m1.getStart() != m2.getStart() ?
+                Integer.compare(m1.getStart(), m2.getStart()) :
+                Integer.compare(m1.getQuery(), m2.getQuery()));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', nullValues = "null", value = {
+      "AKIA[0-9A-Z]{16}|AKIA",
+      "foo(bar)?bazz|bazz",
+      "ab*c|a",
+      "a\\.b|a.b",
+      "'x|y'|null",
+      "(?i)abc|null",
+      "[abc]+|null",
+      "\\d+|null"
+    })
+    void requiredLiteral(String regex, String literal) {
+        assertThat(MultiPatternSearch.requiredLiteral(regex)).isEqualTo(literal);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.text;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.marker.Markers;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    @Test
+    void rulesOutSourceFilesWithoutTheText() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        TrigramIndex index = TrigramIndex.attach(ctx);
+        List<SourceFile> sourceFiles = PlainTextParser.builder().build()
+          .parse(ctx, "the password is secret", "nothing to see here")
+          .toList();
+
+        assertThat(TrigramIndex.from(ctx)).isSameAs(index);
+        assertThat(index.mayContain(sourceFiles.get(0), "PASSWORD")).isTrue();
+        assertThat(index.mayContain(sourceFiles.get(1), "password")).isFalse();
+        assertThat(index.mayContain(sourceFiles.get(1), "see")).isTrue();
+        assertThat(index.mayContain(sourceFiles.get(1), "is")).isTrue();
+    }
+
+    @Test
+    void regexesAreRuledOutByTheirRequiredLiteral() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        TrigramIndex index = TrigramIndex.attach(ctx);
+        List<SourceFile> sourceFiles = PlainTextParser.builder().build()
+          .parse(ctx, "key AKIA12AB", "no keys")
+          .toList();
+
+        assertThat(index.mayMatch(sourceFiles.get(0), "AKIA[0-9A-Z]{4}", true)).isTrue();
+        assertThat(index.mayMatch(sourceFiles.get(1), "AKIA[0-9A-Z]{4}", true)).isFalse();
+        assertThat(index.mayMatch(sourceFiles.get(1), "[0-9]+", true)).isTrue();
+    }
+
+    @Test
+    void changedSourceFilesAreNotRuledOut() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        TrigramIndex index = TrigramIndex.attach(ctx);
+        PlainText sourceFile = (PlainText) PlainTextParser.builder().build()
+          .parse(ctx, "nothing to see here")
+          .findFirst()
+          .orElseThrow();
+
+        assertThat(index.mayContain(sourceFile, "password")).isFalse();
+        assertThat(index.mayContain(sourceFile.withText("the password"), "password")).isTrue();
+    }
+
+    @Test
+    void manySegments() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        TrigramIndex index = TrigramIndex.attach(ctx);
+        List<SourceFile> sourceFiles = PlainTextParser.builder().build()
+          .parse(ctx, IntStream.range(0, 3000).mapToObj(i -> "file number " + i).toArray(String[]::new))
+          .toList();
+
+        for (int i = 0; i < sourceFiles.size(); i++) {
+            String other = "number " + (i + 1) + "0";
+            Set<Integer> trigrams = Arrays.stream(TrigramIndex.trigrams("file number " + i)).boxed().collect(toSet());
+            assertThat(index.mayContain(sourceFiles.get(i), "number " + i)).isTrue();
+            assertThat(index.mayContain(sourceFiles.get(i), other))
+              .isEqualTo(Arrays.stream(TrigramIndex.trigrams(other)).allMatch(trigrams::contains));
+        }
+    }
+
+    @Test
+    void findSkipsRuledOutSourceFiles() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        TrigramIndex index = TrigramIndex.attach(ctx);
+        PrintCountingSource ruledOut = new PrintCountingSource(Paths.get("nothing.txt"), "nothing to see here");
+        PrintCountingSource searched = new PrintCountingSource(Paths.get("secret.txt"), "the password is secret");
+        for (PrintCountingSource sourceFile : List.of(ruledOut, searched)) {
+            index.parsed(Parser.Input.fromString(sourceFile.getSourcePath(), sourceFile.text), sourceFile);
+        }
+
+        // neither source file matches, so no rows are recorded, but only the second contains the required literal
+        TreeVisitor<?, ExecutionContext> find = new Find("password\\d", true, null, null, null, null, null, null).getVisitor();
+        find.visit(ruledOut, ctx);
+        find.visit(searched, ctx);
+
+        // both are printed once to be indexed, but only the one that may contain the text is printed again to be searched
+        assertThat(ruledOut.prints).hasValue(1);
+        assertThat(searched.prints).hasValue(2);
+    }
+
+    /**
+     * A source file that is neither plain text nor excluded from the index, so that
+     * searching it means printing it.
+     */
+    private static class PrintCountingSource implements SourceFile {
+        private final UUID id = Tree.randomId();
+        private final Path sourcePath;
+        private final String text;
+        private final AtomicInteger prints = new AtomicInteger();
+
+        PrintCountingSource(Path sourcePath, String text) {
+            this.sourcePath = sourcePath;
+            this.text = text;
+        }
+
+        @Override
+        public String printAll() {
+            prints.incrementAndGet();
+            return text;
+        }
+
+        @Override
+        public Path getSourcePath() {
+            return sourcePath;
+        }
+
+        @Override
+        public <T extends SourceFile> T withSourcePath(Path path) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @Nullable Charset getCharset() {
+            return null;
+        }
+
+        @Override
+        public <T extends SourceFile> T withCharset(Charset charset) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isCharsetBomMarked() {
+            return false;
+        }
+
+        @Override
+        public <T extends SourceFile> T withCharsetBomMarked(boolean marked) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @Nullable Checksum getChecksum() {
+            return null;
+        }
+
+        @Override
+        public <T extends SourceFile> T withChecksum(@Nullable Checksum checksum) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @Nullable FileAttributes getFileAttributes() {
+            return null;
+        }
+
+        @Override
+        public <T extends SourceFile> T withFileAttributes(@Nullable FileAttributes fileAttributes) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public Markers getMarkers() {
+            return Markers.EMPTY;
+        }
+
+        @Override
+        public <T extends Tree> T withMarkers(Markers markers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T extends Tree> T withId(UUID id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <P> boolean isAcceptable(TreeVisitor<?, P> v, P p) {
+            return true;
+        }
+    }
+}
@@ -41,6 +41,9 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -60,6 +63,16 @@ public class GroovyParser implements Parser {
     private final boolean logCompilationWarningsAndErrors;
     private final JavaTypeCache typeCache;
     private final List<Consumer<CompilerConfiguration>> compilerCustomizers;
+    private final boolean sharedCompilationEnvironment;
+    private final boolean parallel;
+
+    /**
+     * Guards the type cache while inputs are parsed in parallel, see {@link InputTypeCache}.
+     */
+    private final ReadWriteLock typeCacheLock = new ReentrantReadWriteLock();
+
+    @Nullable
+    private CompilationEnvironment environment;
 
     @Override
     public Stream<SourceFile> parse(@Language("groovy") String... sources) {
@@ -91,6 +104,116 @@ public Stream<SourceFile> parse(@Language("groovy") String... sources) {
 
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx) {
+        CompilationEnvironment shared = sharedCompilationEnvironment ? sharedEnvironment() : null;
+        CompilerConfiguration configuration = shared == null ? compilerConfiguration() : shared.configuration;
+
+        ParsingExecutionContextView pctx = ParsingExecutionContextView.view(ctx);
+        if (!parallel) {
+            return StreamSupport.stream(sources.spliterator(), false)
+                    .map(input -> parseInput(input, configuration, shared, typeCache, relativeTo, ctx, pctx));
+        }
+
+        List<Input> inputs = new ArrayList<>();
+        sources.forEach(inputs::add);
+        List<SourceFile> sourceFiles = inputs.parallelStream()
+                .map(input -> {
+                    InputTypeCache inputTypeCache = new InputTypeCache(typeCache, typeCacheLock);
+                    SourceFile sourceFile = parseInput(input, configuration, shared, inputTypeCache, relativeTo, ctx, pctx);
+                    inputTypeCache.merge();
+                    return sourceFile;
+                })
+                .collect(toList());
+        return sourceFiles.stream();
+    }
+
+    private SourceFile parseInput(Input input, CompilerConfiguration configuration,
+                                  @Nullable CompilationEnvironment environment, JavaTypeCache typeCache,
+                                  @Nullable Path relativeTo, ExecutionContext ctx, ParsingExecutionContextView pctx) {
+        ParseWarningCollector errorCollector = new ParseWarningCollector(configuration, this);
+        GroovyClassLoader classLoader = environment == null ?
+                new GroovyClassLoader(getClass().getClassLoader(), configuration, true) :
+                environment.classLoader;
+        try {
+            SourceUnit unit = new SourceUnit(
+                    "doesntmatter",
+                    new InputStreamReaderSource(input.getSource(ctx), configuration),
+                    configuration,
+                    classLoader,
+                    errorCollector
+            );
+
+            pctx.getParsingListener().startedParsing(input);
+            CompilationUnit compUnit = new LessAstTransformationsCompilationUnit(configuration, null, classLoader, classLoader);
+            if (environment != null) {
+                compUnit.setClassNodeResolver(environment.classNodeResolver);
+            }
+            compUnit.addSource(unit);
+            compUnit.compile(Phases.CANONICALIZATION);
+            ModuleNode ast = unit.getAST();
+
+            if (environment != null && parallel) {
+                // static type checking records inferred types on the class nodes it visits, and the class nodes
+                // of the shared environment are resolved once for every input
+                synchronized (environment) {
+                    typeCheck(unit, ast, compUnit);
+                }
+            } else {
+                typeCheck(unit, ast, compUnit);
+            }
+
+            CompiledGroovySource compiled = new CompiledGroovySource(input, unit, ast);
+            List<ParseWarning> warnings = errorCollector.getWarningMarkers();
+            GroovyParserVisitor mappingVisitor = new GroovyParserVisitor(
+                    compiled.getInput().getRelativePath(relativeTo),
+                    compiled.getInput().getFileAttributes(),
+                    compiled.getInput().getSource(ctx),
+                    typeCache,
+                    ctx
+            );
+            G.CompilationUnit gcu = mappingVisitor.visit(compiled.getSourceUnit(), compiled.getModule());
+            if (!warnings.isEmpty()) {
+                Markers m = gcu.getMarkers();
+                for (ParseWarning warning : warnings) {
+                    m = m.add(warning);
+                }
+                gcu = gcu.withMarkers(m);
+            }
+            pctx.getParsingListener().parsed(compiled.getInput(), gcu);
+            return requirePrintEqualsInput(gcu, input, relativeTo, ctx);
+        } catch (Throwable t) {
+            ctx.getOnError().accept(t);
+            return ParseError.build(this, input, relativeTo, ctx, t);
+        } finally {
+            if (environment == null) {
+                try {
+                    classLoader.close();
+                } catch (IOException ignored) {
+                }
+            }
+            if (logCompilationWarningsAndErrors && (errorCollector.hasErrors() || errorCollector.hasWarnings())) {
+                try (StringWriter sw = new StringWriter();
+                     PrintWriter pw = new PrintWriter(sw)) {
+                    errorCollector.write(pw, new Janitor());
+                    org.slf4j.LoggerFactory.getLogger(GroovyParser.class).warn(sw.toString());
+                } catch (IOException ignored) {
+                    // unreachable
+                }
+            }
+        }
+    }
+
+    private static void typeCheck(SourceUnit unit, ModuleNode ast, CompilationUnit compUnit) {
+        for (ClassNode aClass : ast.getClasses()) {
+            try {
+                StaticTypeCheckingVisitor staticTypeCheckingVisitor = new StaticTypeCheckingVisitor(unit, aClass);
+                staticTypeCheckingVisitor.setCompilationUnit(compUnit);
+                staticTypeCheckingVisitor.visitClass(aClass);
+            } catch (NoClassDefFoundError ignored) {
+            }
+        }
+    }
+
+    private CompilerConfiguration compilerConfiguration() {
         CompilerConfiguration configuration = new CompilerConfiguration();
         configuration.setTolerance(Integer.MAX_VALUE);
         configuration.setWarningLevel(WarningMessage.NONE);
@@ -107,69 +230,16 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
         for (Consumer<CompilerConfiguration> compilerCustomizer : compilerCustomizers) {
             compilerCustomizer.accept(configuration);
         }
+        return configuration;
+    }
 
-        ParsingExecutionContextView pctx = ParsingExecutionContextView.view(ctx);
-        return StreamSupport.stream(sources.spliterator(), false)
-                .map(input -> {
-                    ParseWarningCollector errorCollector = new ParseWarningCollector(configuration, this);
-                    try (GroovyClassLoader classLoader = new GroovyClassLoader(getClass().getClassLoader(), configuration, true)) {
-                        SourceUnit unit = new SourceUnit(
-                                "doesntmatter",
-                                new InputStreamReaderSource(input.getSource(ctx), configuration),
-                                configuration,
-                                classLoader,
-                                errorCollector
-                        );
-
-                        pctx.getParsingListener().startedParsing(input);
-                        CompilationUnit compUnit = new LessAstTransformationsCompilationUnit(configuration, null, classLoader, classLoader);
-                        compUnit.addSource(unit);
-                        compUnit.compile(Phases.CANONICALIZATION);
-                        ModuleNode ast = unit.getAST();
-
-                        for (ClassNode aClass : ast.getClasses()) {
-                            try {
-                                StaticTypeCheckingVisitor staticTypeCheckingVisitor = new StaticTypeCheckingVisitor(unit, aClass);
-                                staticTypeCheckingVisitor.setCompilationUnit(compUnit);
-                                staticTypeCheckingVisitor.visitClass(aClass);
-                            } catch (NoClassDefFoundError ignored) {
-                            }
-                        }
-
-                        CompiledGroovySource compiled = new CompiledGroovySource(input, unit, ast);
-                        List<ParseWarning> warnings = errorCollector.getWarningMarkers();
-                        GroovyParserVisitor mappingVisitor = new GroovyParserVisitor(
-                                compiled.getInput().getRelativePath(relativeTo),
-                                compiled.getInput().getFileAttributes(),
-                                compiled.getInput().getSource(ctx),
-                                typeCache,
-                                ctx
-                        );
-                        G.CompilationUnit gcu = mappingVisitor.visit(compiled.getSourceUnit(), compiled.getModule());
-                        if (!warnings.isEmpty()) {
-                            Markers m = gcu.getMarkers();
-                            for (ParseWarning warning : warnings) {
-                                m = m.add(warning);
-                            }
-                            gcu = gcu.withMarkers(m);
-                        }
-                        pctx.getParsingListener().parsed(compiled.getInput(), gcu);
-                        return requirePrintEqualsInput(gcu, input, relativeTo, ctx);
-                    } catch (Throwable t) {
-                        ctx.getOnError().accept(t);
-                        return ParseError.build(this, input, relativeTo, ctx, t);
-                    } finally {
-                        if (logCompilationWarningsAndErrors && (errorCollector.hasErrors() || errorCollector.hasWarnings())) {
-                            try (StringWriter sw = new StringWriter();
-                                 PrintWriter pw = new PrintWriter(sw)) {
-                                errorCollector.write(pw, new Janitor());
-                                org.slf4j.LoggerFactory.getLogger(GroovyParser.class).warn(sw.toString());
-                            } catch (IOException ignored) {
-                                // unreachable
-                            }
-                        }
-                    }
-                });
+    private synchronized CompilationEnvironment sharedEnvironment() {
+        if (environment == null) {
+            CompilerConfiguration configuration = compilerConfiguration();
+            environment = new CompilationEnvironment(configuration,
+                    new GroovyClassLoader(getClass().getClassLoader(), configuration, true));
+        }
+        return environment;
     }
 
     @Override
@@ -181,6 +251,15 @@ public boolean accept(Path path) {
     @Override
     public GroovyParser reset() {
         typeCache.clear();
+        synchronized (this) {
+            if (environment != null) {
+                try {
+                    environment.classLoader.close();
+                } catch (IOException ignored) {
+                }
+                environment = null;
+            }
+        }
         return this;
     }
 
@@ -209,6 +288,8 @@ public static class Builder extends Parser.Builder {
         private boolean logCompilationWarningsAndErrors = false;
         private final List<NamedStyles> styles = new ArrayList<>();
         private final List<Consumer<CompilerConfiguration>> compilerCustomizers = new ArrayList<>();
+        private boolean sharedCompilationEnvironment = false;
+        private boolean parallel = false;
 
         public Builder() {
             super(G.CompilationUnit.class);
@@ -222,6 +303,8 @@ public Builder(Builder base) {
             this.logCompilationWarningsAndErrors = base.logCompilationWarningsAndErrors;
             this.styles.addAll(base.styles);
             this.compilerCustomizers.addAll(base.compilerCustomizers);
+            this.sharedCompilationEnvironment = base.sharedCompilationEnvironment;
+            this.parallel = base.parallel;
         }
 
         public Builder logCompilationWarningsAndErrors(boolean logCompilationWarningsAndErrors) {
@@ -260,6 +343,30 @@ public Builder addClasspathEntry(Path entry) {
             return this;
         }
 
+        /**
+         * Compile every input against one class loader and one cache of resolved {@link ClassNode}s, rather
+         * than setting up a new class loader that resolves the classpath again for each input. The environment
+         * is kept until the parser is {@link GroovyParser#reset() reset}.
+         */
+        @Incubating(since = "8.57.0")
+        public Builder sharedCompilationEnvironment(boolean sharedCompilationEnvironment) {
+            this.sharedCompilationEnvironment = sharedCompilationEnvironment;
+            return this;
+        }
+
+        /**
+         * Parse inputs on the common fork-join pool, each with its own compilation unit. The source files are
+         * returned in the order of the inputs once all of them have been parsed, and parsing listeners and the
+         * execution context's error handler may be called from several threads at once. Best combined with
+         * {@link #sharedCompilationEnvironment(boolean)}, in which case inputs are still statically type checked
+         * one at a time, because type checking records inferred types on the class nodes they share.
+         */
+        @Incubating(since = "8.57.0")
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
         @SuppressWarnings("unused")
         public Builder typeCache(JavaTypeCache typeCache) {
             this.typeCache = typeCache;
@@ -295,7 +402,8 @@ public GroovyParser.Builder compilerCustomizers(Iterable<Consumer<CompilerConfig
 
         @Override
         public GroovyParser build() {
-            return new GroovyParser(resolvedClasspath(), logCompilationWarningsAndErrors, typeCache, compilerCustomizers);
+            return new GroovyParser(resolvedClasspath(), logCompilationWarningsAndErrors, typeCache, compilerCustomizers,
+                    sharedCompilationEnvironment, parallel);
         }
 
         @Override
@@ -310,4 +418,89 @@ public GroovyParser.Builder clone() {
             return clone;
         }
     }
+
+    /**
+     * The types mapped for one input that is parsed in parallel with others. A type that is still being
+     * mapped must not be seen by other inputs, so types are mapped into a cache of the input's own, on top
+     * of the shared type cache, and are merged into the shared type cache once the input is parsed. The
+     * shared type cache isn't thread-safe, so it is read under a read lock and merged into under a write lock.
+     */
+    private static class InputTypeCache extends JavaTypeCache {
+        private final JavaTypeCache shared;
+        private final ReadWriteLock lock;
+        private final Map<String, Object> mapped = new HashMap<>();
+
+        InputTypeCache(JavaTypeCache shared, ReadWriteLock lock) {
+            this.shared = shared;
+            this.lock = lock;
+        }
+
+        @Override
+        public <T> @Nullable T get(String signature) {
+            Object type = mapped.get(signature);
+            if (type == null) {
+                lock.readLock().lock();
+                try {
+                    return shared.get(signature);
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+            //noinspection unchecked
+            return (T) type;
+        }
+
+        @Override
+        public void put(String signature, Object o) {
+            mapped.put(signature, o);
+        }
+
+        @Override
+        public void clear() {
+            mapped.clear();
+        }
+
+        void merge() {
+            lock.writeLock().lock();
+            try {
+                for (Map.Entry<String, Object> entry : mapped.entrySet()) {
+                    // another input may have merged its own instance of the type first
+                    if (shared.get(entry.getKey()) == null) {
+                        shared.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static class CompilationEnvironment {
+        private final CompilerConfiguration configuration;
+        private final GroovyClassLoader classLoader;
+        private final ClassNodeResolver classNodeResolver = new ConcurrentClassNodeResolver();
+
+        private CompilationEnvironment(CompilerConfiguration configuration, GroovyClassLoader classLoader) {
+            this.configuration = configuration;
+            this.classLoader = classLoader;
+        }
+    }
+
+    /**
+     * Shares the classes resolved for one input with the inputs that are compiled after it,
+     * from whichever thread they are compiled on.
+     */
+    private static class ConcurrentClassNodeResolver extends ClassNodeResolver {
+        private final Map<String, ClassNode> cachedClasses = new ConcurrentHashMap<>();
+
+        @Override
+        public void cacheClass(String name, ClassNode res) {
+            cachedClasses.put(name, res);
+        }
+
+        @Override
+        public @Nullable ClassNode getFromClassCache(String name) {
+            return cachedClasses.get(name);
+        }
+    }
 }
@@ -17,12 +17,72 @@
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.Issue;
+import org.openrewrite.SourceFile;
+import org.openrewrite.groovy.tree.G;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.groovy.Assertions.groovy;
 
 class GroovyParserTest implements RewriteTest {
 
+    @Test
+    void parallelWithSharedCompilationEnvironment() {
+        rewriteRun(
+          spec -> spec.parser(GroovyParser.builder()
+            .sharedCompilationEnvironment(true)
+            .parallel(true)),
+          groovy(
+            """
+              class A {
+                  List<String> names = new ArrayList<>()
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> assertThat(cu.getTypesInUse().getTypesInUse())
+              .anyMatch(t -> TypeUtils.isOfClassType(t, "java.util.ArrayList")))
+          ),
+          groovy(
+            """
+              class B {
+                  Map<String, Integer> counts = new HashMap<>()
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> assertThat(cu.getTypesInUse().getTypesInUse())
+              .anyMatch(t -> TypeUtils.isOfClassType(t, "java.util.HashMap")))
+          )
+        );
+    }
+
+    @Test
+    void parallelInputsShareTheirTypesOnceParsed() {
+        GroovyParser parser = GroovyParser.builder()
+          .sharedCompilationEnvironment(true)
+          .parallel(true)
+          .build();
+        List<JavaType> first = parser.parse(
+            "class A { ArrayList<String> names = new ArrayList<>() }",
+            "class B { ArrayList<String> names = new ArrayList<>() }")
+          .map(GroovyParserTest::arrayList)
+          .toList();
+        JavaType second = parser.parse("class C { ArrayList<String> names = new ArrayList<>() }")
+          .map(GroovyParserTest::arrayList)
+          .findFirst()
+          .orElseThrow();
+        assertThat(first).anySatisfy(type -> assertThat(type).isSameAs(second));
+    }
+
+    private static JavaType arrayList(SourceFile sourceFile) {
+        return ((G.CompilationUnit) sourceFile).getTypesInUse().getTypesInUse().stream()
+          .filter(t -> TypeUtils.isOfClassType(t, "java.util.ArrayList"))
+          .map(t -> t instanceof JavaType.Parameterized ? ((JavaType.Parameterized) t).getType() : t)
+          .findFirst()
+          .orElseThrow();
+    }
+
     @Test
     void groovyPackageDefinition() {
         rewriteRun(
@@ -79,6 +79,11 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
         });
     }
 
+    @Override
+    public boolean isInputIndependent() {
+        return true;
+    }
+
     @Override
     public boolean accept(Path path) {
         return path.toString().endsWith(".hcl") ||
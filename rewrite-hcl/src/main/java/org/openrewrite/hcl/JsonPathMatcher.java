@@ -25,6 +25,7 @@
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
 import org.openrewrite.Tree;
+import org.openrewrite.internal.PropertyPathAutomaton;
 import org.openrewrite.hcl.internal.grammar.JsonPathLexer;
 import org.openrewrite.hcl.internal.grammar.JsonPathParser;
 import org.openrewrite.hcl.internal.grammar.JsonPathParserBaseVisitor;
@@ -42,6 +43,9 @@
  * Provides methods for matching the given cursor location to a specific JsonPath expression.
  * <p>
  * This is not a full implementation of the JsonPath syntax as linked in the "see also."
+ * <p>
+ * Paths that select a block or attribute by block types and attribute names, like {@code $.resource.tags}, are
+ * compiled into a {@link PropertyPathAutomaton} that advances as a visitor descends the configuration file.
  *
  * @see <a href="https://support.smartbear.com/alertsite/docs/monitors/api/endpoint/jsonpath.html">https://support.smartbear.com/alertsite/docs/monitors/api/endpoint/jsonpath.html</a>
  */
@@ -51,8 +55,12 @@ public class JsonPathMatcher {
     private final String jsonPath;
     private JsonPathParser.@Nullable JsonPathContext parsed;
 
+    @EqualsAndHashCode.Exclude
+    private final @Nullable PropertyPathAutomaton automaton;
+
     public JsonPathMatcher(String jsonPath) {
         this.jsonPath = jsonPath;
+        this.automaton = PropertyPathAutomaton.compile(jsonPath, HclStructure.INSTANCE);
     }
 
     public <T> Optional<T> find(Cursor cursor) {
@@ -81,6 +89,13 @@ private <T> Optional<T> find0(Cursor cursor, List<Tree> cursorPath) {
     }
 
     public boolean matches(Cursor cursor) {
+        if (automaton != null) {
+            Boolean matches = automaton.matches(cursor);
+            if (matches != null) {
+                return matches;
+            }
+        }
+
         List<Tree> cursorPath = resolvedAncestors(cursor);
         return find0(cursor, cursorPath).map(o -> {
             if (o instanceof List) {
@@ -113,6 +128,44 @@ private JsonPathParser jsonPath() {
         return new JsonPathParser(new CommonTokenStream(new JsonPathLexer(CharStreams.fromString(this.jsonPath))));
     }
 
+    private static class HclStructure implements PropertyPathAutomaton.Structure {
+        static final HclStructure INSTANCE = new HclStructure();
+
+        @Override
+        public PropertyPathAutomaton.Kind kind(Cursor cursor) {
+            Object value = cursor.getValue();
+            if (value instanceof Hcl.ConfigFile) {
+                return PropertyPathAutomaton.Kind.ROOT;
+            } else if (value instanceof Hcl.Block) {
+                return ((Hcl.Block) value).getType() == null ? PropertyPathAutomaton.Kind.OTHER : PropertyPathAutomaton.Kind.MEMBER;
+            } else if (value instanceof Hcl.Attribute) {
+                // `$` refers to the outermost block, so attributes outside any block are never selected
+                return cursor.getParentTreeCursor().getValue() instanceof Hcl.ConfigFile ?
+                        PropertyPathAutomaton.Kind.OTHER : PropertyPathAutomaton.Kind.MEMBER;
+            }
+            return PropertyPathAutomaton.Kind.OTHER;
+        }
+
+        @Override
+        public String key(Cursor member) {
+            Object value = member.getValue();
+            //noinspection DataFlowIssue
+            return value instanceof Hcl.Block ?
+                    ((Hcl.Block) value).getType().getName() : ((Hcl.Attribute) value).getSimpleName();
+        }
+
+        @Override
+        public boolean isFirstWithKey(Cursor member) {
+            // every block of a type is selected, not just the first one
+            return true;
+        }
+
+        @Override
+        public boolean hasNoNestedMembers(Cursor member) {
+            return member.getValue() instanceof Hcl.Attribute;
+        }
+    }
+
     @SuppressWarnings({"ConstantConditions", "unchecked"})
     private static class JsonPathParserHclVisitor extends JsonPathParserBaseVisitor<Object> {
 
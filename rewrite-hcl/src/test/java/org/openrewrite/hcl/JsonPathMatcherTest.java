@@ -83,6 +83,33 @@ void match() {
         );
     }
 
+    @Test
+    void matchPropertyPathInEveryBlockOfAType() {
+        rewriteRun(
+          hcl(
+            """
+              resource "a" {
+                tags = {}
+              }
+              resource "b" {
+                nested {
+                  tags = {}
+                }
+              }
+              tags = {}
+              """,
+            spec ->
+              spec.beforeRecipe(configFile -> {
+                  assertThat(anyAttributeMatch(configFile, new JsonPathMatcher("$.resource.tags"))).isTrue();
+                  assertThat(anyAttributeMatch(configFile, new JsonPathMatcher("$.resource.nested.tags"))).isTrue();
+                  assertThat(anyBlockMatch(configFile, new JsonPathMatcher("$.resource['nested']"))).isTrue();
+                  assertThat(anyAttributeMatch(configFile, new JsonPathMatcher("$.tags"))).isFalse();
+                  assertThat(anyAttributeMatch(configFile, new JsonPathMatcher("$.resource.dne"))).isFalse();
+              })
+          )
+        );
+    }
+
     @Test
     void binaryExpression() {
         rewriteRun(
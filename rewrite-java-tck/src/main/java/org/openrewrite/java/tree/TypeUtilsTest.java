@@ -19,8 +19,10 @@
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
+import org.openrewrite.Tree;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MinimumJava11;
+import org.openrewrite.java.marker.JavaSourceSet;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.SourceSpec;
 
@@ -29,6 +31,7 @@
 import java.util.function.Consumer;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -48,6 +51,82 @@ static Consumer<SourceSpec<J.CompilationUnit>> typeIsPresent() {
         });
     }
 
+    @Test
+    void typeHierarchyIndexAgreesWithWalkingTheHierarchy() {
+        rewriteRun(
+          java(
+            """
+              import java.util.ArrayList;
+              class A extends ArrayList<String> implements Comparable<A> {
+                  @Override
+                  public int compareTo(A a) {
+                      return 0;
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> {
+                J.ClassDeclaration classA = cu.getClasses().get(0);
+                JavaType.FullyQualified a = classA.getType();
+                JavaType.Method compareTo = ((J.MethodDeclaration) classA.getBody().getStatements().get(0)).getMethodType();
+                ExecutionContext ctx = new InMemoryExecutionContext();
+                TypeHierarchyIndex.enable(ctx);
+
+                for (String to : List.of("A", "java.util.ArrayList", "java.util.List", "java.util.Collection",
+                  "java.lang.Iterable", "java.lang.Comparable", "java.util.Map", "java.lang.Object")) {
+                    boolean walked = TypeUtils.isAssignableTo(to, a);
+                    assertThat(TypeHierarchyIndex.using(ctx, cu, () -> TypeUtils.isAssignableTo(to, a))).as(to).isEqualTo(walked);
+                }
+                assertThat(TypeHierarchyIndex.using(ctx, cu, () -> TypeUtils.isOfTypeWithName(a, true, "java.util.RandomAccess"::equals))).isTrue();
+                assertThat(TypeHierarchyIndex.using(ctx, cu, () -> TypeUtils.findOverriddenMethod(compareTo)))
+                  .isPresent()
+                  .isEqualTo(TypeUtils.findOverriddenMethod(compareTo));
+
+                // the same name can have a different hierarchy in another source set
+                JavaSourceSet main = new JavaSourceSet(Tree.randomId(), "main", emptyList(), emptyMap());
+                JavaSourceSet test = main.withId(Tree.randomId()).withName("test");
+                J.CompilationUnit inMain = cu.withMarkers(cu.getMarkers().removeByType(JavaSourceSet.class).add(main));
+                J.CompilationUnit inTest = cu.withMarkers(cu.getMarkers().removeByType(JavaSourceSet.class).add(test));
+                assertThat(TypeHierarchyIndex.get(ctx, inMain))
+                  .isNotNull()
+                  .isSameAs(TypeHierarchyIndex.get(ctx, inMain.withId(Tree.randomId())))
+                  .isNotSameAs(TypeHierarchyIndex.get(ctx, inTest));
+            })
+          )
+        );
+    }
+
+    @Test
+    void typeHierarchyIndexSeesChangedSupertypes() {
+        rewriteRun(
+          java(
+            """
+              class A implements Comparable<A> {
+                  @Override
+                  public int compareTo(A a) {
+                      return 0;
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> {
+                J.ClassDeclaration classA = cu.getClasses().get(0);
+                JavaType.Class a = (JavaType.Class) classA.getType();
+                JavaType.Method compareTo = ((J.MethodDeclaration) classA.getBody().getStatements().get(0)).getMethodType();
+                ExecutionContext ctx = new InMemoryExecutionContext();
+                TypeHierarchyIndex.enable(ctx);
+
+                assertThat(TypeHierarchyIndex.using(ctx, cu, () -> TypeUtils.isAssignableTo("java.lang.Comparable", a))).isTrue();
+                assertThat(TypeHierarchyIndex.using(ctx, cu, () -> TypeUtils.findOverriddenMethod(compareTo))).isPresent();
+
+                // as if a recipe later in the same run had removed the interface
+                JavaType.Class changed = a.withInterfaces(emptyList());
+                JavaType.Method changedCompareTo = compareTo.withDeclaringType(changed);
+                assertThat(TypeHierarchyIndex.using(ctx, cu, () -> TypeUtils.isAssignableTo("java.lang.Comparable", changed))).isFalse();
+                assertThat(TypeHierarchyIndex.using(ctx, cu, () -> TypeUtils.findOverriddenMethod(changedCompareTo))).isEmpty();
+            })
+          )
+        );
+    }
+
     @Test
     void isOverrideBasicInterface() {
         rewriteRun(
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.text.TrigramIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ChangePackageInStringLiteralTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void changePackageInStringLiteral() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        TrigramIndex.attach(ctx);
+        rewriteRun(
+          spec -> spec.executionContext(ctx)
+            .recipe(new ChangePackageInStringLiteral("com.foo", "com.bar")),
+          java(
+            """
+              class A {
+                  String s = "com.foo.Bar";
+              }
+              """,
+            """
+              class A {
+                  String s = "com.bar.Bar";
+              }
+              """
+          ),
+          java(
+            """
+              class B {
+                  String s = "nothing to change";
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void unicodeEscapedLiteralIsNotRuledOut() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        TrigramIndex.attach(ctx);
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+          .parse(ctx,
+            """
+              class A {
+                  String s = "\\u0063om.\\u0066oo.B\\u0061r";
+              }
+              """
+          )
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow();
+
+        // only the escapes spell out the package name, so the index alone would rule the source file out
+        assertThat(TrigramIndex.precondition("\\bcom.foo\\b", false).visit(cu, ctx)).isSameAs(cu);
+
+        J.CompilationUnit after = (J.CompilationUnit) new ChangePackageInStringLiteral("com.foo", "com.bar")
+          .getVisitor()
+          .visit(cu, ctx);
+        assertThat(value(after)).isEqualTo("com.bar.Bar");
+    }
+
+    private static Object value(J.CompilationUnit cu) {
+        J.VariableDeclarations s = (J.VariableDeclarations) cu.getClasses().get(0).getBody().getStatements().get(0);
+        return ((J.Literal) s.getVariables().get(0).getInitializer()).getValue();
+    }
+}
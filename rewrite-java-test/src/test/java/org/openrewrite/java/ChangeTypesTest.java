@@ -0,0 +1,268 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.PathUtils;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ChangeTypesTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.parser(JavaParser.fromJavaVersion().dependsOn(
+          """
+            package javax.inject;
+            public @interface Inject {}
+            """,
+          """
+            package javax.annotation;
+            public @interface PostConstruct {}
+            """,
+          """
+            package javax.annotation.security;
+            public @interface RolesAllowed { String[] value(); }
+            """,
+          """
+            package com.old;
+            public class Widget {}
+            """
+        ));
+    }
+
+    @DocumentExample
+    @Test
+    void typesAndPackages() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeTypes(List.of(
+            "javax.annotation..*=jakarta.annotation..*",
+            "javax.inject.Inject=jakarta.inject.Inject"
+          ))),
+          java(
+            """
+              import javax.annotation.PostConstruct;
+              import javax.annotation.security.RolesAllowed;
+              import javax.inject.Inject;
+
+              class Service {
+                  @Inject
+                  Object dependency;
+
+                  @PostConstruct
+                  @RolesAllowed("admin")
+                  void init() {
+                  }
+              }
+              """,
+            """
+              import jakarta.annotation.PostConstruct;
+              import jakarta.annotation.security.RolesAllowed;
+              import jakarta.inject.Inject;
+
+              class Service {
+                  @Inject
+                  Object dependency;
+
+                  @PostConstruct
+                  @RolesAllowed("admin")
+                  void init() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void nonRecursivePackageLeavesSubpackages() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeTypes(List.of("javax.annotation.*=jakarta.annotation.*"))),
+          java(
+            """
+              import javax.annotation.PostConstruct;
+              import javax.annotation.security.RolesAllowed;
+
+              class Service {
+                  @PostConstruct
+                  @RolesAllowed("admin")
+                  void init() {
+                  }
+              }
+              """,
+            """
+              import jakarta.annotation.PostConstruct;
+              import javax.annotation.security.RolesAllowed;
+
+              class Service {
+                  @PostConstruct
+                  @RolesAllowed("admin")
+                  void init() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void relocationsAreAppliedInOrder() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeTypes(List.of(
+            // listed before the relocation that introduces the name, so like the
+            // equivalent sequence of ChangeType recipes it doesn't apply in the same cycle
+            "com.newest.Widget=com.never.Widget",
+            "com.old.Widget=com.newer.Widget",
+            "com.newer.Widget=com.newest.Widget"
+          ))).cycles(1).expectedCyclesThatMakeChanges(1),
+          java(
+            """
+              import com.old.Widget;
+
+              class Test {
+                  Widget widget;
+              }
+              """,
+            """
+              import com.newest.Widget;
+
+              class Test {
+                  Widget widget;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void typeRelocatedWithinRelocatedPackage() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeTypes(List.of(
+            "com.old.Widget=com.old.Gadget",
+            "com.old..*=com.fresh..*"
+          ))),
+          java(
+            """
+              import com.old.Widget;
+
+              class Test {
+                  Widget widget = new Widget();
+              }
+              """,
+            """
+              import com.fresh.Gadget;
+
+              class Test {
+                  Gadget widget = new Gadget();
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void relocatedDeclarationMovesFileAndImportsTypesLeftBehind() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeTypes(List.of("a.b.Original=x.y.Target"))),
+          java(
+            """
+              package a.b;
+              public class Helper {
+              }
+              """,
+            spec -> spec.path("a/b/Helper.java")
+          ),
+          java(
+            """
+              package a.b;
+              public class Original {
+                  Helper helper;
+
+                  public Original() {
+                  }
+              }
+              """,
+            """
+              package x.y;
+
+              import a.b.Helper;
+
+              public class Target {
+                  Helper helper;
+
+                  public Target() {
+                  }
+              }
+              """,
+            spec -> spec.path("a/b/Original.java").afterRecipe(cu -> {
+                assertThat(PathUtils.separatorsToUnix(cu.getSourcePath().toString())).isEqualTo("x/y/Target.java");
+                assertThat(TypeUtils.isOfClassType(cu.getClasses().getFirst().getType(), "x.y.Target")).isTrue();
+            })
+          ),
+          java(
+            """
+              package a.b;
+              class User {
+                  Original original;
+              }
+              """,
+            """
+              package a.b;
+
+              import x.y.Target;
+
+              class User {
+                  Target original;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void filesWithoutCandidatesAreUnchanged() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeTypes(List.of(
+            "javax.annotation..*=jakarta.annotation..*",
+            "javax.inject.Inject=jakarta.inject.Inject"
+          ))),
+          java(
+            """
+              import com.old.Widget;
+
+              class Test {
+                  Widget widget;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void malformedRelocationsAreInvalid() {
+        assertThat(new ChangeTypes(List.of("javax.inject.Inject=jakarta.inject.Inject")).validate().isValid()).isTrue();
+        assertThat(new ChangeTypes(List.of("javax.inject.Inject")).validate().isValid()).isFalse();
+        assertThat(new ChangeTypes(List.of("javax.annotation.*=jakarta.annotation.Type")).validate().isValid()).isFalse();
+        assertThat(new ChangeTypes(List.of("javax.annotation..*=jakarta.annotation.*")).validate().isValid()).isFalse();
+    }
+}
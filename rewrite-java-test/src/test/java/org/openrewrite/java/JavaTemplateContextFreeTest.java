@@ -20,15 +20,24 @@
 import org.openrewrite.Cursor;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.java.tree.Expression;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.Tree;
+import org.openrewrite.java.internal.template.AnnotationTemplateGenerator;
+import org.openrewrite.java.internal.template.BlockStatementTemplateGenerator;
+import org.openrewrite.java.internal.template.JavaTemplateParser;
+import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Marker;
+import org.openrewrite.marker.Markers;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.Collection;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 import static org.openrewrite.test.RewriteTest.toRecipe;
@@ -392,4 +401,56 @@ <A extends Comparable<? super A> & Serializable & Cloneable, B extends Supplier<
           )
         );
     }
+
+    @Test
+    void parsedStubsAreSharedBetweenTemplatesAndRuns() {
+        AtomicInteger parses = new AtomicInteger();
+        String literal = "\"" + UUID.randomUUID() + "\"";
+        for (int run = 0; run < 2; run++) {
+            JavaTemplate template = JavaTemplate.builder(literal + ".length()")
+              .doBeforeParseTemplate(stub -> parses.incrementAndGet())
+              .build();
+            rewriteRun(
+              spec -> spec.recipe(toRecipe(() -> new JavaVisitor<>() {
+                  @Override
+                  public J visitLiteral(J.Literal lit, ExecutionContext ctx) {
+                      return Integer.valueOf(42).equals(lit.getValue()) ?
+                        template.apply(getCursor(), lit.getCoordinates().replace()) :
+                        super.visitLiteral(lit, ctx);
+                  }
+              })),
+              java(
+                "class Test { int i = 42; }",
+                "class Test { int i = " + literal + ".length(); }"
+              )
+            );
+        }
+        assertThat(parses.get()).isEqualTo(1);
+    }
+
+    @Test
+    void stubIsOnlyGeneratedOnCacheMiss() {
+        AtomicInteger generated = new AtomicInteger();
+        Set<String> imports = emptySet();
+        JavaTemplateParser parser = new JavaTemplateParser(JavaParser.fromJavaVersion(), s -> {
+        }, s -> {
+        }, imports, false, new BlockStatementTemplateGenerator(imports, false) {
+            @Override
+            public String template(Cursor cursor, String template, Collection<JavaType.GenericTypeVariable> typeVariables,
+                                   Space.Location location, JavaCoordinates.Mode mode) {
+                generated.incrementAndGet();
+                return super.template(cursor, template, typeVariables, location, mode);
+            }
+        }, new AnnotationTemplateGenerator(imports)) {
+        };
+
+        J.Literal literal = new J.Literal(Tree.randomId(), Space.EMPTY, Markers.EMPTY, 42, "42", null, JavaType.Primitive.Int);
+        Cursor cursor = new Cursor(new Cursor(null, Cursor.ROOT_VALUE), literal);
+        String template = "\"" + UUID.randomUUID() + "\".length()";
+        for (int i = 0; i < 2; i++) {
+            assertThat(parser.parseExpression(cursor, template, emptyList(), Space.Location.EXPRESSION_PREFIX))
+              .isInstanceOf(J.MethodInvocation.class);
+        }
+        assertThat(generated.get()).isEqualTo(1);
+    }
 }
@@ -26,6 +26,8 @@
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 import static org.openrewrite.test.RewriteTest.toRecipe;
@@ -1114,4 +1116,39 @@ void test(Function<Object, String> fn) {
           )
         );
     }
+
+    @Test
+    void contextFreeTemplateIsAppliedOnceForAllCandidates() {
+        AtomicInteger applications = new AtomicInteger();
+        JavaTemplate template = JavaTemplate.builder("#{any(int)} + 1")
+          .doAfterVariableSubstitution(s -> applications.incrementAndGet())
+          .build();
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new JavaVisitor<>() {
+              @Override
+              public J visitBinary(J.Binary binary, ExecutionContext ctx) {
+                  return template.matches(getCursor()) ?
+                    SearchResult.found(binary) : super.visitBinary(binary, ctx);
+              }
+          })).afterRecipe(run -> assertThat(applications.get()).isEqualTo(1)),
+          java(
+            """
+              class Test {
+                  int a = 1 + 1;
+                  int b = a + 1;
+                  int c = b + 2;
+                  long d = 1L + 1;
+              }
+              """,
+            """
+              class Test {
+                  int a = /*~~>*/1 + 1;
+                  int b = /*~~>*/a + 1;
+                  int c = b + 2;
+                  long d = 1L + 1;
+              }
+              """
+          )
+        );
+    }
 }
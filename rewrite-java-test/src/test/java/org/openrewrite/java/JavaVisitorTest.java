@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java;
 
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.Cursor;
 import org.openrewrite.DocumentExample;
@@ -22,6 +23,10 @@
 import org.openrewrite.java.tree.J;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.openrewrite.java.Assertions.java;
 import static org.openrewrite.test.RewriteTest.toRecipe;
@@ -171,4 +176,99 @@ void test() throws Exception {
           )
         );
     }
+
+    @Test
+    void cursorStackProducesTheSameCursors() {
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build().parse(
+          """
+            class A {
+                int[] ns = {1, 2};
+                void test(String s) {
+                    System.out.println(s + "a");
+                    Runnable r = () -> System.out.println("b");
+                }
+            }
+            """
+        ).findFirst().map(J.CompilationUnit.class::cast).orElseThrow();
+
+        assertThat(literalCursors(cu, true)).isEqualTo(literalCursors(cu, false));
+    }
+
+    @Test
+    void skipSubtreesWithoutDeclaredKinds() {
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build().parse(
+          """
+            class A {
+                void a() {
+                    int n = 1;
+                }
+                void b() {
+                }
+                void c() {
+                    if (true) {
+                        foo();
+                    }
+                }
+                void foo() {
+                }
+            }
+            """
+        ).findFirst().map(J.CompilationUnit.class::cast).orElseThrow();
+
+        List<String> methods = new ArrayList<>();
+        List<String> invocations = new ArrayList<>();
+        JavaIsoVisitor<Integer> visitor = new JavaIsoVisitor<>() {
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Integer p) {
+                methods.add(method.getSimpleName());
+                return super.visitMethodDeclaration(method, p);
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                invocations.add(method.getSimpleName() + " in " + getCursor().firstEnclosingOrThrow(J.MethodDeclaration.class).getSimpleName());
+                return super.visitMethodInvocation(method, p);
+            }
+        };
+        visitor.skipSubtreesWithout(J.MethodInvocation.class);
+        visitor.visit(cu, 0);
+
+        assertThat(methods).containsExactly("c");
+        assertThat(invocations).containsExactly("foo in c");
+    }
+
+    private static List<String> literalCursors(J.CompilationUnit cu, boolean useCursorStack) {
+        List<String> cursors = new ArrayList<>();
+        JavaIsoVisitor<Integer> visitor = new JavaIsoVisitor<>() {
+            @Override
+            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, Integer p) {
+                getCursor().putMessage("class", classDecl.getSimpleName());
+                return super.visitClassDeclaration(classDecl, p);
+            }
+
+            @Override
+            public J.Lambda visitLambda(J.Lambda lambda, Integer p) {
+                return lambda;
+            }
+
+            @Override
+            public @Nullable J preVisit(J tree, Integer p) {
+                if (tree instanceof J.VariableDeclarations && ((J.VariableDeclarations) tree).getTypeExpression() instanceof J.ArrayType) {
+                    stopAfterPreVisit();
+                }
+                return tree;
+            }
+
+            @Override
+            public J.Literal visitLiteral(J.Literal literal, Integer p) {
+                Cursor cursor = getCursor();
+                cursors.add(cursor.getNearestMessage("class") + " " + cursor + " " + cursor.getParentTreeCursor().getValue().getClass().getSimpleName());
+                return literal;
+            }
+        };
+        visitor.useCursorStack(useCursorStack);
+        visitor.visit(cu, 0);
+        assertThat(visitor.getCursor().isRoot()).isTrue();
+        return cursors;
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.tree.JavaType.ShallowClass.build;
+
+class MethodMatcherSetTest {
+
+    @Test
+    void matchesAnyPatternOfTheSet() {
+        var set = MethodMatcherSet.of(
+          "java.util.List add(..)",
+          "java.util.Collections emptyList()",
+          "java.util.Map put(java.lang.Object, java.lang.Object)",
+          "org.junit.Assert assert*(..)"
+        );
+
+        assertThat(set.matches(method("java.util.List", "add", JavaType.Primitive.Int, build("java.lang.Object")))).isTrue();
+        assertThat(set.matches(method("java.util.Collections", "emptyList"))).isTrue();
+        assertThat(set.matches(method("java.util.Map", "put", build("java.lang.Object"), build("java.lang.Object")))).isTrue();
+        assertThat(set.matches(method("org.junit.Assert", "assertTrue", JavaType.Primitive.Boolean))).isTrue();
+
+        assertThat(set.matches(method("java.util.Map", "put", build("java.lang.Object")))).isFalse();
+        assertThat(set.matches(method("java.util.Collections", "emptyList", JavaType.Primitive.Int))).isFalse();
+        assertThat(set.matches(method("java.util.Set", "add", build("java.lang.Object")))).isFalse();
+        assertThat(set.matches((JavaType.Method) null)).isFalse();
+    }
+
+    @Test
+    void reportsMatchesInTheOrderOfTheSet() {
+        var set = MethodMatcherSet.of(
+          "java.util.List *(..)",
+          "java.util.List add(int, ..)",
+          "java.util.List add(..)",
+          "java.util.List add(int, java.lang.Object)",
+          "java.util.List remove(..)"
+        );
+        List<MethodMatcher> matchers = set.getMatchers();
+
+        JavaType.Method add = method("java.util.List", "add", JavaType.Primitive.Int, build("java.lang.Object"));
+        assertThat(set.firstMatch(add)).isSameAs(matchers.getFirst());
+        assertThat(set.allMatches(add)).containsExactly(matchers.get(0), matchers.get(1), matchers.get(2), matchers.get(3));
+        assertThat(set.allMatches(method("java.util.Set", "add"))).isEmpty();
+    }
+
+    @Test
+    void typeVariablesDoNotCountTowardsArity() {
+        var set = MethodMatcherSet.of("java.util.List add(int)");
+        var t = new JavaType.GenericTypeVariable(null, "T", JavaType.GenericTypeVariable.Variance.INVARIANT, null);
+
+        assertThat(set.matches(method("java.util.List", "add", JavaType.Primitive.Int, t))).isTrue();
+    }
+
+    @Test
+    void agreesWithEachMatcherOnManyPatterns() {
+        List<MethodMatcher> matchers = new ArrayList<>();
+        for (String type : List.of("java.util.List", "java.util.*", "*..*")) {
+            for (String name : List.of("add", "a*", "*", "remove")) {
+                for (String args : List.of("", "..", "int", "int, ..", "*, java.lang.Object", "java.lang.Object...")) {
+                    matchers.add(new MethodMatcher(type + " " + name + "(" + args + ")"));
+                }
+            }
+        }
+        var set = new MethodMatcherSet(matchers);
+
+        List<JavaType.Method> methods = List.of(
+          method("java.util.List", "add"),
+          method("java.util.List", "add", JavaType.Primitive.Int),
+          method("java.util.List", "add", JavaType.Primitive.Int, build("java.lang.Object")),
+          method("java.util.ArrayList", "addAll", new JavaType.Array(null, build("java.lang.Object"), null)),
+          method("java.util.List", "remove", build("java.lang.Object")),
+          method("com.foo.Bar", "clear")
+        );
+        for (JavaType.Method method : methods) {
+            List<MethodMatcher> expected = new ArrayList<>();
+            for (MethodMatcher matcher : matchers) {
+                if (matcher.matches(method)) {
+                    expected.add(matcher);
+                }
+            }
+            assertThat(set.allMatches(method)).as(method.toString()).containsExactlyElementsOf(expected);
+            assertThat(set.firstMatch(method)).isSameAs(expected.isEmpty() ? null : expected.getFirst());
+        }
+    }
+
+    private static JavaType.Method method(String declaringType, String name, JavaType... parameterTypes) {
+        String[] parameterNames = new String[parameterTypes.length];
+        for (int i = 0; i < parameterNames.length; i++) {
+            parameterNames[i] = "arg" + i;
+        }
+        return new JavaType.Method(null, 1, build(declaringType), name, JavaType.Primitive.Void,
+          parameterNames, parameterTypes, null, null, null, null);
+    }
+}
@@ -26,6 +26,7 @@
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.TypeValidation;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -137,6 +138,58 @@ void matchesUnqualifiedJavaLangArguments() {
         assertTrue(argRegex("A foo(String)").matcher("java.lang.String").matches());
     }
 
+    @Test
+    void argumentTypesAreMatchedLikeTheArgumentPattern() {
+        var object = build("java.lang.Object");
+        var entry = build("java.util.Map$Entry");
+        var objects = new JavaType.Array(null, object, null);
+        var t = new JavaType.GenericTypeVariable(null, "T", JavaType.GenericTypeVariable.Variance.INVARIANT, null);
+        List<List<JavaType>> parameterLists = List.of(
+          List.of(),
+          List.of(JavaType.Primitive.Int),
+          List.of(JavaType.Primitive.String),
+          List.of(JavaType.Primitive.Int, object),
+          List.of(object, JavaType.Primitive.Int, t, entry),
+          List.of(entry),
+          List.of(objects),
+          List.of(t, objects, JavaType.Primitive.Int)
+        );
+        for (String args : List.of("int", "String", "int, Object", "*, int", "..", ".., int", "int, ..", "Object, .., java.util.Map.Entry",
+          "java.util.Map.Entry", "Object...", "Object[], *", "*, ..", ".., *")) {
+            var matcher = new MethodMatcher("A foo(" + args + ")");
+            for (List<JavaType> parameterTypes : parameterLists) {
+                var method = new JavaType.Method(null, 1, build("A"), "foo", JavaType.Primitive.Void,
+                  (String[]) null, parameterTypes.toArray(JavaType[]::new), null, null, null, null);
+                String signature = MethodMatcher.methodPattern(method);
+                String argumentSignature = signature.substring(signature.indexOf('(') + 1, signature.length() - 1);
+                assertThat(matcher.matches(method))
+                  .as(args + " against " + argumentSignature)
+                  .isEqualTo(argRegex("A foo(" + args + ")").matcher(argumentSignature).matches());
+            }
+        }
+    }
+
+    @Test
+    void wildcardArgumentsAreMatchedStructurally() {
+        assertThat(new MethodMatcher("A foo(*, String)").getFixedArity()).isEqualTo(2);
+        assertThat(new MethodMatcher("A foo(String, *)").getFixedArity()).isEqualTo(2);
+        assertThat(new MethodMatcher("A foo(*)").getFixedArity()).isEqualTo(1);
+
+        // argument types that are name patterns are only matched by the argument pattern
+        assertThat(new MethodMatcher("A foo(java.util.*, String)").getFixedArity()).isEqualTo(-1);
+    }
+
+    @Test
+    void wildcardNamesAreMatchedLikeTheirPatterns() {
+        for (String type : List.of("java.util.Map$Entry", "java.util.Map", "java.util.concurrent.ConcurrentMap", "Map")) {
+            for (String pattern : List.of("java.util.*", "java.util..*", "*..Map", "java..Map*", "java.util.Map.*", "*", "*..*")) {
+                assertThat(new MethodMatcher(pattern + " foo()").matchesTargetType(build(type)))
+                  .as(pattern + " against " + type)
+                  .isEqualTo(typeRegex(pattern + " foo()").matcher(type).matches());
+            }
+        }
+    }
+
     @Test
     void matchesArgumentsWithWildcards() {
         assertTrue(argRegex("A foo(java.util.*)").matcher("java.util.Map").matches());
@@ -17,9 +17,14 @@
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.Issue;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.List;
+
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
@@ -62,4 +67,48 @@ public class Foo {}
         );
     }
 
+    @Test
+    void reusesSummariesOfUnchangedMembers() {
+        var cu = (J.CompilationUnit) JavaParser.fromJavaVersion().build().parse(
+          """
+            import java.util.ArrayList;
+            import java.util.List;
+
+            class Test {
+                List<String> list = new ArrayList<>();
+
+                void a() {
+                    list.add("a");
+                }
+
+                void b() {
+                    Integer.valueOf(1);
+                }
+            }
+            """
+        ).findFirst().orElseThrow();
+        assertSameAsFullVisit(cu);
+
+        var edited = (J.CompilationUnit) new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Integer p) {
+                // drop the body of b(), so that Integer is no longer in use
+                return "b".equals(method.getSimpleName()) ? method.withBody(method.getBody().withStatements(List.of())) : method;
+            }
+        }.visitNonNull(cu, 0);
+        assertThat(edited).isNotSameAs(cu);
+        assertSameAsFullVisit(edited);
+        assertThat(edited.getTypesInUse().getUsedMethods())
+          .noneMatch(m -> TypeUtils.isOfClassType(m.getDeclaringType(), "java.lang.Integer"));
+    }
+
+    private static void assertSameAsFullVisit(J.CompilationUnit cu) {
+        var typesInUse = TypesInUse.build(cu);
+        var findTypesInUse = new TypesInUse.FindTypesInUse();
+        findTypesInUse.visit(cu, 0);
+        assertThat(typesInUse.getTypesInUse()).containsExactlyInAnyOrderElementsOf(findTypesInUse.getTypes());
+        assertThat(typesInUse.getDeclaredMethods()).containsExactlyInAnyOrderElementsOf(findTypesInUse.getDeclaredMethods());
+        assertThat(typesInUse.getUsedMethods()).containsExactlyInAnyOrderElementsOf(findTypesInUse.getUsedMethods());
+        assertThat(typesInUse.getVariables()).containsExactlyInAnyOrderElementsOf(findTypesInUse.getVariables());
+    }
 }
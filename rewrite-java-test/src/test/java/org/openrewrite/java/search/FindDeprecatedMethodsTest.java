@@ -19,10 +19,17 @@
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
+import org.openrewrite.java.tree.J;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class FindDeprecatedMethodsTest implements RewriteTest {
@@ -61,6 +68,57 @@ void test(int n) {
         );
     }
 
+    @Test
+    void skipsSubtreesWithoutMethodInvocations() {
+        rewriteRun(
+          java(
+            """
+              class Test {
+                  @Deprecated
+                  void deprecated() {
+                  }
+                  void a() {
+                      int n = 1;
+                  }
+                  void b() {
+                      deprecated();
+                  }
+              }
+              """,
+            """
+              class Test {
+                  @Deprecated
+                  void deprecated() {
+                  }
+                  void a() {
+                      int n = 1;
+                  }
+                  void b() {
+                      /*~~>*/deprecated();
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> {
+                List<String> visited = new ArrayList<>();
+                new FindDeprecatedMethods(null, null).new DeprecatedMethodCalls(null) {
+                    @Override
+                    public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                        visited.add(method.getSimpleName());
+                        return super.visitMethodDeclaration(method, ctx);
+                    }
+
+                    @Override
+                    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                        // already found, so not recorded again
+                        return method;
+                    }
+                }.visit(cu, new InMemoryExecutionContext());
+                assertThat(visited).containsExactly("b");
+            })
+          )
+        );
+    }
+
     @Test
     void ignoreDeprecationsInDeprecatedMethod() {
         rewriteRun(
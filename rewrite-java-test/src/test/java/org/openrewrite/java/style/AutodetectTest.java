@@ -23,6 +23,9 @@
 import org.openrewrite.style.GeneralFormatStyle;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.Comparator;
+import java.util.regex.Pattern;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.style.LineWrapSetting.DoNotWrap;
 import static org.openrewrite.style.LineWrapSetting.WrapAlways;
@@ -79,6 +82,80 @@ void foo(String s1,
         assertThat(tabsAndIndents.getContinuationIndent()).isEqualTo(5);
     }
 
+    @Test
+    void parallelAndIncrementalDetectionAgreeWithSequential() {
+        var cus = jp().parse(
+          """
+            import java.util.List;
+            import java.util.Map;
+
+            import static java.util.Collections.emptyList;
+
+            class A {
+              List<String> a(Map<String, String> m) {
+                if(m.isEmpty()) {
+                  return emptyList();
+                }
+                return null;
+              }
+            }
+            """,
+          """
+            import java.util.Set;
+
+            class B {
+              void b(Set<String> s, int i) {
+                for (String e : s) {
+                  if (i > 0) {
+                    s.remove(e);
+                  }
+                }
+              }
+            }
+            """,
+          """
+            class C {
+                void c() {
+                    while (true) {
+                        break;
+                    }
+                }
+            }
+            """
+        ).toList();
+
+        var sequential = Autodetect.detector();
+        cus.forEach(sequential::sample);
+        var expected = sequential.build();
+
+        assertSameStyles(Autodetect.detector().sampleInParallel(cus).build(), expected);
+
+        var samples = new Autodetect.Samples().sampleInParallel(cus);
+        assertSameStyles(samples.build(), expected);
+
+        // resampling an unchanged file replaces its earlier sample rather than counting it twice
+        samples.sample(cus.getFirst());
+        assertSameStyles(samples.build(), expected);
+
+        samples.remove(cus.get(2).getSourcePath());
+        var withoutC = Autodetect.detector();
+        withoutC.sample(cus.get(0));
+        withoutC.sample(cus.get(1));
+        assertSameStyles(samples.build(), withoutC.build());
+    }
+
+    private static void assertSameStyles(Autodetect actual, Autodetect expected) {
+        assertThat(actual.getStyle(TabsAndIndentsStyle.class)).isEqualTo(expected.getStyle(TabsAndIndentsStyle.class));
+        assertThat(actual.getStyle(SpacesStyle.class)).isEqualTo(expected.getStyle(SpacesStyle.class));
+        assertThat(actual.getStyle(WrappingAndBracesStyle.class)).isEqualTo(expected.getStyle(WrappingAndBracesStyle.class));
+        assertThat(actual.getStyle(GeneralFormatStyle.class)).isEqualTo(expected.getStyle(GeneralFormatStyle.class));
+        assertThat(actual.getStyle(ImportLayoutStyle.class))
+          .usingRecursiveComparison()
+          // the import layout's blocks hold compiled patterns, which don't implement equals
+          .withComparatorForType(Comparator.comparing(Pattern::pattern).thenComparingInt(Pattern::flags), Pattern.class)
+          .isEqualTo(expected.getStyle(ImportLayoutStyle.class));
+    }
+
     @Issue("https://github.com/openrewrite/rewrite/issues/3550")
     @Test
     void alignParametersWhenMultiple() {
@@ -49,6 +49,7 @@ dependencies {
     implementation("org.apache.commons:commons-lang3:latest.release")
     implementation("org.apache.commons:commons-text:latest.release")
     implementation("io.github.classgraph:classgraph:latest.release")
+    implementation("com.github.ben-manes.caffeine:caffeine:2.+")
 
     api("com.fasterxml.jackson.core:jackson-annotations")
 
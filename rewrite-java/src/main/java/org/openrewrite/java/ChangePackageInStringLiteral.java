@@ -19,6 +19,7 @@
 import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.text.TrigramIndex;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -61,7 +62,7 @@ public Validated<Object> validate() {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         Pattern stringLiteralPattern = Pattern.compile("\\b" + oldPackageName + "\\b");
-        return new JavaVisitor<ExecutionContext>() {
+        return Preconditions.check(TrigramIndex.precondition(stringLiteralPattern.pattern(), true), new JavaVisitor<ExecutionContext>() {
             @Override
             public J visitLiteral(J.Literal literal, ExecutionContext ctx) {
                 J.Literal lit = literal;
@@ -74,6 +75,6 @@ public J visitLiteral(J.Literal literal, ExecutionContext ctx) {
                 }
                 return super.visitLiteral(lit, ctx);
             }
-        };
+        });
     }
 }
@@ -20,6 +20,7 @@
 import org.openrewrite.*;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.text.TrigramIndex;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -59,7 +60,7 @@ public String getDescription() {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         final Pattern stringLiteralPattern = Pattern.compile("\\b" + oldFullyQualifiedTypeName + "\\b");
-        return new JavaVisitor<ExecutionContext>() {
+        return Preconditions.check(TrigramIndex.precondition(stringLiteralPattern.pattern(), true), new JavaVisitor<ExecutionContext>() {
             @Override
             public J visitLiteral(J.Literal literal, ExecutionContext ctx) {
                 J.Literal lit = literal;
@@ -72,6 +73,6 @@ public J visitLiteral(J.Literal literal, ExecutionContext ctx) {
                 }
                 return super.visitLiteral(lit, ctx);
             }
-        };
+        });
     }
 }
@@ -0,0 +1,742 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.trait.Reference;
+
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies a whole table of type and package relocations, as would otherwise be expressed
+ * by a long list of {@link ChangeType} and {@link ChangePackage} recipes.
+ * <p>
+ * Every type reference of a source file is resolved against the table in a single traversal.
+ * A name is relocated by the first entry of the table that matches it, then by the first later
+ * entry that matches its new name, and so on, so that chained relocations have the same result
+ * as the individual recipes applied one after another. The old names of the table are held in a
+ * trie, which is also used to skip source files that no entry can apply to.
+ */
+@Incubating(since = "8.57.0")
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ChangeTypes extends Recipe {
+
+    @Option(displayName = "Relocations",
+            description = "An ordered list of `old=new` relocations. A fully-qualified type name relocates a type like `ChangeType`, " +
+                    "`old.pkg.*=new.pkg.*` relocates the types of a package but not those of its subpackages, and " +
+                    "`old.pkg..*=new.pkg..*` those of its subpackages too, like a recursive `ChangePackage`.",
+            example = "['javax.inject.Inject=jakarta.inject.Inject', 'javax.annotation..*=jakarta.annotation..*']")
+    List<String> relocations;
+
+    @Override
+    public String getDisplayName() {
+        return "Change types and packages";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Relocate many types and packages at once, with the same result as applying the equivalent " +
+                "`ChangeType` and `ChangePackage` recipes in order.";
+    }
+
+    @Override
+    public Validated<Object> validate() {
+        Validated<Object> validated = super.validate();
+        //noinspection ConstantValue
+        if (relocations != null) {
+            for (String relocation : relocations) {
+                validated = validated.and(Validated.test("relocations",
+                        "must be of the form `old=new`, with both sides either fully-qualified type names or package patterns ending in `.*` or `..*`.",
+                        relocation,
+                        r -> parse(r) != null));
+            }
+        }
+        return validated;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        List<Relocation> table = new ArrayList<>(relocations.size());
+        for (String relocation : relocations) {
+            table.add(Objects.requireNonNull(parse(relocation)));
+        }
+        RelocationTable relocationTable = new RelocationTable(table);
+
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return sourceFile instanceof JavaSourceFile || sourceFile instanceof SourceFileWithReferences;
+            }
+
+            @Override
+            public @Nullable Tree preVisit(@Nullable Tree tree, ExecutionContext ctx) {
+                stopAfterPreVisit();
+                Cursor parent = getCursor().getParentOrThrow();
+                if (tree instanceof JavaSourceFile) {
+                    JavaSourceFile cu = (JavaSourceFile) tree;
+                    String packageName = cu.getPackageDeclaration() == null ? "" :
+                            cu.getPackageDeclaration().getExpression()
+                                    .printTrimmed(new Cursor(parent, cu)).replaceAll("\\s", "");
+                    if (relocationTable.mayRelocate(cu, packageName)) {
+                        return new RelocateTypes(relocationTable, packageName).visit(cu, ctx, parent);
+                    }
+                } else if (tree instanceof SourceFileWithReferences) {
+                    Map<Tree, Reference> matches = new HashMap<>();
+                    for (Reference ref : ((SourceFileWithReferences) tree).getReferences().getReferences()) {
+                        if (ref.supportsRename() && relocationTable.relocate(ref) != null) {
+                            matches.put(ref.getTree(), ref);
+                        }
+                    }
+                    if (!matches.isEmpty()) {
+                        return new RelocateReferences(relocationTable, matches).visit(tree, ctx, parent);
+                    }
+                }
+                return tree;
+            }
+        };
+    }
+
+    private static @Nullable Relocation parse(@Nullable String relocation) {
+        if (relocation == null) {
+            return null;
+        }
+        int eq = relocation.indexOf('=');
+        if (eq < 0 || relocation.indexOf('=', eq + 1) >= 0) {
+            return null;
+        }
+        String from = relocation.substring(0, eq).trim();
+        String to = relocation.substring(eq + 1).trim();
+        if (from.endsWith("..*") != to.endsWith("..*")) {
+            return null;
+        } else if (from.endsWith("..*")) {
+            from = from.substring(0, from.length() - 3);
+            to = to.substring(0, to.length() - 3);
+            return from.isEmpty() || to.isEmpty() ? null : new Relocation(from, to, true, true);
+        } else if (from.endsWith(".*") && to.endsWith(".*")) {
+            from = from.substring(0, from.length() - 2);
+            to = to.substring(0, to.length() - 2);
+            return from.isEmpty() || to.isEmpty() ? null : new Relocation(from, to, true, false);
+        } else if (!isTypeName(from) || !isTypeName(to)) {
+            return null;
+        }
+        return new Relocation(from, to, false, false);
+    }
+
+    /**
+     * Types are relocated by name, so neither parameterized types nor types of the default package,
+     * which no package declaration could be changed to, are supported.
+     */
+    private static boolean isTypeName(String name) {
+        return name.indexOf('.') > 0 && !name.endsWith(".") && name.indexOf('*') < 0 && name.indexOf('<') < 0;
+    }
+
+    private static String packageName(String fullyQualifiedName) {
+        int nested = fullyQualifiedName.indexOf('$');
+        String topLevel = nested < 0 ? fullyQualifiedName : fullyQualifiedName.substring(0, nested);
+        int lastDot = topLevel.lastIndexOf('.');
+        return lastDot < 0 ? "" : topLevel.substring(0, lastDot);
+    }
+
+    private static String simpleName(String fullyQualifiedName) {
+        return fullyQualifiedName.substring(Math.max(fullyQualifiedName.lastIndexOf('.'), fullyQualifiedName.lastIndexOf('$')) + 1);
+    }
+
+    private static String normalize(String name) {
+        return name.replace('$', '.');
+    }
+
+    @Value
+    private static class Relocation {
+        String from;
+        String to;
+        boolean packageRelocation;
+        boolean recursive;
+
+        /**
+         * @return The new fully-qualified name of the type, or {@code null} if this relocation doesn't apply to it.
+         */
+        @Nullable
+        String relocateType(String fullyQualifiedName) {
+            if (!packageRelocation) {
+                return normalize(fullyQualifiedName).equals(normalize(from)) ? to : null;
+            }
+            String packageName = packageName(fullyQualifiedName);
+            String newPackageName = relocatePackage(packageName);
+            return newPackageName == null ? null : newPackageName + fullyQualifiedName.substring(packageName.length());
+        }
+
+        /**
+         * @return The new name of the package, or {@code null} if this relocation doesn't apply to it.
+         */
+        @Nullable
+        String relocatePackage(String packageName) {
+            if (!packageRelocation) {
+                return null;
+            } else if (packageName.equals(from)) {
+                return to;
+            } else if (recursive && packageName.startsWith(from + ".") && !packageName.startsWith(to)) {
+                String suffix = packageName.substring(from.length());
+                return to.endsWith(suffix) ? to : to + suffix;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The relocation table, with its old names held in a trie so that a name is only matched against
+     * the entries that can apply to it.
+     */
+    private static class RelocationTable {
+        private final List<Relocation> relocations;
+        private final Node root = new Node();
+
+        private final List<String> typeNames = new ArrayList<>();
+
+        /**
+         * Whether a type relocated by the table could be declared in a source file of the given package.
+         */
+        private final Map<String, Boolean> definableByPackage = new ConcurrentHashMap<>();
+
+        private final Map<String, String> relocatedTypes = new ConcurrentHashMap<>();
+        private final Map<String, String> relocatedPackages = new ConcurrentHashMap<>();
+
+        RelocationTable(List<Relocation> relocations) {
+            this.relocations = relocations;
+            for (int i = 0; i < relocations.size(); i++) {
+                Relocation relocation = relocations.get(i);
+                if (relocation.isPackageRelocation()) {
+                    root.insert(relocation.getFrom()).packages.set(i);
+                } else {
+                    String name = normalize(relocation.getFrom());
+                    root.insert(name).types.set(i);
+                    typeNames.add(name);
+                }
+            }
+        }
+
+        /**
+         * @return The new fully-qualified name of the type, or {@code null} if the table doesn't relocate it.
+         */
+        @Nullable
+        String relocateType(String fullyQualifiedName) {
+            String relocated = relocatedTypes.computeIfAbsent(fullyQualifiedName, name -> relocate(name, false));
+            return relocated.equals(fullyQualifiedName) ? null : relocated;
+        }
+
+        /**
+         * @return The new name of the package, or {@code null} if the table doesn't relocate it.
+         */
+        @Nullable
+        String relocatePackage(String packageName) {
+            String relocated = relocatedPackages.computeIfAbsent(packageName, name -> relocate(name, true));
+            return relocated.equals(packageName) ? null : relocated;
+        }
+
+        @Nullable
+        String relocate(Reference reference) {
+            String value = reference.getValue();
+            if (reference.getKind() == Reference.Kind.TYPE) {
+                return relocateType(value);
+            } else if (reference.getKind() == Reference.Kind.PACKAGE) {
+                // package references may also name a type of the package
+                for (String segment : value.split("\\.")) {
+                    if (!segment.isEmpty() && Character.isUpperCase(segment.charAt(0))) {
+                        return relocateType(value);
+                    }
+                }
+                return relocatePackage(value);
+            }
+            return null;
+        }
+
+        private String relocate(String name, boolean isPackage) {
+            BitSet candidates = new BitSet();
+            root.lookup(normalize(name), candidates);
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                Relocation relocation = relocations.get(i);
+                String relocated = isPackage ? relocation.relocatePackage(name) : relocation.relocateType(name);
+                if (relocated != null) {
+                    // only the entries after this one apply to the new name
+                    name = relocated;
+                    candidates.clear();
+                    root.lookup(normalize(name), candidates);
+                    candidates.clear(0, i + 1);
+                }
+            }
+            return name;
+        }
+
+        /**
+         * A superset of the source files that {@link RelocateTypes} changes: those using, importing or
+         * declaring a type with an old name of the table, or in an old package of the table.
+         */
+        boolean mayRelocate(JavaSourceFile cu, String packageName) {
+            if (definableIn(packageName)) {
+                return true;
+            }
+            Set<String> names = new HashSet<>();
+            names.add(packageName);
+            Set<JavaType> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (JavaType type : cu.getTypesInUse().getTypesInUse()) {
+                collect(type, names, seen);
+            }
+            for (JavaType.Method method : cu.getTypesInUse().getUsedMethods()) {
+                collect(method, names, seen);
+                collect(method.getDeclaringType(), names, seen);
+                for (JavaType parameterType : method.getParameterTypes()) {
+                    collect(parameterType, names, seen);
+                }
+            }
+            for (J.Import anImport : cu.getImports()) {
+                names.add(anImport.getPackageName());
+                names.add(normalize(anImport.getTypeName()));
+                collect(anImport.getQualid().getType(), names, seen);
+                collect(anImport.getQualid().getTarget().getType(), names, seen);
+            }
+            BitSet candidates = new BitSet();
+            for (String name : names) {
+                root.lookup(name, candidates);
+                if (!candidates.isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean definableIn(String packageName) {
+            return definableByPackage.computeIfAbsent(packageName, pkg -> {
+                String prefix = pkg + ".";
+                for (String typeName : typeNames) {
+                    if (pkg.isEmpty() || typeName.startsWith(prefix)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+
+        private static void collect(@Nullable JavaType type, Set<String> names, Set<JavaType> seen) {
+            if (type == null || !seen.add(type)) {
+                return;
+            }
+            if (type == JavaType.Primitive.String) {
+                names.add("java.lang.String");
+            } else if (type instanceof JavaType.FullyQualified) {
+                JavaType.FullyQualified fq = (JavaType.FullyQualified) type;
+                names.add(normalize(fq.getFullyQualifiedName()));
+                collect(fq.getSupertype(), names, seen);
+                for (JavaType.FullyQualified anInterface : fq.getInterfaces()) {
+                    collect(anInterface, names, seen);
+                }
+                if (fq instanceof JavaType.Parameterized) {
+                    for (JavaType typeParameter : fq.getTypeParameters()) {
+                        collect(typeParameter, names, seen);
+                    }
+                }
+            } else if (type instanceof JavaType.GenericTypeVariable) {
+                for (JavaType bound : ((JavaType.GenericTypeVariable) type).getBounds()) {
+                    collect(bound, names, seen);
+                }
+            } else if (type instanceof JavaType.Intersection) {
+                for (JavaType bound : ((JavaType.Intersection) type).getBounds()) {
+                    collect(bound, names, seen);
+                }
+            } else if (type instanceof JavaType.Variable) {
+                collect(((JavaType.Variable) type).getType(), names, seen);
+            } else if (type instanceof JavaType.Method) {
+                collect(((JavaType.Method) type).getReturnType(), names, seen);
+            } else if (type instanceof JavaType.Array) {
+                collect(((JavaType.Array) type).getElemType(), names, seen);
+            }
+        }
+
+        private static class Node {
+            private final Map<Character, Node> children = new HashMap<>();
+
+            /**
+             * Package relocations matching every name this node is a prefix of.
+             */
+            private final BitSet packages = new BitSet();
+
+            /**
+             * Type relocations matching exactly the name ending at this node.
+             */
+            private final BitSet types = new BitSet();
+
+            Node insert(String name) {
+                Node node = this;
+                for (int i = 0; i < name.length(); i++) {
+                    node = node.children.computeIfAbsent(name.charAt(i), c -> new Node());
+                }
+                return node;
+            }
+
+            void lookup(String name, BitSet candidates) {
+                Node node = this;
+                for (int i = 0; i < name.length(); i++) {
+                    node = node.children.get(name.charAt(i));
+                    if (node == null) {
+                        return;
+                    }
+                    candidates.or(node.packages);
+                }
+                candidates.or(node.types);
+            }
+        }
+    }
+
+    /**
+     * Relocates every type reference, import and declaration of a source file, and moves the source
+     * file along with the top-level type it declares.
+     */
+    private static class RelocateTypes extends JavaVisitor<ExecutionContext> {
+        private final RelocationTable table;
+        private final String originalPackage;
+        private String newPackage;
+
+        private @Nullable String originalTopLevelPath;
+        private @Nullable String newTopLevelPath;
+
+        private final Set<UUID> relocatedImports = new HashSet<>();
+        private final Map<JavaType, JavaType> oldNameToChangedType = new IdentityHashMap<>();
+
+        RelocateTypes(RelocationTable table, String originalPackage) {
+            this.table = table;
+            this.originalPackage = originalPackage;
+            this.newPackage = originalPackage;
+        }
+
+        @Override
+        public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+            if (tree instanceof JavaSourceFile) {
+                JavaSourceFile cu = (JavaSourceFile) tree;
+                if (cu.getPackageDeclaration() != null) {
+                    String relocatedPackage = table.relocatePackage(originalPackage);
+                    if (relocatedPackage != null) {
+                        newPackage = relocatedPackage;
+                    }
+                    for (J.ClassDeclaration classDecl : cu.getClasses()) {
+                        String relocated = classDecl.getType() == null ? null :
+                                table.relocateType(classDecl.getType().getFullyQualifiedName());
+                        if (relocated != null) {
+                            newPackage = packageName(relocated);
+                            originalTopLevelPath = classDecl.getType().getFullyQualifiedName().replace('.', '/') + ".";
+                            newTopLevelPath = relocated.replace('.', '/') + ".";
+                            break;
+                        }
+                    }
+                }
+            }
+            return super.visit(tree, ctx);
+        }
+
+        @Override
+        public J visitPackage(J.Package pkg, ExecutionContext ctx) {
+            J.Package p = pkg.withAnnotations(ListUtils.map(pkg.getAnnotations(), a -> visitAndCast(a, ctx)));
+            if (!newPackage.equals(originalPackage)) {
+                p = p.withExpression(TypeTree.build(newPackage).withPrefix(pkg.getExpression().getPrefix()));
+            }
+            return p;
+        }
+
+        @Override
+        public J visitImport(J.Import import_, ExecutionContext ctx) {
+            // imports are relocated as a whole rather than by visiting their field accesses, so that they keep their place
+            J.FieldAccess qualid = import_.getQualid();
+            String typeName = import_.getTypeName();
+            String relocated = null;
+            if (import_.isStatic()) {
+                JavaType.FullyQualified target = TypeUtils.asFullyQualified(qualid.getTarget().getType());
+                String newTypeName = table.relocateType(target == null ? typeName : target.getFullyQualifiedName());
+                if (newTypeName != null) {
+                    relocated = newTypeName + "." + qualid.getSimpleName();
+                }
+            } else if (typeName.endsWith("$*")) {
+                String newTypeName = table.relocateType(typeName.substring(0, typeName.length() - 2));
+                if (newTypeName != null) {
+                    relocated = newTypeName + ".*";
+                }
+            } else if (typeName.endsWith(".*")) {
+                String newPackageName = table.relocatePackage(typeName.substring(0, typeName.length() - 2));
+                if (newPackageName != null) {
+                    relocated = newPackageName + ".*";
+                }
+            } else {
+                relocated = table.relocateType(typeName);
+            }
+            if (relocated == null) {
+                return import_;
+            }
+
+            relocatedImports.add(import_.getId());
+            J.FieldAccess newQualid = TypeTree.build(relocated);
+            return import_.withQualid(newQualid
+                    .withPrefix(qualid.getPrefix())
+                    .withName(qualid.getName()
+                            .withSimpleName(newQualid.getSimpleName())
+                            .withType(updateType(qualid.getName().getType())))
+                    .withType(updateType(qualid.getType())));
+        }
+
+        @Override
+        public J visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(fieldAccess.getType());
+            String name = typeReferenceName(fieldAccess);
+            if (type != null && name != null) {
+                String fqn = type.getFullyQualifiedName();
+                String relocated = table.relocateType(fqn);
+                if (relocated != null) {
+                    String newName;
+                    if (name.equals(normalize(fqn))) {
+                        newName = normalize(relocated);
+                    } else {
+                        // qualified by its outer class rather than its package
+                        newName = normalize(relocated.substring(packageName(relocated).length() + 1));
+                        int nested = relocated.indexOf('$');
+                        maybeAddImport(nested < 0 ? relocated : relocated.substring(0, nested));
+                    }
+                    Expression reference = TypeTree.build(newName);
+                    return reference.<Expression>withPrefix(fieldAccess.getPrefix()).withType(updateType(type));
+                }
+            }
+            return super.visitFieldAccess(fieldAccess, ctx);
+        }
+
+        @Override
+        public J visitIdentifier(J.Identifier ident, ExecutionContext ctx) {
+            JavaType.FullyQualified type = ident.getFieldType() == null ? TypeUtils.asFullyQualified(ident.getType()) : null;
+            Object parent = getCursor().getParentTreeCursor().getValue();
+            boolean declaration = parent instanceof J.ClassDeclaration && ((J.ClassDeclaration) parent).getName() == ident;
+            boolean qualified = parent instanceof J.FieldAccess && ((J.FieldAccess) parent).getName() == ident;
+
+            J.Identifier i = (J.Identifier) super.visitIdentifier(ident, ctx);
+            if (type == null || type instanceof JavaType.Unknown || qualified) {
+                return i;
+            }
+            String fqn = type.getFullyQualifiedName();
+            String relocated = table.relocateType(fqn);
+            if (relocated != null) {
+                if (i.getSimpleName().equals(simpleName(fqn))) {
+                    i = i.withSimpleName(simpleName(relocated));
+                }
+                if (!declaration && relocated.indexOf('$') < 0) {
+                    maybeAddImport(relocated);
+                    maybeRemoveImport(fqn);
+                }
+            } else if (!declaration && !newPackage.equals(originalPackage) &&
+                       fqn.indexOf('$') < 0 && packageName(fqn).equals(originalPackage)) {
+                // a type of the original package that is left behind as this source file moves
+                maybeAddImport(fqn);
+            }
+            return i;
+        }
+
+        @Override
+        public J visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+            J.MethodDeclaration m = (J.MethodDeclaration) super.visitMethodDeclaration(method, ctx);
+            if (method.isConstructor() && method.getMethodType() != null) {
+                String fqn = method.getMethodType().getDeclaringType().getFullyQualifiedName();
+                String relocated = table.relocateType(fqn);
+                if (relocated != null && m.getSimpleName().equals(simpleName(fqn))) {
+                    m = m.withName(m.getName().withSimpleName(simpleName(relocated)));
+                }
+            }
+            return m;
+        }
+
+        @Override
+        public @Nullable JavaType visitType(@Nullable JavaType javaType, ExecutionContext ctx) {
+            return updateType(javaType);
+        }
+
+        @Override
+        public J postVisit(J tree, ExecutionContext ctx) {
+            J j = super.postVisit(tree, ctx);
+            if (j instanceof J.MethodDeclaration) {
+                J.MethodDeclaration m = (J.MethodDeclaration) j;
+                JavaType.Method mt = updateType(m.getMethodType());
+                return m.withMethodType(mt).withName(m.getName().withType(mt));
+            } else if (j instanceof J.MethodInvocation) {
+                J.MethodInvocation m = (J.MethodInvocation) j;
+                JavaType.Method mt = updateType(m.getMethodType());
+                return m.withMethodType(mt).withName(m.getName().withType(mt));
+            } else if (j instanceof J.NewClass) {
+                J.NewClass n = (J.NewClass) j;
+                return n.withConstructorType(updateType(n.getConstructorType()));
+            } else if (j instanceof TypedTree) {
+                return ((TypedTree) j).withType(updateType(((TypedTree) j).getType()));
+            } else if (j instanceof JavaSourceFile) {
+                JavaSourceFile sf = (JavaSourceFile) j;
+
+                // relocations can leave the same import behind twice
+                Set<String> imports = new HashSet<>();
+                sf = sf.withImports(ListUtils.map(sf.getImports(), anImport -> imports.add(anImport.isStatic() ?
+                        "static " + anImport.getTypeName() + "." + anImport.getQualid().getSimpleName() :
+                        anImport.getTypeName()) ? anImport : null));
+
+                boolean moved = !newPackage.equals(originalPackage);
+                for (J.Import anImport : sf.getImports()) {
+                    if (!anImport.isStatic() && (moved || relocatedImports.contains(anImport.getId()))) {
+                        String typeName = anImport.getTypeName();
+                        String packageName = packageName(typeName);
+                        if (!typeName.endsWith("*") && typeName.indexOf('$') < 0 &&
+                            (packageName.equals(newPackage) || relocatedImports.contains(anImport.getId()) && "java.lang".equals(packageName))) {
+                            sf = (JavaSourceFile) new RemoveImport<ExecutionContext>(typeName, true)
+                                    .visitNonNull(sf, ctx, getCursor().getParentTreeCursor());
+                        }
+                    }
+                }
+
+                if (moved) {
+                    String path = sf.getSourcePath().toString().replace('\\', '/');
+                    String newPath = originalTopLevelPath != null && newTopLevelPath != null ?
+                            replaceFirst(path, originalTopLevelPath, newTopLevelPath) : path;
+                    if (newPath.equals(path)) {
+                        newPath = replaceFirst(path, originalPackage.replace('.', '/') + "/", newPackage.replace('.', '/') + "/");
+                    }
+                    sf = (JavaSourceFile) ((SourceFile) sf).withSourcePath(Paths.get(newPath));
+                }
+                j = sf;
+            }
+            return j;
+        }
+
+        private static String replaceFirst(String s, String target, String replacement) {
+            int index = s.indexOf(target);
+            return index < 0 ? s : s.substring(0, index) + replacement + s.substring(index + target.length());
+        }
+
+        /**
+         * @return The name a field access refers to a type by, or {@code null} if it doesn't consist only of names.
+         */
+        private static @Nullable String typeReferenceName(J.FieldAccess fieldAccess) {
+            if (fieldAccess.getName().getFieldType() != null) {
+                return null;
+            }
+            StringBuilder name = new StringBuilder(fieldAccess.getSimpleName());
+            for (Expression target = fieldAccess.getTarget(); ; ) {
+                if (target instanceof J.FieldAccess) {
+                    name.insert(0, '.').insert(0, ((J.FieldAccess) target).getSimpleName());
+                    target = ((J.FieldAccess) target).getTarget();
+                } else if (target instanceof J.Identifier && ((J.Identifier) target).getFieldType() == null) {
+                    return name.insert(0, '.').insert(0, ((J.Identifier) target).getSimpleName()).toString();
+                } else {
+                    return null;
+                }
+            }
+        }
+
+        private @Nullable JavaType updateType(@Nullable JavaType oldType) {
+            if (oldType == null || oldType instanceof JavaType.Unknown) {
+                return oldType;
+            }
+
+            JavaType type = oldNameToChangedType.get(oldType);
+            if (type != null) {
+                return type;
+            }
+
+            if (oldType instanceof JavaType.Parameterized) {
+                JavaType.Parameterized pt = (JavaType.Parameterized) oldType;
+                pt = pt.withTypeParameters(ListUtils.map(pt.getTypeParameters(), tp ->
+                        tp instanceof JavaType.FullyQualified ? updateType(tp) : tp));
+                //noinspection DataFlowIssue
+                pt = pt.withType((JavaType.FullyQualified) updateType(pt.getType()));
+                oldNameToChangedType.put(oldType, pt);
+                oldNameToChangedType.put(pt, pt);
+                return pt;
+            } else if (oldType instanceof JavaType.FullyQualified) {
+                String relocated = table.relocateType(((JavaType.FullyQualified) oldType).getFullyQualifiedName());
+                if (relocated != null) {
+                    JavaType.FullyQualified fq = JavaType.ShallowClass.build(relocated);
+                    oldNameToChangedType.put(oldType, fq);
+                    oldNameToChangedType.put(fq, fq);
+                    return fq;
+                }
+            } else if (oldType instanceof JavaType.GenericTypeVariable) {
+                JavaType.GenericTypeVariable gtv = (JavaType.GenericTypeVariable) oldType;
+                gtv = gtv.withBounds(ListUtils.map(gtv.getBounds(), b ->
+                        b instanceof JavaType.FullyQualified ? updateType(b) : b));
+                oldNameToChangedType.put(oldType, gtv);
+                oldNameToChangedType.put(gtv, gtv);
+                return gtv;
+            } else if (oldType instanceof JavaType.Variable) {
+                JavaType.Variable variable = (JavaType.Variable) oldType;
+                variable = variable.withOwner(updateType(variable.getOwner()));
+                //noinspection DataFlowIssue
+                variable = variable.withType(updateType(variable.getType()));
+                oldNameToChangedType.put(oldType, variable);
+                oldNameToChangedType.put(variable, variable);
+                return variable;
+            } else if (oldType instanceof JavaType.Array) {
+                JavaType.Array array = (JavaType.Array) oldType;
+                //noinspection DataFlowIssue
+                array = array.withElemType(updateType(array.getElemType()));
+                oldNameToChangedType.put(oldType, array);
+                oldNameToChangedType.put(array, array);
+                return array;
+            }
+            return oldType;
+        }
+
+        private JavaType.@Nullable Method updateType(JavaType.@Nullable Method oldMethodType) {
+            if (oldMethodType != null) {
+                JavaType.Method method = (JavaType.Method) oldNameToChangedType.get(oldMethodType);
+                if (method != null) {
+                    return method;
+                }
+
+                method = oldMethodType;
+                //noinspection DataFlowIssue
+                method = method.withDeclaringType((JavaType.FullyQualified) updateType(method.getDeclaringType()))
+                        .withReturnType(updateType(method.getReturnType()))
+                        .withParameterTypes(ListUtils.map(method.getParameterTypes(), this::updateType));
+                oldNameToChangedType.put(oldMethodType, method);
+                oldNameToChangedType.put(method, method);
+                return method;
+            }
+            return null;
+        }
+    }
+
+    private static class RelocateReferences extends TreeVisitor<Tree, ExecutionContext> {
+        private final RelocationTable table;
+        private final Map<Tree, Reference> matches;
+
+        RelocateReferences(RelocationTable table, Map<Tree, Reference> matches) {
+            this.table = table;
+            this.matches = matches;
+        }
+
+        @Override
+        public Tree postVisit(Tree tree, ExecutionContext ctx) {
+            Reference reference = matches.get(tree);
+            if (reference != null) {
+                String relocated = Objects.requireNonNull(table.relocate(reference));
+                return reference.rename(r -> relocated, getCursor(), ctx);
+            }
+            return tree;
+        }
+    }
+}
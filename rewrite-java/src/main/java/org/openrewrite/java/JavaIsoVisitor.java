@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java;
 
+import org.openrewrite.Incubating;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Statement;
@@ -28,6 +29,18 @@
  * makes for a more pleasant visitor authoring experience as less casting will be required.
  */
 public class JavaIsoVisitor<P> extends JavaVisitor<P> {
+
+    public JavaIsoVisitor() {
+    }
+
+    /**
+     * @see JavaVisitor#JavaVisitor(Class[])
+     */
+    @SafeVarargs
+    @Incubating(since = "8.57.0")
+    protected JavaIsoVisitor(Class<? extends J>... skipSubtreesWithout) {
+        super(skipSubtreesWithout);
+    }
     @Override
     public Expression visitExpression(Expression expression, P p) {
         return (Expression) super.visitExpression(expression, p);
@@ -28,10 +28,16 @@
 import org.openrewrite.style.NamedStyles;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -329,6 +335,74 @@ public B styles(Iterable<? extends NamedStyles> styles) {
             return (B) this;
         }
 
+        /**
+         * @return A value that is equal for builders whose parsers attribute types the same way: parsers of the
+         * same language level with the same classpath and the same sources depended upon. Classpath entries are
+         * identified by their path, size and modification time, and class bytes and sources by their SHA-256 digest.
+         */
+        @Incubating(since = "8.57.0")
+        public Object getClasspathIdentity() {
+            List<Object> entries = new ArrayList<>(classpath.size() * 3);
+            for (Path entry : classpath) {
+                entries.add(entry.toString());
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    entries.add(attributes.size());
+                    entries.add(attributes.lastModifiedTime().toMillis());
+                } catch (IOException e) {
+                    // an entry that can't be read contributes no types
+                    entries.add(-1L);
+                    entries.add(-1L);
+                }
+            }
+            List<String> classBytes = new ArrayList<>(classBytesClasspath.size());
+            for (byte[] bytes : classBytesClasspath) {
+                classBytes.add(sha256(bytes));
+            }
+            List<String> sources = new ArrayList<>();
+            if (dependsOn != null) {
+                ExecutionContext ctx = new InMemoryExecutionContext();
+                for (Input input : dependsOn) {
+                    sources.add(sha256(input.getSource(ctx).readFully().getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+            return new ClasspathIdentity(Arrays.asList(getClass().getName(), entries,
+                    new ArrayList<>(artifactNames), classBytes, sources));
+        }
+
+        private static String sha256(byte[] bytes) {
+            try {
+                return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Compared often as part of cache keys, so its hash code is only computed once.
+         */
+        private static final class ClasspathIdentity {
+            private final List<Object> components;
+            private final int hashCode;
+
+            ClasspathIdentity(List<Object> components) {
+                this.components = components;
+                this.hashCode = components.hashCode();
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                return this == o || o instanceof ClasspathIdentity &&
+                                    hashCode == ((ClasspathIdentity) o).hashCode &&
+                                    components.equals(((ClasspathIdentity) o).components);
+            }
+
+            @Override
+            public int hashCode() {
+                return hashCode;
+            }
+        }
+
         protected Collection<Path> resolvedClasspath() {
             if (!artifactNames.isEmpty()) {
                 classpath = new ArrayList<>(classpath);
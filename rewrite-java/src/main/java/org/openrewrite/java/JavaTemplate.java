@@ -87,6 +87,7 @@ protected static Path getTemplateClasspathDir() {
 
     private final Consumer<String> onAfterVariableSubstitution;
     private final JavaTemplateParser templateParser;
+    private final JavaTemplateSemanticallyEqual.MatchPatterns matchPatterns = new JavaTemplateSemanticallyEqual.MatchPatterns();
 
     private JavaTemplate(boolean contextSensitive, JavaParser.Builder<?, ?> parser, String code, String bindType, Set<String> imports,
                          Set<String> genericTypes, Consumer<String> onAfterVariableSubstitution, Consumer<String> onBeforeParseTemplate) {
@@ -125,6 +126,14 @@ public <J2 extends J> J2 apply(Cursor scope, JavaCoordinates coordinates, Object
                 result;
     }
 
+    boolean isContextSensitive() {
+        return templateParser.isContextSensitive();
+    }
+
+    JavaTemplateSemanticallyEqual.MatchPatterns getMatchPatterns() {
+        return matchPatterns;
+    }
+
     protected Substitutions substitutions(Object[] parameters) {
         return new Substitutions(code, genericTypes, parameters);
     }
@@ -28,6 +28,7 @@
 import org.openrewrite.marker.Markers;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
@@ -51,13 +52,75 @@ static TemplateMatchResult matchesTemplate(JavaTemplate template, Cursor input)
             throw new IllegalArgumentException("Only expressions and statements can be matched against a template: " + input.getClass());
         }
 
+        if (input.getValue() instanceof Expression && !template.isContextSensitive()) {
+            if (input.getValue() instanceof J.MethodInvocation && input.firstEnclosing(Javadoc.DocComment.class) != null) {
+                // templates are not applied to method invocations in Javadoc
+                return new TemplateMatchResult(false, emptyList());
+            }
+            J pattern = template.getMatchPatterns().get(template, input, coordinates);
+            return pattern == null ? new TemplateMatchResult(false, emptyList()) : matchTemplate(pattern, input);
+        }
+
+        J templateTree = applyTemplate(template, input, coordinates);
+        return templateTree == null ? new TemplateMatchResult(false, emptyList()) : matchTemplate(templateTree, input);
+    }
+
+    /**
+     * @return The template applied in place of the input with its parameters left as typed placeholders,
+     * or {@code null} if the template can't be applied there.
+     */
+    private static @Nullable J applyTemplate(JavaTemplate template, Cursor input, JavaCoordinates coordinates) {
         J[] parameters = createTemplateParameters(template.getCode(), template.getGenericTypes());
         try {
             J templateTree = template.apply(input, coordinates, (Object[]) parameters);
-            return matchTemplate(templateTree, input);
+            // When `JavaTemplate#apply()` returns the input itself, it could not be matched
+            return templateTree == input.getValue() ? null : templateTree;
         } catch (RuntimeException e) {
             // FIXME this is just a workaround, as template matching finds many new corner cases in `JavaTemplate` which we need to fix
-            return new TemplateMatchResult(false, emptyList());
+            return null;
+        }
+    }
+
+    /**
+     * The trees that a context-free template produces in place of expressions, with its parameters left as typed
+     * placeholders. A context-free template is parsed the same way wherever it is applied, so what it produces
+     * only depends on the kind of expression it replaces. Each of these trees is produced once and then matched
+     * against every candidate expression of that kind, rather than applying the template to each candidate.
+     */
+    static class MatchPatterns {
+        private final Map<PatternKey, J> patterns = new ConcurrentHashMap<>();
+
+        @Nullable
+        J get(JavaTemplate template, Cursor input, JavaCoordinates coordinates) {
+            J candidate = input.getValue();
+            JavaType.Method methodType = candidate instanceof J.MethodInvocation ?
+                    ((J.MethodInvocation) candidate).getMethodType() : null;
+            PatternKey key = new PatternKey(candidate.getClass(), coordinates.getSpaceLocation(),
+                    methodType != null && methodType.getReturnType() == JavaType.Primitive.Void);
+
+            J pattern = patterns.get(key);
+            if (pattern == null) {
+                // a failed application may be particular to this candidate, so it is tried again
+                // for the next candidate of the same kind rather than remembered
+                pattern = applyTemplate(template, input, coordinates);
+                if (pattern != null) {
+                    J existing = patterns.putIfAbsent(key, pattern);
+                    if (existing != null) {
+                        pattern = existing;
+                    }
+                }
+            }
+            return pattern;
+        }
+
+        /**
+         * What the template stub that a context-free template is parsed in depends on.
+         */
+        @Value
+        private static class PatternKey {
+            Class<?> kind;
+            Space.Location location;
+            boolean voidMethodInvocation;
         }
     }
 
@@ -122,11 +185,6 @@ private static JavaType typedParameter(String key, TypedPatternContext typedPatt
     }
 
     private static TemplateMatchResult matchTemplate(J templateTree, Cursor cursor) {
-        if (templateTree == cursor.getValue()) {
-            // When `JavaTemplate#apply()` returns the input itself, it could not be matched
-            return new TemplateMatchResult(false, emptyList());
-        }
-
         JavaTemplateSemanticallyEqualVisitor semanticallyEqualVisitor = new JavaTemplateSemanticallyEqualVisitor();
         semanticallyEqualVisitor.visit(templateTree, cursor.getValue(), cursor.getParentOrThrow());
         return new TemplateMatchResult(semanticallyEqualVisitor.isEqual(), new ArrayList<>(
@@ -18,6 +18,7 @@
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.internal.SubtreeKinds;
 import org.openrewrite.java.service.AutoFormatService;
 import org.openrewrite.java.service.ImportService;
 import org.openrewrite.java.tree.*;
@@ -31,11 +32,73 @@
     @Nullable
     protected JavadocVisitor<P> javadocVisitor;
 
+    private long visitedKinds = SubtreeKinds.ALL;
+
+    @Nullable
+    private J subtreeKindsRoot;
+
+    @Nullable
+    private SubtreeKinds subtreeKinds;
+
+    public JavaVisitor() {
+    }
+
+    /**
+     * Like calling {@link #skipSubtreesWithout(Class[])} from a subclass constructor, but without letting
+     * the visitor escape before the subclass is initialized.
+     *
+     * @param skipSubtreesWithout The concrete types of elements this visitor acts on.
+     */
+    @SafeVarargs
+    @Incubating(since = "8.57.0")
+    protected JavaVisitor(Class<? extends J>... skipSubtreesWithout) {
+        this.visitedKinds = SubtreeKinds.kindsOf(skipSubtreesWithout);
+    }
+
     @Override
     public boolean isAcceptable(SourceFile sourceFile, P p) {
         return sourceFile instanceof JavaSourceFile;
     }
 
+    /**
+     * Declare that this visitor only acts on elements of the given types, so that subtrees which
+     * contain none of them can be skipped without visiting them. Skipped subtrees are returned as is,
+     * without calling any visit method on them, including {@link #visitSpace(Space, Space.Location, Object)},
+     * {@link #preVisit(Tree, Object)} and {@link #postVisit(Tree, Object)}.
+     * <p>
+     * Whether a subtree contains an element of the given types is looked up in a {@link SubtreeKinds}
+     * summary of the tree being visited, which is computed once per tree.
+     *
+     * @param types The concrete types of elements this visitor acts on.
+     */
+    @SafeVarargs
+    @Incubating(since = "8.57.0")
+    public final void skipSubtreesWithout(Class<? extends J>... types) {
+        visitedKinds = SubtreeKinds.kindsOf(types);
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, P p) {
+        if (tree instanceof JavaSourceFile && p instanceof ExecutionContext) {
+            // make the context's type hierarchy index, if any, available to TypeUtils
+            return TypeHierarchyIndex.using(p, (JavaSourceFile) tree, () -> super.visit(tree, p));
+        }
+        return super.visit(tree, p);
+    }
+
+    @Override
+    protected boolean canSkip(Tree root, Tree tree) {
+        if (visitedKinds == SubtreeKinds.ALL || !(root instanceof J) || !(tree instanceof J)) {
+            return false;
+        }
+        SubtreeKinds kinds = subtreeKinds;
+        if (kinds == null || subtreeKindsRoot != root) {
+            subtreeKindsRoot = (J) root;
+            subtreeKinds = kinds = SubtreeKinds.of((J) root);
+        }
+        return !kinds.mayContain((J) tree, visitedKinds);
+    }
+
     @Override
     public String getLanguage() {
         return "java";
@@ -1302,7 +1365,7 @@ public J visitYield(J.Yield yield, P p) {
             return null;
         }
 
-        setCursor(new Cursor(getCursor(), right));
+        pushCursor(right);
 
         T t = right.getElement();
         if (t instanceof J) {
@@ -1310,7 +1373,7 @@ public J visitYield(J.Yield yield, P p) {
             t = visitAndCast((J) right.getElement(), p);
         }
 
-        setCursor(getCursor().getParent());
+        popCursor();
         if (t == null) {
             //noinspection ConstantConditions
             return null;
@@ -1328,7 +1391,7 @@ public J visitYield(J.Yield yield, P p) {
             return null;
         }
 
-        setCursor(new Cursor(getCursor(), left));
+        pushCursor(left);
 
         Space before = visitSpace(left.getBefore(), loc.getBeforeLocation(), p);
         T t = left.getElement();
@@ -1338,7 +1401,7 @@ public J visitYield(J.Yield yield, P p) {
             t = visitAndCast((J) left.getElement(), p);
         }
 
-        setCursor(getCursor().getParent());
+        popCursor();
         // If nothing changed leave AST node the same
         if (left.getElement() == t && before == left.getBefore()) {
             return left;
@@ -1354,12 +1417,12 @@ public J visitYield(J.Yield yield, P p) {
             //noinspection ConstantConditions
             return null;
         }
-        setCursor(new Cursor(getCursor(), container));
+        pushCursor(container);
 
         Space before = visitSpace(container.getBefore(), loc.getBeforeLocation(), p);
         List<JRightPadded<J2>> js = ListUtils.map(container.getPadding().getElements(), t -> visitRightPadded(t, loc.getElementLocation(), p));
 
-        setCursor(getCursor().getParent());
+        popCursor();
 
         return js == container.getPadding().getElements() && before == container.getBefore() ?
                 container :
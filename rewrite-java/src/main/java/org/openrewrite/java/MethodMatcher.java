@@ -33,6 +33,7 @@
 import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 import static java.util.Objects.requireNonNull;
@@ -103,8 +104,38 @@ public class MethodMatcher {
     @Nullable
     private Pattern methodNamePattern;
 
+    /**
+     * Compiled form of {@link #targetTypePattern}, when the target type is a single wildcard name
+     * rather than a combination of patterns.
+     */
+    @Nullable
+    private AspectjNameMatcher targetTypeMatcher;
+
+    /**
+     * Compiled form of {@link #methodNamePattern}.
+     */
+    @Nullable
+    private AspectjNameMatcher methodNameMatcher;
+
     private Pattern argumentPattern;
 
+    /**
+     * The argument list as literal type names, compared to a method's parameter types without building a
+     * signature string. A {@code null} element stands for a {@code *} argument before any {@code ..}, as in
+     * {@code foo(*, String)}, or for the {@code ..} itself. Absent when one of the argument types is a name
+     * pattern, in which case {@link #argumentPattern} is used instead. That includes a {@code *} after the
+     * {@code ..}, as in {@code foo(.., *)}, which the grammar parses as a type name pattern matching only
+     * names without a package rather than as an argument wildcard.
+     */
+    private @Nullable String @Nullable [] argumentTypes;
+
+    /**
+     * The position of {@code ..} in {@link #argumentTypes}, or -1 if the argument list has no {@code ..}.
+     */
+    private int argumentsDotDotIndex = -1;
+
+    private final Predicate<String> targetTypeNameMatcher = this::matchesTargetTypeName;
+
     @Nullable
     private String targetType;
 
@@ -138,6 +169,9 @@ public MethodMatcher(String methodPattern, boolean matchOverrides) {
                     targetType = pattern;
                 } else {
                     targetTypePattern = Pattern.compile(StringUtils.aspectjNameToPattern(pattern));
+                    if (targetTypePatternContext.classNameOrInterface() != null) {
+                        targetTypeMatcher = AspectjNameMatcher.compile(pattern);
+                    }
                 }
 
                 if (ctx.simpleNamePattern().CONSTRUCTOR() != null) {
@@ -154,6 +188,7 @@ public MethodMatcher(String methodPattern, boolean matchOverrides) {
                         builder.append(StringUtils.aspectjNameToPattern(child.getText()));
                     }
                     methodNamePattern = Pattern.compile(builder.toString());
+                    methodNameMatcher = AspectjNameMatcher.compile(ctx.simpleNamePattern().getText());
                 }
 
                 if (ctx.formalParametersPattern().formalsPattern() == null) {
@@ -161,8 +196,11 @@ public MethodMatcher(String methodPattern, boolean matchOverrides) {
                 } else if (matchAllArguments(ctx.formalParametersPattern().formalsPattern())) {
                     argumentPattern = ANY_ARGUMENTS_PATTERN;
                 } else {
-                    argumentPattern = Pattern.compile(new FormalParameterVisitor().visitFormalParametersPattern(
+                    FormalParameterVisitor formalParameterVisitor = new FormalParameterVisitor();
+                    argumentPattern = Pattern.compile(formalParameterVisitor.visitFormalParametersPattern(
                             ctx.formalParametersPattern()));
+                    argumentTypes = formalParameterVisitor.getLiteralArgumentTypes();
+                    argumentsDotDotIndex = formalParameterVisitor.getDotDotIndex();
                 }
                 return null;
             }
@@ -235,23 +273,72 @@ public Pattern getArgumentPattern() {
         return argumentPattern;
     }
 
+    /**
+     * @return The method name this matcher is restricted to, or {@code null} if the method name has wildcards.
+     */
+    @Nullable
+    String getLiteralMethodName() {
+        return methodName;
+    }
+
+    /**
+     * @return The number of (named) parameter types a method must have to match, or -1 if the argument list
+     * matches a variable number of arguments or is only matched by {@link #argumentPattern}.
+     * @see #countNamedParameterTypes(List)
+     */
+    int getFixedArity() {
+        if (argumentPattern == EMPTY_ARGUMENTS_PATTERN) {
+            return 0;
+        }
+        return argumentTypes != null && argumentsDotDotIndex < 0 ? argumentTypes.length : -1;
+    }
+
+    /**
+     * @return The number of parameter types that take part in argument matching. Type variables are not
+     * considered by the argument list of a method pattern.
+     */
+    static int countNamedParameterTypes(List<JavaType> parameterTypes) {
+        int count = 0;
+        for (JavaType parameterType : parameterTypes) {
+            if (isNamed(parameterType)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isNamed(JavaType type) {
+        return type instanceof JavaType.Primitive ||
+               type instanceof JavaType.Unknown ||
+               type instanceof JavaType.FullyQualified ||
+               type instanceof JavaType.Array;
+    }
+
     private boolean matchesTargetTypeName(String fullyQualifiedTypeName) {
-        return this.targetType != null && fullyQualifiedNamesAreEqual(this.targetType, fullyQualifiedTypeName) ||
-               this.targetTypePattern != null && this.targetTypePattern.matcher(fullyQualifiedTypeName).matches();
+        if (targetType != null) {
+            return fullyQualifiedNamesAreEqual(targetType, fullyQualifiedTypeName);
+        } else if (targetTypeMatcher != null) {
+            return targetTypeMatcher.matches(fullyQualifiedTypeName);
+        }
+        return targetTypePattern != null && targetTypePattern.matcher(fullyQualifiedTypeName).matches();
     }
 
     boolean matchesTargetType(JavaType.@Nullable FullyQualified type) {
         return ((type == null || type instanceof JavaType.Unknown) && "*..*".equals(targetTypeAspectJ)) || TypeUtils.isOfTypeWithName(
                 type,
                 matchOverrides,
-                this::matchesTargetTypeName
+                targetTypeNameMatcher
         );
     }
 
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     private boolean matchesMethodName(String methodName) {
-        return this.methodName != null && this.methodName.equals(methodName) ||
-               this.methodNamePattern != null && methodNamePattern.matcher(methodName).matches();
+        if (this.methodName != null) {
+            return this.methodName.equals(methodName);
+        } else if (methodNameMatcher != null) {
+            return methodNameMatcher.matches(methodName);
+        }
+        return methodNamePattern != null && methodNamePattern.matcher(methodName).matches();
     }
 
     private boolean matchesParameterTypes(List<JavaType> parameterTypes) {
@@ -259,6 +346,8 @@ private boolean matchesParameterTypes(List<JavaType> parameterTypes) {
             return true;
         } else if (argumentPattern == EMPTY_ARGUMENTS_PATTERN) {
             return parameterTypes.isEmpty();
+        } else if (argumentTypes != null) {
+            return matchesArgumentTypes(argumentTypes, parameterTypes);
         }
 
         StringJoiner joiner = new StringJoiner(",");
@@ -271,6 +360,66 @@ private boolean matchesParameterTypes(List<JavaType> parameterTypes) {
         return argumentPattern.matcher(joiner.toString()).matches();
     }
 
+    /**
+     * Compares the parameter types to the literal argument types one by one, in the same way that
+     * {@link #argumentPattern} would match the comma separated parameter type names.
+     */
+    private boolean matchesArgumentTypes(@Nullable String[] argumentTypes, List<JavaType> parameterTypes) {
+        int size = parameterTypes.size();
+        int named = size;
+        for (int i = 0; i < size; i++) {
+            if (!isNamed(parameterTypes.get(i))) {
+                named--;
+            }
+        }
+
+        int prefix = argumentsDotDotIndex < 0 ? argumentTypes.length : argumentsDotDotIndex;
+        int suffix = argumentsDotDotIndex < 0 ? 0 : argumentTypes.length - argumentsDotDotIndex - 1;
+        if (argumentsDotDotIndex < 0 ? named != prefix : named < prefix + suffix) {
+            return false;
+        }
+
+        // the parameters before the `..`, then those matched by the arguments after it
+        int p = 0;
+        for (int a = 0; a < prefix; a++, p++) {
+            while (!isNamed(parameterTypes.get(p))) {
+                p++;
+            }
+            if (!matchesArgumentType(argumentTypes[a], parameterTypes.get(p))) {
+                return false;
+            }
+        }
+        p = size - 1;
+        for (int a = argumentTypes.length - 1; a > argumentsDotDotIndex && a >= prefix; a--, p--) {
+            while (!isNamed(parameterTypes.get(p))) {
+                p--;
+            }
+            if (!matchesArgumentType(argumentTypes[a], parameterTypes.get(p))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesArgumentType(@Nullable String argumentType, JavaType parameterType) {
+        if (argumentType == null) {
+            return true;
+        }
+        String name;
+        if (parameterType instanceof JavaType.Primitive) {
+            name = parameterType == JavaType.Primitive.String ?
+                    ((JavaType.Primitive) parameterType).getClassName() :
+                    ((JavaType.Primitive) parameterType).getKeyword();
+        } else if (parameterType instanceof JavaType.Unknown) {
+            name = "*";
+        } else if (parameterType instanceof JavaType.FullyQualified) {
+            name = ((JavaType.FullyQualified) parameterType).getFullyQualifiedName();
+        } else {
+            name = String.valueOf(typePattern(parameterType));
+        }
+        return AspectjNameMatcher.matchesLiteral(argumentType, name);
+    }
+
     public boolean matches(JavaType.@Nullable Method type) {
         if (type == null) {
             return false;
@@ -565,6 +714,38 @@ public String visitFormalTypePattern(MethodSignatureParser.FormalTypePatternCont
         return super.visitFormalTypePattern(ctx);
     }
 
+    /**
+     * @return The argument types of the visited argument list as literal type names, with a {@code null} element
+     * standing for a {@code *} argument (visited as a wildcard, which only precedes any {@code ..}) or for the
+     * {@code ..} itself, or {@code null} for the whole list if one of the argument types is itself a pattern,
+     * including a {@code *} after the {@code ..}.
+     */
+    @Nullable
+    String @Nullable [] getLiteralArgumentTypes() {
+        @Nullable String[] literals = new String[arguments.size()];
+        boolean dotDot = false;
+        for (int i = 0; i < arguments.size(); i++) {
+            Argument argument = arguments.get(i);
+            if (argument == Argument.DOT_DOT) {
+                if (dotDot) {
+                    return null;
+                }
+                dotDot = true;
+            } else if (argument instanceof Argument.FormalType) {
+                String literal = ((Argument.FormalType) argument).getLiteral();
+                if (literal == null) {
+                    return null;
+                }
+                literals[i] = literal;
+            }
+        }
+        return literals;
+    }
+
+    int getDotDotIndex() {
+        return arguments.indexOf(Argument.DOT_DOT);
+    }
+
     @Override
     public String visitFormalParametersPattern(MethodSignatureParser.FormalParametersPatternContext ctx) {
         super.visitFormalParametersPattern(ctx);
@@ -629,6 +810,135 @@ String getRegex() {
                 String baseType = new TypeVisitor().visitFormalTypePattern(ctx);
                 return StringUtils.aspectjNameToPattern(baseType) + (variableArgs ? "\\[\\]" : "");
             }
+
+            /**
+             * @return The type name, or {@code null} if this formal type has wildcards or combines several types.
+             */
+            @Nullable
+            String getLiteral() {
+                if (ctx.classNameOrInterface() == null ||
+                    !ctx.classNameOrInterface().WILDCARD().isEmpty() ||
+                    !ctx.classNameOrInterface().DOTDOT().isEmpty()) {
+                    return null;
+                }
+                String baseType = new TypeVisitor().visitFormalTypePattern(ctx);
+                return baseType + (variableArgs ? "[]" : "");
+            }
+        }
+    }
+}
+
+/**
+ * A compiled AspectJ name pattern that matches names the same way as the regular expression
+ * produced by {@link StringUtils#aspectjNameToPattern(String)}, but without a {@link java.util.regex.Matcher}.
+ */
+class AspectjNameMatcher {
+    private static final int DOT = -1;
+    private static final int DOT_DOT = -2;
+    private static final int WILDCARD = -3;
+
+    /**
+     * Characters of the pattern, or one of {@link #DOT}, {@link #DOT_DOT} and {@link #WILDCARD}.
+     */
+    private final int[] tokens;
+
+    private AspectjNameMatcher(int[] tokens) {
+        this.tokens = tokens;
+    }
+
+    static AspectjNameMatcher compile(String pattern) {
+        int[] tokens = new int[pattern.length()];
+        int n = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '.') {
+                int run = 1;
+                while (i + run < pattern.length() && pattern.charAt(i + run) == '.') {
+                    run++;
+                }
+                if (run == 1) {
+                    tokens[n++] = DOT;
+                } else {
+                    // every dot after the first of a run is a `..`
+                    for (int j = 1; j < run; j++) {
+                        tokens[n++] = DOT_DOT;
+                    }
+                }
+                i += run - 1;
+            } else if (c == '*') {
+                tokens[n++] = WILDCARD;
+            } else {
+                tokens[n++] = c;
+            }
+        }
+        int[] compiled = new int[n];
+        System.arraycopy(tokens, 0, compiled, 0, n);
+        return new AspectjNameMatcher(compiled);
+    }
+
+    boolean matches(String name) {
+        return matches(name, 0, 0);
+    }
+
+    private boolean matches(String name, int t, int i) {
+        for (; t < tokens.length; t++) {
+            int token = tokens[t];
+            if (token == WILDCARD) {
+                int end = i;
+                while (end < name.length() && name.charAt(end) != '.') {
+                    end++;
+                }
+                for (int j = end; j > i; j--) {
+                    if (matches(name, t + 1, j)) {
+                        return true;
+                    }
+                }
+            } else if (token == DOT_DOT) {
+                if (i >= name.length() || name.charAt(i) != '.') {
+                    return false;
+                }
+                // either a single `.`, or `.` followed by at least one character and another `.`
+                for (int j = name.length() - 1; j >= i + 2; j--) {
+                    if (name.charAt(j) == '.' && matches(name, t + 1, j + 1)) {
+                        return true;
+                    }
+                }
+                i++;
+                continue;
+            } else if (i >= name.length()) {
+                return false;
+            } else if (token == DOT) {
+                char c = name.charAt(i);
+                if (c != '.' && c != '$') {
+                    return false;
+                }
+            } else if (name.charAt(i) != token) {
+                return false;
+            }
+            if (token == WILDCARD) {
+                // the wildcard matched nothing
+                continue;
+            }
+            i++;
+        }
+        return i == name.length();
+    }
+
+    /**
+     * @return Whether a type name without wildcards matches the name, where each {@code .} of the
+     * type name matches either a {@code .} or a {@code $}.
+     */
+    static boolean matchesLiteral(String typeName, String name) {
+        if (typeName.length() != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < typeName.length(); i++) {
+            char t = typeName.charAt(i);
+            char c = name.charAt(i);
+            if (t != c && !(t == '.' && c == '$')) {
+                return false;
+            }
         }
+        return true;
     }
 }
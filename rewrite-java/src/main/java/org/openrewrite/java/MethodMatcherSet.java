@@ -0,0 +1,239 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Incubating;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.MethodCall;
+
+import java.util.*;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * A set of {@link MethodMatcher} that tests a method against all of its patterns at once. Matchers are
+ * indexed by method name and number of arguments, so that only the few matchers which could possibly
+ * match a method's name and arity are evaluated, no matter how many patterns the set holds.
+ */
+@Incubating(since = "8.57.0")
+public class MethodMatcherSet {
+    private static final int[] NONE = new int[0];
+
+    private final List<MethodMatcher> matchers;
+
+    private final Map<String, Candidates> byMethodName = new HashMap<>();
+
+    /**
+     * Matchers with wildcards in their method name.
+     */
+    private final Candidates anyMethodName;
+
+    public MethodMatcherSet(Collection<MethodMatcher> matchers) {
+        this.matchers = new ArrayList<>(matchers);
+
+        Map<String, CandidatesBuilder> builders = new HashMap<>();
+        CandidatesBuilder anyMethodNameBuilder = new CandidatesBuilder();
+        for (int i = 0; i < this.matchers.size(); i++) {
+            MethodMatcher matcher = this.matchers.get(i);
+            String methodName = matcher.getLiteralMethodName();
+            CandidatesBuilder builder = methodName == null ? anyMethodNameBuilder :
+                    builders.computeIfAbsent(methodName, n -> new CandidatesBuilder());
+            builder.add(i, matcher.getFixedArity());
+        }
+        for (Map.Entry<String, CandidatesBuilder> entry : builders.entrySet()) {
+            byMethodName.put(entry.getKey(), entry.getValue().build());
+        }
+        this.anyMethodName = anyMethodNameBuilder.build();
+    }
+
+    public static MethodMatcherSet of(String... methodPatterns) {
+        List<MethodMatcher> matchers = new ArrayList<>(methodPatterns.length);
+        for (String methodPattern : methodPatterns) {
+            matchers.add(new MethodMatcher(methodPattern));
+        }
+        return new MethodMatcherSet(matchers);
+    }
+
+    public List<MethodMatcher> getMatchers() {
+        return Collections.unmodifiableList(matchers);
+    }
+
+    public boolean matches(JavaType.@Nullable Method type) {
+        return firstMatch(type) != null;
+    }
+
+    public boolean matches(@Nullable MethodCall methodCall) {
+        return methodCall != null && matches(methodCall.getMethodType());
+    }
+
+    public boolean matches(@Nullable Expression maybeMethod) {
+        return maybeMethod instanceof MethodCall && matches((MethodCall) maybeMethod);
+    }
+
+    /**
+     * @param type The method type to test.
+     * @return The first matcher of this set, in the order the set was created with, that matches the method.
+     */
+    public @Nullable MethodMatcher firstMatch(JavaType.@Nullable Method type) {
+        if (type == null) {
+            return null;
+        }
+        Candidates byName = byMethodName.get(type.getName());
+        if (byName == null && anyMethodName.isEmpty()) {
+            return null;
+        }
+
+        int arity = MethodMatcher.countNamedParameterTypes(type.getParameterTypes());
+        int first = Integer.MAX_VALUE;
+        if (byName != null) {
+            first = firstMatch(byName.withArity(arity), type, first);
+            first = firstMatch(byName.anyArity, type, first);
+        }
+        first = firstMatch(anyMethodName.withArity(arity), type, first);
+        first = firstMatch(anyMethodName.anyArity, type, first);
+        return first == Integer.MAX_VALUE ? null : matchers.get(first);
+    }
+
+    public @Nullable MethodMatcher firstMatch(@Nullable MethodCall methodCall) {
+        return methodCall == null ? null : firstMatch(methodCall.getMethodType());
+    }
+
+    /**
+     * @param type The method type to test.
+     * @return Every matcher of this set that matches the method, in the order the set was created with.
+     */
+    public List<MethodMatcher> allMatches(JavaType.@Nullable Method type) {
+        if (type == null) {
+            return emptyList();
+        }
+        Candidates byName = byMethodName.get(type.getName());
+        if (byName == null && anyMethodName.isEmpty()) {
+            return emptyList();
+        }
+
+        int arity = MethodMatcher.countNamedParameterTypes(type.getParameterTypes());
+        BitSet matched = null;
+        if (byName != null) {
+            matched = allMatches(byName.withArity(arity), type, matched);
+            matched = allMatches(byName.anyArity, type, matched);
+        }
+        matched = allMatches(anyMethodName.withArity(arity), type, matched);
+        matched = allMatches(anyMethodName.anyArity, type, matched);
+        if (matched == null) {
+            return emptyList();
+        }
+
+        List<MethodMatcher> all = new ArrayList<>(matched.cardinality());
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            all.add(matchers.get(i));
+        }
+        return all;
+    }
+
+    public List<MethodMatcher> allMatches(@Nullable MethodCall methodCall) {
+        return methodCall == null ? emptyList() : allMatches(methodCall.getMethodType());
+    }
+
+    private int firstMatch(int[] candidates, JavaType.Method type, int first) {
+        for (int candidate : candidates) {
+            if (candidate >= first) {
+                break;
+            }
+            if (matchers.get(candidate).matches(type)) {
+                return candidate;
+            }
+        }
+        return first;
+    }
+
+    private @Nullable BitSet allMatches(int[] candidates, JavaType.Method type, @Nullable BitSet matched) {
+        for (int candidate : candidates) {
+            if (matchers.get(candidate).matches(type)) {
+                if (matched == null) {
+                    matched = new BitSet(matchers.size());
+                }
+                matched.set(candidate);
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Indices of the matchers that share a method name (or that all have wildcard method names),
+     * in ascending order.
+     */
+    private static class Candidates {
+        /**
+         * Matchers that match a fixed number of arguments, by that number.
+         */
+        final int[][] byArity;
+
+        /**
+         * Matchers that match a variable number of arguments.
+         */
+        final int[] anyArity;
+
+        Candidates(int[][] byArity, int[] anyArity) {
+            this.byArity = byArity;
+            this.anyArity = anyArity;
+        }
+
+        int[] withArity(int arity) {
+            return arity < byArity.length ? byArity[arity] : NONE;
+        }
+
+        boolean isEmpty() {
+            return byArity.length == 0 && anyArity.length == 0;
+        }
+    }
+
+    private static class CandidatesBuilder {
+        final List<List<Integer>> byArity = new ArrayList<>();
+        final List<Integer> anyArity = new ArrayList<>();
+
+        void add(int index, int arity) {
+            if (arity < 0) {
+                anyArity.add(index);
+                return;
+            }
+            while (byArity.size() <= arity) {
+                byArity.add(new ArrayList<>());
+            }
+            byArity.get(arity).add(index);
+        }
+
+        Candidates build() {
+            int[][] arities = new int[byArity.size()][];
+            for (int i = 0; i < arities.length; i++) {
+                arities[i] = toArray(byArity.get(i));
+            }
+            return new Candidates(arities, toArray(anyArity));
+        }
+
+        private static int[] toArray(List<Integer> indices) {
+            if (indices.isEmpty()) {
+                return NONE;
+            }
+            int[] array = new int[indices.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = indices.get(i);
+            }
+            return array;
+        }
+    }
+}
@@ -39,9 +39,11 @@
  */
 public class RemoveMethodInvocationsVisitor extends JavaVisitor<ExecutionContext> {
     private final Map<MethodMatcher, Predicate<List<Expression>>> matchers;
+    private final MethodMatcherSet matcherSet;
 
     public RemoveMethodInvocationsVisitor(Map<MethodMatcher, Predicate<List<Expression>>> matchers) {
         this.matchers = matchers;
+        this.matcherSet = new MethodMatcherSet(matchers.keySet());
     }
 
     public RemoveMethodInvocationsVisitor(List<String> methodSignatures) {
@@ -87,7 +89,7 @@ public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx)
 
         boolean isStatement = isStatement();
 
-        if (matchers.entrySet().stream().anyMatch(entry -> matches(m, entry.getKey(), entry.getValue()))) {
+        if (matches(m)) {
             boolean hasSameReturnType = m.getSelect() != null && TypeUtils.isAssignableTo(m.getMethodType().getReturnType(), m.getSelect().getType());
             boolean removable = ((isStatement || isStatic) && depth == 0) || hasSameReturnType;
             if (!removable) {
@@ -127,8 +129,13 @@ public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx)
         return method;
     }
 
-    private boolean matches(J.MethodInvocation m, MethodMatcher matcher, Predicate<List<Expression>> argsMatches) {
-        return matcher.matches(m) && argsMatches.test(m.getArguments());
+    private boolean matches(J.MethodInvocation m) {
+        for (MethodMatcher matcher : matcherSet.allMatches(m)) {
+            if (matchers.get(matcher).test(m.getArguments())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private boolean isStatement() {
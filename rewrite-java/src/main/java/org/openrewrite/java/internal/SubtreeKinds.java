@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Tree;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+
+import java.lang.reflect.Modifier;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A summary of the kinds of {@link J} elements contained in every subtree of an LST, so that a
+ * traversal interested in only some kinds can skip subtrees that contain none of them.
+ * <p>
+ * Each concrete {@link J} type is a kind with its own bit in a <code>long</code>, except that kinds
+ * beyond the 63rd share the last bit. A subtree's summary is the union of its own kind and those of
+ * everything a {@link JavaVisitor} would visit beneath it, Javadoc references included. Trees of
+ * other languages built on {@link J} (e.g. Kotlin or Groovy elements) summarize as containing every
+ * kind, since they are traversed by other visitors.
+ * <p>
+ * LSTs are immutable, so the summary of a tree is computed once and shared by all the visitors
+ * that visit it. Summaries are held weakly by the root of the tree, and only refer to the subtrees
+ * beneath it, so they don't keep the root reachable and are collected along with it.
+ */
+public class SubtreeKinds {
+    public static final long ALL = -1L;
+
+    private static final AtomicInteger nextKind = new AtomicInteger();
+
+    private static final ClassValue<Long> KINDS = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            int kind = nextKind.getAndIncrement();
+            return kind < 63 ? 1L << kind : 1L << 63;
+        }
+    };
+
+    /**
+     * Whether a type is one of the {@link J} elements, including those nested in other elements like
+     * {@link J.VariableDeclarations.NamedVariable}, rather than an element of another language.
+     */
+    private static final ClassValue<Boolean> IS_JAVA = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type.getEnclosingClass(); c != null; c = c.getEnclosingClass()) {
+                if (c == J.class) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    };
+
+    private static final Cache<J, SubtreeKinds> summaries = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(1_000)
+            .build();
+
+    /**
+     * The kinds contained in each subtree beneath the root, which the root itself is left out of.
+     */
+    private final Map<J, Long> kinds;
+
+    private SubtreeKinds(J root) {
+        this.kinds = new IdentityHashMap<>();
+        new Summarizer(kinds).visit(root, new long[1]);
+        kinds.remove(root);
+    }
+
+    /**
+     * @param root The root of an LST.
+     * @return The summaries of all subtrees of the root.
+     */
+    public static SubtreeKinds of(J root) {
+        return summaries.get(root, SubtreeKinds::new);
+    }
+
+    /**
+     * @param types Types of {@link J} elements.
+     * @return The kinds of elements of those types, or {@link #ALL} if one of them is an
+     * interface or abstract type that isn't itself a kind.
+     */
+    @SafeVarargs
+    public static long kindsOf(Class<? extends J>... types) {
+        long kinds = 0;
+        for (Class<? extends J> type : types) {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                return ALL;
+            }
+            kinds |= KINDS.get(type);
+        }
+        return kinds;
+    }
+
+    /**
+     * @param subtree A subtree beneath the root.
+     * @param kinds   The kinds to look for.
+     * @return <code>false</code> only if the subtree is known to contain none of the kinds.
+     */
+    public boolean mayContain(J subtree, long kinds) {
+        Long contained = this.kinds.get(subtree);
+        return contained == null || (contained & kinds) != 0;
+    }
+
+    private static class Summarizer extends JavaVisitor<long[]> {
+        private final Map<J, Long> kinds;
+
+        Summarizer(Map<J, Long> kinds) {
+            this.kinds = kinds;
+            useCursorStack(true);
+        }
+
+        @Override
+        public @Nullable J visit(@Nullable Tree tree, long[] contained) {
+            if (!(tree instanceof J)) {
+                return super.visit(tree, contained);
+            }
+            J j = (J) tree;
+            Long known = kinds.get(j);
+            if (known == null) {
+                if (IS_JAVA.get(j.getClass())) {
+                    long[] subtree = {KINDS.get(j.getClass())};
+                    super.visit(j, subtree);
+                    known = subtree[0];
+                } else {
+                    known = ALL;
+                }
+                kinds.put(j, known);
+            }
+            contained[0] |= known;
+            return j;
+        }
+    }
+}
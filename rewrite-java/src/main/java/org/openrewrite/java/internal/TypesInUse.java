@@ -15,16 +15,18 @@
  */
 package org.openrewrite.java.internal;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
+import org.openrewrite.Tree;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaSourceFile;
-import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.*;
 
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Objects;
 import java.util.Set;
@@ -34,6 +36,16 @@
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 @Getter
 public class TypesInUse {
+    /**
+     * Summaries of the members of class bodies. LSTs are immutable and an edit only replaces the elements
+     * on the path from the root to what changed, so after an edit most members of the new compilation unit
+     * are the same instances as before, and their summaries don't need to be computed again.
+     */
+    private static final Cache<J, MemberSummary> memberSummaries = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(100_000)
+            .build();
+
     private final JavaSourceFile cu;
     private final Set<JavaType> typesInUse;
     private final Set<JavaType.Method> declaredMethods;
@@ -41,7 +53,11 @@ public class TypesInUse {
     private final Set<JavaType.Variable> variables;
 
     public static TypesInUse build(JavaSourceFile cu) {
-        FindTypesInUse findTypesInUse = new FindTypesInUse();
+        // members of other languages' class bodies may need their visitor adapted, so only
+        // Java compilation units reuse member summaries
+        FindTypesInUse findTypesInUse = cu instanceof J.CompilationUnit ?
+                new IncrementalFindTypesInUse() :
+                new FindTypesInUse();
         findTypesInUse.visit(cu, 0);
         return new TypesInUse(cu,
                 findTypesInUse.getTypes(),
@@ -108,4 +124,54 @@ public J.Lambda.Parameters visitLambdaParameters(J.Lambda.Parameters parameters,
             return javaType;
         }
     }
+
+    /**
+     * Reuses the summaries of class body members that have been summarized before, rather than visiting them.
+     * A member's types only depend on the member itself, so the summary of a member is the same in every
+     * compilation unit that contains that member.
+     */
+    private static class IncrementalFindTypesInUse extends FindTypesInUse {
+        @Override
+        public @Nullable J visit(@Nullable Tree tree, Integer p) {
+            if (tree instanceof Statement && isClassBodyMember()) {
+                Cursor parent = getCursor();
+                memberSummaries.get((J) tree, member -> new MemberSummary(member, parent)).addTo(this);
+                return (J) tree;
+            }
+            return super.visit(tree, p);
+        }
+
+        private boolean isClassBodyMember() {
+            Cursor padding = getCursor();
+            Cursor body = padding.getParent();
+            if (!(padding.getValue() instanceof JRightPadded) || body == null || !(body.getValue() instanceof J.Block)) {
+                return false;
+            }
+            Cursor classDecl = body.getParent();
+            return classDecl != null && classDecl.getValue() instanceof J.ClassDeclaration;
+        }
+    }
+
+    private static class MemberSummary {
+        private final JavaType[] types;
+        private final JavaType.Method[] declaredMethods;
+        private final JavaType.Method[] usedMethods;
+        private final JavaType.Variable[] variables;
+
+        MemberSummary(J member, Cursor parent) {
+            FindTypesInUse findTypesInUse = new FindTypesInUse();
+            findTypesInUse.visit(member, 0, parent);
+            this.types = findTypesInUse.getTypes().toArray(new JavaType[0]);
+            this.declaredMethods = findTypesInUse.getDeclaredMethods().toArray(new JavaType.Method[0]);
+            this.usedMethods = findTypesInUse.getUsedMethods().toArray(new JavaType.Method[0]);
+            this.variables = findTypesInUse.getVariables().toArray(new JavaType.Variable[0]);
+        }
+
+        void addTo(FindTypesInUse findTypesInUse) {
+            Collections.addAll(findTypesInUse.getTypes(), types);
+            Collections.addAll(findTypesInUse.getDeclaredMethods(), declaredMethods);
+            Collections.addAll(findTypesInUse.getUsedMethods(), usedMethods);
+            Collections.addAll(findTypesInUse.getVariables(), variables);
+        }
+    }
 }
@@ -88,6 +88,37 @@ public String template(Cursor cursor, String template, Collection<JavaType.Gener
                 });
     }
 
+    /**
+     * A key for the context-free stub of a template that is computed without generating the stub. Besides the
+     * template itself, the stub only depends on the kinds of the tree being replaced and of the trees enclosing
+     * it, the type variables, the bind type and the imports.
+     */
+    public Object contextFreeCacheKey(Cursor cursor, Collection<JavaType.GenericTypeVariable> typeVariables, Space.Location location) {
+        J j = cursor.getValue();
+        Cursor parent = next(cursor);
+        List<Object> key = new ArrayList<>();
+        key.add(getClass());
+        key.add(location);
+        key.add(j.getClass());
+        key.add(parent.getValue().getClass());
+        key.add(parent.getParent() == null ? null : parent.getParent().getValue().getClass());
+        if (j instanceof J.MethodInvocation) {
+            JavaType.Method methodType = ((J.MethodInvocation) j).getMethodType();
+            key.add(methodType == null || methodType.getReturnType() != JavaType.Primitive.Void);
+        } else if (j instanceof J.MethodDeclaration && location == Space.Location.BLOCK_PREFIX) {
+            J.MethodDeclaration m = ((J.MethodDeclaration) j).withBody(null).withLeadingAnnotations(emptyList()).withPrefix(Space.EMPTY);
+            key.add(m.printTrimmed(cursor.getParentOrThrow()).trim());
+        }
+        List<String> genericTypes = new ArrayList<>(typeVariables.size());
+        for (JavaType.GenericTypeVariable typeVariable : typeVariables) {
+            genericTypes.add(TypeUtils.toGenericTypeString(typeVariable));
+        }
+        key.add(genericTypes);
+        key.add(bindType);
+        key.add(new ArrayList<>(imports));
+        return key;
+    }
+
     public <J2 extends J> List<J2> listTemplatedTrees(JavaSourceFile cu, Class<J2> expected) {
         List<J2> js = new ArrayList<>();
 
@@ -15,10 +15,14 @@
  */
 package org.openrewrite.java.internal.template;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.Value;
 import org.intellij.lang.annotations.Language;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
@@ -33,16 +37,26 @@
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.function.UnaryOperator;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
-import static java.util.stream.Collectors.toList;
 
 public class JavaTemplateParser {
     private static final PropertyPlaceholderHelper placeholderHelper = new PropertyPlaceholderHelper("#{", "}", null);
 
-    private static final String TEMPLATE_CACHE_MESSAGE_KEY = "__org.openrewrite.java.internal.template.JavaTemplateParser.cache__";
+    /**
+     * The LST elements parsed from template stubs, shared by all templates of this process. Entries are keyed
+     * by the inputs a stub is generated from rather than by the stub itself, so that a stub is only generated
+     * on a miss. Parsing a stub otherwise only depends on the parser's classpath and language level, so entries
+     * are reused across recipes, cycles and repositories.
+     */
+    private static final Cache<TemplateCacheKey, List<? extends J>> templateCache = CaffeineCacheMetrics.monitor(
+            Metrics.globalRegistry,
+            Caffeine.newBuilder()
+                    .maximumSize(10_000)
+                    .recordStats()
+                    .build(),
+            "JavaTemplate stubs");
 
     private static final String PACKAGE_STUB = "package #{}; class $Template {}";
     private static final String PARAMETER_STUB = "abstract class $Template { abstract void $template(#{}); }";
@@ -63,6 +77,9 @@ public class JavaTemplateParser {
     private final BlockStatementTemplateGenerator statementTemplateGenerator;
     private final AnnotationTemplateGenerator annotationTemplateGenerator;
 
+    @Nullable
+    private Object parserIdentity;
+
     public JavaTemplateParser(boolean contextSensitive, Parser.Builder parser, Consumer<String> onAfterVariableSubstitution,
                               Consumer<String> onBeforeParseTemplate, Set<String> imports, String bindType) {
         this(
@@ -86,22 +103,21 @@ protected JavaTemplateParser(Parser.Builder parser, Consumer<String> onAfterVari
         this.annotationTemplateGenerator = annotationTemplateGenerator;
     }
 
+    public boolean isContextSensitive() {
+        return contextSensitive;
+    }
+
     public List<Statement> parseParameters(Cursor cursor, String template) {
-        @Language("java") String stub = addImports(substitute(PARAMETER_STUB, template));
-        onBeforeParseTemplate.accept(stub);
-        return cache(cursor, stub, () -> {
-            JavaSourceFile cu = compileTemplate(stub);
+        return cache(PARAMETER_STUB, template, Statement.class, () -> {
+            JavaSourceFile cu = compileTemplate(addImports(substitute(PARAMETER_STUB, template)));
             J.MethodDeclaration m = (J.MethodDeclaration) cu.getClasses().get(0).getBody().getStatements().get(0);
             return m.getParameters();
         });
     }
 
     public J.Lambda.Parameters parseLambdaParameters(Cursor cursor, String template) {
-        @Language("java") String stub = addImports(substitute(LAMBDA_PARAMETER_STUB, template));
-        onBeforeParseTemplate.accept(stub);
-
-        return (J.Lambda.Parameters) cache(cursor, stub, () -> {
-            JavaSourceFile cu = compileTemplate(stub);
+        return (J.Lambda.Parameters) cache(LAMBDA_PARAMETER_STUB, template, J.Lambda.Parameters.class, () -> {
+            JavaSourceFile cu = compileTemplate(addImports(substitute(LAMBDA_PARAMETER_STUB, template)));
             J.Block b = (J.Block) cu.getClasses().get(0).getBody().getStatements().get(0);
             J.VariableDeclarations v = (J.VariableDeclarations) b.getStatements().get(0);
             J.Lambda l = (J.Lambda) v.getVariables().get(0).getInitializer();
@@ -111,21 +127,14 @@ public J.Lambda.Parameters parseLambdaParameters(Cursor cursor, String template)
     }
 
     public J parseExpression(Cursor cursor, String template, Collection<JavaType.GenericTypeVariable> typeVariables, Space.Location location) {
-        return cacheIfContextFree(cursor, new ContextFreeCacheKey(template, typeVariables.stream().map(TypeUtils::toGenericTypeString).sorted().collect(toList()), Expression.class, imports),
-                tmpl -> statementTemplateGenerator.template(cursor, tmpl, typeVariables, location, JavaCoordinates.Mode.REPLACEMENT),
-                stub -> {
-                    onBeforeParseTemplate.accept(stub);
-                    JavaSourceFile cu = compileTemplate(stub);
-                    return statementTemplateGenerator.listTemplatedTrees(cu, Expression.class);
-                }).get(0);
+        return cacheIfContextFree(cursor, template, typeVariables, location, Expression.class,
+                () -> statementTemplateGenerator.template(cursor, template, typeVariables, location, JavaCoordinates.Mode.REPLACEMENT),
+                stub -> statementTemplateGenerator.listTemplatedTrees(compileTemplate(stub), Expression.class)).get(0);
     }
 
     public TypeTree parseExtends(Cursor cursor, String template) {
-        @Language("java") String stub = addImports(substitute(EXTENDS_STUB, template));
-        onBeforeParseTemplate.accept(stub);
-
-        return (TypeTree) cache(cursor, stub, () -> {
-            JavaSourceFile cu = compileTemplate(stub);
+        return (TypeTree) cache(EXTENDS_STUB, template, TypeTree.class, () -> {
+            JavaSourceFile cu = compileTemplate(addImports(substitute(EXTENDS_STUB, template)));
             TypeTree anExtends = cu.getClasses().get(0).getExtends();
             assert anExtends != null;
             return singletonList(anExtends);
@@ -133,10 +142,8 @@ public TypeTree parseExtends(Cursor cursor, String template) {
     }
 
     public List<TypeTree> parseImplements(Cursor cursor, String template) {
-        @Language("java") String stub = addImports(substitute(IMPLEMENTS_STUB, template));
-        onBeforeParseTemplate.accept(stub);
-        return cache(cursor, stub, () -> {
-            JavaSourceFile cu = compileTemplate(stub);
+        return cache(IMPLEMENTS_STUB, template, TypeTree.class, () -> {
+            JavaSourceFile cu = compileTemplate(addImports(substitute(IMPLEMENTS_STUB, template)));
             List<TypeTree> anImplements = cu.getClasses().get(0).getImplements();
             assert anImplements != null;
             return anImplements;
@@ -144,10 +151,8 @@ public List<TypeTree> parseImplements(Cursor cursor, String template) {
     }
 
     public List<NameTree> parseThrows(Cursor cursor, String template) {
-        @Language("java") String stub = addImports(substitute(THROWS_STUB, template));
-        onBeforeParseTemplate.accept(stub);
-        return cache(cursor, stub, () -> {
-            JavaSourceFile cu = compileTemplate(stub);
+        return cache(THROWS_STUB, template, NameTree.class, () -> {
+            JavaSourceFile cu = compileTemplate(addImports(substitute(THROWS_STUB, template)));
             J.MethodDeclaration m = (J.MethodDeclaration) cu.getClasses().get(0).getBody().getStatements().get(0);
             List<NameTree> aThrows = m.getThrows();
             assert aThrows != null;
@@ -156,10 +161,8 @@ public List<NameTree> parseThrows(Cursor cursor, String template) {
     }
 
     public List<J.TypeParameter> parseTypeParameters(Cursor cursor, String template) {
-        @Language("java") String stub = addImports(substitute(TYPE_PARAMS_STUB, template));
-        onBeforeParseTemplate.accept(stub);
-        return cache(cursor, stub, () -> {
-            JavaSourceFile cu = compileTemplate(stub);
+        return cache(TYPE_PARAMS_STUB, template, J.TypeParameter.class, () -> {
+            JavaSourceFile cu = compileTemplate(addImports(substitute(TYPE_PARAMS_STUB, template)));
             List<J.TypeParameter> tps = cu.getClasses().get(0).getTypeParameters();
             assert tps != null;
             return tps;
@@ -171,14 +174,9 @@ public <J2 extends J> List<J2> parseBlockStatements(Cursor cursor, Class<J2> exp
                                                         Collection<JavaType.GenericTypeVariable> typeVariables,
                                                         Space.Location location,
                                                         JavaCoordinates.Mode mode) {
-        return cacheIfContextFree(cursor,
-                new ContextFreeCacheKey(template, typeVariables.stream().map(TypeUtils::toGenericTypeString).sorted().collect(toList()), expected, imports),
-                tmpl -> statementTemplateGenerator.template(cursor, tmpl, typeVariables, location, mode),
-                stub -> {
-                    onBeforeParseTemplate.accept(stub);
-                    JavaSourceFile cu = compileTemplate(stub);
-                    return statementTemplateGenerator.listTemplatedTrees(cu, expected);
-                });
+        return cacheIfContextFree(cursor, template, typeVariables, location, expected,
+                () -> statementTemplateGenerator.template(cursor, template, typeVariables, location, mode),
+                stub -> statementTemplateGenerator.listTemplatedTrees(compileTemplate(stub), expected));
     }
 
     public J.MethodInvocation parseMethod(Cursor cursor, String template, Collection<JavaType.GenericTypeVariable> typeVariables, Space.Location location) {
@@ -189,28 +187,25 @@ public J.MethodInvocation parseMethod(Cursor cursor, String template, Collection
         } else {
             methodWithReplacedNameAndArgs = method.getSelect().print(cursor) + "." + template;
         }
-        // TODO: The stub string includes the scoped elements of each original AST, and therefore is not a good
-        //       cache key. There are virtual no cases where a stub key will result in re-use. If we can come up with
-        //       a safe, reusable key, we can consider using the cache for block statements.
-        @Language("java") String stub = statementTemplateGenerator.template(cursor, methodWithReplacedNameAndArgs, typeVariables, location, JavaCoordinates.Mode.REPLACEMENT);
-        onBeforeParseTemplate.accept(stub);
-        JavaSourceFile cu = compileTemplate(stub);
-        return (J.MethodInvocation) statementTemplateGenerator
-                .listTemplatedTrees(cu, Statement.class).get(0);
+        return parseMethodStub(cursor, methodWithReplacedNameAndArgs, typeVariables, location);
     }
 
     public J.MethodInvocation parseMethodArguments(Cursor cursor, String template, Collection<JavaType.GenericTypeVariable> typeVariables, Space.Location location) {
         J.MethodInvocation method = cursor.getValue();
         String methodWithReplacementArgs = method.withArguments(emptyList()).printTrimmed(cursor.getParentOrThrow())
                 .replaceAll("\\)$", template + (isStatement(cursor) ? ");" : ")"));
-        // TODO: The stub string includes the scoped elements of each original AST, and therefore is not a good
-        //       cache key. There are virtual no cases where a stub key will result in re-use. If we can come up with
-        //       a safe, reusable key, we can consider using the cache for block statements.
-        @Language("java") String stub = statementTemplateGenerator.template(cursor, methodWithReplacementArgs, typeVariables, location, JavaCoordinates.Mode.REPLACEMENT);
-        onBeforeParseTemplate.accept(stub);
-        JavaSourceFile cu = compileTemplate(stub);
-        return (J.MethodInvocation) statementTemplateGenerator
-                .listTemplatedTrees(cu, Statement.class).get(0);
+        return parseMethodStub(cursor, methodWithReplacementArgs, typeVariables, location);
+    }
+
+    /**
+     * The stub of a context-sensitive template includes the scoped elements of each original AST, so that it
+     * is hardly ever the same twice. A context-free stub only contains the method invocation itself and is cached.
+     */
+    private J.MethodInvocation parseMethodStub(Cursor cursor, String invocation,
+                                               Collection<JavaType.GenericTypeVariable> typeVariables, Space.Location location) {
+        return (J.MethodInvocation) cacheIfContextFree(cursor, invocation, typeVariables, location, J.MethodInvocation.class,
+                () -> statementTemplateGenerator.template(cursor, invocation, typeVariables, location, JavaCoordinates.Mode.REPLACEMENT),
+                stub -> singletonList(statementTemplateGenerator.listTemplatedTrees(compileTemplate(stub), Statement.class).get(0))).get(0);
     }
 
     private boolean isStatement(Cursor cursor) {
@@ -227,21 +222,13 @@ private boolean isStatement(Cursor cursor) {
     }
 
     public List<J.Annotation> parseAnnotations(Cursor cursor, String template) {
-        String cacheKey = addImports(annotationTemplateGenerator.cacheKey(cursor, template));
-        return cache(cursor, cacheKey, () -> {
-            @Language("java") String stub = annotationTemplateGenerator.template(cursor, template);
-            onBeforeParseTemplate.accept(stub);
-            JavaSourceFile cu = compileTemplate(stub);
-            return annotationTemplateGenerator.listAnnotations(cu);
-        });
+        return cache(annotationTemplateGenerator.cacheKey(cursor, template), template, J.Annotation.class, () ->
+                annotationTemplateGenerator.listAnnotations(compileTemplate(annotationTemplateGenerator.template(cursor, template))));
     }
 
     public Expression parsePackage(Cursor cursor, String template) {
-        @Language("java") String stub = substitute(PACKAGE_STUB, template);
-        onBeforeParseTemplate.accept(stub);
-
-        return (Expression) cache(cursor, stub, () -> {
-            JavaSourceFile cu = compileTemplate(stub);
+        return (Expression) cache(PACKAGE_STUB, template, Expression.class, () -> {
+            JavaSourceFile cu = compileTemplate(substitute(PACKAGE_STUB, template));
             @SuppressWarnings("ConstantConditions") Expression expression = cu.getPackageDeclaration()
                     .getExpression();
             return singletonList(expression);
@@ -267,6 +254,7 @@ private String addImports(String stub) {
     }
 
     private JavaSourceFile compileTemplate(@Language("java") String stub) {
+        onBeforeParseTemplate.accept(stub);
         ExecutionContext ctx = new InMemoryExecutionContext();
         ctx.putMessage(JavaParser.SKIP_SOURCE_SET_TYPE_GENERATION, true);
         ctx.putMessage(ExecutionContext.REQUIRE_PRINT_EQUALS_INPUT, false);
@@ -303,39 +291,40 @@ private static Optional<JavaSourceFile> getJavaSourceFile(@Language("java") Stri
      * The statement `class A{}` is typically not context free because it
      *
      * @param cursor     indicates whether the stub is context free or not
+     * @param template   the template the stub is generated from, along with any other input specific to the caller
+     * @param expected   the type of LST elements that are produced from the stub
+     * @param stub       generates the stub, which is only done when it has to be parsed
      * @param treeMapper supplies the LST elements produced from the stub
      * @return result of parsing the stub into LST elements
      */
-    private <J2 extends J> List<J2> cacheIfContextFree(Cursor cursor, ContextFreeCacheKey key,
-                                                       UnaryOperator<String> stubMapper,
+    @SuppressWarnings("unchecked")
+    private <J2 extends J> List<J2> cacheIfContextFree(Cursor cursor, String template,
+                                                       Collection<JavaType.GenericTypeVariable> typeVariables,
+                                                       Space.Location location, Class<?> expected,
+                                                       Supplier<String> stub,
                                                        Function<String, List<? extends J>> treeMapper) {
         if (cursor.getParent() == null) {
             throw new IllegalArgumentException("Expecting `cursor` to have a parent element");
         }
         if (!contextSensitive) {
-            return cache(cursor, key, () -> treeMapper.apply(stubMapper.apply(key.getTemplate())));
+            return cache(statementTemplateGenerator.contextFreeCacheKey(cursor, typeVariables, location), template, expected,
+                    () -> treeMapper.apply(stub.get()));
         }
-        //noinspection unchecked
-        return (List<J2>) treeMapper.apply(stubMapper.apply(key.getTemplate()));
+        return (List<J2>) treeMapper.apply(stub.get());
     }
 
+    /**
+     * @param shape    the inputs other than the template that the stub is generated from
+     * @param template the template the stub is generated from
+     */
     @SuppressWarnings("unchecked")
-    private <J2 extends J> List<J2> cache(Cursor cursor, Object key, Supplier<List<? extends J>> ifAbsent) {
-        List<J2> js = null;
-
+    private <J2 extends J> List<J2> cache(Object shape, String template, Class<?> expected, Supplier<List<? extends J>> ifAbsent) {
         Timer.Sample sample = Timer.start();
-        Cursor root = cursor.getRoot();
-        Map<Object, List<J2>> cache = root.getMessage(TEMPLATE_CACHE_MESSAGE_KEY);
-        if (cache == null) {
-            cache = new HashMap<>();
-            root.putMessage(TEMPLATE_CACHE_MESSAGE_KEY, cache);
-        } else {
-            js = cache.get(key);
-        }
-
+        TemplateCacheKey key = new TemplateCacheKey(shape, template, imports, expected, parserIdentity());
+        List<? extends J> js = templateCache.getIfPresent(key);
         if (js == null) {
-            js = (List<J2>) ifAbsent.get();
-            cache.put(key, js);
+            js = ifAbsent.get();
+            templateCache.put(key, js);
             sample.stop(Timer.builder("rewrite.template.cache").tag("result", "miss")
                     .register(Metrics.globalRegistry));
         } else {
@@ -343,14 +332,28 @@ private <J2 extends J> List<J2> cache(Cursor cursor, Object key, Supplier<List<?
                     .register(Metrics.globalRegistry));
         }
 
-        return ListUtils.map(js, j -> (J2) new RandomizeIdVisitor<Integer>().visit(j, 0));
+        return ListUtils.map((List<J2>) js, j -> (J2) new RandomizeIdVisitor<Integer>().visit(j, 0));
+    }
+
+    /**
+     * Parsers that resolve types from the same classpath at the same language level parse a stub to the same
+     * LST elements. Other parsers than the Java parser only share cached stubs with templates of their own.
+     */
+    private Object parserIdentity() {
+        if (parserIdentity == null) {
+            parserIdentity = parser instanceof JavaParser.Builder ?
+                    ((JavaParser.Builder<?, ?>) parser).getClasspathIdentity() :
+                    parser;
+        }
+        return parserIdentity;
     }
 
     @Value
-    private static class ContextFreeCacheKey {
+    private static class TemplateCacheKey {
+        Object shape;
         String template;
-        List<String> typeVariables;
-        Class<? extends J> expected;
         Set<String> imports;
+        Class<?> expected;
+        Object parser;
     }
 }
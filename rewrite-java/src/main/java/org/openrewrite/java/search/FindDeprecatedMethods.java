@@ -101,49 +101,61 @@ public J visit(Tree tree, ExecutionContext ctx) {
                 }
                 return (J) tree;
             }
-        }, new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-                J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
-                if (method.getMethodType() != null) {
-                    for (JavaType.FullyQualified annotation : method.getMethodType().getAnnotations()) {
-                        if ((methodMatcher == null || methodMatcher.matches(method)) && TypeUtils.isOfClassType(annotation, "java.lang.Deprecated")) {
-                            if (Boolean.TRUE.equals(ignoreDeprecatedScopes)) {
-                                Iterator<Cursor> cursorPath = getCursor().getPathAsCursors();
-                                while (cursorPath.hasNext()) {
-                                    Cursor ancestor = cursorPath.next();
-                                    if (ancestor.getValue() instanceof J.MethodDeclaration && isDeprecated(ancestor)) {
-                                        return m;
-                                    }
-                                    if (ancestor.getValue() instanceof J.ClassDeclaration && isDeprecated(ancestor)) {
-                                        return m;
-                                    }
+        }, new DeprecatedMethodCalls(methodMatcher));
+    }
+
+    /**
+     * Only method invocations are visited, so subtrees without any are skipped.
+     */
+    class DeprecatedMethodCalls extends JavaIsoVisitor<ExecutionContext> {
+        private final @Nullable MethodMatcher methodMatcher;
+
+        DeprecatedMethodCalls(@Nullable MethodMatcher methodMatcher) {
+            super(J.MethodInvocation.class);
+            this.methodMatcher = methodMatcher;
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+            if (method.getMethodType() != null) {
+                for (JavaType.FullyQualified annotation : method.getMethodType().getAnnotations()) {
+                    if ((methodMatcher == null || methodMatcher.matches(method)) && TypeUtils.isOfClassType(annotation, "java.lang.Deprecated")) {
+                        if (Boolean.TRUE.equals(ignoreDeprecatedScopes)) {
+                            Iterator<Cursor> cursorPath = getCursor().getPathAsCursors();
+                            while (cursorPath.hasNext()) {
+                                Cursor ancestor = cursorPath.next();
+                                if (ancestor.getValue() instanceof J.MethodDeclaration && isDeprecated(ancestor)) {
+                                    return m;
+                                }
+                                if (ancestor.getValue() instanceof J.ClassDeclaration && isDeprecated(ancestor)) {
+                                    return m;
                                 }
                             }
+                        }
 
-                            JavaSourceFile javaSourceFile = getCursor().firstEnclosing(JavaSourceFile.class);
-                            if (javaSourceFile != null) {
-                                deprecatedMethodCalls.insertRow(ctx, new MethodCalls.Row(
-                                        javaSourceFile.getSourcePath().toString(),
-                                        method.printTrimmed(getCursor().getParentTreeCursor()),
-                                        method.getMethodType().getDeclaringType().getFullyQualifiedName(),
-                                        method.getSimpleName(),
-                                        method.getArguments().stream()
-                                                .map(Expression::getType)
-                                                .map(String::valueOf)
-                                                .collect(joining(", "))
-                                ));
-                            }
-                            m = SearchResult.found(m);
+                        JavaSourceFile javaSourceFile = getCursor().firstEnclosing(JavaSourceFile.class);
+                        if (javaSourceFile != null) {
+                            deprecatedMethodCalls.insertRow(ctx, new MethodCalls.Row(
+                                    javaSourceFile.getSourcePath().toString(),
+                                    method.printTrimmed(getCursor().getParentTreeCursor()),
+                                    method.getMethodType().getDeclaringType().getFullyQualifiedName(),
+                                    method.getSimpleName(),
+                                    method.getArguments().stream()
+                                            .map(Expression::getType)
+                                            .map(String::valueOf)
+                                            .collect(joining(", "))
+                            ));
                         }
+                        m = SearchResult.found(m);
                     }
                 }
-                return m;
             }
+            return m;
+        }
 
-            private boolean isDeprecated(Cursor cursor) {
-                return service(AnnotationService.class).matches(cursor, DEPRECATED_MATCHER);
-            }
-        });
+        private boolean isDeprecated(Cursor cursor) {
+            return service(AnnotationService.class).matches(cursor, DEPRECATED_MATCHER);
+        }
     }
 }
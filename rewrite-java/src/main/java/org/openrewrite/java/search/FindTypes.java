@@ -164,18 +164,21 @@ private class JavaSourceFileVisitor extends JavaVisitor<ExecutionContext> {
 
         public JavaSourceFileVisitor(Pattern fullyQualifiedType) {
             this.fullyQualifiedType = fullyQualifiedType;
+            useCursorStack(true);
         }
 
         @Override
         public J visitIdentifier(J.Identifier ident, ExecutionContext ctx) {
-            if (ident.getType() != null &&
-                getCursor().firstEnclosing(J.Import.class) == null &&
-                getCursor().firstEnclosing(J.FieldAccess.class) == null &&
-                !(getCursor().getParentOrThrow().getValue() instanceof J.ParameterizedType) &&
-                !(getCursor().getParentOrThrow().getValue() instanceof J.ArrayType)) {
+            if (ident.getType() != null) {
+                // only look at the cursor for identifiers of a matching type, so the cursor
+                // stack doesn't have to materialize a cursor for every identifier
                 JavaType.FullyQualified type = TypeUtils.asFullyQualified(ident.getType());
                 if (typeMatches(Boolean.TRUE.equals(checkAssignability), fullyQualifiedType, type) &&
-                    ident.getSimpleName().equals(type.getClassName())) {
+                    ident.getSimpleName().equals(type.getClassName()) &&
+                    getCursor().firstEnclosing(J.Import.class) == null &&
+                    getCursor().firstEnclosing(J.FieldAccess.class) == null &&
+                    !(getCursor().getParentOrThrow().getValue() instanceof J.ParameterizedType) &&
+                    !(getCursor().getParentOrThrow().getValue() instanceof J.ArrayType)) {
                     return found(ident, ctx);
                 }
             }
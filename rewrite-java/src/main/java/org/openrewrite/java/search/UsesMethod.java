@@ -26,6 +26,7 @@
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeHierarchyIndex;
 import org.openrewrite.marker.Marker;
 import org.openrewrite.marker.SearchResult;
 
@@ -64,12 +65,14 @@ private UsesMethod(MethodMatcher methodMatcher, String methodPattern) {
     public J visit(@Nullable Tree tree, P p) {
         if (tree instanceof JavaSourceFile) {
             JavaSourceFile cu = (JavaSourceFile) tree;
-            for (JavaType.Method type : cu.getTypesInUse().getUsedMethods()) {
-                if (methodMatcher.matches(type)) {
-                    return found(cu);
+            return TypeHierarchyIndex.using(p, cu, () -> {
+                for (JavaType.Method type : cu.getTypesInUse().getUsedMethods()) {
+                    if (methodMatcher.matches(type)) {
+                        return found(cu);
+                    }
                 }
-            }
-            return (J) tree;
+                return cu;
+            });
         }
         return super.visit(tree, p);
     }
@@ -26,6 +26,7 @@
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeHierarchyIndex;
 import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.trait.Reference;
@@ -33,8 +34,6 @@
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
-import static java.util.Objects.requireNonNull;
-
 public class UsesType<P> extends TreeVisitor<Tree, P> {
 
     @Nullable
@@ -89,50 +88,54 @@ public boolean isAcceptable(SourceFile sourceFile, P p) {
     @Override
     public @Nullable Tree visit(@Nullable Tree tree, P p) {
         if (tree instanceof JavaSourceFile) {
-            JavaSourceFile cu = (JavaSourceFile) requireNonNull(tree);
-            JavaSourceFile c = cu;
+            return TypeHierarchyIndex.using(p, (JavaSourceFile) tree, () -> visitJavaSourceFile((JavaSourceFile) tree));
+        } else if (tree instanceof SourceFileWithReferences) {
+            SourceFileWithReferences sourceFile = (SourceFileWithReferences) tree;
+            SourceFileWithReferences.References references = sourceFile.getReferences();
+            for (Reference ignored : references.findMatches(referenceMatcher)) {
+                return SearchResult.found(sourceFile);
+            }
+        }
+        return tree;
+    }
+
+    private JavaSourceFile visitJavaSourceFile(JavaSourceFile cu) {
+        JavaSourceFile c = cu;
+
+        for (JavaType type : c.getTypesInUse().getTypesInUse()) {
+            JavaType checkType = type instanceof JavaType.Primitive ? type : TypeUtils.asFullyQualified(type);
+            if ((c = maybeMark(c, checkType)) != cu) {
+                return c;
+            }
+        }
 
-            for (JavaType type : c.getTypesInUse().getTypesInUse()) {
-                JavaType checkType = type instanceof JavaType.Primitive ? type : TypeUtils.asFullyQualified(type);
-                if ((c = maybeMark(c, checkType)) != cu) {
+        for (J.Import anImport : c.getImports()) {
+            if (anImport.isStatic()) {
+                if ((c = maybeMark(c, TypeUtils.asFullyQualified(anImport.getQualid().getTarget().getType()))) != cu) {
                     return c;
                 }
+            } else if ((c = maybeMark(c, TypeUtils.asFullyQualified(anImport.getQualid().getType()))) != cu) {
+                return c;
             }
+        }
 
-            for (J.Import anImport : c.getImports()) {
-                if (anImport.isStatic()) {
-                    if ((c = maybeMark(c, TypeUtils.asFullyQualified(anImport.getQualid().getTarget().getType()))) != cu) {
-                        return c;
-                    }
-                } else if ((c = maybeMark(c, TypeUtils.asFullyQualified(anImport.getQualid().getType()))) != cu) {
+        if (Boolean.TRUE.equals(includeImplicit)) {
+            for (JavaType.Method method : c.getTypesInUse().getUsedMethods()) {
+                if ((c = maybeMark(c, method.getDeclaringType())) != cu) {
+                    return c;
+                }
+                if ((c = maybeMark(c, method.getReturnType())) != cu) {
                     return c;
                 }
-            }
 
-            if (Boolean.TRUE.equals(includeImplicit)) {
-                for (JavaType.Method method : c.getTypesInUse().getUsedMethods()) {
-                    if ((c = maybeMark(c, method.getDeclaringType())) != cu) {
+                for (JavaType parameterType : method.getParameterTypes()) {
+                    if ((c = maybeMark(c, parameterType)) != cu) {
                         return c;
                     }
-                    if ((c = maybeMark(c, method.getReturnType())) != cu) {
-                        return c;
-                    }
-
-                    for (JavaType parameterType : method.getParameterTypes()) {
-                        if ((c = maybeMark(c, parameterType)) != cu) {
-                            return c;
-                        }
-                    }
                 }
             }
-        } else if (tree instanceof SourceFileWithReferences) {
-            SourceFileWithReferences sourceFile = (SourceFileWithReferences) tree;
-            SourceFileWithReferences.References references = sourceFile.getReferences();
-            for (Reference ignored : references.findMatches(referenceMatcher)) {
-                return SearchResult.found(sourceFile);
-            }
         }
-        return tree;
+        return cu;
     }
 
     private JavaSourceFile maybeMark(JavaSourceFile c, @Nullable JavaType type) {
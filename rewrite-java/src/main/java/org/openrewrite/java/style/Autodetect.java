@@ -22,6 +22,7 @@
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
+import org.openrewrite.Incubating;
 import org.openrewrite.SourceFile;
 import org.openrewrite.Tree;
 import org.openrewrite.internal.ListUtils;
@@ -33,6 +34,8 @@
 import org.openrewrite.style.NamedStyles;
 import org.openrewrite.style.Style;
 
+import java.io.Serializable;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -58,11 +61,7 @@ public static Detector detector() {
     }
 
     public static class Detector {
-
-        private final IndentStatistics indentStatistics = new IndentStatistics();
-        private final SpacesStatistics spacesStatistics = new SpacesStatistics();
-        private final WrappingAndBracesStatistics wrappingAndBracesStatistics = new WrappingAndBracesStatistics();
-        private final GeneralFormatStatistics generalFormatStatistics = new GeneralFormatStatistics();
+        private final Statistics statistics = new Statistics();
 
         private final FindImportLayout findImportLayout = new FindImportLayout();
         private final FindIndentJavaVisitor findIndent = new FindIndentJavaVisitor();
@@ -79,47 +78,183 @@ public void sample(SourceFile cu) {
         }
 
         public void sampleJava(JavaSourceFile cu) {
-            findImportLayout.visitNonNull(cu, 0);
-            findIndent.visitNonNull(cu, indentStatistics);
-            findSpaces.visitNonNull(cu, spacesStatistics);
-            findWrappingAndBraces.visitNonNull(cu, wrappingAndBracesStatistics);
-            findLineFormat.visitNonNull(cu, generalFormatStatistics);
+            findImportLayout.visitNonNull(cu, statistics.importSamples);
+            findIndent.visitNonNull(cu, statistics.indentStatistics);
+            findSpaces.visitNonNull(cu, statistics.spacesStatistics);
+            findWrappingAndBraces.visitNonNull(cu, statistics.wrappingAndBracesStatistics);
+            findLineFormat.visitNonNull(cu, statistics.generalFormatStatistics);
+        }
+
+        /**
+         * Sample source files on the common fork-join pool. Each worker samples into its own detector
+         * and the results are merged in encounter order, so the detected styles are the same as if
+         * the source files had been sampled one by one.
+         *
+         * @param sourceFiles The source files to sample.
+         * @return This detector, with the samples of every source file added.
+         */
+        @Incubating(since = "8.57.0")
+        public Detector sampleInParallel(Collection<? extends SourceFile> sourceFiles) {
+            return merge(sourceFiles.parallelStream().collect(Detector::new, Detector::sample, Detector::merge));
+        }
+
+        /**
+         * Add the samples taken by another detector to this one.
+         *
+         * @param other A detector that has sampled a different set of source files.
+         * @return This detector.
+         */
+        @Incubating(since = "8.57.0")
+        public Detector merge(Detector other) {
+            statistics.merge(other.statistics);
+            return this;
         }
 
         public Autodetect build() {
             return new Autodetect(Tree.randomId(), Arrays.asList(
-                    indentStatistics.getTabsAndIndentsStyle(),
-                    findImportLayout.aggregate().getImportLayoutStyle(),
-                    spacesStatistics.getSpacesStyle(),
-                    wrappingAndBracesStatistics.getWrappingAndBracesStyle(),
-                    generalFormatStatistics.getFormatStyle()));
+                    statistics.indentStatistics.getTabsAndIndentsStyle(),
+                    statistics.importSamples.aggregate().getImportLayoutStyle(),
+                    statistics.spacesStatistics.getSpacesStyle(),
+                    statistics.wrappingAndBracesStatistics.getWrappingAndBracesStyle(),
+                    statistics.generalFormatStatistics.getFormatStyle()));
         }
 
         public TabsAndIndentsStyle getTabsAndIndentsStyle() {
-            return indentStatistics.getTabsAndIndentsStyle();
+            return statistics.indentStatistics.getTabsAndIndentsStyle();
         }
 
         public ImportLayoutStyle getImportLayoutStyle() {
-            return findImportLayout.aggregate().getImportLayoutStyle();
+            return statistics.importSamples.aggregate().getImportLayoutStyle();
         }
 
         public SpacesStyle getSpacesStyle() {
-            return spacesStatistics.getSpacesStyle();
+            return statistics.spacesStatistics.getSpacesStyle();
         }
 
         public WrappingAndBracesStyle getWrappingAndBracesStyle() {
-            return wrappingAndBracesStatistics.getWrappingAndBracesStyle();
+            return statistics.wrappingAndBracesStatistics.getWrappingAndBracesStyle();
         }
 
         public GeneralFormatStyle getFormatStyle() {
-            return generalFormatStatistics.getFormatStyle();
+            return statistics.generalFormatStatistics.getFormatStyle();
+        }
+    }
+
+    /**
+     * The samples of a source set, kept per source file so that detection can be updated when
+     * only some source files change rather than sampling the whole source set again.
+     * <p>
+     * Samples are {@link Serializable}, so they can be persisted between runs alongside whatever
+     * else is cached for the source set.
+     */
+    @Incubating(since = "8.57.0")
+    public static class Samples implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        // sorted so that the merged result doesn't depend on the order source files were (re)sampled in
+        private final Map<String, Statistics> bySourcePath = new TreeMap<>();
+
+        /**
+         * Sample a source file, replacing any earlier sample of a source file with the same path.
+         *
+         * @param sourceFile A new or changed source file.
+         * @return These samples.
+         */
+        public Samples sample(SourceFile sourceFile) {
+            Detector detector = new Detector();
+            detector.sample(sourceFile);
+            put(sourceFile, detector);
+            return this;
+        }
+
+        /**
+         * Sample source files on the common fork-join pool, replacing any earlier samples of source
+         * files with the same paths.
+         *
+         * @param sourceFiles New or changed source files.
+         * @return These samples.
+         */
+        public Samples sampleInParallel(Collection<? extends SourceFile> sourceFiles) {
+            List<Detector> detectors = sourceFiles.parallelStream()
+                    .map(sourceFile -> {
+                        Detector detector = new Detector();
+                        detector.sample(sourceFile);
+                        return detector;
+                    })
+                    .collect(toList());
+            Iterator<Detector> detector = detectors.iterator();
+            for (SourceFile sourceFile : sourceFiles) {
+                put(sourceFile, detector.next());
+            }
+            return this;
+        }
+
+        private void put(SourceFile sourceFile, Detector detector) {
+            if (sourceFile instanceof J.CompilationUnit) {
+                bySourcePath.put(sourceFile.getSourcePath().toString(), detector.statistics);
+            } else {
+                remove(sourceFile.getSourcePath());
+            }
+        }
+
+        /**
+         * @param sourcePath The path of a source file that has been deleted from the source set.
+         * @return These samples.
+         */
+        public Samples remove(Path sourcePath) {
+            bySourcePath.remove(sourcePath.toString());
+            return this;
+        }
+
+        public boolean contains(Path sourcePath) {
+            return bySourcePath.containsKey(sourcePath.toString());
+        }
+
+        /**
+         * @return A detector holding the samples of every source file in the source set.
+         */
+        public Detector detector() {
+            Detector detector = new Detector();
+            for (Statistics statistics : bySourcePath.values()) {
+                detector.statistics.merge(statistics);
+            }
+            return detector;
+        }
+
+        public Autodetect build() {
+            return detector().build();
+        }
+    }
+
+    private static class Statistics implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final ImportSamples importSamples = new ImportSamples();
+        private final IndentStatistics indentStatistics = new IndentStatistics();
+        private final SpacesStatistics spacesStatistics = new SpacesStatistics();
+        private final WrappingAndBracesStatistics wrappingAndBracesStatistics = new WrappingAndBracesStatistics();
+        private final GeneralFormatStatistics generalFormatStatistics = new GeneralFormatStatistics();
+
+        void merge(Statistics other) {
+            importSamples.merge(other.importSamples);
+            indentStatistics.merge(other.indentStatistics);
+            spacesStatistics.merge(other.spacesStatistics);
+            wrappingAndBracesStatistics.merge(other.wrappingAndBracesStatistics);
+            generalFormatStatistics.merge(other.generalFormatStatistics);
         }
     }
 
-    private static class GeneralFormatStatistics {
+    private static class GeneralFormatStatistics implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         private int linesWithCRLFNewLines = 0;
         private int linesWithLFNewLines = 0;
 
+        void merge(GeneralFormatStatistics other) {
+            linesWithCRLFNewLines += other.linesWithCRLFNewLines;
+            linesWithLFNewLines += other.linesWithLFNewLines;
+        }
+
         public boolean isIndentedWithLFNewLines() {
             return linesWithLFNewLines >= linesWithCRLFNewLines;
         }
@@ -132,9 +267,13 @@ public GeneralFormatStyle getFormatStyle() {
     }
 
     @Data
-    private static class IndentStatistic {
+    private static class IndentStatistic implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         @Value
-        private static class DepthCoordinate {
+        private static class DepthCoordinate implements Serializable {
+            private static final long serialVersionUID = 1L;
+
             int indentDepth;
             int continuationDepth;
         }
@@ -164,6 +303,18 @@ public void record(DepthCoordinate depth, int charCount) {
             });
         }
 
+        void merge(IndentStatistic other) {
+            other.depthToSpaceIndentFrequencies.forEach((depth, frequencies) ->
+                    depthToSpaceIndentFrequencies.compute(depth, (n, map) -> {
+                        if (map == null) {
+                            map = new ConcurrentHashMap<>();
+                        }
+                        for (Map.Entry<Integer, Long> charCount : frequencies.entrySet()) {
+                            map.merge(charCount.getKey(), charCount.getValue(), Long::sum);
+                        }
+                        return map;
+                    }));
+        }
 
         /**
          * Use the provided common indentation to interpret this IndentStatistic's contents as continuation indents.
@@ -189,7 +340,9 @@ public int continuationIndent(int commonIndent) {
         }
     }
 
-    private static class IndentStatistics {
+    private static class IndentStatistics implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final IndentStatistic spaceIndentFrequencies = new IndentStatistic();
         private final IndentStatistic spaceContinuationIndentFrequencies = new IndentStatistic();
         private final IndentStatistic tabIndentFrequencies = new IndentStatistic();
@@ -204,6 +357,17 @@ private static class IndentStatistics {
         @Getter
         private int continuationDepth = 1;
 
+        void merge(IndentStatistics other) {
+            spaceIndentFrequencies.merge(other.spaceIndentFrequencies);
+            spaceContinuationIndentFrequencies.merge(other.spaceContinuationIndentFrequencies);
+            tabIndentFrequencies.merge(other.tabIndentFrequencies);
+            tabContinuationIndentFrequencies.merge(other.tabContinuationIndentFrequencies);
+            deltaSpaceIndentFrequencies.merge(other.deltaSpaceIndentFrequencies);
+            accumulateDepthCount += other.accumulateDepthCount;
+            multilineAlignedToFirstArgument += other.multilineAlignedToFirstArgument;
+            multilineNotAlignedToFirstArgument += other.multilineNotAlignedToFirstArgument;
+        }
+
         public void incrementDepth() {
             depth++;
         }
@@ -893,18 +1057,35 @@ private String longestCommonPrefix(String pkg, @Nullable String lcp) {
     }
 
     @Value
-    private static class ImportAttributes {
+    private static class ImportAttributes implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         boolean isStatic;
         String packageName;
         String prefix;
     }
 
-    private static class FindImportLayout extends JavaIsoVisitor<Integer> {
+    private static class ImportSamples implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final List<List<ImportAttributes>> importsBySourceFile = new ArrayList<>();
         private final NavigableSet<String> importedPackages = new TreeSet<>();
-        private final ImportLayoutStatistics importLayoutStatistics = new ImportLayoutStatistics();
+        private int minimumFoldedImports = Integer.MAX_VALUE;
+        private int minimumFoldedStaticImports = Integer.MAX_VALUE;
+
+        void merge(ImportSamples other) {
+            importsBySourceFile.addAll(other.importsBySourceFile);
+            importedPackages.addAll(other.importedPackages);
+            minimumFoldedImports = Math.min(minimumFoldedImports, other.minimumFoldedImports);
+            minimumFoldedStaticImports = Math.min(minimumFoldedStaticImports, other.minimumFoldedStaticImports);
+        }
 
         public ImportLayoutStatistics aggregate() {
+            // block patterns depend on every imported package, so the statistics are computed afresh from the samples
+            ImportLayoutStatistics importLayoutStatistics = new ImportLayoutStatistics();
+            importLayoutStatistics.minimumFoldedImports = minimumFoldedImports;
+            importLayoutStatistics.minimumFoldedStaticImports = minimumFoldedStaticImports;
+
             // initializes importLayoutStatistics.pkgToBlockPattern which is used in the loop that follows
             importLayoutStatistics.mapBlockPatterns(importedPackages);
 
@@ -984,11 +1165,14 @@ public ImportLayoutStatistics aggregate() {
 
             return importLayoutStatistics;
         }
+    }
+
+    private static class FindImportLayout extends JavaIsoVisitor<ImportSamples> {
 
         @Override
-        public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, Integer integer) {
+        public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ImportSamples samples) {
             for (J.Import anImport : cu.getImports()) {
-                importedPackages.add(anImport.getPackageName() + ".");
+                samples.importedPackages.add(anImport.getPackageName() + ".");
 
                 if ("*".equals(anImport.getQualid().getSimpleName())) {
                     if (anImport.isStatic()) {
@@ -1000,8 +1184,8 @@ public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, Integer inte
                             }
                         }
 
-                        importLayoutStatistics.minimumFoldedStaticImports = Math.min(
-                                importLayoutStatistics.minimumFoldedStaticImports,
+                        samples.minimumFoldedStaticImports = Math.min(
+                                samples.minimumFoldedStaticImports,
                                 count
                         );
                     } else {
@@ -1017,15 +1201,15 @@ public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, Integer inte
                             }
                         }
 
-                        importLayoutStatistics.minimumFoldedImports = Math.min(
-                                importLayoutStatistics.minimumFoldedImports,
+                        samples.minimumFoldedImports = Math.min(
+                                samples.minimumFoldedImports,
                                 fqns.size()
                         );
                     }
                 }
             }
 
-            importsBySourceFile.add(cu.getImports().stream()
+            samples.importsBySourceFile.add(cu.getImports().stream()
                     .map(it -> new ImportAttributes(it.isStatic(), it.getPackageName(), it.getPrefix().getWhitespace()))
                     .collect(toList()));
 
@@ -1033,7 +1217,12 @@ public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, Integer inte
         }
     }
 
-    private static class SpacesStatistics {
+    private static class SpacesStatistics implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        // counts start from these priors, which a merge must only count once
+        private static final SpacesStatistics PRIORS = new SpacesStatistics();
+
         int beforeIf = 1;
         int beforeMethodCall = 0;
         int beforeMethodDeclaration = 0;
@@ -1051,6 +1240,25 @@ private static class SpacesStatistics {
         int afterTypeCast = 0;
         int withinMethodCallParentheses = 0;
 
+        void merge(SpacesStatistics other) {
+            beforeIf += other.beforeIf - PRIORS.beforeIf;
+            beforeMethodCall += other.beforeMethodCall - PRIORS.beforeMethodCall;
+            beforeMethodDeclaration += other.beforeMethodDeclaration - PRIORS.beforeMethodDeclaration;
+            beforeFor += other.beforeFor - PRIORS.beforeFor;
+            beforeWhile += other.beforeWhile - PRIORS.beforeWhile;
+            beforeSwitch += other.beforeSwitch - PRIORS.beforeSwitch;
+            beforeTry += other.beforeTry - PRIORS.beforeTry;
+            beforeCatch += other.beforeCatch - PRIORS.beforeCatch;
+            beforeSynchronized += other.beforeSynchronized - PRIORS.beforeSynchronized;
+            beforeComma += other.beforeComma - PRIORS.beforeComma;
+            afterComma += other.afterComma - PRIORS.afterComma;
+            beforeColonInForEach += other.beforeColonInForEach - PRIORS.beforeColonInForEach;
+            beforeForSemiColon += other.beforeForSemiColon - PRIORS.beforeForSemiColon;
+            afterForSemiColon += other.afterForSemiColon - PRIORS.afterForSemiColon;
+            afterTypeCast += other.afterTypeCast - PRIORS.afterTypeCast;
+            withinMethodCallParentheses += other.withinMethodCallParentheses - PRIORS.withinMethodCallParentheses;
+        }
+
         public SpacesStyle getSpacesStyle() {
             SpacesStyle spaces = IntelliJ.spaces();
             return spaces
@@ -1275,7 +1483,9 @@ private int hasSpace(Space space) {
         }
     }
 
-    private static class WrappingAndBracesStatistics {
+    private static class WrappingAndBracesStatistics implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         int elseOnNewLine = 0;
         int classAnnotationsWrapped = 0;
         int methodAnnotationsWrapped = 0;
@@ -1284,6 +1494,16 @@ private static class WrappingAndBracesStatistics {
         int localVariableAnnotationsWrapped = 0;
         int enumFieldAnnotationsWrapped = 0;
 
+        void merge(WrappingAndBracesStatistics other) {
+            elseOnNewLine += other.elseOnNewLine;
+            classAnnotationsWrapped += other.classAnnotationsWrapped;
+            methodAnnotationsWrapped += other.methodAnnotationsWrapped;
+            fieldAnnotationsWrapped += other.fieldAnnotationsWrapped;
+            parameterAnnotationsWrapped += other.parameterAnnotationsWrapped;
+            localVariableAnnotationsWrapped += other.localVariableAnnotationsWrapped;
+            enumFieldAnnotationsWrapped += other.enumFieldAnnotationsWrapped;
+        }
+
         public WrappingAndBracesStyle getWrappingAndBracesStyle() {
             WrappingAndBracesStyle wrappingAndBracesStyle = IntelliJ.wrappingAndBraces();
             if (classAnnotationsWrapped != 0 && wrappingAndBracesStyle.getClassAnnotations() != null) {
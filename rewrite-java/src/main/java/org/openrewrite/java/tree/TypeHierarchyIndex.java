@@ -0,0 +1,252 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.tree;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
+import org.openrewrite.java.marker.JavaSourceSet;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A lazily built index of the type hierarchies of a source set, used by {@link TypeUtils} (and so
+ * {@link org.openrewrite.java.MethodMatcher}) instead of walking supertypes and interfaces on every call.
+ * <p>
+ * Indexes are opted into per {@link ExecutionContext} with {@link #enable(ExecutionContext)}, so they live
+ * as long as a recipe run. There is one index per {@link JavaSourceSet}, since the same fully qualified name
+ * can have a different hierarchy on the classpath of another source set. While a Java visitor visits a source
+ * file with such a context, the index of the file's source set is {@link #current() current} on that thread.
+ * <p>
+ * Hierarchies are only recorded for fully resolved {@link JavaType.Class} types, since a
+ * {@link JavaType.ShallowClass} or {@link JavaType.Unknown} carries no hierarchy to speak of.
+ * Hierarchies and memoized results are keyed by type identity rather than by name, because a recipe
+ * that changes a supertype produces a new type with the same name, and they don't keep the types
+ * they are keyed by reachable. They are bounded in number, and recomputed when evicted.
+ */
+@Incubating(since = "8.57.0")
+public class TypeHierarchyIndex {
+    private static final String TYPE_HIERARCHY_INDEX = "org.openrewrite.java.typeHierarchyIndex";
+
+    private static final ThreadLocal<@Nullable TypeHierarchyIndex> current = new ThreadLocal<>();
+
+    private static final int MAXIMUM_SIZE = 100_000;
+
+    private final Cache<JavaType.FullyQualified, Hierarchy> hierarchies = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    private final Cache<TypePair, Boolean> assignable = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    private final Cache<JavaType.Method, Optional<JavaType.Method>> overridden = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    public static void enable(ExecutionContext ctx) {
+        ctx.computeMessageIfAbsent(TYPE_HIERARCHY_INDEX, k -> new SourceSets());
+    }
+
+    /**
+     * @param ctx        An execution context.
+     * @param sourceFile A source file.
+     * @return The index of the source file's {@link JavaSourceSet}, or <code>null</code> if the
+     * context has no indexes.
+     */
+    public static @Nullable TypeHierarchyIndex get(ExecutionContext ctx, JavaSourceFile sourceFile) {
+        SourceSets sourceSets = ctx.getMessage(TYPE_HIERARCHY_INDEX);
+        return sourceSets == null ? null : sourceSets.get(sourceFile.getMarkers().findFirst(JavaSourceSet.class).orElse(null));
+    }
+
+    /**
+     * @return The index of the {@link ExecutionContext} a source file is being visited with on
+     * this thread, if it has one.
+     */
+    public static @Nullable TypeHierarchyIndex current() {
+        return current.get();
+    }
+
+    /**
+     * Run some work with the index of a source file's {@link JavaSourceSet} as the {@link #current()} one.
+     *
+     * @param p          The parameter of a visitor, which when it is an {@link ExecutionContext} may have indexes.
+     * @param sourceFile The source file whose source set's index to use.
+     * @param work       The work to run.
+     * @param <T>        The result of the work.
+     * @return The result of the work.
+     */
+    public static <T> T using(@Nullable Object p, JavaSourceFile sourceFile, Supplier<T> work) {
+        TypeHierarchyIndex index = p instanceof ExecutionContext ? get((ExecutionContext) p, sourceFile) : null;
+        TypeHierarchyIndex previous = current.get();
+        if (index == null || index == previous) {
+            return work.get();
+        }
+        current.set(index);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @param type A type.
+     * @return The type's hierarchy, or <code>null</code> if the type isn't indexed.
+     */
+    public @Nullable Hierarchy hierarchy(JavaType.FullyQualified type) {
+        JavaType.FullyQualified raw = type instanceof JavaType.Parameterized ? ((JavaType.Parameterized) type).getType() : type;
+        if (raw.getClass() != JavaType.Class.class) {
+            return null;
+        }
+        return hierarchies.get(raw, Hierarchy::new);
+    }
+
+    /**
+     * Memoizes {@link TypeUtils#isAssignableTo(JavaType, JavaType)} of two fully qualified types.
+     */
+    boolean isAssignableTo(JavaType.FullyQualified to, JavaType.FullyQualified from, BooleanSupplier isAssignableTo) {
+        if (to.getClass() == JavaType.Class.class) {
+            Hierarchy hierarchy = hierarchy(from);
+            if (hierarchy != null) {
+                return "java.lang.Object".equals(to.getFullyQualifiedName()) || hierarchy.contains(to.getFullyQualifiedName());
+            }
+        }
+        TypePair key = new TypePair(to, from);
+        Boolean result = assignable.getIfPresent(key);
+        if (result == null) {
+            // not computeIfAbsent, since the comparison recurses into the index
+            result = isAssignableTo.getAsBoolean();
+            assignable.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Memoizes {@link TypeUtils#findOverriddenMethod(JavaType.Method)}.
+     */
+    Optional<JavaType.Method> findOverriddenMethod(JavaType.Method method, Supplier<Optional<JavaType.Method>> findOverriddenMethod) {
+        Optional<JavaType.Method> result = overridden.getIfPresent(method);
+        if (result == null) {
+            result = findOverriddenMethod.get();
+            overridden.put(method, result);
+        }
+        return result;
+    }
+
+    /**
+     * The indexes of the source sets seen in a recipe run. Source files without a
+     * {@link JavaSourceSet} marker share one index.
+     */
+    private static class SourceSets {
+        private final Map<UUID, TypeHierarchyIndex> bySourceSet = new ConcurrentHashMap<>();
+        private final TypeHierarchyIndex withoutSourceSet = new TypeHierarchyIndex();
+
+        TypeHierarchyIndex get(@Nullable JavaSourceSet sourceSet) {
+            return sourceSet == null ?
+                    withoutSourceSet :
+                    bySourceSet.computeIfAbsent(sourceSet.getId(), id -> new TypeHierarchyIndex());
+        }
+    }
+
+    /**
+     * A type and all of its transitive supertypes and interfaces.
+     */
+    public static class Hierarchy {
+        private final List<String> names = new ArrayList<>();
+        private final Set<String> normalizedNames = new HashSet<>();
+
+        Hierarchy(JavaType.FullyQualified type) {
+            collect(type, Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+
+        private void collect(JavaType.@Nullable FullyQualified type, Set<JavaType> seen) {
+            if (type == null || type instanceof JavaType.Unknown || !seen.add(type)) {
+                return;
+            }
+            String fqn = type.getFullyQualifiedName();
+            if (normalizedNames.add(TypeUtils.toFullyQualifiedName(fqn))) {
+                names.add(fqn);
+            }
+            collect(type.getSupertype(), seen);
+            for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+                collect(anInterface, seen);
+            }
+        }
+
+        /**
+         * @return The fully qualified names of the type, its supertypes and its interfaces.
+         */
+        public List<String> getNames() {
+            return names;
+        }
+
+        /**
+         * @param fullyQualifiedName A fully qualified name, in which nested types may be separated with either '$' or '.'.
+         * @return Whether the type is, extends or implements the named type.
+         */
+        public boolean contains(String fullyQualifiedName) {
+            return normalizedNames.contains(TypeUtils.toFullyQualifiedName(fullyQualifiedName));
+        }
+    }
+
+    /**
+     * Two types compared by identity, neither of which is kept reachable. A pair whose
+     * types have been collected matches no lookup and is eventually evicted.
+     */
+    private static final class TypePair {
+        private final WeakReference<JavaType> to;
+        private final WeakReference<JavaType> from;
+        private final int hashCode;
+
+        TypePair(JavaType to, JavaType from) {
+            this.to = new WeakReference<>(to);
+            this.from = new WeakReference<>(from);
+            this.hashCode = 31 * System.identityHashCode(to) + System.identityHashCode(from);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TypePair)) {
+                return false;
+            }
+            JavaType to = this.to.get();
+            JavaType from = this.from.get();
+            return to != null && from != null &&
+                   ((TypePair) o).to.get() == to && ((TypePair) o).from.get() == from;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -379,6 +379,20 @@ public static boolean isOfTypeWithName(
             return true;
         }
         if (matchOverride) {
+            TypeHierarchyIndex index = TypeHierarchyIndex.current();
+            TypeHierarchyIndex.Hierarchy hierarchy = index == null ? null : index.hierarchy(type);
+            if (hierarchy != null) {
+                if (matcher.test("java.lang.Object")) {
+                    return true;
+                }
+                for (String name : hierarchy.getNames()) {
+                    if (matcher.test(name)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
             if (!"java.lang.Object".equals(type.getFullyQualifiedName()) &&
                 isOfTypeWithName(TYPE_OBJECT, true, matcher)) {
                 return true;
@@ -414,6 +428,14 @@ public static boolean isAssignableTo(@Nullable JavaType to, @Nullable JavaType f
                 from = BOXED_TYPES.get(from);
             }
 
+            if (context == ComparisonContext.BOUND && to instanceof JavaType.FullyQualified && from instanceof JavaType.FullyQualified) {
+                TypeHierarchyIndex index = TypeHierarchyIndex.current();
+                if (index != null) {
+                    JavaType.FullyQualified fqTo = (JavaType.FullyQualified) to;
+                    JavaType.FullyQualified fqFrom = (JavaType.FullyQualified) from;
+                    return index.isAssignableTo(fqTo, fqFrom, () -> isAssignableToCore(fqTo, fqFrom, context));
+                }
+            }
             if (to instanceof JavaType.Method && from instanceof JavaType.Method) {
                 return isAssignableToMethod((JavaType.Method) to, (JavaType.Method) from, context);
             }
@@ -789,6 +811,13 @@ private static boolean isPseudoType(@Nullable JavaType type) {
 
     public static boolean isAssignableTo(String to, @Nullable JavaType from) {
         try {
+            if (from instanceof JavaType.FullyQualified && to.indexOf('<') < 0) {
+                TypeHierarchyIndex index = TypeHierarchyIndex.current();
+                TypeHierarchyIndex.Hierarchy hierarchy = index == null ? null : index.hierarchy((JavaType.FullyQualified) from);
+                if (hierarchy != null) {
+                    return hierarchy.contains(to);
+                }
+            }
             if (from instanceof JavaType.FullyQualified) {
                 if (from instanceof JavaType.Parameterized) {
                     int lessThanIndex = to.indexOf('<');
@@ -935,6 +964,14 @@ public static Optional<JavaType.Method> findOverriddenMethod(JavaType.@Nullable
         if (method == null) {
             return Optional.empty();
         }
+        TypeHierarchyIndex index = TypeHierarchyIndex.current();
+        if (index != null) {
+            return index.findOverriddenMethod(method, () -> findOverriddenMethodUnindexed(method));
+        }
+        return findOverriddenMethodUnindexed(method);
+    }
+
+    private static Optional<JavaType.Method> findOverriddenMethodUnindexed(JavaType.Method method) {
         JavaType.FullyQualified dt = method.getDeclaringType();
         List<JavaType> argTypes = method.getParameterTypes();
         Optional<JavaType.Method> methodResult = findDeclaredMethod(dt.getSupertype(), method.getName(), argTypes);
@@ -17,6 +17,16 @@ import * as rpc from "vscode-jsonrpc/node";
 import {RpcObjectData, RpcObjectState, RpcSendQueue} from "../queue";
 import {ReferenceMap} from "../reference";
 
+/**
+ * The remote peer was asked for an object that it no longer holds. Unlike an object
+ * that was deleted, the requester can recover by re-sending the request that produced it.
+ */
+export class RpcObjectMissingError extends Error {
+    constructor(readonly id: string) {
+        super(`Object is no longer held by the remote peer: ${id}`);
+    }
+}
+
 export class GetObject {
     constructor(private readonly id: string, private readonly lastKnownId?: string) {
     }
@@ -25,6 +35,7 @@ export class GetObject {
         connection: rpc.MessageConnection,
         remoteObjects: Map<string, any>,
         localObjects: Map<string, any | ((input: string) => any)>,
+        deletedObjects: Set<string>,
         localRefs: ReferenceMap,
         batchSize: number,
         trace: boolean
@@ -34,6 +45,11 @@ export class GetObject {
         connection.onRequest(new rpc.RequestType<GetObject, any, Error>("GetObject"), async request => {
             let objId = request.id;
             if (!localObjects.has(objId)) {
+                if (!deletedObjects.delete(objId)) {
+                    // Never held, or released, rather than deleted, so the remote
+                    // must not delete its copy.
+                    return [{state: RpcObjectState.MISSING}];
+                }
                 return [
                     {state: RpcObjectState.DELETE},
                     {state: RpcObjectState.END_OF_OBJECT}
@@ -19,4 +19,5 @@ export * from "./get-recipes";
 export * from "./parse";
 export * from "./prepare-recipe";
 export * from "./print";
+export * from "./release";
 export * from "./visit";
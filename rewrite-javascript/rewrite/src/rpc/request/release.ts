@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import * as rpc from "vscode-jsonrpc/node";
+import {ReferenceMap} from "../reference";
+
+/**
+ * Tells the remote that the caller has forgotten everything it knew about a set of
+ * objects, so the remote can forget them as well. A subsequent `GetObject` for one
+ * of these IDs transfers the object in full rather than as a diff.
+ */
+export class Release {
+    /**
+     * @param ids The IDs of the objects to forget.
+     * @param refs Whether both peers should also reset their reference-deduplication tables.
+     * Ref IDs are assigned positionally by the sender, so these tables can only be reset on
+     * both sides at once and while no transfer is in progress.
+     */
+    constructor(readonly ids: string[], readonly refs: boolean = false) {
+    }
+
+    static handle(connection: rpc.MessageConnection,
+                  release: (request: Release) => void): void {
+        connection.onRequest(new rpc.RequestType<Release, boolean, Error>("Release"), async request => {
+            release(request);
+            return true;
+        });
+    }
+
+    /**
+     * Apply a release to this peer's own tables.
+     */
+    static apply(request: Release,
+                 remoteObjects: Map<string, any>,
+                 localObjects: Map<string, any>,
+                 deletedObjects: Set<string>,
+                 localObjectIds: { delete(key: any): void },
+                 remoteRefs: Map<number, any>,
+                 localRefs: ReferenceMap): void {
+        for (const id of request.ids) {
+            remoteObjects.delete(id);
+            deletedObjects.delete(id);
+            if (localObjects.has(id)) {
+                localObjectIds.delete(localObjects.get(id));
+                localObjects.delete(id);
+            }
+        }
+        if (request.refs) {
+            remoteRefs.clear();
+            localRefs.clear();
+        }
+    }
+}
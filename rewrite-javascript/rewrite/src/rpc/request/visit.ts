@@ -32,6 +32,7 @@ export class Visit {
 
     static handle(connection: rpc.MessageConnection,
                   localObjects: Map<string, any>,
+                  deletedObjects: Set<string>,
                   preparedRecipes: Map<String, Recipe>,
                   recipeCursors: WeakMap<Recipe, Cursor>,
                   getObject: (id: string) => any,
@@ -45,6 +46,7 @@ export class Visit {
             const after = await visitor.visit(before, p, await getCursor(request.cursor));
             if (!after) {
                 localObjects.delete(before.id.toString());
+                deletedObjects.add(before.id.toString());
             } else if (after !== before) {
                 localObjects.set(after.id.toString(), after);
             }
@@ -26,6 +26,8 @@ import {
     PrepareRecipe,
     PrepareRecipeResponse,
     Print,
+    Release,
+    RpcObjectMissingError,
     Visit,
     VisitResponse
 } from "./request";
@@ -43,6 +45,11 @@ export class RewriteRpc {
     readonly localObjects: Map<string, ((input: string) => any) | any> = new Map();
     /* A reverse map of the objects back to their IDs */
     private readonly localObjectIds = new IdentityMap();
+    /**
+     * IDs of objects that were explicitly removed from {@link localObjects}, which are the
+     * only ones the remote is told to delete when it asks for them.
+     */
+    private readonly deletedObjects: Set<string> = new Set();
 
     readonly remoteObjects: Map<string, any> = new Map();
     readonly remoteRefs: Map<number, any> = new Map();
@@ -68,14 +75,15 @@ export class RewriteRpc {
 
         const registry = options.registry || new RecipeRegistry();
 
-        Visit.handle(this.connection, this.localObjects, preparedRecipes, recipeCursors, getObject, getCursor);
+        Visit.handle(this.connection, this.localObjects, this.deletedObjects, preparedRecipes, recipeCursors, getObject, getCursor);
         Generate.handle(this.connection, this.localObjects, preparedRecipes, recipeCursors, getObject);
-        GetObject.handle(this.connection, this.remoteObjects, this.localObjects,
+        GetObject.handle(this.connection, this.remoteObjects, this.localObjects, this.deletedObjects,
             this.localRefs, options?.batchSize || 200, !!options?.traceGetObjectOutput);
         GetRecipes.handle(this.connection, registry);
         PrepareRecipe.handle(this.connection, registry, preparedRecipes);
         Parse.handle(this.connection, this.localObjects);
         Print.handle(this.connection, getObject, getCursor);
+        Release.handle(this.connection, request => this.applyRelease(request));
         InstallRecipes.handle(this.connection, options.recipeInstallDir ?? ".rewrite", registry);
 
         this.connection.listen();
@@ -90,11 +98,15 @@ export class RewriteRpc {
         const localObject = this.localObjects.get(id);
         const lastKnownId = localObject ? id : undefined;
         
-        const q = new RpcReceiveQueue(this.remoteRefs, () => {
-            return this.connection.sendRequest(
+        const q = new RpcReceiveQueue(this.remoteRefs, async () => {
+            const batch = await this.connection.sendRequest(
                 new rpc.RequestType<GetObject, RpcObjectData[], Error>("GetObject"),
                 new GetObject(id, lastKnownId)
             );
+            if (batch.length > 0 && batch[0].state === RpcObjectState.MISSING) {
+                throw new RpcObjectMissingError(id);
+            }
+            return batch;
         }, this.options.traceGetObjectInput);
 
         const remoteObject = await q.receive<P>(this.localObjects.get(id));
@@ -104,8 +116,16 @@ export class RewriteRpc {
             throw new Error(`Expected END_OF_OBJECT but got: ${eof.state}`);
         }
 
-        this.remoteObjects.set(id, remoteObject);
-        this.localObjects.set(id, remoteObject);
+        // We are now in sync with the remote state of the object.
+        if (remoteObject === undefined) {
+            this.remoteObjects.delete(id);
+            this.localObjects.delete(id);
+            this.deletedObjects.add(id);
+        } else {
+            this.remoteObjects.set(id, remoteObject);
+            this.localObjects.set(id, remoteObject);
+            this.deletedObjects.delete(id);
+        }
 
         return remoteObject;
     }
@@ -146,6 +166,32 @@ export class RewriteRpc {
         );
     }
 
+    /**
+     * Forget the objects with these IDs on both this peer and the remote. Subsequent
+     * transfers of an object with one of these IDs will be full transfers.
+     */
+    async release(ids: string[]): Promise<void> {
+        const request = new Release(ids);
+        this.applyRelease(request);
+        await this.connection.sendRequest(new rpc.RequestType<Release, boolean, Error>("Release"), request);
+    }
+
+    /**
+     * Reset the reference-deduplication tables on both this peer and the remote, which
+     * otherwise grow with every distinct referentially deduplicated object ever transferred.
+     * Must not be called while a transfer is in progress.
+     */
+    async releaseRefs(): Promise<void> {
+        const request = new Release([], true);
+        this.applyRelease(request);
+        await this.connection.sendRequest(new rpc.RequestType<Release, boolean, Error>("Release"), request);
+    }
+
+    private applyRelease(request: Release): void {
+        Release.apply(request, this.remoteObjects, this.localObjects, this.deletedObjects,
+            this.localObjectIds, this.remoteRefs, this.localRefs);
+    }
+
     async recipes(): Promise<({ name: string } & RecipeDescriptor)[]> {
         return await this.connection.sendRequest(
             new rpc.RequestType0<({ name: string } & RecipeDescriptor)[], Error>("GetRecipes")
@@ -164,13 +210,23 @@ export class RewriteRpc {
     async visit(tree: Tree, visitorName: string, p: any, cursor?: Cursor): Promise<Tree> {
         let response = await this.scan(tree, visitorName, p, cursor);
         if (response.modified) {
-            return this.getObject(tree.id.toString());
+            try {
+                return await this.getObject(tree.id.toString());
+            } catch (e) {
+                if (!(e instanceof RpcObjectMissingError)) {
+                    throw e;
+                }
+                // The remote no longer holds the result, so visit again.
+                response = await this.scan(tree, visitorName, p, cursor);
+                return response.modified ? this.getObject(tree.id.toString()) : tree;
+            }
         }
         return tree;
     }
 
     scan(tree: Tree, visitorName: string, p: any, cursor?: Cursor): Promise<VisitResponse> {
         this.localObjects.set(tree.id.toString(), tree);
+        this.deletedObjects.delete(tree.id.toString());
         const pId = this.localObject(p);
         const cursorIds = this.getCursorIds(cursor);
         return this.connection.sendRequest(
@@ -247,6 +303,14 @@ class IdentityMap {
         }
     }
 
+    delete(key: any): void {
+        if (typeof key === 'object' && key !== null) {
+            this.objectMap.delete(key);
+        } else {
+            this.primitiveMap.delete(key);
+        }
+    }
+
     has(key: any): boolean {
         if (typeof key === 'object' && key !== null) {
             return this.objectMap.has(key);
@@ -181,6 +181,23 @@ describe("Rewrite RPC", () => {
         );
     });
 
+    test("release", () => spec.rewriteRun(
+        {
+            ...text("Hello Jon!"),
+            beforeRecipe: async (text: PlainText) => {
+                expect(await client.print(text)).toEqual("Hello Jon!");
+                expect(server.remoteObjects.has(text.id.toString())).toBeTruthy();
+
+                await client.release([text.id.toString()]);
+                expect(client.localObjects.has(text.id.toString())).toBeFalsy();
+                expect(server.remoteObjects.has(text.id.toString())).toBeFalsy();
+
+                expect(await client.print(text)).toEqual("Hello Jon!");
+                return text;
+            }
+        }
+    ));
+
     test("getCursor", async () => {
         const parent = rootCursor();
         const c1 = new Cursor({k: 0}, parent);
@@ -56,8 +56,9 @@ public class JavaScriptRewriteRpc extends RewriteRpc {
 
     private final CloseableSupplier<JsonRpc> supplier;
 
-    private JavaScriptRewriteRpc(CloseableSupplier<JsonRpc> supplier, Environment marketplace, Duration timeout) {
-        super(supplier.get(), marketplace, timeout);
+    private JavaScriptRewriteRpc(CloseableSupplier<JsonRpc> supplier, Environment marketplace, Duration timeout,
+                                 int maximumObjects, boolean weakObjects) {
+        super(supplier.get(), marketplace, timeout, maximumObjects, weakObjects);
         this.supplier = supplier;
     }
 
@@ -209,7 +210,7 @@ public void close() {
                             throw new UncheckedIOException(e);
                         }
                     }
-                }, marketplace, timeout);
+                }, marketplace, timeout, maximumObjects, weakObjects);
             } else {
                 // Use default installation directory if none provided (lazy-loaded)
                 Path effectiveInstallationDirectory = installationDirectory != null ?
@@ -251,7 +252,7 @@ public void close() {
                             }
                         }
                     }
-                }, marketplace, timeout);
+                }, marketplace, timeout, maximumObjects, weakObjects);
             }
 
             return rewriteRpc;
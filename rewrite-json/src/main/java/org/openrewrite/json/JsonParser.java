@@ -23,6 +23,7 @@
 import org.openrewrite.Parser;
 import org.openrewrite.SourceFile;
 import org.openrewrite.json.internal.JsonParserVisitor;
+import org.openrewrite.json.internal.JsonRecursiveDescentParser;
 import org.openrewrite.json.internal.grammar.JSON5Lexer;
 import org.openrewrite.json.internal.grammar.JSON5Parser;
 import org.openrewrite.json.tree.Json;
@@ -30,30 +31,35 @@
 import org.openrewrite.tree.ParsingEventListener;
 import org.openrewrite.tree.ParsingExecutionContextView;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.stream.Stream;
 
 public class JsonParser implements Parser {
+    private final boolean antlr;
+
+    public JsonParser() {
+        this(false);
+    }
+
+    private JsonParser(boolean antlr) {
+        this.antlr = antlr;
+    }
+
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
         ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
         return acceptedInputs(sourceFiles).map(input -> {
             parsingListener.startedParsing(input);
-            try (InputStream sourceStream = input.getSource(ctx)) {
-                JSON5Lexer lexer = new JSON5Lexer(CharStreams.fromStream(sourceStream));
-                lexer.removeErrorListeners();
-                lexer.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
-
-                JSON5Parser parser = new JSON5Parser(new CommonTokenStream(lexer));
-                parser.removeErrorListeners();
-                parser.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
-
-                Json.Document document = new JsonParserVisitor(
-                        input.getRelativePath(relativeTo),
-                        input.getFileAttributes(),
-                        input.getSource(ctx)
-                ).visitJson5(parser.json5());
+            try {
+                Json.Document document = antlr ?
+                        parseWithAntlr(input, relativeTo, ctx) :
+                        new JsonRecursiveDescentParser(
+                                input.getRelativePath(relativeTo),
+                                input.getFileAttributes(),
+                                input.getSource(ctx)
+                        ).parse();
                 parsingListener.parsed(input, document);
                 return requirePrintEqualsInput(document, input, relativeTo, ctx);
             } catch (Throwable t) {
@@ -63,11 +69,34 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
         });
     }
 
+    private Json.Document parseWithAntlr(Input input, @Nullable Path relativeTo, ExecutionContext ctx) throws IOException {
+        try (InputStream sourceStream = input.getSource(ctx)) {
+            JSON5Lexer lexer = new JSON5Lexer(CharStreams.fromStream(sourceStream));
+            lexer.removeErrorListeners();
+            lexer.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
+
+            JSON5Parser parser = new JSON5Parser(new CommonTokenStream(lexer));
+            parser.removeErrorListeners();
+            parser.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
+
+            return new JsonParserVisitor(
+                    input.getRelativePath(relativeTo),
+                    input.getFileAttributes(),
+                    input.getSource(ctx)
+            ).visitJson5(parser.json5());
+        }
+    }
+
     @Override
     public Stream<SourceFile> parse(@Language("Json") String... sources) {
         return parse(new InMemoryExecutionContext(), sources);
     }
 
+    @Override
+    public boolean isInputIndependent() {
+        return true;
+    }
+
     @Override
     public boolean accept(Path path) {
         return path.toString().endsWith(".json");
@@ -100,14 +129,24 @@ public static Builder builder() {
     }
 
     public static class Builder extends org.openrewrite.Parser.Builder {
+        private boolean antlr;
 
         public Builder() {
             super(Json.Document.class);
         }
 
+        /**
+         * Parse with the ANTLR JSON5 grammar instead of the hand-written parser. Both produce the same
+         * tree, but the ANTLR parser needs several times more memory and time on large documents.
+         */
+        public Builder antlr(boolean antlr) {
+            this.antlr = antlr;
+            return this;
+        }
+
         @Override
         public JsonParser build() {
-            return new JsonParser();
+            return new JsonParser(antlr);
         }
 
         @Override
@@ -20,6 +20,11 @@
 public class JsonParsingException extends Exception {
     private final Path sourcePath;
 
+    public JsonParsingException(Path sourcePath, String message) {
+        super(message);
+        this.sourcePath = sourcePath;
+    }
+
     public JsonParsingException(Path sourcePath, String message, Throwable t) {
         super(message, t);
         this.sourcePath = sourcePath;
@@ -25,6 +25,7 @@
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
 import org.openrewrite.Tree;
+import org.openrewrite.internal.PropertyPathAutomaton;
 import org.openrewrite.json.internal.grammar.JsonPathLexer;
 import org.openrewrite.json.internal.grammar.JsonPathParser;
 import org.openrewrite.json.internal.grammar.JsonPathParserBaseVisitor;
@@ -43,6 +44,9 @@
  * Provides methods for matching the given cursor location to a specific JsonPath expression.
  *
  * This is not a full implementation of the JsonPath syntax as linked in the "see also."
+ * <p>
+ * Paths that select a member by its keys from the root, like {@code $.dependencies.lodash}, are compiled into a
+ * {@link PropertyPathAutomaton} that advances as a visitor descends the document.
  * @see <a href="https://support.smartbear.com/alertsite/docs/monitors/api/endpoint/jsonpath.html">https://support.smartbear.com/alertsite/docs/monitors/api/endpoint/jsonpath.html</a>
  */
 @EqualsAndHashCode
@@ -51,8 +55,12 @@ public class JsonPathMatcher {
     private final String jsonPath;
     private JsonPathParser.@Nullable JsonPathContext parsed;
 
+    @EqualsAndHashCode.Exclude
+    private final @Nullable PropertyPathAutomaton automaton;
+
     public JsonPathMatcher(String jsonPath) {
         this.jsonPath = jsonPath;
+        this.automaton = PropertyPathAutomaton.compile(jsonPath, JsonStructure.INSTANCE);
     }
 
     public <T> Optional<T> find(Cursor cursor) {
@@ -81,6 +89,13 @@ private <T> Optional<T> find0(Cursor cursor, List<Tree> cursorPath) {
     }
 
     public boolean matches(Cursor cursor) {
+        if (automaton != null) {
+            Boolean matches = automaton.matches(cursor);
+            if (matches != null) {
+                return matches;
+            }
+        }
+
         List<Tree> cursorPath = resolvedAncestors(cursor);
         return find0(cursor, cursorPath).map(o -> {
             if (o instanceof List) {
@@ -113,6 +128,52 @@ private JsonPathParser jsonPath() {
         return new JsonPathParser(new CommonTokenStream(new JsonPathLexer(CharStreams.fromString(this.jsonPath))));
     }
 
+    private static class JsonStructure implements PropertyPathAutomaton.Structure {
+        static final JsonStructure INSTANCE = new JsonStructure();
+
+        @Override
+        public PropertyPathAutomaton.Kind kind(Cursor cursor) {
+            Object value = cursor.getValue();
+            if (value instanceof Json.Document) {
+                return PropertyPathAutomaton.Kind.ROOT;
+            } else if (value instanceof Json.Member) {
+                return PropertyPathAutomaton.Kind.MEMBER;
+            } else if (value instanceof Json.JsonObject || value instanceof Json.Array) {
+                return PropertyPathAutomaton.Kind.CONTAINER;
+            }
+            return PropertyPathAutomaton.Kind.OTHER;
+        }
+
+        @Override
+        public String key(Cursor member) {
+            return key((Json.Member) member.getValue());
+        }
+
+        @Override
+        public boolean isFirstWithKey(Cursor member) {
+            Object parent = member.getParentTreeCursor().getValue();
+            if (parent instanceof Json.JsonObject) {
+                String key = key(member);
+                for (Json json : ((Json.JsonObject) parent).getMembers()) {
+                    if (json instanceof Json.Member && key((Json.Member) json).equals(key)) {
+                        return json.equals(member.getValue());
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean hasNoNestedMembers(Cursor member) {
+            return ((Json.Member) member.getValue()).getValue() instanceof Json.Literal;
+        }
+
+        private static String key(Json.Member member) {
+            return member.getKey() instanceof Json.Literal ?
+                    ((Json.Literal) member.getKey()).getValue().toString() : ((Json.Identifier) member.getKey()).getName();
+        }
+    }
+
     @SuppressWarnings({"ConstantConditions", "unchecked"})
     private static class JsonPathParserJsonVisitor extends JsonPathParserBaseVisitor<Object> {
 
@@ -126,7 +126,7 @@ public Space visitSpace(Space space, P p) {
             return null;
         }
 
-        setCursor(new Cursor(getCursor(), right));
+        pushCursor(right);
 
         T t = right.getElement();
         if (t instanceof Json) {
@@ -134,7 +134,7 @@ public Space visitSpace(Space space, P p) {
             t = (T) visit((Json) right.getElement(), p);
         }
 
-        setCursor(getCursor().getParent());
+        popCursor();
         if (t == null) {
             //noinspection ConstantConditions
             return null;
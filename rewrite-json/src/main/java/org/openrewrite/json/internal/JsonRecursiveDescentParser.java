@@ -0,0 +1,407 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.json.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.FileAttributes;
+import org.openrewrite.internal.EncodingDetectingInputStream;
+import org.openrewrite.json.JsonParsingException;
+import org.openrewrite.json.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.openrewrite.Tree.randomId;
+
+/**
+ * A single-pass JSON5 parser that builds a {@link Json.Document} directly from the source text,
+ * without an intermediate token stream or parse tree. It produces the same tree as
+ * {@link JsonParserVisitor} over the ANTLR grammar for every document that grammar accepts,
+ * and fails with a {@link JsonParsingException} on the first syntax error.
+ */
+public class JsonRecursiveDescentParser {
+    private final Path path;
+    private final String source;
+    private final Charset charset;
+    private final boolean charsetBomMarked;
+
+    @Nullable
+    private final FileAttributes fileAttributes;
+
+    private int cursor = 0;
+
+    public JsonRecursiveDescentParser(Path path, @Nullable FileAttributes fileAttributes, EncodingDetectingInputStream source) {
+        this.path = path;
+        this.fileAttributes = fileAttributes;
+        this.source = source.readFully();
+        this.charset = source.getCharset();
+        this.charsetBomMarked = source.isCharsetBomMarked();
+    }
+
+    public Json.Document parse() throws JsonParsingException {
+        Space prefix = whitespace();
+        if (cursor == source.length()) {
+            return new Json.Document(randomId(), path, Space.EMPTY, Markers.EMPTY, charset.name(), charsetBomMarked,
+                    null, fileAttributes, new Json.Literal(randomId(), Space.EMPTY, Markers.EMPTY, source, ""), Space.EMPTY);
+        }
+        JsonValue value = value(Space.EMPTY);
+        Space eof = whitespace();
+        if (cursor < source.length()) {
+            throw error("extraneous input after the document value");
+        }
+        return new Json.Document(randomId(), path, prefix, Markers.EMPTY, charset.name(), charsetBomMarked,
+                null, fileAttributes, value, eof);
+    }
+
+    private JsonValue value(Space prefix) throws JsonParsingException {
+        if (cursor == source.length()) {
+            throw error("expected a value");
+        }
+        char c = source.charAt(cursor);
+        switch (c) {
+            case '{':
+                return object(prefix);
+            case '[':
+                return array(prefix);
+            case '"':
+            case '\'':
+                return stringLiteral(prefix);
+            case '+':
+            case '-':
+            case '.':
+                return number(prefix);
+            default:
+                if (c >= '0' && c <= '9') {
+                    return number(prefix);
+                }
+                if (source.startsWith("true", cursor) && !isIdentifierPartAt(cursor + 4)) {
+                    cursor += 4;
+                    return new Json.Literal(randomId(), prefix, Markers.EMPTY, "true", true);
+                } else if (source.startsWith("false", cursor) && !isIdentifierPartAt(cursor + 5)) {
+                    cursor += 5;
+                    return new Json.Literal(randomId(), prefix, Markers.EMPTY, "false", false);
+                } else if (source.startsWith("null", cursor) && !isIdentifierPartAt(cursor + 4)) {
+                    cursor += 4;
+                    return new Json.Literal(randomId(), prefix, Markers.EMPTY, "null", null);
+                } else if (source.startsWith("Infinity", cursor) || source.startsWith("NaN", cursor)) {
+                    return number(prefix);
+                }
+                throw error("expected a value");
+        }
+    }
+
+    private Json.JsonObject object(Space prefix) throws JsonParsingException {
+        cursor++; // '{'
+        List<JsonRightPadded<Json>> members = new ArrayList<>();
+        Space before = whitespace();
+        if (!consume('}')) {
+            while (true) {
+                Json.Member member = member(before);
+                Space after = whitespace();
+                if (consume('}')) {
+                    members.add(JsonRightPadded.<Json>build(member).withAfter(after));
+                    break;
+                }
+                expect(',');
+                members.add(JsonRightPadded.<Json>build(member).withAfter(after));
+                before = whitespace();
+                if (consume('}')) {
+                    // trailing comma
+                    members.add(JsonRightPadded.<Json>build(new Json.Empty(randomId(), Space.EMPTY, Markers.EMPTY))
+                            .withAfter(before));
+                    break;
+                }
+            }
+        } else {
+            members.add(JsonRightPadded.<Json>build(new Json.Empty(randomId(), Space.EMPTY, Markers.EMPTY))
+                    .withAfter(before));
+        }
+        return new Json.JsonObject(randomId(), prefix, Markers.EMPTY, members);
+    }
+
+    private Json.Member member(Space prefix) throws JsonParsingException {
+        JsonKey key;
+        if (cursor < source.length() && (source.charAt(cursor) == '"' || source.charAt(cursor) == '\'')) {
+            key = stringLiteral(Space.EMPTY);
+        } else {
+            int start = cursor;
+            identifier();
+            key = new Json.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, source.substring(start, cursor));
+        }
+        Space afterKey = whitespace();
+        expect(':');
+        return new Json.Member(randomId(), prefix, Markers.EMPTY,
+                JsonRightPadded.build(key).withAfter(afterKey), value(whitespace()));
+    }
+
+    private Json.Array array(Space prefix) throws JsonParsingException {
+        cursor++; // '['
+        List<JsonRightPadded<JsonValue>> values = new ArrayList<>();
+        Space before = whitespace();
+        if (!consume(']')) {
+            while (true) {
+                JsonValue value = value(before);
+                Space after = whitespace();
+                if (consume(']')) {
+                    values.add(JsonRightPadded.build(value).withAfter(after));
+                    break;
+                }
+                expect(',');
+                values.add(JsonRightPadded.build(value).withAfter(after));
+                before = whitespace();
+                if (consume(']')) {
+                    // trailing comma
+                    values.add(JsonRightPadded.<JsonValue>build(new Json.Empty(randomId(), Space.EMPTY, Markers.EMPTY))
+                            .withAfter(before));
+                    break;
+                }
+            }
+        } else {
+            values.add(JsonRightPadded.<JsonValue>build(new Json.Empty(randomId(), Space.EMPTY, Markers.EMPTY))
+                    .withAfter(before));
+        }
+        return new Json.Array(randomId(), prefix, Markers.EMPTY, values);
+    }
+
+    private Json.Literal stringLiteral(Space prefix) throws JsonParsingException {
+        int start = cursor;
+        char quote = source.charAt(cursor++);
+        while (cursor < source.length()) {
+            char c = source.charAt(cursor);
+            if (c == quote) {
+                cursor++;
+                String text = source.substring(start, cursor);
+                return new Json.Literal(randomId(), prefix, Markers.EMPTY, text, text.substring(1, text.length() - 1));
+            } else if (c == '\\') {
+                // the escaped character, or a line continuation
+                cursor += source.startsWith("\r\n", cursor + 1) ? 3 : 2;
+            } else if (c == '\r' || c == '\n') {
+                break;
+            } else {
+                cursor++;
+            }
+        }
+        cursor = start;
+        throw error("unterminated string");
+    }
+
+    private Json.Literal number(Space prefix) throws JsonParsingException {
+        int start = cursor;
+        int sign = 1;
+        char c = source.charAt(cursor);
+        if (c == '+' || c == '-') {
+            sign = c == '-' ? -1 : 1;
+            cursor++;
+        }
+
+        Number value;
+        if (source.startsWith("Infinity", cursor)) {
+            cursor += 8;
+            value = sign == 1 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        } else if (source.startsWith("NaN", cursor)) {
+            cursor += 3;
+            value = Double.NaN;
+        } else {
+            int numberStart = cursor;
+            if (source.startsWith("0x", cursor) || source.startsWith("0X", cursor)) {
+                cursor += 2;
+                if (digits(16) == 0) {
+                    throw error("expected hexadecimal digits");
+                }
+            } else {
+                int integerDigits;
+                if (cursor < source.length() && source.charAt(cursor) == '0') {
+                    cursor++;
+                    integerDigits = 1;
+                } else {
+                    integerDigits = digits(10);
+                }
+                if (cursor < source.length() && source.charAt(cursor) == '.') {
+                    cursor++;
+                    if (digits(10) == 0 && integerDigits == 0) {
+                        throw error("expected a number");
+                    }
+                } else if (integerDigits == 0) {
+                    throw error("expected a number");
+                }
+                if (cursor < source.length() && (source.charAt(cursor) == 'e' || source.charAt(cursor) == 'E')) {
+                    cursor++;
+                    if (cursor < source.length() && (source.charAt(cursor) == '+' || source.charAt(cursor) == '-')) {
+                        cursor++;
+                    }
+                    digits(10);
+                }
+            }
+            value = numberValue(source.substring(numberStart, cursor), sign);
+        }
+        return new Json.Literal(randomId(), prefix, Markers.EMPTY, source.substring(start, cursor), value);
+    }
+
+    /**
+     * Computes the value of a number the same way {@link JsonParserVisitor#visitNumber} does.
+     */
+    private static Number numberValue(String text, int sign) {
+        if (text.startsWith("0x")) {
+            return Long.decode(text) * sign;
+        } else if (text.contains(".") || text.contains("e") || text.contains("E")) {
+            return Double.parseDouble(text) * sign;
+        }
+        try {
+            return Integer.parseInt(text) * sign;
+        } catch (NumberFormatException e) {
+            try {
+                return Long.parseLong(text) * sign;
+            } catch (NumberFormatException e1) {
+                return sign == 1 ? new BigInteger(text, 10) : new BigInteger("-" + text, 10);
+            }
+        }
+    }
+
+    private int digits(int radix) {
+        int start = cursor;
+        while (cursor < source.length() && Character.digit(source.charAt(cursor), radix) >= 0 &&
+               source.charAt(cursor) < 128) {
+            cursor++;
+        }
+        return cursor - start;
+    }
+
+    private void identifier() throws JsonParsingException {
+        if (!identifierStart()) {
+            throw error("expected a key");
+        }
+        while (cursor < source.length()) {
+            if (!identifierStart()) {
+                int cp = source.codePointAt(cursor);
+                if (!isIdentifierPart(cp)) {
+                    break;
+                }
+                cursor += Character.charCount(cp);
+            }
+        }
+    }
+
+    private boolean identifierStart() throws JsonParsingException {
+        if (cursor == source.length()) {
+            return false;
+        }
+        int cp = source.codePointAt(cursor);
+        if (cp == '\\') {
+            if (!source.startsWith("u", cursor + 1) || cursor + 6 > source.length()) {
+                throw error("expected a unicode escape sequence");
+            }
+            for (int i = cursor + 2; i < cursor + 6; i++) {
+                if (Character.digit(source.charAt(i), 16) < 0) {
+                    throw error("expected a unicode escape sequence");
+                }
+            }
+            cursor += 6;
+            return true;
+        } else if (Character.isLetter(cp) || cp == '$' || cp == '_') {
+            cursor += Character.charCount(cp);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isIdentifierPartAt(int index) {
+        if (index >= source.length()) {
+            return false;
+        }
+        int cp = source.codePointAt(index);
+        return Character.isLetter(cp) || cp == '$' || cp == '_' || cp == '\\' || isIdentifierPart(cp);
+    }
+
+    private static boolean isIdentifierPart(int cp) {
+        switch (Character.getType(cp)) {
+            case Character.NON_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.DECIMAL_DIGIT_NUMBER:
+            case Character.LETTER_NUMBER:
+            case Character.OTHER_NUMBER:
+            case Character.CONNECTOR_PUNCTUATION:
+                return true;
+            default:
+                return cp == '\u200C' || cp == '\u200D';
+        }
+    }
+
+    /**
+     * Consume whitespace and comments from the cursor.
+     */
+    private Space whitespace() throws JsonParsingException {
+        int start = cursor;
+        while (cursor < source.length()) {
+            char c = source.charAt(cursor);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\u00A0' || c == '\uFEFF' || c == '\u2003') {
+                cursor++;
+            } else if (source.startsWith("//", cursor)) {
+                cursor += 2;
+                while (cursor < source.length()) {
+                    c = source.charAt(cursor);
+                    if (c == '\n' || c == '\r') {
+                        break;
+                    }
+                    cursor++;
+                    if (c == '\u2028' || c == '\u2029') {
+                        break;
+                    }
+                }
+            } else if (source.startsWith("/*", cursor)) {
+                int end = source.indexOf("*/", cursor + 2);
+                if (end < 0) {
+                    throw error("unterminated comment");
+                }
+                cursor = end + 2;
+            } else {
+                break;
+            }
+        }
+        return Space.format(source, start, cursor);
+    }
+
+    private boolean consume(char c) {
+        if (cursor < source.length() && source.charAt(cursor) == c) {
+            cursor++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) throws JsonParsingException {
+        if (!consume(c)) {
+            throw error("expected '" + c + "'");
+        }
+    }
+
+    private JsonParsingException error(String message) {
+        int line = 1;
+        int lineStart = 0;
+        for (int i = 0; i < cursor && i < source.length(); i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+        return new JsonParsingException(path, String.format("Syntax error in %s at line %d:%d %s.",
+                path, line, cursor - lineStart, message));
+    }
+}
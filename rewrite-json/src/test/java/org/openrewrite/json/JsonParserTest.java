@@ -16,13 +16,20 @@
 package org.openrewrite.json;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.openrewrite.Issue;
 import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
 import org.openrewrite.json.tree.Json;
+import org.openrewrite.json.tree.JsonRightPadded;
 import org.openrewrite.json.tree.JsonValue;
+import org.openrewrite.json.tree.Space;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.json.Assertions.json;
 
@@ -211,4 +218,57 @@ void unicodeEscapes() {
           )
         );
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+      "",
+      "  // only a comment\n",
+      "{}",
+      "[ ]",
+      "{ a: 1, 'b' : [ 1 , 2 , 3 , ], \"c\": { }, }",
+      "/* leading */ [ -1e3, +.5, 1.E-3, 0xdecaf, -Infinity, NaN, 2147483648, -10000000000000000999 ] // trailing",
+      "{\n  // comment\n  $key_1: 'it\\'s',\n  \"🤖\" : \"robot\", /* 🇩🇪 */\n  nested: [true, false, null, {x: []}]\n}\n"
+    })
+    void handWrittenParserMatchesAntlr(String source) {
+        Json.Document handWritten = parse(JsonParser.builder(), source);
+        Json.Document antlr = parse(JsonParser.builder().antlr(true), source);
+        assertThat(describe(handWritten)).isEqualTo(describe(antlr));
+        assertThat(handWritten.printAll()).isEqualTo(source);
+    }
+
+    private static Json.Document parse(JsonParser.Builder parser, String source) {
+        SourceFile sourceFile = parser.build().parse(source).findFirst().orElseThrow();
+        assertThat(sourceFile).isInstanceOf(Json.Document.class);
+        return (Json.Document) sourceFile;
+    }
+
+    private static String describe(Json json) {
+        StringBuilder description = new StringBuilder(json.getClass().getSimpleName())
+          .append(describe(json.getPrefix()));
+        if (json instanceof Json.Document document) {
+            description.append(describe(document.getValue())).append(describe(document.getEof()));
+        } else if (json instanceof Json.Literal literal) {
+            description.append(literal.getSource()).append('=').append(literal.getValue());
+        } else if (json instanceof Json.Identifier identifier) {
+            description.append(identifier.getName());
+        } else if (json instanceof Json.Member member) {
+            description.append(describe(member.getPadding().getKey())).append(':').append(describe(member.getValue()));
+        } else if (json instanceof Json.Array array) {
+            array.getPadding().getValues().forEach(v -> description.append(describe(v)));
+        } else if (json instanceof Json.JsonObject object) {
+            object.getPadding().getMembers().forEach(m -> description.append(describe(m)));
+        }
+        return description.append(')').toString();
+    }
+
+    private static String describe(JsonRightPadded<? extends Json> padded) {
+        return describe(padded.getElement()) + describe(padded.getAfter());
+    }
+
+    private static String describe(Space space) {
+        List<String> comments = space.getComments().stream()
+          .map(c -> c.getText() + "|" + c.getSuffix())
+          .toList();
+        return "(" + space.getWhitespace() + comments;
+    }
 }
@@ -138,6 +138,25 @@ void doesNotMatchMissingProperty() {
         );
     }
 
+    @Test
+    void propertyPathSelectsFirstMemberWithKeyThroughArrays() {
+        assertMatched(
+          "$.root['name']",
+          List.of(
+            """
+              {
+                "root": [
+                  {"name": "first", "name": "duplicate"},
+                  [{"name": "nested"}],
+                  {"other": {"name": "deeper"}}
+                ]
+              }
+              """
+          ),
+          List.of("\"name\": \"first\"", "\"name\": \"nested\"")
+        );
+    }
+
     @Test
     void findScopeOfObject() {
         assertMatched(
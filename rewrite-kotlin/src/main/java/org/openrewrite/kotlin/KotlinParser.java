@@ -161,7 +161,6 @@ public Stream<SourceFile> parse(@Language("kotlin") String... sources) {
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx) {
         ParsingExecutionContextView pctx = ParsingExecutionContextView.view(ctx);
-        ParsingEventListener parsingListener = pctx.getParsingListener();
 
         // TODO: FIR and disposable may not be necessary using the IR.
         Disposable disposable = Disposer.newDisposable();
@@ -170,12 +169,33 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
         try {
             compilerCus = parse(acceptedInputs, disposable, pctx);
         } catch (Exception e) {
+            Disposer.dispose(disposable);
             return acceptedInputs.stream().map(input -> ParseError.build(this, input, relativeTo, ctx, e));
         }
 
+        // The disposable should be disposed of exactly once after all sources have been parsed
+        return map(compilerCus, relativeTo, ctx, () -> Disposer.dispose(disposable));
+    }
+
+    /**
+     * Open a long-lived session in which inputs can be parsed in batches. The compiler environment,
+     * with its index of the classpath, and the PSI of the sources this parser depends on are created
+     * once for the session rather than for every batch. The session must be {@link Session#close() closed}
+     * to release the compiler environment.
+     */
+    @Incubating(since = "8.57.0")
+    public Session openSession() {
+        return new Session();
+    }
+
+    private Stream<SourceFile> map(CompiledSource compilerCus, @Nullable Path relativeTo, ExecutionContext ctx,
+                                   Runnable afterLastSource) {
+        ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
         FirSession firSession = compilerCus.getFirSession();
         return Stream.concat(
                         compilerCus.getSources().stream()
+                                // sources this parser depends on are analyzed along with the inputs but not returned
+                                .filter(kotlinSource -> !kotlinSource.getInput().getPath().getFileName().toString().startsWith("dependsOn-"))
                                 .map(kotlinSource -> {
                                     try {
                                         assert kotlinSource.getFirFile() != null;
@@ -201,13 +221,11 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                                     }
                                 }),
                         Stream.generate(() -> {
-                                    // The disposable should be disposed of exactly once after all sources have been parsed
-                                    Disposer.dispose(disposable);
+                                    afterLastSource.run();
                                     return (SourceFile) null;
                                 })
                                 .limit(1))
-                .filter(Objects::nonNull)
-                .filter(source -> !source.getSourcePath().getFileName().toString().startsWith("dependsOn-"));
+                .filter(Objects::nonNull);
     }
 
     @Override
@@ -380,6 +398,11 @@ public KotlinParser.Builder clone() {
     }
 
     public CompiledSource parse(List<Parser.Input> sources, Disposable disposable, ExecutionContext ctx) {
+        CompilerEnvironment env = createEnvironment(disposable);
+        return analyze(env, toKotlinSources(env, sources, 0, ctx));
+    }
+
+    private CompilerEnvironment createEnvironment(Disposable disposable) {
         CompilerConfiguration compilerConfiguration = compilerConfiguration();
         if (classpath != null) {
             for (Path path : classpath) {
@@ -410,17 +433,26 @@ public CompiledSource parse(List<Parser.Input> sources, Disposable disposable, E
                 compilerConfiguration,
                 EnvironmentConfigFiles.JVM_CONFIG_FILES);
 
-        List<KtFile> ktFiles = new ArrayList<>(sources.size());
+        Function1<? super GlobalSearchScope, PackagePartProvider> providerFunction1 = environment::createPackagePartProvider;
+        VfsBasedProjectEnvironment projectEnvironment = new VfsBasedProjectEnvironment(
+                environment.getProject(),
+                VirtualFileManager.getInstance().getFileSystem(StandardFileSystems.FILE_PROTOCOL),
+                providerFunction1);
 
+        return new CompilerEnvironment(compilerConfiguration, module, environment, projectEnvironment);
+    }
+
+    private List<KotlinSource> toKotlinSources(CompilerEnvironment env, List<Parser.Input> sources, int firstIndex, ExecutionContext ctx) {
         List<KotlinSource> kotlinSources = new ArrayList<>(sources.size());
         for (int i = 0; i < sources.size(); i++) {
             Parser.Input source = sources.get(i);
+            int index = firstIndex + i;
             String fileName;
 
             if ("openRewriteFile.kt".equals(source.getPath().toString())) {
-                fileName = "openRewriteFile" + i + ".kt";
+                fileName = "openRewriteFile" + index + ".kt";
             } else if ("openRewriteFile.kts".equals(source.getPath().toString())) {
-                fileName = "openRewriteFile" + i + ".kts";
+                fileName = "openRewriteFile" + index + ".kts";
             } else {
                 fileName = source.getPath().toString();
             }
@@ -430,21 +462,25 @@ public CompiledSource parse(List<Parser.Input> sources, Disposable disposable, E
 
             VirtualFile vFile = new LightVirtualFile(fileName, KotlinFileType.INSTANCE, StringUtilRt.convertLineSeparators(sourceText));
             final FileViewProvider fileViewProvider = new SingleRootFileViewProvider(
-                    PsiManager.getInstance(environment.getProject()),
+                    PsiManager.getInstance(env.environment.getProject()),
                     vFile
             );
             KtFile file = (KtFile) fileViewProvider.getPsi(KotlinLanguage.INSTANCE);
             assert file != null;
-            ktFiles.add(file);
             kotlinSources.add(new KotlinSource(source, file, cRLFLocations));
         }
 
-        Function1<? super GlobalSearchScope, PackagePartProvider> providerFunction1 = environment::createPackagePartProvider;
-        VfsBasedProjectEnvironment projectEnvironment = new VfsBasedProjectEnvironment(
-                environment.getProject(),
-                VirtualFileManager.getInstance().getFileSystem(StandardFileSystems.FILE_PROTOCOL),
-                providerFunction1);
+        return kotlinSources;
+    }
+
+    private CompiledSource analyze(CompilerEnvironment env, List<KotlinSource> kotlinSources) {
+        List<KtFile> ktFiles = new ArrayList<>(kotlinSources.size());
+        for (KotlinSource kotlinSource : kotlinSources) {
+            ktFiles.add(kotlinSource.getKtFile());
+        }
 
+        CompilerConfiguration compilerConfiguration = env.compilerConfiguration;
+        VfsBasedProjectEnvironment projectEnvironment = env.projectEnvironment;
         AbstractProjectFileSearchScope sourceScope = projectEnvironment.getSearchScopeByPsiFiles(ktFiles, false);
         sourceScope.plus(projectEnvironment.getSearchScopeForProjectJavaSources());
 
@@ -473,7 +509,7 @@ public CompiledSource parse(List<Parser.Input> sources, Disposable disposable, E
         Function1<FirSessionConfigurator, Unit> sessionConfigurator = session -> Unit.INSTANCE;
 
         FirSession firSession = FirSessionFactoryHelper.INSTANCE.createSessionWithDependencies(
-                Name.identifier(module.getModuleName()),
+                Name.identifier(env.module.getModuleName()),
                 JvmPlatforms.INSTANCE.getUnspecifiedJvmPlatform(),
                 JvmPlatformAnalyzerServices.INSTANCE,
                 sessionProvider,
@@ -529,6 +565,72 @@ public CompiledSource parse(List<Parser.Input> sources, Disposable disposable, E
         return new CompiledSource(firSession, kotlinSources);
     }
 
+    private static class CompilerEnvironment {
+        private final CompilerConfiguration compilerConfiguration;
+        private final Module module;
+        private final KotlinCoreEnvironment environment;
+        private final VfsBasedProjectEnvironment projectEnvironment;
+
+        private CompilerEnvironment(CompilerConfiguration compilerConfiguration, Module module,
+                                    KotlinCoreEnvironment environment, VfsBasedProjectEnvironment projectEnvironment) {
+            this.compilerConfiguration = compilerConfiguration;
+            this.module = module;
+            this.environment = environment;
+            this.projectEnvironment = projectEnvironment;
+        }
+    }
+
+    /**
+     * Parses batches of inputs against one compiler environment. Each batch is resolved in a FIR session of
+     * its own, together with the sources the parser depends on, whose PSI is only built once per session.
+     * <p>
+     * A session is not thread-safe. The source files of a batch must be consumed before the next batch is
+     * parsed or the session is closed.
+     */
+    @Incubating(since = "8.57.0")
+    public class Session implements AutoCloseable {
+        private final Disposable disposable = Disposer.newDisposable();
+
+        @Nullable
+        private CompilerEnvironment environment;
+
+        @Nullable
+        private List<KotlinSource> dependsOnSources;
+
+        private int parsedInputs;
+
+        private Session() {
+        }
+
+        public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx) {
+            List<Input> acceptedInputs = acceptedInputs(sources).collect(toList());
+            CompiledSource compilerCus;
+            try {
+                if (environment == null) {
+                    environment = createEnvironment(disposable);
+                }
+                if (dependsOnSources == null) {
+                    dependsOnSources = dependsOn == null ? emptyList() : toKotlinSources(environment, dependsOn, 0, ctx);
+                }
+                List<KotlinSource> inputSources = toKotlinSources(environment, acceptedInputs,
+                        dependsOnSources.size() + parsedInputs, ctx);
+                parsedInputs += acceptedInputs.size();
+                compilerCus = analyze(environment, ListUtils.concatAll(dependsOnSources, inputSources));
+            } catch (Exception e) {
+                return acceptedInputs.stream().map(input -> ParseError.build(KotlinParser.this, input, relativeTo, ctx, e));
+            }
+            return map(compilerCus, relativeTo, ctx, () -> {
+            });
+        }
+
+        @Override
+        public void close() {
+            environment = null;
+            dependsOnSources = null;
+            Disposer.dispose(disposable);
+        }
+    }
+
     public enum KotlinLanguageLevel {
         KOTLIN_1_0,
         KOTLIN_1_1,
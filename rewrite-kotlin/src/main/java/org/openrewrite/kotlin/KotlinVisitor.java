@@ -16,7 +16,6 @@
 package org.openrewrite.kotlin;
 
 import org.jspecify.annotations.Nullable;
-import org.openrewrite.Cursor;
 import org.openrewrite.SourceFile;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaVisitor;
@@ -385,12 +384,12 @@ public <J2 extends J> JContainer<J2> visitContainer(JContainer<J2> container, P
             //noinspection ConstantConditions
             return null;
         }
-        setCursor(new Cursor(getCursor(), container));
+        pushCursor(container);
 
         Space before = visitSpace(container.getBefore(), loc.getBeforeLocation(), p);
         List<JRightPadded<J2>> js = ListUtils.map(container.getPadding().getElements(), t -> visitRightPadded(t, loc.getElementLocation(), p));
 
-        setCursor(getCursor().getParent());
+        popCursor();
 
         return js == container.getPadding().getElements() && before == container.getBefore() ?
                 container :
@@ -403,7 +402,7 @@ public <J2 extends J> JContainer<J2> visitContainer(JContainer<J2> container, P
             return null;
         }
 
-        setCursor(new Cursor(getCursor(), left));
+        pushCursor(left);
 
         Space before = visitSpace(left.getBefore(), loc.getBeforeLocation(), p);
         T t = left.getElement();
@@ -413,7 +412,7 @@ public <J2 extends J> JContainer<J2> visitContainer(JContainer<J2> container, P
             t = visitAndCast((J) left.getElement(), p);
         }
 
-        setCursor(getCursor().getParent());
+        popCursor();
         if (t == null) {
             // If nothing changed leave AST node the same
             if (left.getElement() == null && before == left.getBefore()) {
@@ -432,7 +431,7 @@ public <J2 extends J> JContainer<J2> visitContainer(JContainer<J2> container, P
             return null;
         }
 
-        setCursor(new Cursor(getCursor(), right));
+        pushCursor(right);
 
         T t = right.getElement();
         if (t instanceof J) {
@@ -440,7 +439,7 @@ public <J2 extends J> JContainer<J2> visitContainer(JContainer<J2> container, P
             t = visitAndCast((J) right.getElement(), p);
         }
 
-        setCursor(getCursor().getParent());
+        popCursor();
         if (t == null) {
             //noinspection ConstantConditions
             return null;
@@ -16,8 +16,19 @@
 package org.openrewrite.kotlin;
 
 import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.kotlin.tree.K;
 import org.openrewrite.test.RewriteTest;
 
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.openrewrite.kotlin.Assertions.kotlin;
 
 class KotlinParserTest implements RewriteTest {
@@ -40,4 +51,26 @@ void classDefinitionFromDependsOn() {
         );
     }
 
+    @Test
+    void sessionParsesBatchesAgainstDependsOn() {
+        KotlinParser parser = KotlinParser.builder().dependsOn("""
+          package foo.bar
+
+          class MyClass
+          """).build();
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+
+        try (KotlinParser.Session session = parser.openSession()) {
+            for (String name : List.of("a", "b")) {
+                List<SourceFile> sourceFiles = session.parseInputs(List.of(Parser.Input.fromString(Paths.get(name + ".kt"),
+                  "import foo.bar.MyClass\n\nval %s: MyClass? = null\n".formatted(name))), null, ctx).toList();
+
+                assertThat(sourceFiles).singleElement().isInstanceOf(K.CompilationUnit.class);
+                K.CompilationUnit cu = (K.CompilationUnit) sourceFiles.getFirst();
+                assertThat(cu.getSourcePath()).isEqualTo(Paths.get(name + ".kt"));
+                assertThat(cu.getTypesInUse().getTypesInUse())
+                  .anyMatch(t -> TypeUtils.isOfClassType(t, "foo.bar.MyClass"));
+            }
+        }
+    }
 }
@@ -293,6 +293,11 @@ private Properties.Entry entryFromLine(String line, String prefix, StringBuilder
         );
     }
 
+    @Override
+    public boolean isInputIndependent() {
+        return true;
+    }
+
     @Override
     public boolean accept(Path path) {
         return path.toString().endsWith(".properties");
@@ -84,6 +84,11 @@ public Stream<SourceFile> parse(@Language("protobuf") String... sources) {
         return parse(new InMemoryExecutionContext(), sources);
     }
 
+    @Override
+    public boolean isInputIndependent() {
+        return true;
+    }
+
     @Override
     public boolean accept(Path path) {
         return path.toString().endsWith(".proto");
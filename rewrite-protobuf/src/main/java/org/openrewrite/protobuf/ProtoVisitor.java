@@ -16,7 +16,6 @@
 package org.openrewrite.protobuf;
 
 import org.jspecify.annotations.Nullable;
-import org.openrewrite.Cursor;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.protobuf.tree.*;
@@ -245,12 +244,12 @@ public Space visitSpace(Space space, P p) {
             return null;
         }
 
-        setCursor(new Cursor(getCursor(), container));
+        pushCursor(container);
 
         Space before = visitSpace(container.getBefore(), p);
         List<ProtoRightPadded<P2>> ps = ListUtils.map(container.getPadding().getElements(), t -> visitRightPadded(t, p));
 
-        setCursor(getCursor().getParent());
+        popCursor();
 
         return ps == container.getPadding().getElements() && before == container.getBefore() ?
                 container :
@@ -258,7 +257,7 @@ public Space visitSpace(Space space, P p) {
     }
 
     public <T> @Nullable ProtoLeftPadded<T> visitLeftPadded(ProtoLeftPadded<T> left, P p) {
-        setCursor(new Cursor(getCursor(), left));
+        pushCursor(left);
 
         Space before = visitSpace(left.getBefore(), p);
         T t = left.getElement();
@@ -268,7 +267,7 @@ public Space visitSpace(Space space, P p) {
             t = visitAndCast((Proto) left.getElement(), p);
         }
 
-        setCursor(getCursor().getParent());
+        popCursor();
         if (t == null) {
             //noinspection ConstantConditions
             return null;
@@ -284,7 +283,7 @@ public Space visitSpace(Space space, P p) {
             return null;
         }
 
-        setCursor(new Cursor(getCursor(), right));
+        pushCursor(right);
 
         T t = right.getElement();
         if (t instanceof Proto) {
@@ -292,7 +291,7 @@ public Space visitSpace(Space space, P p) {
             t = (T) visit((Proto) right.getElement(), p);
         }
 
-        setCursor(getCursor().getParent());
+        popCursor();
         if (t == null) {
             //noinspection ConstantConditions
             return null;
@@ -67,6 +67,11 @@ public Stream<SourceFile> parse(@Language("toml") String... sources) {
         return parse(new InMemoryExecutionContext(), sources);
     }
 
+    @Override
+    public boolean isInputIndependent() {
+        return true;
+    }
+
     @Override
     public boolean accept(Path path) {
         return path.toString().endsWith(".toml") || path.endsWith(".xmake.cfg");
@@ -16,7 +16,6 @@
 package org.openrewrite.toml;
 
 import org.jspecify.annotations.Nullable;
-import org.openrewrite.Cursor;
 import org.openrewrite.SourceFile;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
@@ -95,7 +94,7 @@ public Toml visitTable(Toml.Table table, P p) {
             return null;
         }
 
-        setCursor(new Cursor(getCursor(), right));
+        pushCursor(right);
 
         T t = right.getElement();
         if (t instanceof Toml) {
@@ -103,7 +102,7 @@ public Toml visitTable(Toml.Table table, P p) {
             t = visitAndCast((Toml) right.getElement(), p);
         }
 
-        setCursor(getCursor().getParent());
+        popCursor();
         if (t == null) {
             //noinspection ConstantConditions
             return null;
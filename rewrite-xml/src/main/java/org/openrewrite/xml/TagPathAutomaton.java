@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.xml;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.xml.tree.Xml;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bit-parallel (shift-and) automaton over the names of the tags on a cursor path that tracks every step
+ * of a group of plain XPath expressions at once, i.e. expressions like {@code /project/dependencies/dependency}
+ * or {@code //plugin/configuration} made only of tag names and {@code *}.
+ * <p>
+ * Each step of each expression is one bit of the state. The state of a tag is computed from the state of its
+ * parent tag and memoized as a message on the tag's cursor, so as a visitor descends a document the automaton
+ * advances one tag at a time instead of walking the whole cursor path for every match.
+ */
+final class TagPathAutomaton {
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private final String stateKey = TagPathAutomaton.class.getName() + ".state." + IDS.incrementAndGet();
+
+    private final int words;
+
+    /**
+     * The steps that a tag name satisfies, including the {@code *} steps.
+     */
+    private final Map<String, long[]> byName = new HashMap<>();
+
+    /**
+     * The {@code *} steps, which any tag name satisfies.
+     */
+    private final long[] anyName;
+
+    /**
+     * The first step of every expression.
+     */
+    private final long[] starts;
+
+    /**
+     * The first step of relative expressions, which may begin at any tag rather than only at the root tag.
+     */
+    private final long[] relativeStarts;
+
+    private final int[] lastSteps;
+    private final boolean[] absolute;
+
+    /**
+     * @param steps    The tag name steps of each expression.
+     * @param absolute Whether each expression is anchored at the root tag.
+     */
+    TagPathAutomaton(List<String[]> steps, boolean[] absolute) {
+        int bits = 0;
+        for (String[] expressionSteps : steps) {
+            bits += expressionSteps.length;
+        }
+        this.words = Math.max(1, (bits + 63) >>> 6);
+        this.anyName = new long[words];
+        this.starts = new long[words];
+        this.relativeStarts = new long[words];
+        this.lastSteps = new int[steps.size()];
+        this.absolute = absolute;
+
+        int bit = 0;
+        for (int i = 0; i < steps.size(); i++) {
+            set(starts, bit);
+            if (!absolute[i]) {
+                set(relativeStarts, bit);
+            }
+            for (String step : steps.get(i)) {
+                set("*".equals(step) ? anyName : byName.computeIfAbsent(step, n -> new long[words]), bit++);
+            }
+            lastSteps[i] = bit - 1;
+        }
+        for (long[] mask : byName.values()) {
+            for (int w = 0; w < words; w++) {
+                mask[w] |= anyName[w];
+            }
+        }
+    }
+
+    /**
+     * @param cursor A cursor positioned on a tag, or on anything nested in a tag.
+     * @return The state of the closest enclosing tag, or {@code null} if the cursor is not inside a tag.
+     */
+    long @Nullable [] state(Cursor cursor) {
+        Cursor tagCursor = enclosingTag(cursor);
+        if (tagCursor == null) {
+            return null;
+        }
+        long[] state = tagCursor.getMessage(stateKey);
+        if (state != null) {
+            return state;
+        }
+
+        // Walk up to the closest tag whose state is already known, then advance back down.
+        Deque<Cursor> unknown = new ArrayDeque<>();
+        long[] parentState = null;
+        for (Cursor c = tagCursor; c != null; c = enclosingTag(c.getParent())) {
+            parentState = c.getMessage(stateKey);
+            if (parentState != null) {
+                break;
+            }
+            unknown.push(c);
+        }
+        while (!unknown.isEmpty()) {
+            Cursor c = unknown.pop();
+            parentState = advance(parentState, ((Xml.Tag) c.getValue()).getName());
+            c.putMessage(stateKey, parentState);
+        }
+        return parentState;
+    }
+
+    /**
+     * @param cursor     The cursor that {@code state} was computed for.
+     * @param state      The state of the cursor's closest enclosing tag.
+     * @param expression The index of the expression, in the order the automaton was created with.
+     * @return Whether the expression matches the cursor.
+     */
+    boolean matches(Cursor cursor, long @Nullable [] state, int expression) {
+        if (state == null || absolute[expression] && !(cursor.getValue() instanceof Xml.Tag)) {
+            return false;
+        }
+        int bit = lastSteps[expression];
+        return (state[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private long[] advance(long @Nullable [] parentState, String tagName) {
+        long[] mask = byName.getOrDefault(tagName, anyName);
+        long[] entered = parentState == null ? starts : relativeStarts;
+        long[] state = new long[words];
+        long carry = 0;
+        for (int w = 0; w < words; w++) {
+            long shifted = carry;
+            if (parentState != null) {
+                shifted |= parentState[w] << 1;
+                carry = parentState[w] >>> 63;
+            }
+            // a step that completed one expression must not flow into the first step of the next one
+            state[w] = ((shifted & ~starts[w]) | entered[w]) & mask[w];
+        }
+        return state;
+    }
+
+    private static @Nullable Cursor enclosingTag(@Nullable Cursor cursor) {
+        Cursor c = cursor;
+        while (c != null && !(c.getValue() instanceof Xml.Tag)) {
+            c = c.getParent();
+        }
+        return c;
+    }
+
+    private static void set(long[] bits, int bit) {
+        bits[bit >>> 6] |= 1L << bit;
+    }
+}
@@ -23,6 +23,7 @@
 import org.openrewrite.xml.tree.Xml;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -37,6 +38,11 @@
  * <p>
  * The "current node" for XPath evaluation is always the root node of the document. As a result, '.' and '..' are not
  * recognized.
+ * <p>
+ * Expressions are compiled once, when the matcher is constructed. Expressions made only of tag names and {@code *}
+ * (e.g. {@code /project/dependencies/dependency} or {@code //plugin}) are evaluated by an automaton that advances
+ * one tag at a time as a visitor descends the document. Use {@link XPathMatcherSet} to evaluate many expressions
+ * in one pass.
  */
 public class XPathMatcher {
 
@@ -51,6 +57,24 @@ public class XPathMatcher {
     private final boolean startsWithDoubleSlash;
     private final String[] parts;
     private final long tagMatchingParts;
+    private final boolean tagPath;
+
+    /**
+     * The parsed element and conditions of each part like {@code plugin[artifactId='maven-compiler-plugin']},
+     * or {@code null} for parts without conditions.
+     */
+    private final @Nullable ConditionalPart[] conditionalParts;
+
+    /**
+     * Set when the expression is made only of tag names and {@code *}.
+     */
+    private final @Nullable TagPathAutomaton automaton;
+
+    /**
+     * Matchers for the expressions that a {@code //} in the middle of an absolute expression is rewritten to.
+     */
+    private @Nullable XPathMatcher withoutDoubleSlash;
+    private final Map<String, XPathMatcher> skippingTag = new ConcurrentHashMap<>();
 
     public XPathMatcher(String expression) {
         this.expression = expression;
@@ -58,6 +82,51 @@ public XPathMatcher(String expression) {
         startsWithDoubleSlash = expression.startsWith("//");
         parts = splitOnXPathSeparator(expression.substring(startsWithDoubleSlash ? 2 : startsWithSlash ? 1 : 0));
         tagMatchingParts = Arrays.stream(parts).filter(part -> !part.isEmpty() && !part.startsWith("@")).count();
+        conditionalParts = new ConditionalPart[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            Matcher matcher = ELEMENT_WITH_CONDITION_PATTERN.matcher(parts[i]);
+            if (matcher.matches()) {
+                conditionalParts[i] = new ConditionalPart(matcher);
+            }
+        }
+        tagPath = isTagPath(parts);
+        automaton = tagPath ?
+                new TagPathAutomaton(Collections.singletonList(parts), new boolean[]{startsWithSlash && !startsWithDoubleSlash}) :
+                null;
+    }
+
+    /**
+     * @return Whether this expression is made only of tag names and {@code *}, so that it can be
+     * evaluated by a {@link TagPathAutomaton}.
+     */
+    boolean isTagPath() {
+        return tagPath;
+    }
+
+    private static boolean isTagPath(String[] parts) {
+        if (parts.length == 0) {
+            return false;
+        }
+        for (String part : parts) {
+            if (StringUtils.isBlank(part)) {
+                return false;
+            }
+            for (int i = 0; i < part.length(); i++) {
+                char c = part.charAt(i);
+                if (c == '@' || c == '[' || c == ']' || c == '(' || c == ')') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    boolean isAbsolute() {
+        return startsWithSlash && !startsWithDoubleSlash;
+    }
+
+    String[] getParts() {
+        return parts;
     }
 
     private String[] splitOnXPathSeparator(String input) {
@@ -76,6 +145,10 @@ private String[] splitOnXPathSeparator(String input) {
      * @return true if the expression matches the cursor, false otherwise
      */
     public boolean matches(Cursor cursor) {
+        if (automaton != null) {
+            return automaton.matches(cursor, automaton.state(cursor), 0);
+        }
+
         List<Xml.Tag> path = new ArrayList<>();
         for (Cursor c = cursor; c != null; c = c.getParent()) {
             if (c.getValue() instanceof Xml.Tag) {
@@ -88,7 +161,7 @@ public boolean matches(Cursor cursor) {
             for (int i = parts.length - 1; i >= 0; i--, pathIndex++) {
                 String part = parts[i];
 
-                String partWithCondition = null;
+                ConditionalPart partWithCondition = null;
                 Xml.Tag tagForCondition = null;
                 boolean conditionIsBefore = false;
                 if (part.endsWith("]") && i < path.size()) {
@@ -96,7 +169,7 @@ public boolean matches(Cursor cursor) {
                     if (index < 0) {
                         return false;
                     }
-                    partWithCondition = part;
+                    partWithCondition = conditionalParts[i];
                     tagForCondition = path.get(pathIndex);
                 } else if (i < path.size() && i > 0 && parts[i - 1].endsWith("]")) {
                     String partBefore = parts[i - 1];
@@ -106,7 +179,7 @@ public boolean matches(Cursor cursor) {
                     }
                     if (!partBefore.contains("@")) {
                         conditionIsBefore = true;
-                        partWithCondition = partBefore;
+                        partWithCondition = conditionalParts[i - 1];
                         tagForCondition = path.get(parts.length - i);
                     }
                 } else if (part.endsWith(")")) { // is xpath method
@@ -117,10 +190,8 @@ public boolean matches(Cursor cursor) {
                 String partName;
                 boolean matchedCondition = false;
 
-                Matcher matcher;
-                if (tagForCondition != null && partWithCondition.endsWith("]") &&
-                    (matcher = ELEMENT_WITH_CONDITION_PATTERN.matcher(partWithCondition)).matches()) {
-                    String optionalPartName = matchesElementWithConditionFunction(matcher, tagForCondition, cursor);
+                if (tagForCondition != null && partWithCondition != null) {
+                    String optionalPartName = matchesElementWithConditionFunction(partWithCondition, tagForCondition, cursor);
                     if (optionalPartName == null) {
                         return false;
                     }
@@ -172,23 +243,22 @@ public boolean matches(Cursor cursor) {
                 if (path.size() > blankPartIndex && path.size() >= tagMatchingParts) {
                     Xml.Tag blankPartTag = path.get(blankPartIndex);
                     String part = parts[blankPartIndex + 1];
-                    Matcher matcher = ELEMENT_WITH_CONDITION_PATTERN.matcher(part);
-                    if (matcher.matches() ?
-                            matchesElementWithConditionFunction(matcher, blankPartTag, cursor) != null :
+                    ConditionalPart conditionalPart = conditionalParts[blankPartIndex + 1];
+                    if (conditionalPart != null ?
+                            matchesElementWithConditionFunction(conditionalPart, blankPartTag, cursor) != null :
                             Objects.equals(blankPartTag.getName(), part)) {
                         if (matchesWithoutDoubleSlashesAt(cursor, doubleSlashIndex)) {
                             return true;
                         }
                         // fall-through: maybe we can skip this element and match further down
                     }
-                    String newExpression = String.format(
+                    return skippingTag.computeIfAbsent(blankPartTag.getName(), tagName -> new XPathMatcher(String.format(
                             // the // here allows to skip several levels of nested elements
                             "%s/%s//%s",
                             expression.substring(0, doubleSlashIndex),
-                            blankPartTag.getName(),
+                            tagName,
                             expression.substring(doubleSlashIndex + 2)
-                    );
-                    return new XPathMatcher(newExpression).matches(cursor);
+                    ))).matches(cursor);
                 } else if (path.size() == tagMatchingParts) {
                     return matchesWithoutDoubleSlashesAt(cursor, doubleSlashIndex);
                 }
@@ -206,9 +276,9 @@ public boolean matches(Cursor cursor) {
                 String partName;
                 boolean matchedCondition = false;
 
-                Matcher matcher;
-                if (tag != null && part.endsWith("]") && (matcher = ELEMENT_WITH_CONDITION_PATTERN.matcher(part)).matches()) {
-                    String optionalPartName = matchesElementWithConditionFunction(matcher, tag, cursor);
+                ConditionalPart conditionalPart = conditionalParts[i];
+                if (tag != null && conditionalPart != null) {
+                    String optionalPartName = matchesElementWithConditionFunction(conditionalPart, tag, cursor);
                     if (optionalPartName == null) {
                         return false;
                     }
@@ -237,27 +307,28 @@ public boolean matches(Cursor cursor) {
     }
 
     private boolean matchesWithoutDoubleSlashesAt(Cursor cursor, int doubleSlashIndex) {
-        String newExpression = String.format(
-                "%s/%s",
-                expression.substring(0, doubleSlashIndex),
-                expression.substring(doubleSlashIndex + 2)
-        );
-        return new XPathMatcher(newExpression).matches(cursor);
+        if (withoutDoubleSlash == null) {
+            withoutDoubleSlash = new XPathMatcher(String.format(
+                    "%s/%s",
+                    expression.substring(0, doubleSlashIndex),
+                    expression.substring(doubleSlashIndex + 2)
+            ));
+        }
+        return withoutDoubleSlash.matches(cursor);
     }
 
     /**
-     * Checks that the given {@code tag} matches the XPath part represented by {@code matcher}.
+     * Checks that the given {@code tag} matches the XPath part represented by {@code part}.
      *
-     * @param matcher an XPath part matcher for {@link #ELEMENT_WITH_CONDITION_PATTERN}
-     * @param tag     a tag to match
-     * @param cursor  the cursor we are trying to match
+     * @param part   an XPath part that matched {@link #ELEMENT_WITH_CONDITION_PATTERN}
+     * @param tag    a tag to match
+     * @param cursor the cursor we are trying to match
      * @return the element name specified before the condition of the part
      * (either {@code tag.getName()}, {@code "*"} or an attribute name) or {@code null} if the tag did not match
      */
-    private @Nullable String matchesElementWithConditionFunction(Matcher matcher, Xml.Tag tag, Cursor cursor) {
-        boolean isAttributeElement = matcher.group(1) != null;
-        String element = matcher.group(2);
-        String allConditions = matcher.group(3);
+    private @Nullable String matchesElementWithConditionFunction(ConditionalPart part, Xml.Tag tag, Cursor cursor) {
+        boolean isAttributeElement = part.attributeElement;
+        String element = part.element;
 
         // Fail quickly if element name doesn't match
         if (!isAttributeElement && !tag.getName().equals(element) && !"*".equals(element)) {
@@ -265,21 +336,22 @@ private boolean matchesWithoutDoubleSlashesAt(Cursor cursor, int doubleSlashInde
         }
 
         // check that all conditions match on current element
-        Matcher conditions = CONDITION_PATTERN.matcher(allConditions);
         boolean stillMatchesConditions = true;
-        while (conditions.find() && stillMatchesConditions) {
-            String conditionGroup = conditions.group(1);
-            Matcher condition = CONDITION_CONJUNCTION_PATTERN.matcher(conditionGroup);
+        for (Condition[] conditionGroup : part.conditionGroups) {
+            if (!stillMatchesConditions) {
+                break;
+            }
             boolean orCondition = false;
 
-            while (condition.find() && (stillMatchesConditions || orCondition)) {
+            for (Condition condition : conditionGroup) {
+                if (!stillMatchesConditions && !orCondition) {
+                    break;
+                }
                 boolean matchCurrentCondition = false;
 
-                boolean isAttributeCondition = condition.group(4) != null;
-                String selector = isAttributeCondition ? condition.group(5) : condition.group(2);
-                boolean isFunctionCondition = selector.endsWith("()");
-                String value = condition.group(6);
-                String conjunction = condition.group(8);
+                String selector = condition.selector;
+                String value = condition.value;
+                String conjunction = condition.conjunction;
                 orCondition = "or".equals(conjunction);
 
                 // invalid conjunction if not 'or' or 'and'
@@ -289,14 +361,14 @@ private boolean matchesWithoutDoubleSlashesAt(Cursor cursor, int doubleSlashInde
                     break;
                 }
 
-                if (isAttributeCondition) { // [@attr='value'] pattern
+                if (condition.attribute) { // [@attr='value'] pattern
                     for (Xml.Attribute a : tag.getAttributes()) {
                         if ((a.getKeyAsString().equals(selector) || "*".equals(selector)) && a.getValueAsString().equals(value)) {
                             matchCurrentCondition = true;
                             break;
                         }
                     }
-                } else if (isFunctionCondition) { // [local-name()='name'] pattern
+                } else if (condition.function) { // [local-name()='name'] pattern
                     if (isAttributeElement) {
                         for (Xml.Attribute a : tag.getAttributes()) {
                             if (matchesElementAndFunction(new Cursor(cursor, a), element, selector, value)) {
@@ -339,4 +411,51 @@ private static boolean matchesElementAndFunction(Cursor cursor, String element,
         }
         return false;
     }
+
+    /**
+     * An XPath part like {@code plugin[artifactId='maven-compiler-plugin']} or {@code @*[local-name()='name']},
+     * parsed once when the matcher is constructed.
+     */
+    private static class ConditionalPart {
+        final boolean attributeElement;
+        final String element;
+        final Condition[][] conditionGroups;
+
+        ConditionalPart(Matcher matcher) {
+            this.attributeElement = matcher.group(1) != null;
+            this.element = matcher.group(2);
+
+            List<Condition[]> groups = new ArrayList<>();
+            Matcher conditions = CONDITION_PATTERN.matcher(matcher.group(3));
+            while (conditions.find()) {
+                List<Condition> group = new ArrayList<>();
+                Matcher condition = CONDITION_CONJUNCTION_PATTERN.matcher(conditions.group(1));
+                while (condition.find()) {
+                    group.add(new Condition(condition));
+                }
+                groups.add(group.toArray(new Condition[0]));
+            }
+            this.conditionGroups = groups.toArray(new Condition[0][]);
+        }
+    }
+
+    /**
+     * One term like {@code @attr='value'}, {@code local-name()='name'} or {@code child='value'} of a condition,
+     * along with the {@code and}/{@code or} conjunction that follows it.
+     */
+    private static class Condition {
+        final boolean attribute;
+        final boolean function;
+        final String selector;
+        final String value;
+        final @Nullable String conjunction;
+
+        Condition(Matcher condition) {
+            this.attribute = condition.group(4) != null;
+            this.selector = attribute ? condition.group(5) : condition.group(2);
+            this.function = selector.endsWith("()");
+            this.value = condition.group(6);
+            this.conjunction = condition.group(8);
+        }
+    }
 }
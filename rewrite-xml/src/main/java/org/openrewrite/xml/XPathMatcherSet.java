@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.xml;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.Incubating;
+
+import java.util.*;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * A set of {@link XPathMatcher} that tests a cursor against all of its expressions in one pass. Expressions made
+ * only of tag names and {@code *} share a single automaton whose state advances one tag at a time as a visitor
+ * descends the document, so that testing a tag against them costs about the same whether the set holds one such
+ * expression or hundreds. Expressions with conditions, attributes or a {@code //} in the middle are tested one by one.
+ */
+@Incubating(since = "8.57.0")
+public class XPathMatcherSet {
+    private final List<XPathMatcher> matchers;
+
+    private final @Nullable TagPathAutomaton automaton;
+
+    /**
+     * The index in {@link #matchers} of each expression of the {@link #automaton}, in ascending order.
+     */
+    private final int[] automatonMatchers;
+
+    /**
+     * The index in {@link #matchers} of the matchers that are tested one by one, in ascending order.
+     */
+    private final int[] otherMatchers;
+
+    public XPathMatcherSet(Collection<XPathMatcher> matchers) {
+        this.matchers = new ArrayList<>(matchers);
+
+        List<String[]> steps = new ArrayList<>();
+        List<Integer> tagPaths = new ArrayList<>();
+        List<Integer> others = new ArrayList<>();
+        for (int i = 0; i < this.matchers.size(); i++) {
+            XPathMatcher matcher = this.matchers.get(i);
+            if (matcher.isTagPath()) {
+                steps.add(matcher.getParts());
+                tagPaths.add(i);
+            } else {
+                others.add(i);
+            }
+        }
+
+        this.automatonMatchers = toArray(tagPaths);
+        this.otherMatchers = toArray(others);
+        if (steps.isEmpty()) {
+            this.automaton = null;
+        } else {
+            boolean[] absolute = new boolean[automatonMatchers.length];
+            for (int i = 0; i < automatonMatchers.length; i++) {
+                absolute[i] = this.matchers.get(automatonMatchers[i]).isAbsolute();
+            }
+            this.automaton = new TagPathAutomaton(steps, absolute);
+        }
+    }
+
+    public static XPathMatcherSet of(String... expressions) {
+        List<XPathMatcher> matchers = new ArrayList<>(expressions.length);
+        for (String expression : expressions) {
+            matchers.add(new XPathMatcher(expression));
+        }
+        return new XPathMatcherSet(matchers);
+    }
+
+    public List<XPathMatcher> getMatchers() {
+        return Collections.unmodifiableList(matchers);
+    }
+
+    public boolean matches(Cursor cursor) {
+        return firstMatch(cursor) != null;
+    }
+
+    /**
+     * @param cursor The cursor to test.
+     * @return The first matcher of this set, in the order the set was created with, that matches the cursor.
+     */
+    public @Nullable XPathMatcher firstMatch(Cursor cursor) {
+        int first = Integer.MAX_VALUE;
+        if (automaton != null) {
+            long[] state = automaton.state(cursor);
+            for (int i = 0; i < automatonMatchers.length; i++) {
+                if (automaton.matches(cursor, state, i)) {
+                    first = automatonMatchers[i];
+                    break;
+                }
+            }
+        }
+        for (int other : otherMatchers) {
+            if (other >= first) {
+                break;
+            }
+            if (matchers.get(other).matches(cursor)) {
+                first = other;
+                break;
+            }
+        }
+        return first == Integer.MAX_VALUE ? null : matchers.get(first);
+    }
+
+    /**
+     * @param cursor The cursor to test.
+     * @return Every matcher of this set that matches the cursor, in the order the set was created with.
+     */
+    public List<XPathMatcher> allMatches(Cursor cursor) {
+        BitSet matched = null;
+        if (automaton != null) {
+            long[] state = automaton.state(cursor);
+            for (int i = 0; i < automatonMatchers.length; i++) {
+                if (automaton.matches(cursor, state, i)) {
+                    if (matched == null) {
+                        matched = new BitSet(matchers.size());
+                    }
+                    matched.set(automatonMatchers[i]);
+                }
+            }
+        }
+        for (int other : otherMatchers) {
+            if (matchers.get(other).matches(cursor)) {
+                if (matched == null) {
+                    matched = new BitSet(matchers.size());
+                }
+                matched.set(other);
+            }
+        }
+        if (matched == null) {
+            return emptyList();
+        }
+
+        List<XPathMatcher> all = new ArrayList<>(matched.cardinality());
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            all.add(matchers.get(i));
+        }
+        return all;
+    }
+
+    private static int[] toArray(List<Integer> indices) {
+        int[] array = new int[indices.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = indices.get(i);
+        }
+        return array;
+    }
+}
@@ -27,6 +27,7 @@
 import org.openrewrite.tree.ParsingEventListener;
 import org.openrewrite.tree.ParsingExecutionContextView;
 import org.openrewrite.xml.internal.XmlParserVisitor;
+import org.openrewrite.xml.internal.XmlRecursiveDescentParser;
 import org.openrewrite.xml.internal.grammar.XMLLexer;
 import org.openrewrite.xml.internal.grammar.XMLParser;
 import org.openrewrite.xml.tree.Xml;
@@ -70,6 +71,16 @@ public class XmlParser implements Parser {
             "fsproj",
             "props"));
 
+    private final boolean antlr;
+
+    public XmlParser() {
+        this(false);
+    }
+
+    private XmlParser(boolean antlr) {
+        this.antlr = antlr;
+    }
+
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
         ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
@@ -79,21 +90,23 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
             try (EncodingDetectingInputStream is = input.getSource(ctx)) {
                 String sourceStr = is.readFully();
 
-                XMLLexer lexer = new XMLLexer(CharStreams.fromString(sourceStr));
-                lexer.removeErrorListeners();
-                lexer.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
-
-                XMLParser parser = new XMLParser(new CommonTokenStream(lexer));
-                parser.removeErrorListeners();
-                parser.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
-
-                Xml.Document document = new XmlParserVisitor(
-                        path,
-                        input.getFileAttributes(),
-                        sourceStr,
-                        is.getCharset(),
-                        is.isCharsetBomMarked()
-                ).visitDocument(parser.document());
+                Xml.Document document = null;
+                if (!antlr) {
+                    try {
+                        document = new XmlRecursiveDescentParser(
+                                path,
+                                input.getFileAttributes(),
+                                sourceStr,
+                                is.getCharset(),
+                                is.isCharsetBomMarked()
+                        ).parse();
+                    } catch (XmlParsingException ignored) {
+                        // the ANTLR parser handles the remaining constructs and reports syntax errors
+                    }
+                }
+                if (document == null) {
+                    document = parseWithAntlr(input, path, sourceStr, is, ctx);
+                }
                 parsingListener.parsed(input, document);
                 return requirePrintEqualsInput(document, input, relativeTo, ctx);
             } catch (Throwable t) {
@@ -103,11 +116,35 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
         });
     }
 
+    private Xml.Document parseWithAntlr(Input input, Path path, String sourceStr, EncodingDetectingInputStream is,
+                                        ExecutionContext ctx) {
+        XMLLexer lexer = new XMLLexer(CharStreams.fromString(sourceStr));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
+
+        XMLParser parser = new XMLParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+        parser.addErrorListener(new ForwardingErrorListener(input.getPath(), ctx));
+
+        return new XmlParserVisitor(
+                path,
+                input.getFileAttributes(),
+                sourceStr,
+                is.getCharset(),
+                is.isCharsetBomMarked()
+        ).visitDocument(parser.document());
+    }
+
     @Override
     public Stream<SourceFile> parse(@Language("xml") String... sources) {
         return parse(new InMemoryExecutionContext(), sources);
     }
 
+    @Override
+    public boolean isInputIndependent() {
+        return true;
+    }
+
     @Override
     public boolean accept(Path path) {
         String p = path.toString();
@@ -148,14 +185,25 @@ public static Builder builder() {
     }
 
     public static class Builder extends org.openrewrite.Parser.Builder {
+        private boolean antlr;
 
         public Builder() {
             super(Xml.Document.class);
         }
 
+        /**
+         * Parse every document with the ANTLR XML grammar. By default, documents are scanned by a
+         * hand-written parser that produces the same tree with much less time and allocation, and only
+         * documents that it does not handle fall back to the ANTLR grammar.
+         */
+        public Builder antlr(boolean antlr) {
+            this.antlr = antlr;
+            return this;
+        }
+
         @Override
         public XmlParser build() {
-            return new XmlParser();
+            return new XmlParser(antlr);
         }
 
         @Override
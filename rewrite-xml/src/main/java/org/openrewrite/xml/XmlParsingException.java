@@ -20,6 +20,11 @@
 public class XmlParsingException extends Exception {
     private final Path sourcePath;
 
+    public XmlParsingException(Path sourcePath, String message) {
+        super(message);
+        this.sourcePath = sourcePath;
+    }
+
     public XmlParsingException(Path sourcePath, String message, Throwable t) {
         super(message, t);
         this.sourcePath = sourcePath;
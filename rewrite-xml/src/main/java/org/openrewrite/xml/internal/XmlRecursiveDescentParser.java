@@ -0,0 +1,459 @@
+/*
+ * Copyright 2025 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.xml.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.FileAttributes;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.xml.XmlParsingException;
+import org.openrewrite.xml.tree.Content;
+import org.openrewrite.xml.tree.Misc;
+import org.openrewrite.xml.tree.Xml;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static org.openrewrite.Tree.randomId;
+
+/**
+ * A single-pass XML scanner that builds an {@link Xml.Document} directly from the source text.
+ * It produces the same tree as {@link XmlParserVisitor} over the ANTLR grammar for the documents
+ * it accepts. Constructs where the ANTLR lexer's tokenization is the behavior to preserve, namely
+ * DTD internal subsets and processing instructions containing a <code>?</code>, are rejected with
+ * an {@link XmlParsingException}, as is any syntax error, so that the caller can fall back to the
+ * ANTLR parser.
+ */
+public class XmlRecursiveDescentParser {
+    private final Path path;
+
+    @Nullable
+    private final FileAttributes fileAttributes;
+
+    private final String source;
+    private final Charset charset;
+    private final boolean charsetBomMarked;
+
+    private int cursor = 0;
+
+    public XmlRecursiveDescentParser(Path path, @Nullable FileAttributes fileAttributes, String source, Charset charset, boolean charsetBomMarked) {
+        this.path = path;
+        this.fileAttributes = fileAttributes;
+        this.source = source;
+        this.charset = charset;
+        this.charsetBomMarked = charsetBomMarked;
+    }
+
+    public Xml.Document parse() throws XmlParsingException {
+        if (source.startsWith("\uFEFF")) {
+            cursor = 1;
+        } else if (source.startsWith("\u00EF\u00BB\u00BF")) {
+            // the UTF-8 BOM bytes, decoded as ISO-8859-1
+            cursor = 3;
+        }
+        String prefix = source.substring(0, cursor) + textWhitespace();
+        Xml.Prolog prolog = prolog();
+        Xml.Tag root = tag(textWhitespace());
+        return new Xml.Document(
+                randomId(),
+                path,
+                prefix,
+                Markers.EMPTY,
+                charset.name(),
+                charsetBomMarked,
+                null,
+                fileAttributes,
+                prolog,
+                root,
+                source.substring(cursor)
+        );
+    }
+
+    private Xml.Prolog prolog() throws XmlParsingException {
+        Xml.XmlDecl xmlDecl = isXmlDecl() ? xmlDecl() : null;
+        List<Misc> misc = new ArrayList<>();
+        List<Xml.JspDirective> jspDirectives = new ArrayList<>();
+        while (true) {
+            int mark = cursor;
+            String prefix = textWhitespace();
+            if (jspDirectives.isEmpty() && source.startsWith("<!--", cursor)) {
+                misc.add(comment(prefix));
+            } else if (jspDirectives.isEmpty() && source.startsWith("<!", cursor)) {
+                misc.add(docTypeDecl(prefix));
+            } else if (jspDirectives.isEmpty() && isProcessingInstruction()) {
+                misc.add(processingInstruction(prefix));
+            } else if (source.startsWith("<%@", cursor)) {
+                jspDirectives.add(jspDirective(prefix));
+            } else {
+                cursor = mark;
+                break;
+            }
+        }
+        return new Xml.Prolog(randomId(), "", Markers.EMPTY, xmlDecl, misc, jspDirectives);
+    }
+
+    private Xml.XmlDecl xmlDecl() throws XmlParsingException {
+        cursor += "<?xml".length();
+        List<Xml.Attribute> attributes = attributes();
+        String beforeTagDelimiterPrefix = tagWhitespace();
+        expect("?>");
+        return new Xml.XmlDecl(randomId(), "", Markers.EMPTY, "xml", attributes, beforeTagDelimiterPrefix);
+    }
+
+    private Xml.ProcessingInstruction processingInstruction(String prefix) throws XmlParsingException {
+        cursor += "<?".length();
+        String name = name();
+        int end = source.indexOf("?>", cursor);
+        if (end < 0) {
+            throw error("unterminated processing instruction");
+        }
+        String text = source.substring(cursor, end);
+        if (text.isEmpty() || text.indexOf('?') >= 0 || (text.length() == 1 && isTagWhitespace(text.charAt(0)))) {
+            throw error("processing instruction text left to the ANTLR lexer");
+        }
+        cursor = end + "?>".length();
+        return new Xml.ProcessingInstruction(randomId(), prefix, Markers.EMPTY, name, charData(text), "");
+    }
+
+    private Xml.DocTypeDecl docTypeDecl(String prefix) throws XmlParsingException {
+        cursor += "<!".length();
+        if (!source.regionMatches(true, cursor, "DOCTYPE", 0, "DOCTYPE".length())) {
+            throw error("expected DOCTYPE");
+        }
+        String documentDeclaration = source.substring(cursor, cursor + "DOCTYPE".length());
+        cursor += documentDeclaration.length();
+
+        String namePrefix = tagWhitespace();
+        if (namePrefix.isEmpty()) {
+            throw error("expected whitespace after DOCTYPE");
+        }
+        Xml.Ident name = new Xml.Ident(randomId(), namePrefix, Markers.EMPTY, name());
+
+        Xml.Ident externalId = null;
+        List<Xml.Ident> internalSubset = emptyList();
+        int mark = cursor;
+        tagWhitespace();
+        if (!source.startsWith(">", cursor)) {
+            cursor = mark;
+            String externalIdPrefix = tagWhitespace();
+            if (isNameStartAt(cursor)) {
+                externalId = new Xml.Ident(randomId(), externalIdPrefix, Markers.EMPTY, name());
+            } else {
+                cursor = mark;
+            }
+            internalSubset = new ArrayList<>();
+            while (true) {
+                mark = cursor;
+                String stringPrefix = tagWhitespace();
+                if (cursor < source.length() && (source.charAt(cursor) == '"' || source.charAt(cursor) == '\'')) {
+                    int start = cursor;
+                    quoted();
+                    internalSubset.add(new Xml.Ident(randomId(), stringPrefix, Markers.EMPTY, source.substring(start, cursor)));
+                } else {
+                    cursor = mark;
+                    break;
+                }
+            }
+        } else {
+            cursor = mark;
+        }
+
+        String beforeTagDelimiterPrefix = tagWhitespace();
+        if (source.startsWith("[", cursor)) {
+            throw error("DTD internal subset left to the ANTLR parser");
+        }
+        expect(">");
+        return new Xml.DocTypeDecl(randomId(), prefix, Markers.EMPTY, name, documentDeclaration, externalId,
+                internalSubset, null, beforeTagDelimiterPrefix);
+    }
+
+    private Xml.JspDirective jspDirective(String prefix) throws XmlParsingException {
+        cursor += "<%@".length();
+        String beforeTypePrefix = tagWhitespace();
+        String type = name();
+        List<Xml.Attribute> attributes = attributes();
+        String beforeDirectiveEndPrefix = tagWhitespace();
+        expect("%>");
+        return new Xml.JspDirective(randomId(), prefix, Markers.EMPTY, beforeTypePrefix, type, attributes,
+                beforeDirectiveEndPrefix);
+    }
+
+    private Xml.Tag tag(String prefix) throws XmlParsingException {
+        expect("<");
+        String name = name();
+        List<Xml.Attribute> attributes = attributes();
+        String beforeTagDelimiterPrefix = tagWhitespace();
+        if (source.startsWith("/>", cursor)) {
+            cursor += "/>".length();
+            return new Xml.Tag(randomId(), prefix, Markers.EMPTY, name, attributes, null, null, beforeTagDelimiterPrefix);
+        }
+        expect(">");
+
+        List<Content> content = new ArrayList<>();
+        while (true) {
+            int start = cursor;
+            textWhitespace();
+            if (cursor == source.length()) {
+                throw error("expected a closing tag for <" + name + ">");
+            }
+
+            char c = source.charAt(cursor);
+            if (c != '<' && c != '&') {
+                // text, including any whitespace that leads up to it
+                int end = cursor;
+                while (end < source.length() && source.charAt(end) != '<' && source.charAt(end) != '&') {
+                    end++;
+                }
+                content.add(charData(source.substring(start, end)));
+                cursor = end;
+                continue;
+            }
+
+            String contentPrefix = source.substring(start, cursor);
+            if (source.startsWith("</", cursor)) {
+                cursor += "</".length();
+                String closingName = name();
+                String closingBeforeTagDelimiterPrefix = tagWhitespace();
+                expect(">");
+                Xml.Tag.Closing closing = new Xml.Tag.Closing(randomId(), contentPrefix, Markers.EMPTY, closingName,
+                        closingBeforeTagDelimiterPrefix);
+                return new Xml.Tag(randomId(), prefix, Markers.EMPTY, name, attributes, content, closing,
+                        beforeTagDelimiterPrefix);
+            } else if (source.startsWith("<!--", cursor)) {
+                content.add(comment(contentPrefix));
+            } else if (source.startsWith("<![CDATA[", cursor)) {
+                content.add(cdata(contentPrefix));
+            } else if (isProcessingInstruction()) {
+                content.add(processingInstruction(contentPrefix));
+            } else if (c == '&') {
+                content.add(reference(contentPrefix));
+            } else {
+                content.add(tag(contentPrefix));
+            }
+        }
+    }
+
+    private List<Xml.Attribute> attributes() throws XmlParsingException {
+        List<Xml.Attribute> attributes = new ArrayList<>();
+        while (true) {
+            int mark = cursor;
+            String prefix = tagWhitespace();
+            if (!isNameStartAt(cursor)) {
+                cursor = mark;
+                return attributes;
+            }
+            Xml.Ident key = new Xml.Ident(randomId(), "", Markers.EMPTY, name());
+            String beforeEquals = tagWhitespace();
+            expect("=");
+            String valuePrefix = tagWhitespace();
+            int start = cursor;
+            quoted();
+            Xml.Attribute.Value value = new Xml.Attribute.Value(
+                    randomId(),
+                    valuePrefix,
+                    Markers.EMPTY,
+                    source.charAt(start) == '\'' ? Xml.Attribute.Value.Quote.Single : Xml.Attribute.Value.Quote.Double,
+                    source.substring(start + 1, cursor - 1)
+            );
+            attributes.add(new Xml.Attribute(randomId(), prefix, Markers.EMPTY, key, beforeEquals, value));
+        }
+    }
+
+    private Xml.Comment comment(String prefix) throws XmlParsingException {
+        int end = source.indexOf("-->", cursor + "<!--".length());
+        if (end < 0) {
+            throw error("unterminated comment");
+        }
+        String text = source.substring(cursor + "<!--".length(), end);
+        cursor = end + "-->".length();
+        return new Xml.Comment(randomId(), prefix, Markers.EMPTY, text);
+    }
+
+    private Xml.CharData cdata(String prefix) throws XmlParsingException {
+        int end = source.indexOf("]]>", cursor + "<![CDATA[".length());
+        if (end < 0) {
+            throw error("unterminated CDATA section");
+        }
+        String text = source.substring(cursor + "<![CDATA[".length(), end);
+        cursor = end + "]]>".length();
+        return new Xml.CharData(randomId(), prefix, Markers.EMPTY, true, text, "");
+    }
+
+    private Xml.CharData reference(String prefix) throws XmlParsingException {
+        int start = cursor++;
+        if (source.startsWith("#x", cursor)) {
+            cursor += 2;
+            digits(16);
+        } else if (source.startsWith("#", cursor)) {
+            cursor++;
+            digits(10);
+        } else {
+            name();
+        }
+        expect(";");
+        return new Xml.CharData(randomId(), prefix, Markers.EMPTY, false, source.substring(start, cursor), "");
+    }
+
+    /**
+     * Splits text the way {@link XmlParserVisitor} does, with leading whitespace in the prefix
+     * and trailing whitespace after the text.
+     */
+    private static Xml.CharData charData(String text) {
+        int start = 0;
+        while (start < text.length() && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        int end = text.length();
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return new Xml.CharData(randomId(), text.substring(0, start), Markers.EMPTY, false,
+                text.substring(start, end), text.substring(end));
+    }
+
+    private String name() throws XmlParsingException {
+        int start = cursor;
+        if (!isNameStartAt(cursor)) {
+            throw error("expected a name");
+        }
+        cursor += Character.charCount(source.codePointAt(cursor));
+        while (cursor < source.length()) {
+            int cp = source.codePointAt(cursor);
+            if (!isNameStartChar(cp) && !isNameChar(cp)) {
+                break;
+            }
+            cursor += Character.charCount(cp);
+        }
+        return source.substring(start, cursor);
+    }
+
+    private void quoted() throws XmlParsingException {
+        if (cursor == source.length() || (source.charAt(cursor) != '"' && source.charAt(cursor) != '\'')) {
+            throw error("expected a quoted string");
+        }
+        char quote = source.charAt(cursor);
+        int end = cursor + 1;
+        while (end < source.length() && source.charAt(end) != quote) {
+            if (source.charAt(end) == '<') {
+                throw error("'<' in a quoted string");
+            }
+            end++;
+        }
+        if (end == source.length()) {
+            throw error("unterminated quoted string");
+        }
+        cursor = end + 1;
+    }
+
+    private void digits(int radix) throws XmlParsingException {
+        int start = cursor;
+        while (cursor < source.length() && source.charAt(cursor) < 128 &&
+               Character.digit(source.charAt(cursor), radix) >= 0) {
+            cursor++;
+        }
+        if (cursor == start) {
+            throw error("expected a character reference");
+        }
+    }
+
+    private boolean isXmlDecl() {
+        return source.startsWith("<?xml", cursor) && !isNameCharAt(cursor + "<?xml".length());
+    }
+
+    private boolean isProcessingInstruction() {
+        return source.startsWith("<?", cursor) && isNameStartAt(cursor + "<?".length()) && !isXmlDecl();
+    }
+
+    /**
+     * Whitespace between markup, which the ANTLR lexer skips as its <code>WS</code> token.
+     */
+    private String textWhitespace() {
+        int start = cursor;
+        while (cursor < source.length()) {
+            char c = source.charAt(cursor);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r' && c != '\f') {
+                break;
+            }
+            cursor++;
+        }
+        return source.substring(start, cursor);
+    }
+
+    /**
+     * Whitespace inside of a tag or declaration.
+     */
+    private String tagWhitespace() {
+        int start = cursor;
+        while (cursor < source.length() && isTagWhitespace(source.charAt(cursor))) {
+            cursor++;
+        }
+        return source.substring(start, cursor);
+    }
+
+    private static boolean isTagWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private void expect(String s) throws XmlParsingException {
+        if (!source.startsWith(s, cursor)) {
+            throw error("expected '" + s + "'");
+        }
+        cursor += s.length();
+    }
+
+    private boolean isNameStartAt(int index) {
+        return index < source.length() && isNameStartChar(source.codePointAt(index));
+    }
+
+    private boolean isNameCharAt(int index) {
+        if (index >= source.length()) {
+            return false;
+        }
+        int cp = source.codePointAt(index);
+        return isNameStartChar(cp) || isNameChar(cp);
+    }
+
+    private static boolean isNameStartChar(int cp) {
+        return cp == '_' || cp == ':' ||
+               (cp >= 'a' && cp <= 'z') || (cp >= 'A' && cp <= 'Z') ||
+               (cp >= 0xC0 && cp <= 0xD6) || (cp >= 0xD8 && cp <= 0xF6) ||
+               (cp >= 0xF8 && cp <= 0x2FF) || (cp >= 0x370 && cp <= 0x37D) ||
+               (cp >= 0x37F && cp <= 0x1FFF) || (cp >= 0x200C && cp <= 0x200D) ||
+               (cp >= 0x2070 && cp <= 0x218F) || (cp >= 0x3001 && cp <= 0xD7FF) ||
+               (cp >= 0xF900 && cp <= 0xFDCF) || (cp >= 0xFDF0 && cp <= 0xFFFD) ||
+               (cp >= 0x10000 && cp <= 0xEFFFF);
+    }
+
+    private static boolean isNameChar(int cp) {
+        return cp == '-' || cp == '.' || (cp >= '0' && cp <= '9') || cp == 0xB7 ||
+               (cp >= 0x300 && cp <= 0x36F) || (cp >= 0x203F && cp <= 0x2040);
+    }
+
+    private XmlParsingException error(String message) {
+        int line = 1;
+        int lineStart = 0;
+        for (int i = 0; i < cursor && i < source.length(); i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+        return new XmlParsingException(path, String.format("Syntax error in %s at line %d:%d %s.",
+                path, line, cursor - lineStart, message));
+    }
+}
@@ -229,6 +229,88 @@ void matchPom() {
         assertThat(match("/project//plugin//source", pomXml2)).isTrue();
     }
 
+    @Test
+    void matchRepeatedStepsOfNestedElementsWithSameName() {
+        var xml = new XmlParser().parse(
+          """
+            <root>
+                <element>
+                    <element>
+                        <element>
+                            <test>auie</test>
+                        </element>
+                    </element>
+                </element>
+            </root>
+            """
+        ).toList().getFirst();
+
+        assertThat(match("element/element/element/test", xml)).isTrue();
+        assertThat(match("//element/element/test", xml)).isTrue();
+        assertThat(match("/root/element/element/element/test", xml)).isTrue();
+        assertThat(match("/root/*/*/*/test", xml)).isTrue();
+
+        assertThat(match("element/element/element/element/test", xml)).isFalse();
+        assertThat(match("root/element/test", xml)).isFalse();
+        assertThat(match("/root/element/test", xml)).isFalse();
+        assertThat(match("/element/test", xml)).isFalse();
+    }
+
+    @Test
+    void matcherSetMatchesLikeEachOfItsMatchers() {
+        var tagPaths = new ArrayList<String>();
+        new XmlVisitor<Integer>() {
+            @Override
+            public Xml visitTag(Xml.Tag tag, Integer p) {
+                var path = new StringBuilder();
+                for (var c = getCursor(); c != null; c = c.getParent()) {
+                    if (c.getValue() instanceof Xml.Tag t) {
+                        path.insert(0, "/" + t.getName());
+                    }
+                }
+                tagPaths.add(path.toString());
+                return super.visitTag(tag, p);
+            }
+        }.visit(pomXml2, 0);
+
+        var expressions = new ArrayList<String>();
+        for (String tagPath : tagPaths) {
+            expressions.add(tagPath);
+            expressions.add("/" + tagPath);
+            expressions.add(tagPath.substring(tagPath.lastIndexOf('/') + 1));
+            expressions.add(tagPath.replaceFirst("/[^/]+$", "/*"));
+        }
+        expressions.add("/project/build//plugin/configuration/source");
+        expressions.add("//plugin[artifactId='maven-compiler-plugin']/configuration");
+        expressions.add("/project/build/dne");
+        var set = XPathMatcherSet.of(expressions.toArray(new String[0]));
+
+        var matched = new ArrayList<String>();
+        new XmlVisitor<Integer>() {
+            @Override
+            public Xml visitTag(Xml.Tag tag, Integer p) {
+                var expected = expressions.stream()
+                  .filter(expression -> new XPathMatcher(expression).matches(getCursor()))
+                  .toList();
+                var actual = set.allMatches(getCursor());
+                assertThat(actual.stream().map(m -> expressions.get(set.getMatchers().indexOf(m))).toList())
+                  .containsExactlyElementsOf(expected);
+                assertThat(set.firstMatch(getCursor())).isSameAs(actual.isEmpty() ? null : actual.getFirst());
+                matched.addAll(expected);
+                return super.visitTag(tag, p);
+            }
+        }.visit(pomXml2, 0);
+
+        assertThat(matched)
+          .contains(
+            "/project/build/pluginManagement/plugins/plugin/configuration/source",
+            "/project/build//plugin/configuration/source",
+            "//plugin[artifactId='maven-compiler-plugin']/configuration",
+            "plugin"
+          )
+          .doesNotContain("/project/build/dne");
+    }
+
     private final SourceFile attributeXml = new XmlParser().parse(
       """
         <?xml version="1.0" encoding="UTF-8"?>
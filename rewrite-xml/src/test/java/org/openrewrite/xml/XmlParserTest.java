@@ -20,15 +20,20 @@
 import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Issue;
+import org.openrewrite.SourceFile;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.trait.Reference;
+import org.openrewrite.xml.internal.XmlRecursiveDescentParser;
 import org.openrewrite.xml.tree.Xml;
 
 import java.nio.file.Paths;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.openrewrite.test.RewriteTest.toRecipe;
@@ -463,4 +468,108 @@ void CRsWithNoLFs() {
           )
         );
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+      "<a/>",
+      "<?xml version = \"1.0\" encoding='UTF-8' ?>\n<!-- c --><a b = 'c'\n   d=\"e\" >\n  <b/>\n</a >\n<!-- trailing -->\n",
+      "<?xml-stylesheet href=\"mystyle.css\" type=\"text/css\"?>\n<!DOCTYPE beans PUBLIC \"-//SPRING//DTD BEAN 2.0//EN\"\n  \"http://www.springframework.org/dtd/spring-beans-2.0.dtd\">\n<beans/>",
+      "<!doctype html>\n<%@ page language=\"java\" %>\n<%@taglib prefix=\"s\" uri=\"/struts-tags\"%>\n<html><s:p v=\"x\" /></html>",
+      "<a>\n  text &amp; more\t&#13;\n  &#x41;<![CDATA[ <raw> ]]> tail <?pi  some text ?>\n  <!--x-->?<b></b>done</a>",
+      "<r>List&lt;?&gt;\r<c>\r</c></r>"
+    })
+    void handWrittenParserMatchesAntlr(String source) throws XmlParsingException {
+        Xml.Document handWritten = new XmlRecursiveDescentParser(Paths.get("file.xml"), null, source, UTF_8, false).parse();
+        SourceFile antlr = XmlParser.builder().antlr(true).build().parse(source).findFirst().orElseThrow();
+        assertThat(antlr).isInstanceOf(Xml.Document.class);
+        assertThat(describe(handWritten)).isEqualTo(describe((Xml.Document) antlr));
+        assertThat(handWritten.printAll()).isEqualTo(source);
+    }
+
+    private static String describe(Xml.Document document) {
+        StringBuilder description = new StringBuilder();
+        new XmlVisitor<StringBuilder>() {
+            @Override
+            public @Nullable Xml preVisit(Xml tree, StringBuilder out) {
+                out.append('\n').append(tree.getClass().getSimpleName()).append('[').append(tree.getPrefix()).append(']');
+                return tree;
+            }
+
+            @Override
+            public Xml visitDocument(Xml.Document document, StringBuilder out) {
+                out.append(document.getEof());
+                return super.visitDocument(document, out);
+            }
+
+            @Override
+            public Xml visitXmlDecl(Xml.XmlDecl xmlDecl, StringBuilder out) {
+                out.append(xmlDecl.getName()).append('|').append(xmlDecl.getBeforeTagDelimiterPrefix());
+                return super.visitXmlDecl(xmlDecl, out);
+            }
+
+            @Override
+            public Xml visitProcessingInstruction(Xml.ProcessingInstruction pi, StringBuilder out) {
+                out.append(pi.getName()).append('|').append(pi.getBeforeTagDelimiterPrefix());
+                return super.visitProcessingInstruction(pi, out);
+            }
+
+            @Override
+            public Xml visitTag(Xml.Tag tag, StringBuilder out) {
+                out.append(tag.getName()).append('|').append(tag.getBeforeTagDelimiterPrefix())
+                  .append('|').append(tag.getContent() == null);
+                return super.visitTag(tag, out);
+            }
+
+            @Override
+            public Xml visitTagClosing(Xml.Tag.Closing closing, StringBuilder out) {
+                out.append(closing.getName()).append('|').append(closing.getBeforeTagDelimiterPrefix());
+                return super.visitTagClosing(closing, out);
+            }
+
+            @Override
+            public Xml visitAttribute(Xml.Attribute attribute, StringBuilder out) {
+                out.append(attribute.getBeforeEquals());
+                return super.visitAttribute(attribute, out);
+            }
+
+            @Override
+            public Xml visitAttributeValue(Xml.Attribute.Value value, StringBuilder out) {
+                out.append(value.getQuote()).append('|').append(value.getValue());
+                return super.visitAttributeValue(value, out);
+            }
+
+            @Override
+            public Xml visitCharData(Xml.CharData charData, StringBuilder out) {
+                out.append(charData.isCdata()).append('|').append(charData.getText()).append('|').append(charData.getAfterText());
+                return super.visitCharData(charData, out);
+            }
+
+            @Override
+            public Xml visitComment(Xml.Comment comment, StringBuilder out) {
+                out.append(comment.getText());
+                return super.visitComment(comment, out);
+            }
+
+            @Override
+            public Xml visitDocTypeDecl(Xml.DocTypeDecl docTypeDecl, StringBuilder out) {
+                out.append(docTypeDecl.getDocumentDeclaration()).append('|').append(docTypeDecl.getBeforeTagDelimiterPrefix())
+                  .append('|').append(docTypeDecl.getExternalId() == null);
+                return super.visitDocTypeDecl(docTypeDecl, out);
+            }
+
+            @Override
+            public Xml visitIdent(Xml.Ident ident, StringBuilder out) {
+                out.append(ident.getName());
+                return super.visitIdent(ident, out);
+            }
+
+            @Override
+            public Xml visitJspDirective(Xml.JspDirective jspDirective, StringBuilder out) {
+                out.append(jspDirective.getBeforeTypePrefix()).append('|').append(jspDirective.getType())
+                  .append('|').append(jspDirective.getBeforeDirectiveEndPrefix());
+                return super.visitJspDirective(jspDirective, out);
+            }
+        }.visit(document, description);
+        return description.toString();
+    }
 }
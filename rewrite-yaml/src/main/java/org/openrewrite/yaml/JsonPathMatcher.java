@@ -25,6 +25,7 @@
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
 import org.openrewrite.Tree;
+import org.openrewrite.internal.PropertyPathAutomaton;
 import org.openrewrite.yaml.internal.grammar.JsonPathLexer;
 import org.openrewrite.yaml.internal.grammar.JsonPathParser;
 import org.openrewrite.yaml.internal.grammar.JsonPathParserBaseVisitor;
@@ -32,6 +33,7 @@
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiPredicate;
 import java.util.regex.Pattern;
 
@@ -41,6 +43,9 @@
  * Provides methods for matching the given cursor location to a specified JsonPath expression.
  * <p>
  * This is not a full implementation of the JsonPath syntax as linked in the "see also."
+ * <p>
+ * Paths that select a mapping entry by its keys from the root, like {@code $.spec.template.metadata.labels}, are
+ * compiled into a {@link PropertyPathAutomaton} that advances as a visitor descends the document.
  *
  * @see <a href="https://support.smartbear.com/alertsite/docs/monitors/api/endpoint/jsonpath.html">https://support.smartbear.com/alertsite/docs/monitors/api/endpoint/jsonpath.html</a>
  */
@@ -50,8 +55,12 @@ public class JsonPathMatcher {
     private final String jsonPath;
     private JsonPathParser.@Nullable JsonPathContext parsed;
 
+    @EqualsAndHashCode.Exclude
+    private final @Nullable PropertyPathAutomaton automaton;
+
     public JsonPathMatcher(String jsonPath) {
         this.jsonPath = jsonPath;
+        this.automaton = PropertyPathAutomaton.compile(jsonPath, YamlStructure.INSTANCE);
     }
 
     public <T> Optional<T> find(Cursor cursor) {
@@ -80,6 +89,13 @@ private <T> Optional<T> find0(Cursor cursor, List<Tree> cursorPath) {
     }
 
     public boolean matches(Cursor cursor) {
+        if (automaton != null) {
+            Boolean matches = automaton.matches(cursor);
+            if (matches != null) {
+                return matches;
+            }
+        }
+
         List<Tree> cursorPath = resolvedAncestors(cursor);
         Object cursorValue = cursorPath.get(cursorPath.size() - 1);
         return find0(cursor, cursorPath).map(o -> {
@@ -141,6 +157,65 @@ private JsonPathParser jsonPath() {
         return new JsonPathParser(new CommonTokenStream(new JsonPathLexer(CharStreams.fromString(this.jsonPath))));
     }
 
+    private static class YamlStructure implements PropertyPathAutomaton.Structure {
+        static final YamlStructure INSTANCE = new YamlStructure();
+
+        private static final String HAS_ALIASES = JsonPathMatcher.class.getName() + ".hasAliases";
+
+        @Override
+        public PropertyPathAutomaton.Kind kind(Cursor cursor) {
+            Object value = cursor.getValue();
+            if (value instanceof Yaml.Document) {
+                // Aliases are resolved to their anchor's value before a path is evaluated, which only the
+                // JsonPath interpreter does.
+                return hasAliases(cursor) ? PropertyPathAutomaton.Kind.UNSUPPORTED_ROOT : PropertyPathAutomaton.Kind.ROOT;
+            } else if (value instanceof Yaml.Mapping.Entry) {
+                return PropertyPathAutomaton.Kind.MEMBER;
+            } else if (value instanceof Yaml.Mapping || value instanceof Yaml.Sequence || value instanceof Yaml.Sequence.Entry) {
+                return PropertyPathAutomaton.Kind.CONTAINER;
+            }
+            return PropertyPathAutomaton.Kind.OTHER;
+        }
+
+        @Override
+        public String key(Cursor member) {
+            return ((Yaml.Mapping.Entry) member.getValue()).getKey().getValue();
+        }
+
+        @Override
+        public boolean isFirstWithKey(Cursor member) {
+            Object parent = member.getParentTreeCursor().getValue();
+            if (parent instanceof Yaml.Mapping) {
+                String key = key(member);
+                for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) parent).getEntries()) {
+                    if (entry.getKey().getValue().equals(key)) {
+                        return entry.equals(member.getValue());
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean hasNoNestedMembers(Cursor member) {
+            return ((Yaml.Mapping.Entry) member.getValue()).getValue() instanceof Yaml.Scalar;
+        }
+
+        private static boolean hasAliases(Cursor document) {
+            return document.computeMessageIfAbsent(HAS_ALIASES, k -> {
+                AtomicBoolean found = new AtomicBoolean();
+                new YamlVisitor<AtomicBoolean>() {
+                    @Override
+                    public Yaml visitAlias(Yaml.Alias alias, AtomicBoolean f) {
+                        f.set(true);
+                        return alias;
+                    }
+                }.visit(document.<Yaml.Document>getValue(), found);
+                return found.get();
+            });
+        }
+    }
+
     @SuppressWarnings({"ConstantConditions", "unchecked"})
     private static class JsonPathYamlVisitor extends JsonPathParserBaseVisitor<Object> {
 
@@ -517,6 +517,11 @@ private static int commentAwareIndexOf(Collection<Character> anyOf, String s) {
         return -1;
     }
 
+    @Override
+    public boolean isInputIndependent() {
+        return true;
+    }
+
     @Override
     public boolean accept(Path path) {
         String fileName = path.toString();
@@ -113,6 +113,40 @@ void findsAlias() {
         );
     }
 
+    @Test
+    void propertyPathSelectsFirstEntryWithKeyThroughSequences() {
+        assertMatched(
+          "$.root.name",
+          List.of(
+            """
+                  root:
+                    - name: first
+                      name: duplicate
+                    - nested:
+                        - name: nested
+                    - name: second
+              """
+          ),
+          List.of("name: first", "name: second")
+        );
+    }
+
+    @Test
+    void propertyPathResolvesAliasedKeys() {
+        assertMatched(
+          "$.baz.yo",
+          List.of(
+            """
+                  bar:
+                    &abc yo: friend
+                  baz:
+                    *abc: friendly
+              """
+          ),
+          List.of("*abc: friendly")
+        );
+    }
+
     @Test
     void complex() {
         assertMatched(